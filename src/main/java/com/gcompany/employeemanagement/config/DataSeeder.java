@@ -9,6 +9,7 @@ import com.gcompany.employeemanagement.model.User;
 import com.gcompany.employeemanagement.repository.PermissionRepository;
 import com.gcompany.employeemanagement.repository.RoleRepository;
 import com.gcompany.employeemanagement.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -29,6 +30,20 @@ public class DataSeeder {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
 
+    /**
+     * Perbaikan data dari bug Permission.of() lama: permission yang tersimpan nonaktif dan belum pernah
+     * diubah admin diaktifkan lagi. Jalan saat context dibangun, sebelum web server menerima request,
+     * jadi filter permission aktif di User.getAuthorities() / RoleSnapshotCache tidak pernah melihat
+     * data yang belum diperbaiki. Gagal = startup gagal.
+     */
+    @PostConstruct
+    public void reactivatePermissionsSavedInactive() {
+        int reactivated = permissionRepository.reactivateNeverEdited();
+        if (reactivated > 0) {
+            log.warn("Reactivated {} permissions saved inactive by the old Permission.of()", reactivated);
+        }
+    }
+
     @Bean
     @Transactional
     public CommandLineRunner seedData() {
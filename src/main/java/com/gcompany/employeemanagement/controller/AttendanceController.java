@@ -1,17 +1,40 @@
 package com.gcompany.employeemanagement.controller;
 
+import com.gcompany.employeemanagement.dto.Response;
 import com.gcompany.employeemanagement.dto.req.AttendanceRequest;
+import com.gcompany.employeemanagement.dto.req.AttendanceSyncRequest;
+import com.gcompany.employeemanagement.dto.resp.AttendanceImportResult;
+import com.gcompany.employeemanagement.dto.resp.AttendanceSyncResult;
 import com.gcompany.employeemanagement.dto.resp.AttendanceResponse;
+import com.gcompany.employeemanagement.enums.AttendanceStatus;
+import com.gcompany.employeemanagement.enums.ExportFormat;
+import com.gcompany.employeemanagement.exception.BusinessRuleException;
+import com.gcompany.employeemanagement.model.EndOfDayRun;
+import com.gcompany.employeemanagement.model.Job;
+import com.gcompany.employeemanagement.service.AttendanceEndOfDayService;
+import com.gcompany.employeemanagement.service.AttendanceFeedService;
+import com.gcompany.employeemanagement.service.AttendanceExportService;
+import com.gcompany.employeemanagement.service.AttendanceImportService;
 import com.gcompany.employeemanagement.service.AttendanceService;
+import com.gcompany.employeemanagement.service.AttendanceSyncService;
+import com.gcompany.employeemanagement.service.JobQueueService;
+import com.gcompany.employeemanagement.service.impl.WorkTimeRecomputeJobHandler;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -20,6 +43,12 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AttendanceController {
     private final AttendanceService attendanceService;
+    private final AttendanceExportService attendanceExportService;
+    private final AttendanceImportService attendanceImportService;
+    private final AttendanceSyncService attendanceSyncService;
+    private final AttendanceEndOfDayService attendanceEndOfDayService;
+    private final AttendanceFeedService attendanceFeedService;
+    private final JobQueueService jobQueueService;
 
     /** --------------------------
      *        CHECK IN
@@ -61,6 +90,22 @@ public class AttendanceController {
         return attendanceService.checkOut(req);
     }
 
+    /** --------------------------
+     *  OFFLINE SYNC (MOBILE)
+     * ------------------------- */
+    @PostMapping(
+            value = "/sync",
+            consumes = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<?> syncOfflineEvents(@Valid @RequestBody AttendanceSyncRequest request) {
+        AttendanceSyncResult result = attendanceSyncService.syncOfflineEvents(request);
+
+        Response<AttendanceSyncResult> response = new Response<>();
+        response.setMessage("Synced " + result.getApplied() + " of " + request.getEvents().size() + " events");
+        response.setData(result);
+        return ResponseEntity.ok(response);
+    }
+
     /** --------------------------
      *  GET HISTORY By USER
      * ------------------------- */
@@ -91,11 +136,144 @@ public class AttendanceController {
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String role,
             @RequestParam(required = false) LocalDate startDate,
-            @RequestParam(required = false) LocalDate endDate
+            @RequestParam(required = false) LocalDate endDate,
+            @RequestParam(defaultValue = "page") String mode,
+            @RequestParam(defaultValue = "false") boolean estimateTotal
     ) {
 
         Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
+
+        // mode=slice: tanpa COUNT(*), response berisi hasNext (opt-in)
+        if (mode.equalsIgnoreCase("slice")) {
+            return attendanceService.getAllAttendanceSlice(pageable, date, name, status, role, startDate, endDate, estimateTotal);
+        }
         return attendanceService.getAllAttendance(pageable, date, name, status, role, startDate, endDate);
     }
+
+    /** --------------------------
+     *  CHECK-IN HEATMAP
+     * ------------------------- */
+    @GetMapping("/heatmap")
+    public ResponseEntity<?> getCheckinHeatmap(
+            @RequestParam(required = false) LocalDate startDate,
+            @RequestParam(required = false) LocalDate endDate,
+            @RequestParam(defaultValue = "0.01") double cellSize
+    ) {
+        return attendanceService.getCheckinHeatmap(startDate, endDate, cellSize);
+    }
+
+    /** --------------------------
+     *  LIVE FEED (SSE): event "attendance" & "counters"
+     *  EventSource tidak bisa kirim header, token JWT lewat query param ?token=
+     * ------------------------- */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAttendance(@RequestParam(required = false) Long departmentId) {
+        return attendanceFeedService.subscribe(departmentId);
+    }
+
+    /** --------------------------
+     *  EXPORT ATTENDANCE (CSV / NDJSON)
+     * ------------------------- */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAttendance(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) LocalDate startDate,
+            @RequestParam(required = false) LocalDate endDate
+    ) {
+        ExportFormat exportFormat;
+        AttendanceStatus attendanceStatus = null;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase());
+            if (status != null && !status.isBlank()) {
+                attendanceStatus = AttendanceStatus.valueOf(status.toUpperCase());
+            }
+        } catch (IllegalArgumentException e) {
+            throw new BusinessRuleException("Invalid export format or status: " + format + ", " + status);
+        }
+
+        String fileName = "attendance." + exportFormat.name().toLowerCase() + (gzip ? ".gz" : "");
+        MediaType contentType = gzip
+                ? MediaType.parseMediaType("application/gzip")
+                : exportFormat == ExportFormat.NDJSON
+                        ? MediaType.parseMediaType("application/x-ndjson")
+                        : MediaType.parseMediaType("text/csv");
+
+        AttendanceStatus statusFilter = attendanceStatus;
+        StreamingResponseBody body = out -> attendanceExportService.exportAttendance(
+                out, exportFormat, gzip, startDate, endDate, name, statusFilter);
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
+    /** --------------------------
+     *  IMPORT ATTENDANCE (CSV)
+     * ------------------------- */
+    @PostMapping(
+            value = "/import",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE
+    )
+    public ResponseEntity<?> importAttendance(@RequestPart("file") MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new BusinessRuleException("Import file is required");
+        }
+
+        AttendanceImportResult result;
+        try (InputStream in = file.getInputStream()) {
+            result = attendanceImportService.importAttendance(in);
+        }
+
+        Response<AttendanceImportResult> response = new Response<>();
+        response.setMessage("Imported " + result.getImportedRows() + " of " + result.getTotalRows() + " rows");
+        response.setData(result);
+        return ResponseEntity.ok(response);
+    }
+
+    /** --------------------------
+     *  END-OF-DAY (manual re-run & riwayat)
+     * ------------------------- */
+    @PostMapping("/end-of-day")
+    public ResponseEntity<?> runEndOfDay(@RequestParam(required = false) LocalDate date) {
+        LocalDate targetDate = date != null ? date : LocalDate.now().minusDays(1);
+        EndOfDayRun run = attendanceEndOfDayService.runEndOfDay(targetDate, "MANUAL");
+
+        Response<EndOfDayRun> response = new Response<>();
+        response.setMessage("End-of-day run " + run.getStatus().name().toLowerCase() + " for " + targetDate);
+        response.setData(run);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/end-of-day/runs")
+    public ResponseEntity<?> getEndOfDayRuns() {
+        Response<List<EndOfDayRun>> response = new Response<>();
+        response.setMessage("Success get end-of-day runs");
+        response.setData(attendanceEndOfDayService.getRecentRuns());
+        return ResponseEntity.ok(response);
+    }
+
+    /** --------------------------
+     *  WORKED / OVERTIME MINUTES (hitung ulang historis)
+     * ------------------------- */
+    @PostMapping("/work-time/recompute")
+    public ResponseEntity<?> recomputeWorkTime(@RequestParam LocalDate startDate,
+                                               @RequestParam LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new BusinessRuleException("Invalid date range: " + startDate + " - " + endDate);
+        }
+
+        // rentang panjang bisa jalan lama, jadi diproses worker job di background
+        Job job = jobQueueService.enqueue(WorkTimeRecomputeJobHandler.TYPE,
+                new WorkTimeRecomputeJobHandler.Payload(startDate, endDate));
+
+        Response<Job> response = new Response<>();
+        response.setMessage("Work time recompute queued as job " + job.getId());
+        response.setData(job);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
 }
@@ -0,0 +1,36 @@
+package com.gcompany.employeemanagement.controller;
+
+import com.gcompany.employeemanagement.dto.resp.CursorResponse;
+import com.gcompany.employeemanagement.enums.ResourceType;
+import com.gcompany.employeemanagement.model.AuditLog;
+import com.gcompany.employeemanagement.service.AuditService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/audit-logs")
+@RequiredArgsConstructor
+@Tag(name = "Audit Logs", description = "Audit trail of data mutations")
+public class AuditLogController {
+    private final AuditService auditService;
+
+    @Operation(summary = "Audit trail (cursor)", description = "Keyset-paginated audit trail, newest first, optionally filtered by resource, entity and actor. Pass nextCursor as cursor for the next page. Requires ADMIN role.")
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorResponse<AuditLog>> getAuditTrail(
+            @Parameter(description = "Resource type, e.g. USER or DEPARTMENT") @RequestParam(required = false) ResourceType resource,
+            @Parameter(description = "Id of the audited entity") @RequestParam(required = false) Long entityId,
+            @Parameter(description = "Id of the user who made the change") @RequestParam(required = false) Long actorId,
+            @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(auditService.getAuditTrail(resource, entityId, actorId, cursor, size));
+    }
+}
@@ -0,0 +1,60 @@
+package com.gcompany.employeemanagement.controller;
+
+import com.gcompany.employeemanagement.dto.Response;
+import com.gcompany.employeemanagement.dto.resp.JobTypeMetrics;
+import com.gcompany.employeemanagement.enums.JobStatus;
+import com.gcompany.employeemanagement.model.Job;
+import com.gcompany.employeemanagement.service.JobQueueService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+@Tag(name = "Background Jobs", description = "Inspect the background job queue, its metrics and dead jobs")
+public class JobController {
+    private final JobQueueService jobQueueService;
+
+    @Operation(summary = "List jobs", description = "List jobs, optionally filtered by status, newest first")
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Response<Page<Job>>> getJobs(
+            @RequestParam(required = false) JobStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Response<Page<Job>> response = new Response<>();
+        response.setMessage("Success get jobs");
+        response.setData(jobQueueService.getJobs(status, PageRequest.of(page, size, Sort.by("id").descending())));
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Job metrics", description = "Queue depth per type and status plus this node's worker counters")
+    @GetMapping("/metrics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Response<List<JobTypeMetrics>>> getMetrics() {
+        Response<List<JobTypeMetrics>> response = new Response<>();
+        response.setMessage("Success get job metrics");
+        response.setData(jobQueueService.getMetrics());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Retry dead job", description = "Put a dead job back on the queue with a fresh attempt budget")
+    @PostMapping("/{id}/retry")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Response<Job>> retry(@Parameter(description = "Job ID") @PathVariable Long id) {
+        Response<Job> response = new Response<>();
+        response.setMessage("Job re-queued");
+        response.setData(jobQueueService.retry(id));
+        return ResponseEntity.ok(response);
+    }
+}
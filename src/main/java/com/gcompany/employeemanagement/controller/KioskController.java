@@ -0,0 +1,85 @@
+package com.gcompany.employeemanagement.controller;
+
+import com.gcompany.employeemanagement.dto.Response;
+import com.gcompany.employeemanagement.dto.req.KioskCheckinRequest;
+import com.gcompany.employeemanagement.dto.req.KioskDeviceRequest;
+import com.gcompany.employeemanagement.dto.resp.KioskBadgeResponse;
+import com.gcompany.employeemanagement.dto.resp.KioskCheckinResponse;
+import com.gcompany.employeemanagement.dto.resp.KioskDeviceResponse;
+import com.gcompany.employeemanagement.model.KioskDevice;
+import com.gcompany.employeemanagement.service.KioskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/kiosk")
+@RequiredArgsConstructor
+@Tag(name = "Kiosk", description = "Shared-device check-in with signed employee badges")
+public class KioskController {
+    private final KioskService kioskService;
+
+    @Operation(summary = "Kiosk check-in", description = "Check in an employee by scanned badge; requires X-Kiosk-Token")
+    @PostMapping("/checkin")
+    @PreAuthorize("hasRole('KIOSK')")
+    public CompletableFuture<ResponseEntity<Response<KioskCheckinResponse>>> checkIn(
+            @AuthenticationPrincipal KioskDevice device,
+            @Valid @RequestBody KioskCheckinRequest request) {
+        return kioskService.checkIn(device, request.getBadge())
+                .thenApply(result -> {
+                    Response<KioskCheckinResponse> response = new Response<>();
+                    response.setMessage(result.getMessage());
+                    response.setData(result);
+                    return ResponseEntity.ok(response);
+                });
+    }
+
+    @Operation(summary = "Get all kiosk devices", description = "Retrieve all registered kiosk devices")
+    @GetMapping("/devices")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    public ResponseEntity<List<KioskDeviceResponse>> getAllDevices() {
+        return ResponseEntity.ok(kioskService.getAllDevices());
+    }
+
+    @Operation(summary = "Register kiosk device", description = "Register a device; the returned token is shown only once")
+    @PostMapping("/devices")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<KioskDeviceResponse> registerDevice(@Valid @RequestBody KioskDeviceRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(kioskService.registerDevice(request));
+    }
+
+    @Operation(summary = "Rotate kiosk device token", description = "Issue a new device token and invalidate the old one")
+    @PostMapping("/devices/{id}/rotate-token")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<KioskDeviceResponse> rotateDeviceToken(
+            @Parameter(description = "Kiosk device ID") @PathVariable Long id) {
+        return ResponseEntity.ok(kioskService.rotateDeviceToken(id));
+    }
+
+    @Operation(summary = "Deactivate kiosk device", description = "Revoke a kiosk device")
+    @DeleteMapping("/devices/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> deactivateDevice(
+            @Parameter(description = "Kiosk device ID") @PathVariable Long id) {
+        kioskService.deactivateDevice(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Issue employee badge", description = "Signed badge payload to print as QR code")
+    @GetMapping("/badges/{userId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    public ResponseEntity<KioskBadgeResponse> issueBadge(
+            @Parameter(description = "User ID") @PathVariable Long userId) {
+        return ResponseEntity.ok(kioskService.issueBadge(userId));
+    }
+}
@@ -0,0 +1,66 @@
+package com.gcompany.employeemanagement.controller;
+
+import com.gcompany.employeemanagement.dto.req.OfficeLocationRequest;
+import com.gcompany.employeemanagement.dto.resp.OfficeLocationResponse;
+import com.gcompany.employeemanagement.service.OfficeLocationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/office-locations")
+@RequiredArgsConstructor
+@Tag(name = "Office Location Management", description = "APIs for managing office geofences used to validate check-in location")
+public class OfficeLocationController {
+    private final OfficeLocationService officeLocationService;
+
+    @Operation(summary = "Get all office locations", description = "Retrieve all office geofences")
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    public ResponseEntity<List<OfficeLocationResponse>> getAllOfficeLocations() {
+        return ResponseEntity.ok(officeLocationService.getAllOfficeLocations());
+    }
+
+    @Operation(summary = "Get office location by ID", description = "Retrieve a specific office geofence by its ID")
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    public ResponseEntity<OfficeLocationResponse> getOfficeLocationById(
+            @Parameter(description = "Office location ID") @PathVariable Long id) {
+        return ResponseEntity.ok(officeLocationService.getOfficeLocationById(id));
+    }
+
+    @Operation(summary = "Create office location", description = "Create a RADIUS or POLYGON geofence")
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<OfficeLocationResponse> createOfficeLocation(
+            @Valid @RequestBody OfficeLocationRequest request) {
+        OfficeLocationResponse response = officeLocationService.createOfficeLocation(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @Operation(summary = "Update office location", description = "Update an existing office geofence")
+    @PutMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<OfficeLocationResponse> updateOfficeLocation(
+            @Parameter(description = "Office location ID") @PathVariable Long id,
+            @Valid @RequestBody OfficeLocationRequest request) {
+        return ResponseEntity.ok(officeLocationService.updateOfficeLocation(id, request));
+    }
+
+    @Operation(summary = "Delete office location", description = "Delete an office geofence")
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> deleteOfficeLocation(
+            @Parameter(description = "Office location ID") @PathVariable Long id) {
+        officeLocationService.deleteOfficeLocation(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -48,11 +48,16 @@ public class PermissionController {
     @GetMapping
     @Operation(summary = "Get all permissions (paginated)", description = "Get a paginated list of permissions. Requires ADMIN role.")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<PaginatedResponse<PermissionResponse>> getAllPermissions(
+    public ResponseEntity<?> getAllPermissions(
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "50") int size,
             @Parameter(description = "Sort by field") @RequestParam(defaultValue = "resource") String sortBy,
-            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String sortDir) {
+            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Pagination mode (page/slice). slice skips COUNT and returns hasNext") @RequestParam(defaultValue = "page") String mode,
+            @Parameter(description = "Slice mode only: include estimated total") @RequestParam(defaultValue = "false") boolean estimateTotal) {
+        if (mode.equalsIgnoreCase("slice")) {
+            return ResponseEntity.ok(permissionService.getAllPermissionsSlice(page, size, sortBy, sortDir, estimateTotal));
+        }
         PaginatedResponse<PermissionResponse> response = permissionService.getAllPermissions(page, size, sortBy, sortDir);
         return ResponseEntity.ok(response);
     }
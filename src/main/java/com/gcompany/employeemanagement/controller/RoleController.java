@@ -57,11 +57,16 @@ public class RoleController {
     @GetMapping
     @Operation(summary = "Get all roles (paginated)", description = "Get a paginated list of roles. Requires ADMIN or HR role.")
     @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
-    public ResponseEntity<PaginatedResponse<RoleResponse>> getAllRoles(
+    public ResponseEntity<?> getAllRoles(
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
             @Parameter(description = "Sort by field") @RequestParam(defaultValue = "priority") String sortBy,
-            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String sortDir) {
+            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Pagination mode (page/slice). slice skips COUNT and returns hasNext") @RequestParam(defaultValue = "page") String mode,
+            @Parameter(description = "Slice mode only: include estimated total") @RequestParam(defaultValue = "false") boolean estimateTotal) {
+        if (mode.equalsIgnoreCase("slice")) {
+            return ResponseEntity.ok(roleService.getAllRolesSlice(page, size, sortBy, sortDir, estimateTotal));
+        }
         PaginatedResponse<RoleResponse> response = roleService.getAllRoles(page, size, sortBy, sortDir);
         return ResponseEntity.ok(response);
     }
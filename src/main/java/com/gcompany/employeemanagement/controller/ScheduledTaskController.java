@@ -0,0 +1,45 @@
+package com.gcompany.employeemanagement.controller;
+
+import com.gcompany.employeemanagement.dto.Response;
+import com.gcompany.employeemanagement.model.ScheduledTaskLock;
+import com.gcompany.employeemanagement.model.ScheduledTaskRun;
+import com.gcompany.employeemanagement.service.ClusterTaskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/scheduled-tasks")
+@RequiredArgsConstructor
+@Tag(name = "Scheduled Tasks", description = "Cluster-wide scheduled task leases and run history")
+public class ScheduledTaskController {
+    private final ClusterTaskService clusterTaskService;
+
+    @Operation(summary = "Task leases", description = "Current lease per scheduled task (holder node and lease expiry)")
+    @GetMapping("/locks")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Response<List<ScheduledTaskLock>>> getLocks() {
+        Response<List<ScheduledTaskLock>> response = new Response<>();
+        response.setMessage("Success get scheduled task locks");
+        response.setData(clusterTaskService.getLocks());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Task run history", description = "Latest 50 runs, optionally for one task")
+    @GetMapping("/runs")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Response<List<ScheduledTaskRun>>> getRuns(@RequestParam(required = false) String task) {
+        Response<List<ScheduledTaskRun>> response = new Response<>();
+        response.setMessage("Success get scheduled task runs");
+        response.setData(clusterTaskService.getRecentRuns(task));
+        return ResponseEntity.ok(response);
+    }
+}
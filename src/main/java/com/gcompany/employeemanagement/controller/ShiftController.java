@@ -0,0 +1,112 @@
+package com.gcompany.employeemanagement.controller;
+
+import com.gcompany.employeemanagement.dto.req.HolidayRequest;
+import com.gcompany.employeemanagement.dto.req.ShiftAssignmentRequest;
+import com.gcompany.employeemanagement.dto.req.ShiftRequest;
+import com.gcompany.employeemanagement.dto.resp.HolidayResponse;
+import com.gcompany.employeemanagement.dto.resp.ShiftAssignmentResponse;
+import com.gcompany.employeemanagement.dto.resp.ShiftResponse;
+import com.gcompany.employeemanagement.service.ShiftScheduleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/shifts")
+@RequiredArgsConstructor
+@Tag(name = "Shift Schedule Management", description = "APIs for managing shifts, shift assignments and holidays")
+public class ShiftController {
+    private final ShiftScheduleService shiftScheduleService;
+
+    // ========== SHIFT ==========
+
+    @Operation(summary = "Get all shifts", description = "Retrieve all shift definitions")
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER')")
+    public ResponseEntity<List<ShiftResponse>> getAllShifts() {
+        return ResponseEntity.ok(shiftScheduleService.getAllShifts());
+    }
+
+    @Operation(summary = "Create shift", description = "Create a new shift definition")
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    public ResponseEntity<ShiftResponse> createShift(@Valid @RequestBody ShiftRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(shiftScheduleService.createShift(request));
+    }
+
+    @Operation(summary = "Update shift", description = "Update an existing shift definition")
+    @PutMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    public ResponseEntity<ShiftResponse> updateShift(
+            @Parameter(description = "Shift ID") @PathVariable Long id,
+            @Valid @RequestBody ShiftRequest request) {
+        return ResponseEntity.ok(shiftScheduleService.updateShift(id, request));
+    }
+
+    @Operation(summary = "Delete shift", description = "Delete a shift that is not used by any assignment")
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    public ResponseEntity<Void> deleteShift(@Parameter(description = "Shift ID") @PathVariable Long id) {
+        shiftScheduleService.deleteShift(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    // ========== ASSIGNMENT ==========
+
+    @Operation(summary = "Get all shift assignments", description = "Retrieve shift assignments per department or user")
+    @GetMapping("/assignments")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER')")
+    public ResponseEntity<List<ShiftAssignmentResponse>> getAllAssignments() {
+        return ResponseEntity.ok(shiftScheduleService.getAllAssignments());
+    }
+
+    @Operation(summary = "Create shift assignment", description = "Assign a fixed or rotating shift pattern to a department or user")
+    @PostMapping("/assignments")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    public ResponseEntity<ShiftAssignmentResponse> createAssignment(@Valid @RequestBody ShiftAssignmentRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(shiftScheduleService.createAssignment(request));
+    }
+
+    @Operation(summary = "Delete shift assignment", description = "Delete a shift assignment")
+    @DeleteMapping("/assignments/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    public ResponseEntity<Void> deleteAssignment(@Parameter(description = "Assignment ID") @PathVariable Long id) {
+        shiftScheduleService.deleteAssignment(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    // ========== HOLIDAY ==========
+
+    @Operation(summary = "Get holidays", description = "Retrieve the holiday calendar for a date range")
+    @GetMapping("/holidays")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<HolidayResponse>> getHolidays(
+            @RequestParam LocalDate from,
+            @RequestParam LocalDate to) {
+        return ResponseEntity.ok(shiftScheduleService.getHolidays(from, to));
+    }
+
+    @Operation(summary = "Create holiday", description = "Add a company-wide or department holiday")
+    @PostMapping("/holidays")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    public ResponseEntity<HolidayResponse> createHoliday(@Valid @RequestBody HolidayRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(shiftScheduleService.createHoliday(request));
+    }
+
+    @Operation(summary = "Delete holiday", description = "Delete a holiday")
+    @DeleteMapping("/holidays/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    public ResponseEntity<Void> deleteHoliday(@Parameter(description = "Holiday ID") @PathVariable Long id) {
+        shiftScheduleService.deleteHoliday(id);
+        return ResponseEntity.noContent().build();
+    }
+}
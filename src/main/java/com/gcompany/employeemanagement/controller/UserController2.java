@@ -1,11 +1,21 @@
 package com.gcompany.employeemanagement.controller;
 
 import com.gcompany.employeemanagement.dto.Response;
+import com.gcompany.employeemanagement.dto.req.UserBulkRequest;
 import com.gcompany.employeemanagement.dto.req.UserCreateRequest;
+import com.gcompany.employeemanagement.dto.req.UserManagerRequest;
 import com.gcompany.employeemanagement.dto.req.UserRoleAssignRequest;
 import com.gcompany.employeemanagement.dto.req.UserUpdateRequest;
+import com.gcompany.employeemanagement.dto.resp.CursorResponse;
 import com.gcompany.employeemanagement.dto.resp.PaginatedResponse;
+import com.gcompany.employeemanagement.dto.resp.SliceResponse;
+import com.gcompany.employeemanagement.dto.resp.UserBulkResult;
 import com.gcompany.employeemanagement.dto.resp.UserDetailResponse;
+import com.gcompany.employeemanagement.dto.resp.UserImportResult;
+import com.gcompany.employeemanagement.dto.resp.UserSummaryResponse;
+import com.gcompany.employeemanagement.exception.BusinessRuleException;
+import com.gcompany.employeemanagement.service.OrgHierarchyService;
+import com.gcompany.employeemanagement.service.UserImportService;
 import com.gcompany.employeemanagement.service.UserService2;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,12 +23,18 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -28,7 +44,11 @@ import java.util.UUID;
 @SecurityRequirement(name = "bearerAuth")
 public class UserController2 {
 
+    public static final String TRUNCATED_HEADER = "X-Result-Truncated";
+
     private final UserService2 userService;
+    private final UserImportService userImportService;
+    private final OrgHierarchyService orgHierarchyService;
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(summary = "Create a new user", description = "Create a new user. Requires ADMIN role.")
@@ -37,6 +57,36 @@ public class UserController2 {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Bulk import users", description = "Queue an import of users from a CSV (with header) or NDJSON file. Returns the import job id; the outcome per row is available from GET /api/users/import/{jobId}. Requires ADMIN role.")
+    public ResponseEntity<Response<UserImportResult>> importUsers(@RequestPart("file") MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new BusinessRuleException("Import file is required");
+        }
+
+        UserImportResult result;
+        try (InputStream in = file.getInputStream()) {
+            result = userImportService.submitImport(in);
+        }
+
+        Response<UserImportResult> response = new Response<>();
+        response.setMessage("Import of " + result.getTotalRows() + " rows queued as job " + result.getJobId());
+        response.setData(result);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @GetMapping("/import/{jobId}")
+    @Operation(summary = "Get bulk import result", description = "Get the job status and the outcome per row of a bulk import. Requires ADMIN role.")
+    public ResponseEntity<Response<UserImportResult>> getImportResult(
+            @Parameter(description = "Import job ID") @PathVariable Long jobId) {
+        UserImportResult result = userImportService.getImportResult(jobId);
+
+        Response<UserImportResult> response = new Response<>();
+        response.setMessage("Import job " + jobId + " is " + result.getStatus());
+        response.setData(result);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID", description = "Get user details by ID. Requires ADMIN role or being the user themselves.")
     public ResponseEntity<UserDetailResponse> getUserById(
@@ -54,7 +104,15 @@ public class UserController2 {
             @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "desc") String sortDir,
             @Parameter(description = "Filter by name") @RequestParam(required = false) String name,
             @Parameter(description = "Filter by role") @RequestParam(required = false) String role,
-            @Parameter(description = "Filter by status") @RequestParam(required = false) String status) {
+            @Parameter(description = "Filter by status") @RequestParam(required = false) String status,
+            @Parameter(description = "Pagination mode (page/slice). slice skips COUNT and returns hasNext") @RequestParam(defaultValue = "page") String mode,
+            @Parameter(description = "Slice mode only: include estimated total") @RequestParam(defaultValue = "false") boolean estimateTotal) {
+        if (mode.equalsIgnoreCase("slice")) {
+            Response<SliceResponse<UserDetailResponse>> resp = new Response<>();
+            resp.setData(userService.getAllUsersSlice(page, size, sortBy, sortDir, name, role, status, estimateTotal));
+            resp.setMessage("Users retrieved successfully");
+            return ResponseEntity.ok(resp);
+        }
         PaginatedResponse<UserDetailResponse> response = userService.getAllUsers(page, size, sortBy, sortDir, name, role, status);
         Response<PaginatedResponse<UserDetailResponse>> resp = new Response<>();
         resp.setData(response);
@@ -88,6 +146,52 @@ public class UserController2 {
         return ResponseEntity.ok(response);
     }
 
+    @PutMapping("/{id}/manager")
+    @Operation(summary = "Assign manager", description = "Set or clear (managerId null) the direct manager of a user. Requires ADMIN role.")
+    public ResponseEntity<Void> assignManager(
+            @Parameter(description = "User ID") @PathVariable Long id,
+            @RequestBody UserManagerRequest request) {
+        orgHierarchyService.assignManager(id, request.getManagerId());
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{id}/team")
+    @Operation(summary = "Get manager team", description = "Direct and indirect reports of a manager, in hierarchy order. Requires ADMIN/HR role or being the manager.")
+    public ResponseEntity<List<UserSummaryResponse>> getTeam(
+            @Parameter(description = "Manager user ID") @PathVariable Long id) {
+        return ResponseEntity.ok(orgHierarchyService.getTeam(id));
+    }
+
+    @PostMapping("/bulk/activate")
+    @Operation(summary = "Bulk activate users", description = "Activate users selected by ids and/or filter (department, role, status). Requires ADMIN role.")
+    public ResponseEntity<UserBulkResult> bulkActivateUsers(@RequestBody UserBulkRequest request) {
+        return ResponseEntity.ok(userService.bulkActivateUsers(request));
+    }
+
+    @PostMapping("/bulk/deactivate")
+    @Operation(summary = "Bulk deactivate users", description = "Deactivate users selected by ids and/or filter. Cannot include yourself or the last admin. Requires ADMIN role.")
+    public ResponseEntity<UserBulkResult> bulkDeactivateUsers(@RequestBody UserBulkRequest request) {
+        return ResponseEntity.ok(userService.bulkDeactivateUsers(request));
+    }
+
+    @PostMapping("/bulk/lock")
+    @Operation(summary = "Bulk lock users", description = "Lock users selected by ids and/or filter. Cannot include yourself or the last admin. Requires ADMIN role.")
+    public ResponseEntity<UserBulkResult> bulkLockUsers(@RequestBody UserBulkRequest request) {
+        return ResponseEntity.ok(userService.bulkLockUsers(request));
+    }
+
+    @PostMapping("/bulk/unlock")
+    @Operation(summary = "Bulk unlock users", description = "Unlock locked users selected by ids and/or filter. Requires ADMIN role.")
+    public ResponseEntity<UserBulkResult> bulkUnlockUsers(@RequestBody UserBulkRequest request) {
+        return ResponseEntity.ok(userService.bulkUnlockUsers(request));
+    }
+
+    @PostMapping("/bulk/roles")
+    @Operation(summary = "Bulk update user roles", description = "Add, remove or replace (default) roles of users selected by ids and/or filter. Requires ADMIN role.")
+    public ResponseEntity<UserBulkResult> bulkUpdateUserRoles(@RequestBody UserBulkRequest request) {
+        return ResponseEntity.ok(userService.bulkUpdateUserRoles(request));
+    }
+
     @PostMapping("/{id}/activate")
     @Operation(summary = "Activate user", description = "Activate a user account. Requires ADMIN role.")
     public ResponseEntity<UserDetailResponse> activateUser(
@@ -130,25 +234,68 @@ public class UserController2 {
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search users by name", description = "Search users by full name. Requires ADMIN or HR role.")
+    @Operation(summary = "Search users by name", description = "Search users by full name or email. Returns at most the first 200 matches; a cut result has X-Result-Truncated: true and a Link to /cursor/search. Requires ADMIN or HR role.", deprecated = true)
     public ResponseEntity<List<UserDetailResponse>> searchUsers(
             @Parameter(description = "Search keyword") @RequestParam String keyword) {
-        List<UserDetailResponse> response = userService.searchUsers(keyword);
-        return ResponseEntity.ok(response);
+        return legacyList(userService.searchUsers(keyword),
+                UriComponentsBuilder.fromPath("/api/users/cursor/search").queryParam("keyword", "{keyword}")
+                        .uriVariables(Map.of("keyword", keyword)));
     }
 
     @GetMapping("/role/{roleCode}")
-    @Operation(summary = "Get users by role", description = "Get all users with a specific role. Requires ADMIN role.")
+    @Operation(summary = "Get users by role", description = "Get users with a specific role. Returns at most the first 200 users by ID; a cut result has X-Result-Truncated: true and a Link to the next page of /cursor/role/{roleCode}. Requires ADMIN role.", deprecated = true)
     public ResponseEntity<List<UserDetailResponse>> getUsersByRole(
             @Parameter(description = "Role code") @PathVariable String roleCode) {
-        List<UserDetailResponse> response = userService.getUsersByRole(roleCode);
-        return ResponseEntity.ok(response);
+        return legacyList(userService.getUsersByRole(roleCode),
+                UriComponentsBuilder.fromPath("/api/users/cursor/role/{roleCode}").uriVariables(Map.of("roleCode", roleCode)));
     }
 
     @GetMapping("/active")
-    @Operation(summary = "Get all active users", description = "Get all active users. Requires ADMIN or HR role.")
+    @Operation(summary = "Get active users", description = "Get active users. Returns at most the first 200 users by ID; a cut result has X-Result-Truncated: true and a Link to the next page of /cursor/active. Requires ADMIN or HR role.", deprecated = true)
     public ResponseEntity<List<UserDetailResponse>> getActiveUsers() {
-        List<UserDetailResponse> response = userService.getActiveUsers();
-        return ResponseEntity.ok(response);
+        return legacyList(userService.getActiveUsers(), UriComponentsBuilder.fromPath("/api/users/cursor/active"));
+    }
+
+    // body tetap list seperti dulu; hasil yang terpotong ditandai header + Link ke endpoint cursor
+    private ResponseEntity<List<UserDetailResponse>> legacyList(CursorResponse<UserDetailResponse> page,
+                                                                UriComponentsBuilder cursorLink) {
+        if (!page.isHasNext()) {
+            return ResponseEntity.ok(page.getContent());
+        }
+        if (page.getNextCursor() != null) {
+            cursorLink.queryParam("cursor", "{cursor}").uriVariables(Map.of("cursor", page.getNextCursor()));
+        }
+        return ResponseEntity.ok()
+                .header(TRUNCATED_HEADER, "true")
+                .header(HttpHeaders.LINK, "<" + cursorLink.toUriString() + ">; rel=\"next\"")
+                .body(page.getContent());
+    }
+
+    // ========== Cursor (keyset) pagination ==========
+
+    @GetMapping("/cursor/search")
+    @Operation(summary = "Search users by name (cursor)", description = "Keyset-paginated name search ordered by full name. Pass nextCursor as cursor for the next page. Requires ADMIN or HR role.")
+    public ResponseEntity<CursorResponse<UserSummaryResponse>> searchUsersCursor(
+            @Parameter(description = "Search keyword") @RequestParam String keyword,
+            @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 200)") @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(userService.searchUsersCursor(keyword, cursor, size));
+    }
+
+    @GetMapping("/cursor/role/{roleCode}")
+    @Operation(summary = "Get users by role (cursor)", description = "Keyset-paginated users with a specific role, ordered by ID. Requires ADMIN role.")
+    public ResponseEntity<CursorResponse<UserSummaryResponse>> getUsersByRoleCursor(
+            @Parameter(description = "Role code") @PathVariable String roleCode,
+            @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 200)") @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(userService.getUsersByRoleCursor(roleCode, cursor, size));
+    }
+
+    @GetMapping("/cursor/active")
+    @Operation(summary = "Get active users (cursor)", description = "Keyset-paginated active users, ordered by ID. Requires ADMIN or HR role.")
+    public ResponseEntity<CursorResponse<UserSummaryResponse>> getActiveUsersCursor(
+            @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 200)") @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(userService.getActiveUsersCursor(cursor, size));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+package com.gcompany.employeemanagement.dto.projection;
+
+import com.gcompany.employeemanagement.enums.AttendanceStatus;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * Read-only row untuk list attendance HR.
+ * Hanya berisi kolom yang dibutuhkan AttendanceResponse, jadi User (beserta roles/permissions) tidak perlu di-load.
+ */
+public interface AttendanceListView {
+
+    Long getId();
+
+    Long getUserId();
+
+    String getUserFullName();
+
+    String getUserEmail();
+
+    String getUserProfileImageUrl();
+
+    LocalDate getDate();
+
+    OffsetDateTime getCheckinTime();
+
+    Double getCheckinLat();
+
+    Double getCheckinLng();
+
+    String getCheckinPhoto();
+
+    OffsetDateTime getCheckoutTime();
+
+    Double getCheckoutLat();
+
+    Double getCheckoutLng();
+
+    String getCheckoutPhoto();
+
+    AttendanceStatus getStatus();
+
+    String getNote();
+
+    Integer getWorkedMinutes();
+
+    Integer getOvertimeMinutes();
+
+    OffsetDateTime getCreatedAt();
+
+    OffsetDateTime getUpdatedAt();
+}
@@ -0,0 +1,11 @@
+package com.gcompany.employeemanagement.dto.projection;
+
+/**
+ * Jumlah attendance satu hari per department & status (untuk seed counter live feed).
+ */
+public interface AttendanceStatusCountView {
+    Long getDepartmentId();
+    String getStatus();
+    Long getTotal();
+    Long getCheckedOut();
+}
@@ -0,0 +1,11 @@
+package com.gcompany.employeemanagement.dto.projection;
+
+/**
+ * Satu baris agregasi heatmap: index sel grid (lat/lng dibagi cellSize) per status.
+ */
+public interface CheckinGridCellView {
+    Long getCellY();
+    Long getCellX();
+    String getStatus();
+    Long getTotal();
+}
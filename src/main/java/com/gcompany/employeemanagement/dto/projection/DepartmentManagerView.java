@@ -0,0 +1,13 @@
+package com.gcompany.employeemanagement.dto.projection;
+
+/**
+ * Department beserta manager-nya (null kalau belum ada manager).
+ */
+public interface DepartmentManagerView {
+
+    Long getId();
+
+    String getCode();
+
+    Long getManagerId();
+}
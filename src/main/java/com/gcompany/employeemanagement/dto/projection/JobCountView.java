@@ -0,0 +1,13 @@
+package com.gcompany.employeemanagement.dto.projection;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Jumlah job per type & status (untuk metrics antrian).
+ */
+public interface JobCountView {
+    String getType();
+    String getStatus();
+    Long getTotal();
+    OffsetDateTime getOldestRunAt();
+}
@@ -0,0 +1,11 @@
+package com.gcompany.employeemanagement.dto.projection;
+
+/**
+ * User dan atasan langsungnya (null kalau tidak punya manager).
+ */
+public interface ReportingLineView {
+
+    Long getId();
+
+    Long getManagerId();
+}
@@ -0,0 +1,11 @@
+package com.gcompany.employeemanagement.dto.projection;
+
+/**
+ * User dan department tempat dia terdaftar.
+ */
+public interface UserDepartmentView {
+
+    Long getId();
+
+    Long getDepartmentId();
+}
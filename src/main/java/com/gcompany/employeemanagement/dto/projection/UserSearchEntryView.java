@@ -0,0 +1,13 @@
+package com.gcompany.employeemanagement.dto.projection;
+
+/**
+ * Kolom yang diindeks untuk pencarian nama / email user.
+ */
+public interface UserSearchEntryView {
+
+    Long getId();
+
+    String getFullName();
+
+    String getEmail();
+}
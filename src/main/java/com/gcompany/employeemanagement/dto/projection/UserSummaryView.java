@@ -0,0 +1,23 @@
+package com.gcompany.employeemanagement.dto.projection;
+
+import com.gcompany.employeemanagement.enums.UserStatus;
+
+/**
+ * Row ringan untuk list user (search / per role / aktif): tanpa roles & permissions.
+ */
+public interface UserSummaryView {
+
+    Long getId();
+
+    String getEmail();
+
+    String getFullName();
+
+    String getPhoneNumber();
+
+    String getProfileImageUrl();
+
+    UserStatus getStatus();
+
+    Long getDepartmentId();
+}
@@ -0,0 +1,22 @@
+package com.gcompany.employeemanagement.dto.req;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceSyncRequest {
+
+    @NotEmpty(message = "Events must not be empty")
+    @Size(max = 200, message = "At most 200 events per sync")
+    private List<@Valid OfflineAttendanceEvent> events;
+}
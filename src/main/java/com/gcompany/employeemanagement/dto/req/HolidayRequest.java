@@ -0,0 +1,27 @@
+package com.gcompany.employeemanagement.dto.req;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class HolidayRequest {
+    @NotNull(message = "Holiday date is required")
+    private LocalDate date;
+
+    @NotBlank(message = "Holiday name is required")
+    @Size(max = 100, message = "Name cannot exceed 100 characters")
+    private String name;
+
+    // null = libur seluruh perusahaan
+    private Long departmentId;
+}
@@ -0,0 +1,17 @@
+package com.gcompany.employeemanagement.dto.req;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class KioskCheckinRequest {
+    // isi QR / badge hasil scan
+    @NotBlank(message = "Badge is required")
+    @Size(max = 64, message = "Badge is too long")
+    private String badge;
+}
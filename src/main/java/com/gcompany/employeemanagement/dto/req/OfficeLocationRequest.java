@@ -0,0 +1,48 @@
+package com.gcompany.employeemanagement.dto.req;
+
+import com.gcompany.employeemanagement.enums.GeofenceType;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OfficeLocationRequest {
+    @NotBlank(message = "Location code is required")
+    @Size(min = 2, max = 20, message = "Code must be between 2 and 20 characters")
+    private String code;
+
+    @NotBlank(message = "Location name is required")
+    @Size(min = 2, max = 100, message = "Name must be between 2 and 100 characters")
+    private String name;
+
+    @NotNull(message = "Geofence type is required")
+    private GeofenceType type;
+
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double centerLat;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double centerLng;
+
+    @Positive(message = "Radius must be positive")
+    private Double radiusMeters;
+
+    // [[lat, lng], [lat, lng], ...] untuk type POLYGON
+    private List<List<Double>> polygon;
+
+    private Boolean active;
+}
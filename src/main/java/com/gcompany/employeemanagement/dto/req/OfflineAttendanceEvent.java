@@ -0,0 +1,33 @@
+package com.gcompany.employeemanagement.dto.req;
+
+import com.gcompany.employeemanagement.enums.SyncEventType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OfflineAttendanceEvent {
+
+    @NotBlank(message = "Idempotency key is required")
+    @Size(max = 100, message = "Idempotency key must not exceed 100 characters")
+    private String idempotencyKey;
+
+    @NotNull(message = "Event type is required")
+    private SyncEventType type;
+
+    // waktu event di device saat offline
+    @NotNull(message = "Client timestamp is required")
+    private OffsetDateTime clientTimestamp;
+
+    private Double latitude;
+    private Double longitude;
+}
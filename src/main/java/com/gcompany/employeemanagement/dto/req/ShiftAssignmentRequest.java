@@ -0,0 +1,33 @@
+package com.gcompany.employeemanagement.dto.req;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ShiftAssignmentRequest {
+    // isi salah satu: departmentId atau userId
+    private Long departmentId;
+    private Long userId;
+
+    // kode shift dipisah koma, "OFF" = hari libur, mis. "PAGI,PAGI,MALAM,OFF"
+    @NotBlank(message = "Rotation pattern is required")
+    @Size(max = 500, message = "Rotation pattern cannot exceed 500 characters")
+    private String rotationPattern;
+
+    private LocalDate rotationStartDate;
+
+    @NotNull(message = "Effective from date is required")
+    private LocalDate effectiveFrom;
+
+    private LocalDate effectiveTo;
+}
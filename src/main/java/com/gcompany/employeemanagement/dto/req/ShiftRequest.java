@@ -0,0 +1,50 @@
+package com.gcompany.employeemanagement.dto.req;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ShiftRequest {
+    @NotBlank(message = "Shift code is required")
+    @Size(min = 2, max = 20, message = "Code must be between 2 and 20 characters")
+    @Pattern(regexp = "^[A-Za-z0-9_]+$", message = "Code must contain only letters, numbers and underscores")
+    private String code;
+
+    @NotBlank(message = "Shift name is required")
+    @Size(min = 2, max = 100, message = "Name must be between 2 and 100 characters")
+    private String name;
+
+    @NotNull(message = "Start time is required")
+    private LocalTime startTime;
+
+    @NotNull(message = "End time is required")
+    private LocalTime endTime;
+
+    @Min(value = 0, message = "Late tolerance cannot be negative")
+    @Max(value = 240, message = "Late tolerance cannot exceed 240 minutes")
+    private Integer lateToleranceMinutes;
+
+    @Min(value = 0, message = "Early leave tolerance cannot be negative")
+    @Max(value = 240, message = "Early leave tolerance cannot exceed 240 minutes")
+    private Integer earlyLeaveToleranceMinutes;
+
+    // "MON,TUE,WED,THU,FRI"; kosong = setiap hari
+    @Pattern(regexp = "^$|^(MON|TUE|WED|THU|FRI|SAT|SUN)(,(MON|TUE|WED|THU|FRI|SAT|SUN))*$",
+            message = "Work days must be a comma separated list of MON..SUN")
+    private String workDays;
+
+    private Boolean active;
+}
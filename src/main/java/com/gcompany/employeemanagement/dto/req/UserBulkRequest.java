@@ -0,0 +1,30 @@
+package com.gcompany.employeemanagement.dto.req;
+
+import com.gcompany.employeemanagement.enums.BulkRoleMode;
+import com.gcompany.employeemanagement.enums.UserStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Target operasi bulk: daftar id dan/atau filter (department, role, status).
+ * Kalau keduanya diisi, id dipersempit dengan filter. Minimal satu harus diisi.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBulkRequest {
+
+    private List<Long> userIds;
+    private Long departmentId;
+    private String roleCode;
+    private UserStatus status;
+
+    // hanya untuk bulk update roles
+    private List<String> roleCodes;
+    private BulkRoleMode roleMode;
+}
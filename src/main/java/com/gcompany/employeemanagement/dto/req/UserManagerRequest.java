@@ -0,0 +1,16 @@
+package com.gcompany.employeemanagement.dto.req;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserManagerRequest {
+
+    // null = hapus atasan (user jadi puncak hierarki)
+    private Long managerId;
+}
@@ -0,0 +1,26 @@
+package com.gcompany.employeemanagement.dto.resp;
+
+import com.gcompany.employeemanagement.enums.AttendanceEventType;
+import com.gcompany.employeemanagement.enums.AttendanceStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceFeedEvent {
+    private AttendanceEventType type;
+    private Long userId;
+    private String userEmail;
+    private Long departmentId;
+    private LocalDate date;
+    private OffsetDateTime time;
+    private AttendanceStatus status;
+    private AttendanceStatus previousStatus;   // status sebelum event (checkout bisa mengubah jadi EARLY_LEAVE)
+}
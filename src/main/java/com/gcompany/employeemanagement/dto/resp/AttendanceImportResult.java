@@ -0,0 +1,23 @@
+package com.gcompany.employeemanagement.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceImportResult {
+    private long totalRows;
+    private long invalidRows;       // gagal validasi format di aplikasi
+    private long stagedRows;        // masuk staging via COPY
+    private long importedRows;      // berhasil di-merge ke attendances
+    private long rejectedRows;      // ditolak saat merge (email tidak dikenal, duplikat)
+    private long errorCount;        // invalid + rejected; errors hanya memuat maksimal app.import.max-reported-errors
+    private List<ImportRowError> errors;
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,23 @@
+package com.gcompany.employeemanagement.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceLiveCounters {
+    private LocalDate date;
+    private Long departmentId;      // null = semua department
+    private long checkedIn;
+    private long checkedOut;
+    private long present;
+    private long late;
+    private long earlyLeave;
+    private long outsideGeo;
+}
@@ -33,6 +33,9 @@ public class AttendanceResponse {
     private AttendanceStatus status;
     private String note;
 
+    private Integer workedMinutes;
+    private Integer overtimeMinutes;
+
     private OffsetDateTime createdAt;
     private OffsetDateTime updatedAt;
 }
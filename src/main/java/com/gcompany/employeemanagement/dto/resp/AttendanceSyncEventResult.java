@@ -0,0 +1,24 @@
+package com.gcompany.employeemanagement.dto.resp;
+
+import com.gcompany.employeemanagement.enums.AttendanceStatus;
+import com.gcompany.employeemanagement.enums.SyncEventOutcome;
+import com.gcompany.employeemanagement.enums.SyncEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceSyncEventResult {
+    private String idempotencyKey;
+    private SyncEventType type;
+    private SyncEventOutcome outcome;
+    private String message;
+    private LocalDate date;
+    private AttendanceStatus status;
+}
@@ -0,0 +1,19 @@
+package com.gcompany.employeemanagement.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceSyncResult {
+    private int applied;
+    private int rejected;
+    private int duplicates;
+    private List<AttendanceSyncEventResult> results;   // urutan sama dengan request
+}
@@ -0,0 +1,21 @@
+package com.gcompany.employeemanagement.dto.resp;
+
+import com.gcompany.employeemanagement.enums.AttendanceStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckinHeatmapCell {
+    // titik tengah sel
+    private double lat;
+    private double lng;
+    private long count;
+    private Map<AttendanceStatus, Long> statusCounts;
+}
@@ -0,0 +1,21 @@
+package com.gcompany.employeemanagement.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckinHeatmapResponse {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private double cellSize;        // derajat
+    private long totalCheckins;
+    private List<CheckinHeatmapCell> cells;
+}
@@ -0,0 +1,19 @@
+package com.gcompany.employeemanagement.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HolidayResponse {
+    private Long id;
+    private LocalDate date;
+    private String name;
+    private Long departmentId;
+}
@@ -0,0 +1,31 @@
+package com.gcompany.employeemanagement.dto.resp;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Metrics antrian per type: jumlah di database (semua node) + counter worker node ini sejak start.
+ */
+@Data
+@Builder
+public class JobTypeMetrics {
+    private String type;
+
+    // database
+    private long queued;
+    private long running;
+    private long succeeded;
+    private long dead;
+    private OffsetDateTime oldestQueuedRunAt;
+
+    // node ini
+    private int concurrency;
+    private int inFlight;
+    private long claimed;
+    private long completed;
+    private long retried;
+    private long deadLettered;
+    private long avgDurationMs;
+}
@@ -0,0 +1,16 @@
+package com.gcompany.employeemanagement.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KioskBadgeResponse {
+    private Long userId;
+    private String fullName;
+    private String badge;       // dicetak sebagai QR
+}
@@ -0,0 +1,22 @@
+package com.gcompany.employeemanagement.dto.resp;
+
+import com.gcompany.employeemanagement.enums.AttendanceStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KioskCheckinResponse {
+    private boolean accepted;
+    private String message;
+    private Long userId;
+    private String fullName;
+    private AttendanceStatus status;
+    private OffsetDateTime checkinTime;
+}
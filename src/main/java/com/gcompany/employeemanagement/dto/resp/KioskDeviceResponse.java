@@ -0,0 +1,25 @@
+package com.gcompany.employeemanagement.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KioskDeviceResponse {
+    private Long id;
+    private String code;
+    private String name;
+    private Double latitude;
+    private Double longitude;
+    private boolean active;
+    // hanya diisi saat register / rotate token, tidak bisa dilihat lagi setelahnya
+    private String token;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
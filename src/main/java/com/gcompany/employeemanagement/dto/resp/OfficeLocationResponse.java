@@ -0,0 +1,28 @@
+package com.gcompany.employeemanagement.dto.resp;
+
+import com.gcompany.employeemanagement.enums.GeofenceType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OfficeLocationResponse {
+    private Long id;
+    private String code;
+    private String name;
+    private GeofenceType type;
+    private Double centerLat;
+    private Double centerLng;
+    private Double radiusMeters;
+    private List<List<Double>> polygon;
+    private boolean active;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
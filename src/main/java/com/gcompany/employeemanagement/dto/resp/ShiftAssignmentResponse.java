@@ -0,0 +1,25 @@
+package com.gcompany.employeemanagement.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShiftAssignmentResponse {
+    private Long id;
+    private Long departmentId;
+    private Long userId;
+    private String rotationPattern;
+    private LocalDate rotationStartDate;
+    private LocalDate effectiveFrom;
+    private LocalDate effectiveTo;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
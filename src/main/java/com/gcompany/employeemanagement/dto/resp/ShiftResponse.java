@@ -0,0 +1,27 @@
+package com.gcompany.employeemanagement.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShiftResponse {
+    private Long id;
+    private String code;
+    private String name;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private int lateToleranceMinutes;
+    private int earlyLeaveToleranceMinutes;
+    private String workDays;
+    private boolean active;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,48 @@
+package com.gcompany.employeemanagement.dto.resp;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+
+/**
+ * Response untuk mode pagination "slice": tidak ada COUNT(*), hanya hasNext (fetch size+1 baris).
+ * estimatedTotalElements hanya diisi kalau client minta (estimateTotal=true).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SliceResponse<T> {
+
+    private List<T> content;
+    private int page;
+    private int size;
+    private boolean hasNext;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long estimatedTotalElements;
+
+    public static <T> SliceResponse<T> of(Slice<T> slice) {
+        return SliceResponse.<T>builder()
+                .content(slice.getContent())
+                .page(slice.getNumber())
+                .size(slice.getSize())
+                .hasNext(slice.hasNext())
+                .build();
+    }
+
+    public static <T> SliceResponse<T> of(Window<T> window, int page, int size) {
+        return SliceResponse.<T>builder()
+                .content(window.getContent())
+                .page(page)
+                .size(size)
+                .hasNext(window.hasNext())
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.gcompany.employeemanagement.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBulkResult {
+    private String action;
+    private long matchedUsers;      // user yang cocok dengan id / filter
+    private long affectedRows;      // baris users / user_roles yang benar-benar berubah
+}
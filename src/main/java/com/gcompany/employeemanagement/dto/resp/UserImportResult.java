@@ -0,0 +1,25 @@
+package com.gcompany.employeemanagement.dto.resp;
+
+import com.gcompany.employeemanagement.enums.JobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResult {
+    private Long jobId;
+    private JobStatus status;       // hitungan per outcome baru terisi setelah job SUCCEEDED
+    private long totalRows;
+    private long createdRows;
+    private long existingRows;      // email sudah ada di database
+    private long duplicateRows;     // email dobel di file
+    private long invalidRows;
+    private long durationMs;
+    private List<UserImportRow> rows;
+}
@@ -0,0 +1,21 @@
+package com.gcompany.employeemanagement.dto.resp;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.gcompany.employeemanagement.enums.ImportRowOutcome;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportRow {
+    private long line;
+    private String email;
+    private ImportRowOutcome outcome;
+    private Long userId;
+    private String reason;
+}
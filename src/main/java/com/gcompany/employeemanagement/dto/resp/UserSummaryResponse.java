@@ -0,0 +1,22 @@
+package com.gcompany.employeemanagement.dto.resp;
+
+import com.gcompany.employeemanagement.enums.UserStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryResponse {
+
+    private Long id;
+    private String email;
+    private String fullName;
+    private String phoneNumber;
+    private String profileImageUrl;
+    private UserStatus status;
+    private Long departmentId;
+}
@@ -0,0 +1,20 @@
+package com.gcompany.employeemanagement.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkTimeRecomputeResult {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private long scannedRows;       // attendance yang sudah checkout di rentang tanggal
+    private long updatedRows;       // yang nilainya berubah
+    private long durationMs;
+}
@@ -0,0 +1,7 @@
+package com.gcompany.employeemanagement.enums;
+
+public enum BulkRoleMode {
+    ADD,            // tambahkan role ke user
+    REMOVE,         // hapus role dari user
+    REPLACE         // role user diganti persis dengan daftar role
+}
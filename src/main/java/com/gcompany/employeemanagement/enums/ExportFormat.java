@@ -0,0 +1,6 @@
+package com.gcompany.employeemanagement.enums;
+
+public enum ExportFormat {
+    CSV,        // text/csv, satu baris header
+    NDJSON      // satu JSON object per baris
+}
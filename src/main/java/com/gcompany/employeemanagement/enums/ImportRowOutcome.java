@@ -0,0 +1,8 @@
+package com.gcompany.employeemanagement.enums;
+
+public enum ImportRowOutcome {
+    CREATED,
+    EXISTS,         // email sudah terdaftar
+    DUPLICATE,      // email muncul lebih dari sekali di file
+    INVALID         // gagal validasi / role tidak dikenal
+}
@@ -0,0 +1,7 @@
+package com.gcompany.employeemanagement.enums;
+
+public enum JobRunStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
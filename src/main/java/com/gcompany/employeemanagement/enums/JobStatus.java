@@ -0,0 +1,8 @@
+package com.gcompany.employeemanagement.enums;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    DEAD
+}
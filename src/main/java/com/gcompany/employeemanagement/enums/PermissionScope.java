@@ -0,0 +1,24 @@
+package com.gcompany.employeemanagement.enums;
+
+import java.util.Locale;
+
+public enum PermissionScope {
+    SELF,           // data milik sendiri
+    TEAM,           // bawahan langsung / tidak langsung
+    DEPARTMENT,     // department sendiri atau yang dikelola
+    ALL;            // semua data
+
+    /**
+     * Nilai kolom Permission.scope; kosong dianggap ALL, nilai tak dikenal = null.
+     */
+    public static PermissionScope parse(String value) {
+        if (value == null || value.isBlank()) {
+            return ALL;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
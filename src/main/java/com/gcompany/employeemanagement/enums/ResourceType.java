@@ -18,5 +18,12 @@ public enum ResourceType {
     ROLE,
     PERMISSION,
     AUDIT_LOG,
-    SYSTEM_CONFIG
+    SYSTEM_CONFIG,
+
+    // Attendance Setup Resources
+    OFFICE_LOCATION,
+    SHIFT,
+    SHIFT_ASSIGNMENT,
+    HOLIDAY,
+    KIOSK_DEVICE
 }
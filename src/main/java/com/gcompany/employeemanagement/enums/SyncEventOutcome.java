@@ -0,0 +1,8 @@
+package com.gcompany.employeemanagement.enums;
+
+public enum SyncEventOutcome {
+    PENDING,
+    APPLIED,
+    REJECTED,
+    DUPLICATE
+}
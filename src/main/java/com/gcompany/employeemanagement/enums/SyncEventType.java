@@ -0,0 +1,6 @@
+package com.gcompany.employeemanagement.enums;
+
+public enum SyncEventType {
+    CHECKIN,
+    CHECKOUT
+}
@@ -0,0 +1,26 @@
+package com.gcompany.employeemanagement.mapper;
+
+import com.gcompany.employeemanagement.dto.resp.KioskDeviceResponse;
+import com.gcompany.employeemanagement.model.KioskDevice;
+import org.springframework.stereotype.Component;
+
+@Component
+public class KioskDeviceMapper {
+
+    public KioskDeviceResponse toResponse(KioskDevice device) {
+        if (device == null) {
+            return null;
+        }
+
+        return KioskDeviceResponse.builder()
+                .id(device.getId())
+                .code(device.getCode())
+                .name(device.getName())
+                .latitude(device.getLatitude())
+                .longitude(device.getLongitude())
+                .active(device.isActive())
+                .createdAt(device.getCreatedAt())
+                .updatedAt(device.getUpdatedAt())
+                .build();
+    }
+}
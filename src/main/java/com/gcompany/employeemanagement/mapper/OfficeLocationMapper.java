@@ -0,0 +1,70 @@
+package com.gcompany.employeemanagement.mapper;
+
+import com.gcompany.employeemanagement.dto.resp.OfficeLocationResponse;
+import com.gcompany.employeemanagement.enums.GeofenceType;
+import com.gcompany.employeemanagement.model.OfficeLocation;
+import com.gcompany.employeemanagement.utils.GeofenceIndex;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class OfficeLocationMapper {
+
+    public OfficeLocationResponse toResponse(OfficeLocation location) {
+        if (location == null) {
+            return null;
+        }
+
+        return OfficeLocationResponse.builder()
+                .id(location.getId())
+                .code(location.getCode())
+                .name(location.getName())
+                .type(location.getType())
+                .centerLat(location.getCenterLat())
+                .centerLng(location.getCenterLng())
+                .radiusMeters(location.getRadiusMeters())
+                .polygon(location.getPolygon() != null ? parsePolygon(location.getPolygon()) : null)
+                .active(location.isActive())
+                .createdAt(location.getCreatedAt())
+                .updatedAt(location.getUpdatedAt())
+                .build();
+    }
+
+    public GeofenceIndex.Geofence toGeofence(OfficeLocation location) {
+        if (location.getType() == GeofenceType.RADIUS) {
+            return GeofenceIndex.Geofence.radius(location.getId(),
+                    location.getCenterLat(), location.getCenterLng(), location.getRadiusMeters());
+        }
+
+        List<List<Double>> points = parsePolygon(location.getPolygon());
+        double[] lats = new double[points.size()];
+        double[] lngs = new double[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            lats[i] = points.get(i).get(0);
+            lngs[i] = points.get(i).get(1);
+        }
+        return GeofenceIndex.Geofence.polygon(location.getId(), lats, lngs);
+    }
+
+    public String formatPolygon(List<List<Double>> points) {
+        StringBuilder sb = new StringBuilder();
+        for (List<Double> point : points) {
+            if (!sb.isEmpty()) {
+                sb.append(';');
+            }
+            sb.append(point.get(0)).append(',').append(point.get(1));
+        }
+        return sb.toString();
+    }
+
+    public List<List<Double>> parsePolygon(String polygon) {
+        List<List<Double>> points = new ArrayList<>();
+        for (String pair : polygon.split(";")) {
+            String[] latLng = pair.split(",");
+            points.add(List.of(Double.parseDouble(latLng[0].trim()), Double.parseDouble(latLng[1].trim())));
+        }
+        return points;
+    }
+}
@@ -0,0 +1,179 @@
+package com.gcompany.employeemanagement.mapper;
+
+import com.gcompany.employeemanagement.enums.ActionType;
+import com.gcompany.employeemanagement.enums.PermissionScope;
+import com.gcompany.employeemanagement.enums.ResourceType;
+import com.gcompany.employeemanagement.model.Permission;
+import com.gcompany.employeemanagement.model.Role;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache role-set (id role terurut) -> role codes + permission names + scope per resource/action yang sudah jadi.
+ * Snapshot immutable diganti utuh (copy-on-write); jumlah kombinasi role kecil, jadi
+ * mapping user cukup satu lookup tanpa menyentuh permissions role.
+ * Versi dinaikkan tiap mutasi role/permission; Role/Permission dicap versi saat dibaca dari DB
+ * (RoleSnapshotLoadListener), dan hasil hitung dari entity versi lama tidak disimpan.
+ */
+@Component
+@Slf4j
+public class RoleSnapshotCache {
+
+    private static final int MAX_ENTRIES = 1024;
+
+    private volatile Snapshot snapshot = new Snapshot(0, Map.of());
+
+    public RoleSnapshot get(Collection<Role> roles) {
+        Snapshot current = snapshot;
+        List<Long> key = key(roles);
+        if (key == null) {
+            // role belum tersimpan, tidak bisa dijadikan key
+            return compute(roles);
+        }
+        RoleSnapshot cached = current.entries().get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        RoleSnapshot computed = compute(roles);
+        long loadedVersion = loadedVersion(roles, current.version());
+        synchronized (this) {
+            // entity dibaca sebelum invalidate terakhir (atau invalidate terjadi selama compute): jangan disimpan
+            if (snapshot.version() == loadedVersion && snapshot.entries().size() < MAX_ENTRIES) {
+                Map<List<Long>, RoleSnapshot> entries = new HashMap<>(snapshot.entries());
+                entries.put(key, computed);
+                snapshot = new Snapshot(current.version(), Map.copyOf(entries));
+            }
+        }
+        return computed;
+    }
+
+    /**
+     * Kosongkan cache; di dalam transaksi baru berlaku setelah commit supaya request lain
+     * tidak mengisi ulang dari data yang belum di-commit.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        } else {
+            clear();
+        }
+    }
+
+    /**
+     * invalidate() hanya berlaku di node ini; kosongkan berkala supaya role/permission yang dicabut
+     * di node lain tidak tetap memberi akses lebih lama dari interval ini.
+     */
+    @Scheduled(cron = "${app.security.role-snapshot.reload-cron:*/30 * * * * *}")
+    public void reload() {
+        clear();
+    }
+
+    public long version() {
+        return snapshot.version();
+    }
+
+    private synchronized void clear() {
+        snapshot = new Snapshot(snapshot.version() + 1, Map.of());
+        log.debug("Role snapshot cache invalidated, version {}", snapshot.version());
+    }
+
+    private static List<Long> key(Collection<Role> roles) {
+        Long[] ids = new Long[roles.size()];
+        int i = 0;
+        for (Role role : roles) {
+            if (role.getId() == null) {
+                return null;
+            }
+            ids[i++] = role.getId();
+        }
+        Arrays.sort(ids);
+        return List.of(ids);
+    }
+
+    /**
+     * Versi tertua saat role + permission-nya dibaca dari DB; entity yang belum pernah dibaca
+     * (baru dibuat di memori) memakai versi saat get() dimulai.
+     */
+    private static long loadedVersion(Collection<Role> roles, long fallback) {
+        long version = fallback;
+        for (Role role : roles) {
+            version = min(version, role.getSnapshotVersion());
+            for (Permission permission : role.getPermissions()) {
+                version = min(version, permission.getSnapshotVersion());
+            }
+        }
+        return version;
+    }
+
+    private static long min(long version, Long stamp) {
+        return stamp == null ? version : Math.min(version, stamp);
+    }
+
+    private static RoleSnapshot compute(Collection<Role> roles) {
+        // role dan permission nonaktif tidak ikut, sama dengan User.getAuthorities()
+        List<Role> activeRoles = roles.stream()
+                .filter(Role::isActive)
+                .toList();
+        List<String> roleCodes = activeRoles.stream()
+                .map(Role::getCode)
+                .distinct()
+                .sorted()
+                .toList();
+        List<String> permissionNames = activeRoles.stream()
+                .flatMap(role -> role.getPermissions().stream())
+                .filter(Permission::isActive)
+                .map(Permission::getName)
+                .distinct()
+                .sorted()
+                .toList();
+        // scope per resource + action, untuk evaluator hasPermission (sama dengan authorities: permission aktif saja)
+        Map<String, Set<PermissionScope>> scopes = new HashMap<>();
+        activeRoles.stream()
+                .flatMap(role -> role.getPermissions().stream())
+                .filter(Permission::isActive)
+                .filter(permission -> permission.getResource() != null && permission.getAction() != null)
+                .forEach(permission -> {
+                    PermissionScope scope = PermissionScope.parse(permission.getScope());
+                    if (scope != null) {
+                        scopes.computeIfAbsent(scopeKey(permission.getResource(), permission.getAction()),
+                                key -> EnumSet.noneOf(PermissionScope.class)).add(scope);
+                    }
+                });
+        Map<String, Set<PermissionScope>> scopesByPermission = new HashMap<>();
+        scopes.forEach((key, value) -> scopesByPermission.put(key, Collections.unmodifiableSet(value)));
+        return new RoleSnapshot(roleCodes, permissionNames, Map.copyOf(scopesByPermission));
+    }
+
+    private static String scopeKey(ResourceType resource, ActionType action) {
+        return resource.name() + ":" + action.name();
+    }
+
+    public record RoleSnapshot(List<String> roleCodes, List<String> permissionNames,
+                               Map<String, Set<PermissionScope>> scopesByPermission) {
+
+        public Set<PermissionScope> scopes(ResourceType resource, ActionType action) {
+            return scopesByPermission.getOrDefault(scopeKey(resource, action), Set.of());
+        }
+    }
+
+    private record Snapshot(long version, Map<List<Long>, RoleSnapshot> entries) {
+    }
+}
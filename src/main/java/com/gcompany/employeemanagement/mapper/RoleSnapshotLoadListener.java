@@ -0,0 +1,33 @@
+package com.gcompany.employeemanagement.mapper;
+
+import com.gcompany.employeemanagement.model.Permission;
+import com.gcompany.employeemanagement.model.Role;
+import jakarta.persistence.PostLoad;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Menandai Role/Permission dengan versi RoleSnapshotCache saat dibaca dari DB, supaya cache bisa
+ * menolak snapshot dari entity yang dibaca sebelum invalidate (persistence context yang sudah basi).
+ * Dibuat Hibernate lewat SpringBeanContainer; di slice test tanpa cache, stamp dilewati.
+ */
+public class RoleSnapshotLoadListener {
+
+    private final ObjectProvider<RoleSnapshotCache> roleSnapshotCache;
+
+    public RoleSnapshotLoadListener(ObjectProvider<RoleSnapshotCache> roleSnapshotCache) {
+        this.roleSnapshotCache = roleSnapshotCache;
+    }
+
+    @PostLoad
+    public void stamp(Object entity) {
+        RoleSnapshotCache cache = roleSnapshotCache.getIfAvailable();
+        if (cache == null) {
+            return;
+        }
+        if (entity instanceof Role role) {
+            role.setSnapshotVersion(cache.version());
+        } else if (entity instanceof Permission permission) {
+            permission.setSnapshotVersion(cache.version());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.gcompany.employeemanagement.mapper;
+
+import com.gcompany.employeemanagement.dto.resp.HolidayResponse;
+import com.gcompany.employeemanagement.dto.resp.ShiftAssignmentResponse;
+import com.gcompany.employeemanagement.dto.resp.ShiftResponse;
+import com.gcompany.employeemanagement.model.Holiday;
+import com.gcompany.employeemanagement.model.Shift;
+import com.gcompany.employeemanagement.model.ShiftAssignment;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ShiftMapper {
+
+    public ShiftResponse toResponse(Shift shift) {
+        if (shift == null) {
+            return null;
+        }
+
+        return ShiftResponse.builder()
+                .id(shift.getId())
+                .code(shift.getCode())
+                .name(shift.getName())
+                .startTime(shift.getStartTime())
+                .endTime(shift.getEndTime())
+                .lateToleranceMinutes(shift.getLateToleranceMinutes())
+                .earlyLeaveToleranceMinutes(shift.getEarlyLeaveToleranceMinutes())
+                .workDays(shift.getWorkDays())
+                .active(shift.isActive())
+                .createdAt(shift.getCreatedAt())
+                .updatedAt(shift.getUpdatedAt())
+                .build();
+    }
+
+    public ShiftAssignmentResponse toResponse(ShiftAssignment assignment) {
+        if (assignment == null) {
+            return null;
+        }
+
+        return ShiftAssignmentResponse.builder()
+                .id(assignment.getId())
+                .departmentId(assignment.getDepartment() != null ? assignment.getDepartment().getId() : null)
+                .userId(assignment.getUser() != null ? assignment.getUser().getId() : null)
+                .rotationPattern(assignment.getRotationPattern())
+                .rotationStartDate(assignment.getRotationStartDate())
+                .effectiveFrom(assignment.getEffectiveFrom())
+                .effectiveTo(assignment.getEffectiveTo())
+                .createdAt(assignment.getCreatedAt())
+                .updatedAt(assignment.getUpdatedAt())
+                .build();
+    }
+
+    public HolidayResponse toResponse(Holiday holiday) {
+        if (holiday == null) {
+            return null;
+        }
+
+        return HolidayResponse.builder()
+                .id(holiday.getId())
+                .date(holiday.getDate())
+                .name(holiday.getName())
+                .departmentId(holiday.getDepartment() != null ? holiday.getDepartment().getId() : null)
+                .build();
+    }
+}
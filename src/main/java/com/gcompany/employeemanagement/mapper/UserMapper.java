@@ -2,8 +2,10 @@ package com.gcompany.employeemanagement.mapper;
 
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
+import com.gcompany.employeemanagement.dto.projection.UserSummaryView;
 import com.gcompany.employeemanagement.dto.req.UserUpdateRequest;
 import com.gcompany.employeemanagement.dto.resp.UserDetailResponse;
+import com.gcompany.employeemanagement.dto.resp.UserSummaryResponse;
 import com.gcompany.employeemanagement.model.User;
 import com.gcompany.employeemanagement.repository.RoleRepository;
 import lombok.RequiredArgsConstructor;
@@ -13,13 +15,13 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 public class UserMapper {
 
     private final RoleRepository roleRepository;
+    private final RoleSnapshotCache roleSnapshotCache;
 
     @Autowired
     private final Cloudinary  cloudinary;
@@ -29,6 +31,7 @@ public class UserMapper {
             return null;
         }
 
+        RoleSnapshotCache.RoleSnapshot roles = roleSnapshotCache.get(user.getRoles());
         return UserDetailResponse.builder()
                 .id(user.getId())
                 .email(user.getEmail())
@@ -42,8 +45,8 @@ public class UserMapper {
                 .accountNonLocked(user.isAccountNonLocked())
                 .credentialsNonExpired(user.isCredentialsNonExpired())
                 .enabled(user.isEnabled())
-                .roles(user.getRoleCodes().stream().collect(Collectors.toList()))
-                .permissions(user.getPermissionNames().stream().collect(Collectors.toList()))
+                .roles(roles.roleCodes())
+                .permissions(roles.permissionNames())
                 .createdAt(user.getCreatedAt())
                 .updatedAt(user.getUpdatedAt())
                 .createdBy(user.getCreatedBy())
@@ -51,6 +54,18 @@ public class UserMapper {
                 .build();
     }
 
+    public UserSummaryResponse toUserSummaryResponse(UserSummaryView view) {
+        return UserSummaryResponse.builder()
+                .id(view.getId())
+                .email(view.getEmail())
+                .fullName(view.getFullName())
+                .phoneNumber(view.getPhoneNumber())
+                .profileImageUrl(view.getProfileImageUrl())
+                .status(view.getStatus())
+                .departmentId(view.getDepartmentId())
+                .build();
+    }
+
     public void updateUserFromRequest(User user, UserUpdateRequest request) {
         if (request.getFirstName() != null) {
             user.setFirstName(request.getFirstName());
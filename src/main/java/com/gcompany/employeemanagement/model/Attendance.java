@@ -52,6 +52,13 @@ public class Attendance {
 
     private String note;
 
+    // ditutup otomatis oleh job end-of-day karena tidak ada checkout
+    private Boolean autoClosed;
+
+    // dihitung saat attendance ditutup (checkout) terhadap jadwal shift, dibaca payroll & report
+    private Integer workedMinutes;
+    private Integer overtimeMinutes;
+
     @Column(nullable = false, updatable = false)
     private OffsetDateTime createdAt;
 
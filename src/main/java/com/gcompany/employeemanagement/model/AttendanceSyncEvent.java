@@ -0,0 +1,51 @@
+package com.gcompany.employeemanagement.model;
+
+import com.gcompany.employeemanagement.enums.SyncEventOutcome;
+import com.gcompany.employeemanagement.enums.SyncEventType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Jejak event check-in/out offline yang sudah diproses, supaya event yang dikirim ulang
+ * oleh aplikasi mobile (idempotency key yang sama) tidak diterapkan dua kali.
+ */
+@Entity
+@Table(
+        name = "attendance_sync_events",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "idempotency_key"})
+)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceSyncEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SyncEventType eventType;
+
+    @Column(nullable = false)
+    private OffsetDateTime clientTimestamp;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SyncEventOutcome outcome;
+
+    private String message;
+
+    @Column(nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+}
@@ -0,0 +1,50 @@
+package com.gcompany.employeemanagement.model;
+
+import com.gcompany.employeemanagement.enums.ActionType;
+import com.gcompany.employeemanagement.enums.ResourceType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Jejak audit mutasi data. Ditulis batch oleh writer background, tidak pernah diubah setelah insert.
+ */
+@Entity
+@Table(name = "audit_logs", indexes = {
+        @Index(name = "idx_audit_logs_entity", columnList = "resource, entity_id, id"),
+        @Index(name = "idx_audit_logs_actor", columnList = "actor_id, id")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class AuditLog {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "occurred_at", nullable = false)
+    private OffsetDateTime occurredAt;
+
+    // null = proses sistem (scheduler, startup)
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private ResourceType resource;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private ActionType action;
+
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    @Column(columnDefinition = "TEXT")
+    private String detail;
+}
@@ -0,0 +1,51 @@
+package com.gcompany.employeemanagement.model;
+
+import com.gcompany.employeemanagement.enums.JobRunStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * Metrik satu kali jalan job end-of-day attendance.
+ */
+@Entity
+@Table(name = "end_of_day_runs")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class EndOfDayRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate targetDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobRunStatus status;
+
+    // MANUAL / SCHEDULED
+    @Column(nullable = false)
+    private String triggeredBy;
+
+    private int departmentsProcessed;
+    private int attendancesClosed;
+    private int absenteesMarked;
+    private int skippedNonWorking;
+
+    @Column(nullable = false)
+    private OffsetDateTime startedAt;
+
+    private OffsetDateTime finishedAt;
+    private Long durationMs;
+
+    @Column(columnDefinition = "TEXT")
+    private String error;
+}
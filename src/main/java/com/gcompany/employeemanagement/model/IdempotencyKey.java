@@ -0,0 +1,46 @@
+package com.gcompany.employeemanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Klaim Idempotency-Key yang dibagi semua node (tabel idempotency_keys).
+ * Node yang berhasil insert (INSERT ... ON CONFLICT) menjadi owner dan mengeksekusi request;
+ * responseStatus null = masih diproses. Klaim yang lewat lockedUntil tanpa response dianggap ditinggal owner-nya.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class IdempotencyKey {
+    // user | path | Idempotency-Key
+    @Id
+    @Column(name = "idem_key", length = 300)
+    private String key;
+
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    private Integer responseStatus;
+
+    private String contentType;
+
+    @Column(columnDefinition = "bytea")
+    private byte[] responseBody;
+
+    @Column(nullable = false)
+    private OffsetDateTime lockedUntil;
+
+    @Column(nullable = false)
+    private OffsetDateTime expiresAt;
+
+    @Column(nullable = false)
+    private OffsetDateTime createdAt;
+}
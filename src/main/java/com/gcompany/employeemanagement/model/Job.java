@@ -0,0 +1,62 @@
+package com.gcompany.employeemanagement.model;
+
+import com.gcompany.employeemanagement.enums.JobStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Satu job di antrian background (tabel jobs). Worker mengklaim job dengan
+ * SELECT ... FOR UPDATE SKIP LOCKED, jadi beberapa node bisa memproses antrian yang sama.
+ * RUNNING dengan lockedUntil yang sudah lewat dianggap ditinggal worker-nya dan boleh diklaim ulang.
+ */
+@Entity
+@Table(name = "jobs", indexes = @Index(name = "idx_jobs_type_status_run_at", columnList = "type, status, run_at"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class Job {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String type;
+
+    // JSON, dibaca oleh JobHandler untuk type ini
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobStatus status;
+
+    private int attempts;
+    private int maxAttempts;
+
+    // job baru / retry berikutnya tidak diklaim sebelum waktu ini
+    @Column(name = "run_at", nullable = false)
+    private OffsetDateTime runAt;
+
+    private OffsetDateTime lockedUntil;
+
+    // diganti setiap klaim; update hasil dari worker lama (lease sudah habis) diabaikan
+    @Column(length = 36)
+    private String lockToken;
+
+    private String lockedBy;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    private OffsetDateTime startedAt;
+    private OffsetDateTime finishedAt;
+}
@@ -0,0 +1,63 @@
+package com.gcompany.employeemanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tablet kiosk bersama untuk check-in massal. Device login dengan token jangka panjang,
+ * yang disimpan hanya hash SHA-256-nya.
+ */
+@Entity
+@Table(name = "kiosk_devices")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class KioskDevice {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true, nullable = false)
+    private String code;
+
+    @Column(nullable = false)
+    private String name;
+
+    @ToString.Exclude
+    @Column(unique = true, nullable = false, length = 64)
+    private String tokenHash;
+
+    // lokasi tablet, disimpan sebagai lokasi check-in
+    private Double latitude;
+    private Double longitude;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private boolean active = true;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @PreUpdate
+    @PrePersist
+    private void validate() {
+        if (this.code != null) {
+            this.code = this.code.toUpperCase().trim();
+        }
+        if (this.name != null) {
+            this.name = this.name.trim();
+        }
+    }
+}
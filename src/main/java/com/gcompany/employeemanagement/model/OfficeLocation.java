@@ -0,0 +1,64 @@
+package com.gcompany.employeemanagement.model;
+
+import com.gcompany.employeemanagement.enums.GeofenceType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "office_locations")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OfficeLocation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true, nullable = false)
+    private String code;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private GeofenceType type;
+
+    // RADIUS
+    private Double centerLat;
+    private Double centerLng;
+    private Double radiusMeters;
+
+    // POLYGON: "lat,lng;lat,lng;..."
+    @Column(columnDefinition = "TEXT")
+    private String polygon;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private boolean active = true;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @PreUpdate
+    @PrePersist
+    private void validate() {
+        if (this.code != null) {
+            this.code = this.code.toUpperCase().trim();
+        }
+        if (this.name != null) {
+            this.name = this.name.trim();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.gcompany.employeemanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Versi garis pelaporan (satu baris). Dinaikkan dalam transaksi yang mengubah manager / menghapus user,
+ * jadi node lain cukup membaca angka ini untuk tahu apakah index tim perlu dibangun ulang.
+ */
+@Entity
+@Table(name = "org_hierarchy_version")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrgHierarchyVersion {
+    public static final long ROW_ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private long version;
+}
@@ -3,6 +3,7 @@ package com.gcompany.employeemanagement.model;
 import com.gcompany.employeemanagement.enums.ActionType;
 import com.gcompany.employeemanagement.enums.ResourceType;
 import com.gcompany.employeemanagement.model.Role;
+import com.gcompany.employeemanagement.mapper.RoleSnapshotLoadListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -14,6 +15,7 @@ import java.util.Set;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(RoleSnapshotLoadListener.class)
 @Table(name = "permissions",
         uniqueConstraints = {
                 @UniqueConstraint(name = "uk_permission_name", columnNames = "name"),
@@ -51,10 +53,12 @@ public class Permission {
 
     // Apakah permission ini sensitif? (butuh approval khusus)
     @Column(name = "is_sensitive", nullable = false)
+    @Builder.Default
     private boolean sensitive = false;
 
     // Apakah permission ini aktif?
     @Column(name = "is_active", nullable = false)
+    @Builder.Default
     private boolean active = true;
 
     // Kategori untuk grouping di UI
@@ -83,6 +87,12 @@ public class Permission {
     @Column(name = "updated_by")
     private Long updatedBy;
 
+    // versi RoleSnapshotCache saat entity dibaca dari DB (null = belum pernah dibaca)
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Long snapshotVersion;
+
     // Helper method untuk mendapatkan permission string
     public String getPermissionString() {
         return resource.name() + "_" + action.name();
@@ -1,8 +1,10 @@
 package com.gcompany.employeemanagement.model;
 
 import com.gcompany.employeemanagement.enums.RoleType;
+import com.gcompany.employeemanagement.mapper.RoleSnapshotLoadListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -12,6 +14,7 @@ import java.util.Set;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(RoleSnapshotLoadListener.class)
 @Table(name = "roles",
         uniqueConstraints = {
                 @UniqueConstraint(name = "uk_role_name", columnNames = "name"),
@@ -68,7 +71,8 @@ public class Role {
 
     // Relations
     // ManyToMany dengan Permission
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @JoinTable(
             name = "role_permissions",
             joinColumns = @JoinColumn(name = "role_id"),
@@ -103,6 +107,12 @@ public class Role {
     @Column(name = "updated_by")
     private Long updatedBy;
 
+    // versi RoleSnapshotCache saat entity dibaca dari DB (null = belum pernah dibaca)
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Long snapshotVersion;
+
     // Helper methods
     public boolean hasPermission(Permission permission) {
         return permissions.contains(permission);
@@ -0,0 +1,35 @@
+package com.gcompany.employeemanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Lease per scheduled task supaya satu jadwal hanya dijalankan satu node.
+ * Node yang berhasil mengubah lockedUntil (saat lease lama sudah habis) yang menjalankan task.
+ */
+@Entity
+@Table(name = "scheduled_task_locks")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ScheduledTaskLock {
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(nullable = false)
+    private OffsetDateTime lockedUntil;
+
+    private OffsetDateTime lockedAt;
+    private String lockedBy;
+
+    // unik per run; renew/release dari run lain diabaikan
+    @Column(length = 36)
+    private String lockToken;
+}
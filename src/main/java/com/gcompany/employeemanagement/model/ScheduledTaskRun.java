@@ -0,0 +1,48 @@
+package com.gcompany.employeemanagement.model;
+
+import com.gcompany.employeemanagement.enums.JobRunStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Riwayat satu kali jalan scheduled task yang dikunci per cluster.
+ */
+@Entity
+@Table(name = "scheduled_task_runs", indexes = @Index(name = "idx_task_runs_name_started", columnList = "task_name, started_at"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ScheduledTaskRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_name", nullable = false, length = 100)
+    private String taskName;
+
+    @Column(nullable = false)
+    private String node;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobRunStatus status;
+
+    @Column(name = "started_at", nullable = false)
+    private OffsetDateTime startedAt;
+
+    private OffsetDateTime finishedAt;
+    private Long durationMs;
+    private int leaseRenewals;
+
+    // lease gagal diperpanjang: node lain mungkin ikut menjalankan task ini
+    private boolean leaseLost;
+
+    @Column(columnDefinition = "TEXT")
+    private String error;
+}
@@ -0,0 +1,69 @@
+package com.gcompany.employeemanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Entity
+@Table(name = "shifts")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class Shift {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true, nullable = false)
+    private String code;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private LocalTime startTime;
+
+    // kalau <= startTime berarti shift melewati tengah malam
+    @Column(nullable = false)
+    private LocalTime endTime;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private int lateToleranceMinutes = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private int earlyLeaveToleranceMinutes = 0;
+
+    // "MON,TUE,WED,THU,FRI"; null = setiap hari
+    private String workDays;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private boolean active = true;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @PreUpdate
+    @PrePersist
+    private void validate() {
+        if (this.code != null) {
+            this.code = this.code.toUpperCase().trim();
+        }
+        if (this.name != null) {
+            this.name = this.name.trim();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.gcompany.employeemanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Jadwal shift untuk satu department atau satu user (user menang atas department).
+ * rotationPattern berisi kode shift yang berputar per hari mulai rotationStartDate,
+ * mis. "PAGI,PAGI,MALAM,MALAM,OFF,OFF"; satu kode saja = shift tetap.
+ */
+@Entity
+@Table(name = "shift_assignments")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ShiftAssignment {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "department_id")
+    private Department department;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @Column(nullable = false)
+    private String rotationPattern;
+
+    @Column(nullable = false)
+    private LocalDate rotationStartDate;
+
+    @Column(nullable = false)
+    private LocalDate effectiveFrom;
+
+    private LocalDate effectiveTo;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
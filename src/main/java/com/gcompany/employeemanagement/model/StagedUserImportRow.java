@@ -0,0 +1,57 @@
+package com.gcompany.employeemanagement.model;
+
+import com.gcompany.employeemanagement.enums.ImportRowOutcome;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Satu baris file import user, disimpan saat upload dan diproses oleh job users.import.
+ * Outcome null = belum diproses. Password plaintext hanya ada selama baris belum diproses,
+ * setelah itu dikosongkan (job DEAD menyimpannya sampai di-retry atau barisnya dibersihkan).
+ */
+@Entity
+@Table(name = "user_import_rows", indexes = @Index(name = "idx_user_import_rows_job_line", columnList = "job_id, line"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StagedUserImportRow {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(nullable = false)
+    private long line;
+
+    @Column(columnDefinition = "TEXT")
+    private String email;
+
+    @Column(columnDefinition = "TEXT")
+    private String password;
+
+    @Column(columnDefinition = "TEXT")
+    private String firstName;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastName;
+
+    @Column(columnDefinition = "TEXT")
+    private String phoneNumber;
+
+    // role code dipisah "|"
+    @Column(columnDefinition = "TEXT")
+    private String roleCodes;
+
+    @Enumerated(EnumType.STRING)
+    private ImportRowOutcome outcome;
+
+    private Long userId;
+
+    @Column(columnDefinition = "TEXT")
+    private String reason;
+}
@@ -3,7 +3,10 @@ package com.gcompany.employeemanagement.model;
 import com.gcompany.employeemanagement.enums.UserStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -16,6 +19,9 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 @Entity
+@NamedEntityGraph(name = User.WITH_AUTHORITIES,
+        attributeNodes = @NamedAttributeNode(value = "roles", subgraph = "roles"),
+        subgraphs = @NamedSubgraph(name = "roles", attributeNodes = @NamedAttributeNode("permissions")))
 @Table(name = "users",
         uniqueConstraints = {
                 @UniqueConstraint(name = "uk_user_username", columnNames = "username"),
@@ -27,6 +33,9 @@ import java.util.stream.Collectors;
 @Builder
 public class User implements UserDetails {
 
+    // Fetch plan: roles + permissions dalam satu query (auth, detail); list memakai batch fetch
+    public static final String WITH_AUTHORITIES = "User.withAuthorities";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -54,13 +63,19 @@ public class User implements UserDetails {
     @Column(name = "phone_number", length = 20)
     private String phoneNumber;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "departmens_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Department department;
 
-    // mappedBy menandakan bahwa field 'user' di kelas Profile adalah pemilik foreign key
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private UserProfile userProfile;
+    // Garis pelaporan (atasan langsung); dipakai index tim manager di memory
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "manager_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private User manager;
 
     // Status menggunakan enum (lebih clean dan scalable)
     @Enumerated(EnumType.STRING)
@@ -82,7 +97,9 @@ public class User implements UserDetails {
     private boolean credentialsNonExpired = true;
 
     // Relations - ManyToMany dengan Role
-    @ManyToMany(fetch = FetchType.EAGER)
+    // LAZY + batch: list user memuat roles untuk satu page sekaligus, bukan satu query per user
+    @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     @JoinTable(
             name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -116,12 +133,15 @@ public class User implements UserDetails {
         Set<GrantedAuthority> authorities = new HashSet<>();
 
         // Add roles as authorities (with ROLE_ prefix for Spring Security)
-        roles.forEach(role ->
-                authorities.add(new SimpleGrantedAuthority("ROLE_" + role.getCode())));
+        roles.stream()
+                .filter(Role::isActive)
+                .forEach(role -> authorities.add(new SimpleGrantedAuthority("ROLE_" + role.getCode())));
 
-        // Add permissions as authorities
+        // Add permissions as authorities (role dan permission nonaktif tidak memberi akses)
         roles.stream()
+                .filter(Role::isActive)
                 .flatMap(role -> role.getPermissions().stream())
+                .filter(Permission::isActive)
                 .forEach(permission ->
                         authorities.add(new SimpleGrantedAuthority(permission.getName())));
 
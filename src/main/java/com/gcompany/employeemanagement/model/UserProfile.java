@@ -2,6 +2,8 @@ package com.gcompany.employeemanagement.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
 @Data
@@ -19,8 +21,10 @@ public class UserProfile {
     private String state;
     private String postalCode;
 
-    // JoinColumn mendefinisikan kolom foreign key di tabel profiles
+    // JoinColumn mendefinisikan kolom foreign key di tabel profiles.
+    // Tidak ada sisi mappedBy di User (selalu di-load per user, tidak bisa lazy); profile ikut terhapus lewat FK
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", referencedColumnName = "id", unique = true)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private User user;
 }
@@ -0,0 +1,27 @@
+package com.gcompany.employeemanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Versi data index pencarian user (satu baris). Dinaikkan dalam transaksi yang membuat / mengubah / menghapus user,
+ * jadi node lain cukup membaca angka ini untuk tahu apakah index nama perlu dibangun ulang.
+ */
+@Entity
+@Table(name = "user_search_index_version")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class UserSearchIndexVersion {
+    public static final long ROW_ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private long version;
+}
@@ -1,23 +1,129 @@
 package com.gcompany.employeemanagement.repository;
 
+import com.gcompany.employeemanagement.dto.projection.AttendanceListView;
+import com.gcompany.employeemanagement.dto.projection.AttendanceStatusCountView;
+import com.gcompany.employeemanagement.dto.projection.CheckinGridCellView;
+import com.gcompany.employeemanagement.enums.AttendanceStatus;
 import com.gcompany.employeemanagement.model.Attendance;
 import com.gcompany.employeemanagement.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface AttendanceRepository extends JpaRepository<Attendance, Long>, JpaSpecificationExecutor<Attendance> {
 
-    boolean existsByUser_IdAndDateAndCheckoutTimeIsNull(Long userId, LocalDate date);
+    boolean existsByUser_IdAndDateAndCheckoutTimeIsNullAndCheckinTimeIsNotNull(Long userId, LocalDate date);
 
-    Optional<Attendance> findFirstByUser_IdAndDateAndCheckoutTimeIsNull(Long userId, LocalDate date);
+    Optional<Attendance> findFirstByUser_IdAndDateAndCheckoutTimeIsNullAndCheckinTimeIsNotNull(Long userId, LocalDate date);
+
+    // kandidat checkout: attendance terbuka hari ini & kemarin (shift malam), terbaru dulu
+    List<Attendance> findByUser_IdAndDateBetweenAndCheckoutTimeIsNullAndCheckinTimeIsNotNullOrderByDateDesc(
+            Long userId, LocalDate from, LocalDate to);
 
     Optional<Attendance> findFirstByUser_IdAndDate(Long userId, LocalDate date);
 
     List<Attendance> findByUser_IdOrderByDateDesc(Long userId);
 
     Long countAttendancesByDate(LocalDate date);
+
+    // seed counter live feed: satu query group by department & status
+    @Query(value = "SELECT u.departmens_id AS \"departmentId\", a.status AS \"status\", " +
+            "COUNT(*) AS \"total\", COUNT(a.checkout_time) AS \"checkedOut\" " +
+            "FROM attendances a JOIN users u ON u.id = a.user_id " +
+            "WHERE a.date = :date AND a.checkin_time IS NOT NULL " +
+            "GROUP BY u.departmens_id, a.status",
+            nativeQuery = true)
+    List<AttendanceStatusCountView> countCheckinsByDepartmentAndStatus(@Param("date") LocalDate date);
+
+    // List attendance untuk HR: satu query untuk page + satu count, tanpa load entity User per baris
+    String ATTENDANCE_LIST_SELECT = "SELECT a.id AS id, u.id AS userId, u.fullName AS userFullName, u.email AS userEmail, " +
+            "u.profilePicture AS userProfileImageUrl, a.date AS date, " +
+            "a.checkinTime AS checkinTime, a.checkinLat AS checkinLat, a.checkinLng AS checkinLng, a.checkinPhoto AS checkinPhoto, " +
+            "a.checkoutTime AS checkoutTime, a.checkoutLat AS checkoutLat, a.checkoutLng AS checkoutLng, a.checkoutPhoto AS checkoutPhoto, " +
+            "a.status AS status, a.note AS note, a.workedMinutes AS workedMinutes, a.overtimeMinutes AS overtimeMinutes, " +
+            "a.createdAt AS createdAt, a.updatedAt AS updatedAt ";
+
+    String ATTENDANCE_LIST_BASE_FILTER = "FROM Attendance a JOIN a.user u " +
+            "WHERE (:startDate IS NULL OR a.date >= :startDate) " +
+            "AND (:endDate IS NULL OR a.date <= :endDate) " +
+            "AND (:status IS NULL OR a.status = :status) ";
+
+    String ATTENDANCE_LIST_FILTER = ATTENDANCE_LIST_BASE_FILTER +
+            "AND (:name IS NULL OR LOWER(u.fullName) LIKE LOWER(CONCAT('%', :name, '%')) " +
+            "OR LOWER(u.email) LIKE LOWER(CONCAT('%', :name, '%')))";
+
+    // Filter nama sudah di-resolve ke id user lewat index pencarian di memory
+    String ATTENDANCE_LIST_USERS_FILTER = ATTENDANCE_LIST_BASE_FILTER + "AND u.id IN :userIds";
+
+    @Query(value = ATTENDANCE_LIST_SELECT + ATTENDANCE_LIST_FILTER,
+            countQuery = "SELECT COUNT(a) " + ATTENDANCE_LIST_FILTER)
+    Page<AttendanceListView> findAttendanceList(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("name") String name,
+            @Param("status") AttendanceStatus status,
+            Pageable pageable);
+
+    // Mode slice: fetch size+1 baris untuk hasNext, tanpa COUNT(*)
+    @Query(ATTENDANCE_LIST_SELECT + ATTENDANCE_LIST_FILTER)
+    Slice<AttendanceListView> findAttendanceSlice(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("name") String name,
+            @Param("status") AttendanceStatus status,
+            Pageable pageable);
+
+    @Query("SELECT COUNT(a) " + ATTENDANCE_LIST_FILTER)
+    long countAttendanceList(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("name") String name,
+            @Param("status") AttendanceStatus status);
+
+    @Query(value = ATTENDANCE_LIST_SELECT + ATTENDANCE_LIST_USERS_FILTER,
+            countQuery = "SELECT COUNT(a) " + ATTENDANCE_LIST_USERS_FILTER)
+    Page<AttendanceListView> findAttendanceListForUsers(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("userIds") Collection<Long> userIds,
+            @Param("status") AttendanceStatus status,
+            Pageable pageable);
+
+    @Query(ATTENDANCE_LIST_SELECT + ATTENDANCE_LIST_USERS_FILTER)
+    Slice<AttendanceListView> findAttendanceSliceForUsers(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("userIds") Collection<Long> userIds,
+            @Param("status") AttendanceStatus status,
+            Pageable pageable);
+
+    @Query("SELECT COUNT(a) " + ATTENDANCE_LIST_USERS_FILTER)
+    long countAttendanceListForUsers(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("userIds") Collection<Long> userIds,
+            @Param("status") AttendanceStatus status);
+
+    // Heatmap check-in: agregasi per sel grid & status di DB, bukan kirim baris mentah
+    @Query(value = "SELECT g.cell_y AS \"cellY\", g.cell_x AS \"cellX\", g.status AS \"status\", COUNT(*) AS \"total\" " +
+            "FROM (SELECT CAST(FLOOR(a.checkin_lat / :cellSize) AS BIGINT) AS cell_y, " +
+            "CAST(FLOOR(a.checkin_lng / :cellSize) AS BIGINT) AS cell_x, a.status AS status " +
+            "FROM attendances a " +
+            "WHERE a.checkin_lat IS NOT NULL AND a.checkin_lng IS NOT NULL " +
+            "AND a.date BETWEEN :startDate AND :endDate) g " +
+            "GROUP BY g.cell_y, g.cell_x, g.status",
+            nativeQuery = true)
+    List<CheckinGridCellView> aggregateCheckinGrid(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("cellSize") double cellSize);
 }
@@ -1,5 +1,6 @@
 package com.gcompany.employeemanagement.repository;
 
+import com.gcompany.employeemanagement.dto.projection.DepartmentManagerView;
 import com.gcompany.employeemanagement.model.Department;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -43,6 +44,10 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
     // Find departments by manager
     List<Department> findByManagerId(Long managerId);
 
+    // Kode + manager semua department untuk cek akses di memory
+    @Query("SELECT d.id AS id, d.code AS code, d.manager.id AS managerId FROM Department d")
+    List<DepartmentManagerView> findAllManagerViews();
+
     // Find departments where manager is null
     List<Department> findByManagerIsNull();
 
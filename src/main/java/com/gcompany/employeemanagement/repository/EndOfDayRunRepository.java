@@ -0,0 +1,13 @@
+package com.gcompany.employeemanagement.repository;
+
+import com.gcompany.employeemanagement.model.EndOfDayRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface EndOfDayRunRepository extends JpaRepository<EndOfDayRun, Long> {
+
+    List<EndOfDayRun> findTop20ByOrderByStartedAtDesc();
+}
@@ -0,0 +1,14 @@
+package com.gcompany.employeemanagement.repository;
+
+import com.gcompany.employeemanagement.model.Holiday;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface HolidayRepository extends JpaRepository<Holiday, Long> {
+
+    List<Holiday> findByDateBetweenOrderByDateAsc(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,51 @@
+package com.gcompany.employeemanagement.repository;
+
+import com.gcompany.employeemanagement.model.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    // 1 = klaim didapat: key baru, atau klaim lama sudah kedaluwarsa / ditinggal owner-nya
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idem_key, fingerprint, locked_until, expires_at, created_at) " +
+            "VALUES (:key, :fingerprint, :lockedUntil, :expiresAt, :now) " +
+            "ON CONFLICT (idem_key) DO UPDATE SET fingerprint = EXCLUDED.fingerprint, " +
+            "locked_until = EXCLUDED.locked_until, expires_at = EXCLUDED.expires_at, created_at = EXCLUDED.created_at, " +
+            "response_status = NULL, content_type = NULL, response_body = NULL " +
+            "WHERE idempotency_keys.expires_at < :now " +
+            "OR (idempotency_keys.response_status IS NULL AND idempotency_keys.locked_until < :now)",
+            nativeQuery = true)
+    int claim(@Param("key") String key,
+              @Param("fingerprint") String fingerprint,
+              @Param("lockedUntil") OffsetDateTime lockedUntil,
+              @Param("expiresAt") OffsetDateTime expiresAt,
+              @Param("now") OffsetDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.responseStatus = :status, k.contentType = :contentType, k.responseBody = :body " +
+            "WHERE k.key = :key AND k.fingerprint = :fingerprint")
+    int complete(@Param("key") String key,
+                 @Param("fingerprint") String fingerprint,
+                 @Param("status") int status,
+                 @Param("contentType") String contentType,
+                 @Param("body") byte[] body);
+
+    // hanya klaim yang belum punya response, response yang sudah tersimpan tidak ikut terhapus
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.key = :key AND k.fingerprint = :fingerprint AND k.responseStatus IS NULL")
+    int release(@Param("key") String key, @Param("fingerprint") String fingerprint);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt < :now")
+    int deleteExpired(@Param("now") OffsetDateTime now);
+}
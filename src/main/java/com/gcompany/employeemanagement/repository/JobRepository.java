@@ -0,0 +1,57 @@
+package com.gcompany.employeemanagement.repository;
+
+import com.gcompany.employeemanagement.dto.projection.JobCountView;
+import com.gcompany.employeemanagement.enums.JobStatus;
+import com.gcompany.employeemanagement.model.Job;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface JobRepository extends JpaRepository<Job, Long> {
+
+    // Job yang siap diambil, dikunci dalam transaksi pemanggil; baris yang sedang dikunci worker lain dilewati
+    @Query(value = "SELECT * FROM jobs WHERE type = :type " +
+            "AND ((status = 'QUEUED' AND run_at <= :now) OR (status = 'RUNNING' AND locked_until < :now)) " +
+            "ORDER BY run_at, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Job> lockDueJobs(@Param("type") String type, @Param("now") OffsetDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE Job j SET j.status = :status, j.finishedAt = :now, j.lockedUntil = NULL, j.lockToken = NULL " +
+            "WHERE j.id = :id AND j.lockToken = :token")
+    int finish(@Param("id") Long id, @Param("token") String token,
+               @Param("status") JobStatus status, @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("UPDATE Job j SET j.status = :status, j.runAt = :runAt, j.lastError = :error, " +
+            "j.lockedUntil = NULL, j.lockToken = NULL, j.finishedAt = :finishedAt " +
+            "WHERE j.id = :id AND j.lockToken = :token")
+    int fail(@Param("id") Long id, @Param("token") String token, @Param("status") JobStatus status,
+             @Param("runAt") OffsetDateTime runAt, @Param("error") String error,
+             @Param("finishedAt") OffsetDateTime finishedAt);
+
+    // perpanjang lease job yang masih dikerjakan node ini
+    @Modifying
+    @Query("UPDATE Job j SET j.lockedUntil = :lockedUntil WHERE j.lockToken IN :tokens")
+    int extendLease(@Param("tokens") Collection<String> tokens, @Param("lockedUntil") OffsetDateTime lockedUntil);
+
+    @Query(value = "SELECT type AS \"type\", status AS \"status\", COUNT(*) AS \"total\", MIN(run_at) AS \"oldestRunAt\" " +
+            "FROM jobs GROUP BY type, status",
+            nativeQuery = true)
+    List<JobCountView> countByTypeAndStatus();
+
+    Page<Job> findByStatus(JobStatus status, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Job j WHERE j.status = :status AND j.finishedAt < :before")
+    int deleteFinishedBefore(@Param("status") JobStatus status, @Param("before") OffsetDateTime before);
+}
@@ -0,0 +1,15 @@
+package com.gcompany.employeemanagement.repository;
+
+import com.gcompany.employeemanagement.model.KioskDevice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface KioskDeviceRepository extends JpaRepository<KioskDevice, Long> {
+
+    List<KioskDevice> findByActiveTrue();
+
+    boolean existsByCode(String code);
+}
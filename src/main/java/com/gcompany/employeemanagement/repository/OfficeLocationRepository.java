@@ -0,0 +1,17 @@
+package com.gcompany.employeemanagement.repository;
+
+import com.gcompany.employeemanagement.model.OfficeLocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OfficeLocationRepository extends JpaRepository<OfficeLocation, Long> {
+
+    List<OfficeLocation> findByActiveTrue();
+
+    boolean existsByCode(String code);
+
+    boolean existsByCodeAndIdNot(String code, Long id);
+}
@@ -0,0 +1,22 @@
+package com.gcompany.employeemanagement.repository;
+
+import com.gcompany.employeemanagement.model.OrgHierarchyVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface OrgHierarchyVersionRepository extends JpaRepository<OrgHierarchyVersion, Long> {
+
+    @Query("SELECT v.version FROM OrgHierarchyVersion v WHERE v.id = :id")
+    Optional<Long> findVersion(@Param("id") Long id);
+
+    // ikut transaksi pemanggil, jadi version naik bersamaan dengan perubahan garis pelaporan
+    @Transactional
+    @Modifying
+    @Query("UPDATE OrgHierarchyVersion v SET v.version = v.version + 1 WHERE v.id = :id")
+    int bump(@Param("id") Long id);
+}
@@ -3,9 +3,13 @@ package com.gcompany.employeemanagement.repository;
 import com.gcompany.employeemanagement.enums.ActionType;
 import com.gcompany.employeemanagement.enums.ResourceType;
 import com.gcompany.employeemanagement.model.Permission;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -38,4 +42,14 @@ public interface PermissionRepository extends JpaRepository<Permission, Long> {
     boolean existsByName(String name);
 
     boolean existsByResourceAndAction(ResourceType resource, ActionType action);
+
+    // Mode slice: tanpa COUNT(*)
+    Slice<Permission> findAllBy(Pageable pageable);
+
+    // Permission.of() lama (tanpa @Builder.Default) menyimpan is_active = false. Baris yang belum pernah diubah
+    // admin diaktifkan lagi; deactivate/update permission selalu mengisi updated_by, jadi tidak ikut tersentuh.
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Permission p SET p.active = true WHERE p.active = false AND p.updatedBy IS NULL")
+    int reactivateNeverEdited();
 }
@@ -1,11 +1,14 @@
 package com.gcompany.employeemanagement.repository;
 
 import com.gcompany.employeemanagement.model.RefreshToken;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    // refresh mengeluarkan access token baru, jadi roles + permissions user ikut di-load
+    @EntityGraph(attributePaths = {"user", "user.roles", "user.roles.permissions"})
     Optional<RefreshToken> findByToken(String token);
     void deleteByToken(String token);
 }
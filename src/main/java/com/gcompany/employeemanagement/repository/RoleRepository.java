@@ -2,6 +2,8 @@ package com.gcompany.employeemanagement.repository;
 
 import com.gcompany.employeemanagement.enums.RoleType;
 import com.gcompany.employeemanagement.model.Role;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -37,4 +39,6 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
 
     boolean existsByCode(String code);
 
+    // Mode slice: tanpa COUNT(*)
+    Slice<Role> findAllBy(Pageable pageable);
 }
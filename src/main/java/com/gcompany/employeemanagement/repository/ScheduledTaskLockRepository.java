@@ -0,0 +1,37 @@
+package com.gcompany.employeemanagement.repository;
+
+import com.gcompany.employeemanagement.model.ScheduledTaskLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+
+@Repository
+public interface ScheduledTaskLockRepository extends JpaRepository<ScheduledTaskLock, String> {
+
+    // 1 = lease didapat; 0 = masih dipegang node lain (atau baris lock belum ada)
+    @Modifying
+    @Query("UPDATE ScheduledTaskLock l SET l.lockedUntil = :lockedUntil, l.lockedAt = :now, " +
+            "l.lockedBy = :lockedBy, l.lockToken = :token " +
+            "WHERE l.name = :name AND l.lockedUntil <= :now")
+    int tryAcquire(@Param("name") String name, @Param("now") OffsetDateTime now,
+                   @Param("lockedUntil") OffsetDateTime lockedUntil,
+                   @Param("lockedBy") String lockedBy, @Param("token") String token);
+
+    // baris lock pertama untuk task ini; duplicate key kalau node lain lebih dulu
+    @Modifying
+    @Query(value = "INSERT INTO scheduled_task_locks (name, locked_until, locked_at, locked_by, lock_token) " +
+            "VALUES (:name, :lockedUntil, :now, :lockedBy, :token)",
+            nativeQuery = true)
+    int insertLock(@Param("name") String name, @Param("now") OffsetDateTime now,
+                   @Param("lockedUntil") OffsetDateTime lockedUntil,
+                   @Param("lockedBy") String lockedBy, @Param("token") String token);
+
+    @Modifying
+    @Query("UPDATE ScheduledTaskLock l SET l.lockedUntil = :lockedUntil WHERE l.name = :name AND l.lockToken = :token")
+    int updateLease(@Param("name") String name, @Param("token") String token,
+                    @Param("lockedUntil") OffsetDateTime lockedUntil);
+}
@@ -0,0 +1,15 @@
+package com.gcompany.employeemanagement.repository;
+
+import com.gcompany.employeemanagement.model.ScheduledTaskRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ScheduledTaskRunRepository extends JpaRepository<ScheduledTaskRun, Long> {
+
+    List<ScheduledTaskRun> findTop50ByOrderByStartedAtDesc();
+
+    List<ScheduledTaskRun> findTop50ByTaskNameOrderByStartedAtDesc(String taskName);
+}
@@ -0,0 +1,19 @@
+package com.gcompany.employeemanagement.repository;
+
+import com.gcompany.employeemanagement.model.ShiftAssignment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ShiftAssignmentRepository extends JpaRepository<ShiftAssignment, Long> {
+
+    // assignment yang beririsan dengan rentang tanggal
+    @Query("SELECT a FROM ShiftAssignment a " +
+            "WHERE a.effectiveFrom <= :to AND (a.effectiveTo IS NULL OR a.effectiveTo >= :from)")
+    List<ShiftAssignment> findEffectiveBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
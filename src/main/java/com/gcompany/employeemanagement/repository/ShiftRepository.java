@@ -0,0 +1,19 @@
+package com.gcompany.employeemanagement.repository;
+
+import com.gcompany.employeemanagement.model.Shift;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ShiftRepository extends JpaRepository<Shift, Long> {
+
+    List<Shift> findByActiveTrue();
+
+    List<Shift> findAllByOrderByCodeAsc();
+
+    boolean existsByCode(String code);
+
+    boolean existsByCodeAndIdNot(String code, Long id);
+}
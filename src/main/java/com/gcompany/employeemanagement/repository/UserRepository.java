@@ -1,12 +1,21 @@
 package com.gcompany.employeemanagement.repository;
 
+import com.gcompany.employeemanagement.dto.projection.ReportingLineView;
+import com.gcompany.employeemanagement.dto.projection.UserDepartmentView;
+import com.gcompany.employeemanagement.dto.projection.UserSearchEntryView;
+import com.gcompany.employeemanagement.dto.projection.UserSummaryView;
 import com.gcompany.employeemanagement.enums.UserStatus;
 import com.gcompany.employeemanagement.model.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +24,13 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
     // Basic queries
     Optional<User> findByEmail(String email);
 
+    // Auth & detail: roles + permissions ikut di-load (principal dipakai setelah transaksi selesai)
+    @EntityGraph(User.WITH_AUTHORITIES)
+    Optional<User> findWithAuthoritiesByEmail(String email);
+
+    @EntityGraph(User.WITH_AUTHORITIES)
+    Optional<User> findWithAuthoritiesById(Long id);
+
     List<User> findByFullNameContainingIgnoreCase(String fullName);
 
     // Status-based queries (menggunakan enum)
@@ -42,6 +58,117 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
             @Param("roleCode") String roleCode,
             @Param("status") UserStatus status);
 
+    // Keyset pagination (lean projection, tanpa roles): baris setelah cursor, limit = size + 1 untuk hasNext
+    String USER_SUMMARY_SELECT = "SELECT u.id AS id, u.email AS email, u.fullName AS fullName, " +
+            "u.phoneNumber AS phoneNumber, u.profilePicture AS profileImageUrl, u.status AS status, " +
+            "u.department.id AS departmentId FROM User u ";
+
+    @Query(USER_SUMMARY_SELECT +
+            "WHERE LOWER(u.fullName) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "AND (u.fullName > :afterName OR (u.fullName = :afterName AND u.id > :afterId)) " +
+            "ORDER BY u.fullName, u.id")
+    List<UserSummaryView> searchSummariesByName(@Param("keyword") String keyword,
+                                                @Param("afterName") String afterName,
+                                                @Param("afterId") Long afterId,
+                                                Limit limit);
+
+    @Query(USER_SUMMARY_SELECT +
+            "WHERE u.id > :afterId AND EXISTS (SELECT 1 FROM u.roles r WHERE r.code = :roleCode) " +
+            "ORDER BY u.id")
+    List<UserSummaryView> findSummariesByRoleCode(@Param("roleCode") String roleCode,
+                                                  @Param("afterId") Long afterId,
+                                                  Limit limit);
+
+    @Query(USER_SUMMARY_SELECT +
+            "WHERE u.status = :status AND u.id > :afterId " +
+            "ORDER BY u.id")
+    List<UserSummaryView> findSummariesByStatus(@Param("status") UserStatus status,
+                                                @Param("afterId") Long afterId,
+                                                Limit limit);
+
+    // Sumber index pencarian nama / email di memory
+    @Query("SELECT u.id AS id, u.fullName AS fullName, u.email AS email FROM User u")
+    List<UserSearchEntryView> findAllSearchEntries();
+
+    @Query("SELECT u.id AS id, u.fullName AS fullName, u.email AS email FROM User u WHERE u.id IN :ids")
+    List<UserSearchEntryView> findSearchEntriesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Garis pelaporan untuk index tim manager (manager.id dibaca dari kolom FK, tanpa join)
+    @Query("SELECT u.id AS id, u.manager.id AS managerId FROM User u")
+    List<ReportingLineView> findAllReportingLines();
+
+    // Keanggotaan department untuk cek akses scoped di memory
+    @Query("SELECT u.id AS id, u.department.id AS departmentId FROM User u WHERE u.department IS NOT NULL")
+    List<UserDepartmentView> findAllDepartmentMemberships();
+
+    @Query(USER_SUMMARY_SELECT + "WHERE u.id IN :ids")
+    List<UserSummaryView> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // ========== Bulk lifecycle (set-based) ==========
+
+    String BULK_FILTER = "(:departmentId IS NULL OR u.department.id = :departmentId) " +
+            "AND (:status IS NULL OR u.status = :status) " +
+            "AND (:roleCode IS NULL OR EXISTS (SELECT 1 FROM u.roles r WHERE r.code = :roleCode))";
+
+    @Query("SELECT u.id FROM User u WHERE " + BULK_FILTER + " ORDER BY u.id")
+    List<Long> findIdsByFilter(@Param("departmentId") Long departmentId,
+                               @Param("status") UserStatus status,
+                               @Param("roleCode") String roleCode);
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids AND " + BULK_FILTER + " ORDER BY u.id")
+    List<Long> findIdsByIdInAndFilter(@Param("ids") Collection<Long> ids,
+                                      @Param("departmentId") Long departmentId,
+                                      @Param("status") UserStatus status,
+                                      @Param("roleCode") String roleCode);
+
+    @Query("SELECT COUNT(DISTINCT u.id) FROM User u JOIN u.roles r " +
+            "WHERE r.code = :roleCode AND u.status = 'ACTIVE' AND u.id IN :ids")
+    long countActiveByRoleCodeAndIdIn(@Param("roleCode") String roleCode, @Param("ids") Collection<Long> ids);
+
+    @Query("SELECT COUNT(DISTINCT u.id) FROM User u JOIN u.roles r " +
+            "WHERE r.code = :roleCode AND u.status = 'ACTIVE' AND u.id NOT IN :ids")
+    long countActiveByRoleCodeAndIdNotIn(@Param("roleCode") String roleCode, @Param("ids") Collection<Long> ids);
+
+    // hanya baris yang statusnya berubah yang ditulis (dan dihitung)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.status = 'ACTIVE', u.accountNonExpired = true, u.accountNonLocked = true, " +
+            "u.updatedBy = :updatedBy, u.updatedAt = :now " +
+            "WHERE u.id IN :ids AND (u.status <> 'ACTIVE' OR u.accountNonExpired = false OR u.accountNonLocked = false)")
+    int activateAll(@Param("ids") Collection<Long> ids, @Param("updatedBy") Long updatedBy, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.status = 'INACTIVE', u.updatedBy = :updatedBy, u.updatedAt = :now " +
+            "WHERE u.id IN :ids AND u.status <> 'INACTIVE'")
+    int deactivateAll(@Param("ids") Collection<Long> ids, @Param("updatedBy") Long updatedBy, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.status = 'LOCKED', u.accountNonLocked = false, u.updatedBy = :updatedBy, u.updatedAt = :now " +
+            "WHERE u.id IN :ids AND (u.status <> 'LOCKED' OR u.accountNonLocked = true)")
+    int lockAll(@Param("ids") Collection<Long> ids, @Param("updatedBy") Long updatedBy, @Param("now") LocalDateTime now);
+
+    // sama dengan User.unlock(): hanya user berstatus LOCKED
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.status = 'ACTIVE', u.accountNonLocked = true, u.updatedBy = :updatedBy, u.updatedAt = :now " +
+            "WHERE u.id IN :ids AND u.status = 'LOCKED'")
+    int unlockAll(@Param("ids") Collection<Long> ids, @Param("updatedBy") Long updatedBy, @Param("now") LocalDateTime now);
+
+    // user_roles tidak punya entity: native query langsung ke join table
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO user_roles (user_id, role_id) " +
+            "SELECT u.id, r.id FROM users u CROSS JOIN roles r " +
+            "WHERE u.id IN (:userIds) AND r.id IN (:roleIds) " +
+            "AND NOT EXISTS (SELECT 1 FROM user_roles ur WHERE ur.user_id = u.id AND ur.role_id = r.id)",
+            nativeQuery = true)
+    int addRoles(@Param("userIds") Collection<Long> userIds, @Param("roleIds") Collection<Long> roleIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM user_roles WHERE user_id IN (:userIds) AND role_id IN (:roleIds)", nativeQuery = true)
+    int removeRoles(@Param("userIds") Collection<Long> userIds, @Param("roleIds") Collection<Long> roleIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM user_roles WHERE user_id IN (:userIds) AND role_id NOT IN (:roleIds)", nativeQuery = true)
+    int removeRolesExcept(@Param("userIds") Collection<Long> userIds, @Param("roleIds") Collection<Long> roleIds);
+
     boolean existsByEmail(String email);
 
     boolean existsByEmailAndStatus(String email, UserStatus status);
@@ -0,0 +1,282 @@
+package com.gcompany.employeemanagement.security;
+
+import com.gcompany.employeemanagement.service.IdempotencyStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.Part;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency-Key untuk POST yang sering di-retry oleh mobile (check-in/out, sync, import, create user).
+ * Response pertama disimpan di {@link IdempotencyStore} (tabel idempotency_keys, dibagi semua node) dan diputar ulang
+ * untuk retry dengan key yang sama, jadi pengecekan DB dan upload foto ke Cloudinary tidak diulang.
+ * Key yang dipakai ulang untuk request dengan isi berbeda (method, path, body / part multipart) ditolak 422,
+ * bukan diputar ulang dengan response milik request lain.
+ */
+@Component
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final Set<String> IDEMPOTENT_PATHS = Set.of(
+            "/api/attendance/checkin",
+            "/api/attendance/checkout",
+            "/api/attendance/sync",
+            "/api/attendance/import",
+            "/api/users"
+    );
+
+    private final IdempotencyStore idempotencyStore;
+    private final long waitTimeoutMs;
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore,
+                             @Value("${app.idempotency.wait-timeout-ms:30000}") long waitTimeoutMs) {
+        this.idempotencyStore = idempotencyStore;
+        this.waitTimeoutMs = waitTimeoutMs;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !"POST".equalsIgnoreCase(request.getMethod())
+                || !IDEMPOTENT_PATHS.contains(request.getServletPath())
+                || !StringUtils.hasText(request.getHeader(IDEMPOTENCY_HEADER));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            // biarkan security chain yang menolak
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_HEADER).trim();
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpServletResponse.SC_BAD_REQUEST,
+                    "Idempotency-Key must not exceed " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        // key di-scope per user dan endpoint
+        String key = authentication.getName() + "|" + request.getServletPath() + "|" + idempotencyKey;
+
+        // body non-multipart dibaca sekali di sini lalu diputar ulang ke handler
+        HttpServletRequest bodyRequest = isMultipart(request) ? request : new CachedBodyRequest(request);
+        String fingerprint = fingerprint(bodyRequest);
+
+        long deadline = System.currentTimeMillis() + waitTimeoutMs;
+        while (true) {
+            CompletableFuture<IdempotencyStore.StoredResponse> pending;
+            try {
+                pending = idempotencyStore.begin(key, fingerprint);
+            } catch (IllegalStateException e) {
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                        "Idempotency-Key was already used for a different request");
+                return;
+            }
+            if (pending == null) {
+                executeAndStore(key, bodyRequest, response, filterChain);
+                return;
+            }
+
+            IdempotencyStore.StoredResponse stored;
+            try {
+                stored = pending.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                writeError(response, HttpServletResponse.SC_CONFLICT,
+                        "A request with this Idempotency-Key is still being processed");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writeError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Request interrupted");
+                return;
+            } catch (ExecutionException e) {
+                stored = null;
+            }
+
+            if (stored != null) {
+                log.debug("Replaying stored response for Idempotency-Key {}", idempotencyKey);
+                replay(response, stored);
+                return;
+            }
+            // owner gagal, coba jadi owner
+        }
+    }
+
+    private void executeAndStore(String key,
+                                 HttpServletRequest request,
+                                 HttpServletResponse response,
+                                 FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, wrapper);
+
+            // 5xx tidak disimpan supaya client bisa retry
+            if (wrapper.getStatus() < 500) {
+                idempotencyStore.complete(key, new IdempotencyStore.StoredResponse(
+                        wrapper.getStatus(), wrapper.getContentType(), wrapper.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                idempotencyStore.abandon(key);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    // multipart: per part (nama, nama file, isi) supaya boundary yang berbeda tiap retry tidak mengubah hasil
+    private static String fingerprint(HttpServletRequest request) throws IOException, ServletException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        update(digest, request.getMethod());
+        update(digest, request.getServletPath());
+        if (request instanceof CachedBodyRequest cached) {
+            digest.update(cached.body);
+        } else {
+            List<Part> parts = new ArrayList<>(request.getParts());
+            parts.sort(Comparator.comparing(Part::getName)
+                    .thenComparing(part -> String.valueOf(part.getSubmittedFileName())));
+            for (Part part : parts) {
+                update(digest, part.getName());
+                update(digest, String.valueOf(part.getSubmittedFileName()));
+                try (InputStream in = part.getInputStream()) {
+                    in.transferTo(new DigestOutputStream(OutputStream.nullOutputStream(), digest));
+                }
+                digest.update((byte) 0);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static boolean isMultipart(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("multipart/");
+    }
+
+    private void replay(HttpServletResponse response, IdempotencyStore.StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType("application/json");
+        response.getWriter().write(String.format("{\"message\": \"%s\"}", message));
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // body sudah di-buffer penuh: langsung tersedia, lalu selesai
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.gcompany.employeemanagement.security;
+
+import com.gcompany.employeemanagement.model.KioskDevice;
+import com.gcompany.employeemanagement.service.KioskService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Autentikasi tablet kiosk lewat header X-Kiosk-Token (token device jangka panjang).
+ * Principal = {@link KioskDevice}, authority ROLE_KIOSK; hanya untuk endpoint check-in kiosk.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class KioskDeviceFilter extends OncePerRequestFilter {
+
+    public static final String KIOSK_TOKEN_HEADER = "X-Kiosk-Token";
+    private static final String KIOSK_CHECKIN_PATH = "/api/kiosk/checkin";
+
+    private final KioskService kioskService;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !KIOSK_CHECKIN_PATH.equals(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        KioskDevice device = kioskService.authenticateDevice(request.getHeader(KIOSK_TOKEN_HEADER));
+        if (device != null) {
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    device, null, List.of(new SimpleGrantedAuthority("ROLE_KIOSK")));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+        } else {
+            log.warn("Kiosk request without a valid device token from {}", request.getRemoteAddr());
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
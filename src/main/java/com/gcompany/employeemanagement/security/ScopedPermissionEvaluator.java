@@ -0,0 +1,163 @@
+package com.gcompany.employeemanagement.security;
+
+import com.gcompany.employeemanagement.enums.ActionType;
+import com.gcompany.employeemanagement.enums.PermissionScope;
+import com.gcompany.employeemanagement.enums.ResourceType;
+import com.gcompany.employeemanagement.mapper.RoleSnapshotCache;
+import com.gcompany.employeemanagement.model.User;
+import com.gcompany.employeemanagement.service.DepartmentMembershipService;
+import com.gcompany.employeemanagement.service.OrgHierarchyService;
+import jakarta.persistence.criteria.Predicate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Evaluator hasPermission(...) berbasis resource + action + scope permission (SELF / TEAM / DEPARTMENT / ALL).
+ * Scope yang dimiliki user diambil dari snapshot role-set, relasi ke user target dicek lewat index di memory
+ * (hierarki manager, keanggotaan department), jadi tidak ada query per cek.
+ * <ul>
+ *     <li>{@code hasPermission(#userId, 'EMPLOYEE', 'READ')} - target berupa id user pemilik data</li>
+ *     <li>{@code hasPermission(#user, 'employee:read')} - target berupa User atau id</li>
+ *     <li>target null: cukup punya permission dengan scope apa pun (list difilter lewat {@link #userScope})</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class ScopedPermissionEvaluator implements PermissionEvaluator {
+
+    private final RoleSnapshotCache roleSnapshotCache;
+    private final OrgHierarchyService orgHierarchyService;
+    private final DepartmentMembershipService departmentMembershipService;
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+        String[] parts = String.valueOf(permission).split(":");
+        if (parts.length != 2) {
+            return false;
+        }
+        Long targetUserId = targetDomainObject instanceof User user ? user.getId() : toUserId(targetDomainObject);
+        return check(principal(authentication), targetUserId, parts[0], parts[1]);
+    }
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType, Object permission) {
+        return check(principal(authentication), toUserId(targetId), targetType, String.valueOf(permission));
+    }
+
+    public Set<PermissionScope> scopes(User user, ResourceType resource, ActionType action) {
+        if (user == null) {
+            return Set.of();
+        }
+        return roleSnapshotCache.get(user.getRoles()).scopes(resource, action);
+    }
+
+    /**
+     * True kalau salah satu scope mencakup targetUserId.
+     */
+    public boolean covers(User user, Set<PermissionScope> scopes, Long targetUserId) {
+        if (scopes.contains(PermissionScope.ALL)) {
+            return true;
+        }
+        if (user == null || targetUserId == null) {
+            return false;
+        }
+        Long userId = user.getId();
+        return (scopes.contains(PermissionScope.SELF) && userId.equals(targetUserId))
+                || (scopes.contains(PermissionScope.TEAM) && orgHierarchyService.isInTeam(userId, targetUserId))
+                || (scopes.contains(PermissionScope.DEPARTMENT) && inDepartmentScope(userId, targetUserId));
+    }
+
+    /**
+     * Predicate scope untuk query User: filter terjadi di SQL, bukan setelah data dimuat.
+     * Scope ALL = tanpa batasan; tanpa permission = hasil kosong.
+     */
+    public Specification<User> userScope(User user, ResourceType resource, ActionType action) {
+        Set<PermissionScope> scopes = scopes(user, resource, action);
+        if (scopes.contains(PermissionScope.ALL)) {
+            return Specification.where(null);
+        }
+
+        Long userId = user != null ? user.getId() : null;
+        List<Long> teamIds = scopes.contains(PermissionScope.TEAM) ? orgHierarchyService.getTeamIds(userId) : List.of();
+        Set<Long> departmentIds = new HashSet<>();
+        if (scopes.contains(PermissionScope.DEPARTMENT)) {
+            departmentIds.addAll(departmentMembershipService.getManagedDepartmentIds(userId));
+            Long ownDepartment = departmentMembershipService.getDepartmentId(userId);
+            if (ownDepartment != null) {
+                departmentIds.add(ownDepartment);
+            }
+        }
+
+        return (root, query, cb) -> {
+            List<Predicate> allowed = new ArrayList<>();
+            if (scopes.contains(PermissionScope.SELF) && userId != null) {
+                allowed.add(cb.equal(root.get("id"), userId));
+            }
+            if (!teamIds.isEmpty()) {
+                allowed.add(root.get("id").in(teamIds));
+            }
+            if (!departmentIds.isEmpty()) {
+                allowed.add(root.get("department").get("id").in(departmentIds));
+            }
+            return allowed.isEmpty() ? cb.disjunction() : cb.or(allowed.toArray(Predicate[]::new));
+        };
+    }
+
+    private boolean check(User user, Long targetUserId, String resource, String action) {
+        ResourceType resourceType = parse(ResourceType.class, resource);
+        ActionType actionType = parse(ActionType.class, action);
+        if (user == null || resourceType == null || actionType == null) {
+            return false;
+        }
+        Set<PermissionScope> scopes = scopes(user, resourceType, actionType);
+        if (targetUserId == null) {
+            return !scopes.isEmpty();
+        }
+        return covers(user, scopes, targetUserId);
+    }
+
+    // department yang sama, atau department target dikelola user
+    private boolean inDepartmentScope(Long userId, Long targetUserId) {
+        Long targetDepartment = departmentMembershipService.getDepartmentId(targetUserId);
+        return targetDepartment != null && departmentMembershipService.canAccessDepartment(userId, targetDepartment);
+    }
+
+    private static User principal(Authentication authentication) {
+        return authentication != null && authentication.getPrincipal() instanceof User user ? user : null;
+    }
+
+    private static Long toUserId(Object target) {
+        if (target instanceof Number number) {
+            return number.longValue();
+        }
+        if (target instanceof String value) {
+            try {
+                return Long.valueOf(value);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
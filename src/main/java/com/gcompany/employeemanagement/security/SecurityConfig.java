@@ -1,14 +1,18 @@
 package com.gcompany.employeemanagement.security;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -36,6 +40,8 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final IdempotencyFilter idempotencyFilter;
+    private final KioskDeviceFilter kioskDeviceFilter;
     private final UserDetailsServiceImpl userDetailsService;
 
     @Bean
@@ -58,6 +64,9 @@ public class SecurityConfig {
 
                 // Authorization Rules
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatch (SSE / streaming) sudah diotorisasi di request awal
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Public endpoints (tidak perlu authentication)
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/public/**").permitAll()
@@ -72,8 +81,12 @@ public class SecurityConfig {
                         // User Management
                         .requestMatchers(HttpMethod.GET, "/api/users/profile/**").authenticated()
                         .requestMatchers(HttpMethod.PUT, "/api/users/profile/**").authenticated()
-                        .requestMatchers(HttpMethod.GET, "/api/users").hasRole("ADMIN")
+                        // list user: ADMIN atau permission employee:read, hasil difilter scope di service
+                        .requestMatchers(HttpMethod.GET, "/api/users").authenticated()
                         .requestMatchers(HttpMethod.POST, "/api/users").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/users/import").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/users/import/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/users/bulk/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/users/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/users/**").hasRole("ADMIN")
 
@@ -116,11 +129,26 @@ public class SecurityConfig {
                         .requestMatchers("/api/attendance/me/**").hasRole("EMPLOYEE")
                         .requestMatchers("/api/attendance/checkin").hasRole("EMPLOYEE")
                         .requestMatchers("/api/attendance/checkout").hasRole("EMPLOYEE")
+                        .requestMatchers("/api/attendance/sync").hasRole("EMPLOYEE")
                         .requestMatchers("/api/attendance/history").hasRole("EMPLOYEE")
                         .requestMatchers("/api/attendance/today").hasRole("EMPLOYEE")
+                        .requestMatchers("/api/attendance/import").hasAnyRole("HR", "ADMIN")
+                        .requestMatchers("/api/attendance/end-of-day/**", "/api/attendance/end-of-day").hasAnyRole("HR", "ADMIN")
+                        .requestMatchers("/api/attendance/work-time/**").hasAnyRole("HR", "ADMIN")
                         .requestMatchers("/api/attendance/**").hasAnyRole("HR", "MANAGER", "ADMIN")
 
 
+                        // Kiosk: check-in pakai token device, sisanya diatur @PreAuthorize
+                        .requestMatchers(HttpMethod.POST, "/api/kiosk/checkin").hasRole("KIOSK")
+                        .requestMatchers("/api/kiosk/**").hasAnyRole("HR", "ADMIN")
+
+                        // Antrian job background
+                        .requestMatchers("/api/jobs/**", "/api/jobs").hasRole("ADMIN")
+                        .requestMatchers("/api/scheduled-tasks/**").hasRole("ADMIN")
+
+                        // Audit trail
+                        .requestMatchers("/api/audit-logs/**", "/api/audit-logs").hasRole("ADMIN")
+
                         // Default: Semua request lainnya membutuhkan authentication
                         .anyRequest().authenticated()
                 )
@@ -129,11 +157,26 @@ public class SecurityConfig {
                 .authenticationProvider(authenticationProvider())
 
                 // JWT Filter
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+
+                // Token device kiosk (tanpa login user)
+                .addFilterAfter(kioskDeviceFilter, JwtAuthenticationFilter.class)
+
+                // Idempotency-Key (butuh user yang sudah ter-autentikasi)
+                .addFilterAfter(idempotencyFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
+    // hasPermission(...) di @PreAuthorize memakai evaluator scope; @Lazy supaya service di belakangnya
+    // tidak dibuat sebelum method security siap (tetap ter-proxy @PreAuthorize)
+    @Bean
+    static MethodSecurityExpressionHandler methodSecurityExpressionHandler(@Lazy ScopedPermissionEvaluator permissionEvaluator) {
+        DefaultMethodSecurityExpressionHandler handler = new DefaultMethodSecurityExpressionHandler();
+        handler.setPermissionEvaluator(permissionEvaluator);
+        return handler;
+    }
+
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
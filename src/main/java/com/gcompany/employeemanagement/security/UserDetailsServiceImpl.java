@@ -20,7 +20,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(username)
+        User user = userRepository.findWithAuthoritiesByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException(
                         String.format("User with username '%s' not found", username)));
 
@@ -32,7 +32,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
     @Transactional(readOnly = true)
     public UserDetails loadUserById(Long userId) throws UsernameNotFoundException {
-        User user = userRepository.findById(userId)
+        User user = userRepository.findWithAuthoritiesById(userId)
                 .orElseThrow(() -> new UsernameNotFoundException(
                         String.format("User with ID '%s' not found", userId)));
 
@@ -0,0 +1,13 @@
+package com.gcompany.employeemanagement.service;
+
+import com.gcompany.employeemanagement.model.EndOfDayRun;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AttendanceEndOfDayService {
+
+    EndOfDayRun runEndOfDay(LocalDate targetDate, String triggeredBy);
+
+    List<EndOfDayRun> getRecentRuns();
+}
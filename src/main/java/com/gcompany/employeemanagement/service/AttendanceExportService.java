@@ -0,0 +1,20 @@
+package com.gcompany.employeemanagement.service;
+
+import com.gcompany.employeemanagement.enums.AttendanceStatus;
+import com.gcompany.employeemanagement.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface AttendanceExportService {
+
+    void exportAttendance(
+            OutputStream out,
+            ExportFormat format,
+            boolean gzip,
+            LocalDate startDate,
+            LocalDate endDate,
+            String name,
+            AttendanceStatus status) throws IOException;
+}
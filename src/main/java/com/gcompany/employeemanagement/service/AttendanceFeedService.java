@@ -0,0 +1,22 @@
+package com.gcompany.employeemanagement.service;
+
+import com.gcompany.employeemanagement.dto.resp.AttendanceFeedEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface AttendanceFeedService {
+
+    /**
+     * Buka stream SSE; departmentId null = semua department.
+     */
+    SseEmitter subscribe(Long departmentId);
+
+    /**
+     * Kirim event ke subscriber. Di dalam transaksi, event baru dikirim setelah commit.
+     */
+    void publish(AttendanceFeedEvent event);
+
+    /**
+     * Hitung ulang counter hari ini dari database (setelah perubahan massal, mis. import).
+     */
+    void refreshCounters();
+}
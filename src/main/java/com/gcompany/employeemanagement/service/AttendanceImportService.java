@@ -0,0 +1,11 @@
+package com.gcompany.employeemanagement.service;
+
+import com.gcompany.employeemanagement.dto.resp.AttendanceImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface AttendanceImportService {
+
+    AttendanceImportResult importAttendance(InputStream csv) throws IOException;
+}
@@ -27,5 +27,17 @@ public interface AttendanceService {
             LocalDate startDate,
             LocalDate endDate);
 
+    ResponseEntity<?> getAllAttendanceSlice(
+            Pageable pageable,
+            LocalDate date,
+            String name,
+            String status,
+            String role,
+            LocalDate startDate,
+            LocalDate endDate,
+            boolean estimateTotal);
+
+    ResponseEntity<?> getCheckinHeatmap(LocalDate startDate, LocalDate endDate, double cellSize);
+
     Long getCountAttendanceToday();
 }
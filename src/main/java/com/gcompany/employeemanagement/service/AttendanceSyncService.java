@@ -0,0 +1,9 @@
+package com.gcompany.employeemanagement.service;
+
+import com.gcompany.employeemanagement.dto.req.AttendanceSyncRequest;
+import com.gcompany.employeemanagement.dto.resp.AttendanceSyncResult;
+
+public interface AttendanceSyncService {
+
+    AttendanceSyncResult syncOfflineEvents(AttendanceSyncRequest request);
+}
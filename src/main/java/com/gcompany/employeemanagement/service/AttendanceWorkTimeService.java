@@ -0,0 +1,14 @@
+package com.gcompany.employeemanagement.service;
+
+import com.gcompany.employeemanagement.dto.resp.WorkTimeRecomputeResult;
+
+import java.time.LocalDate;
+
+public interface AttendanceWorkTimeService {
+
+    /**
+     * Hitung ulang worked/overtime minutes semua attendance yang sudah checkout di rentang tanggal,
+     * terhadap jadwal shift yang berlaku saat itu.
+     */
+    WorkTimeRecomputeResult recompute(LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,32 @@
+package com.gcompany.employeemanagement.service;
+
+import com.gcompany.employeemanagement.dto.resp.CursorResponse;
+import com.gcompany.employeemanagement.enums.ActionType;
+import com.gcompany.employeemanagement.enums.ResourceType;
+import com.gcompany.employeemanagement.model.AuditLog;
+
+import java.util.Collection;
+
+public interface AuditService {
+
+    /**
+     * Catat mutasi oleh user yang sedang login. Di dalam transaksi event baru masuk buffer setelah commit
+     * (rollback = tidak tercatat); tidak pernah menunggu insert ke DB.
+     */
+    void record(ResourceType resource, ActionType action, Long entityId, String detail);
+
+    /**
+     * Satu event per entity, untuk operasi bulk.
+     */
+    void record(ResourceType resource, ActionType action, Collection<Long> entityIds, String detail);
+
+    /**
+     * Jejak audit terbaru dulu (id menurun), filter opsional; kirim nextCursor untuk halaman berikutnya.
+     */
+    CursorResponse<AuditLog> getAuditTrail(ResourceType resource, Long entityId, Long actorId, String cursor, int size);
+
+    /**
+     * Tunggu sampai buffer kosong dan file spill sudah dimasukkan ke DB (shutdown, test).
+     */
+    void flush();
+}
@@ -0,0 +1,19 @@
+package com.gcompany.employeemanagement.service;
+
+import com.gcompany.employeemanagement.model.ScheduledTaskLock;
+import com.gcompany.employeemanagement.model.ScheduledTaskRun;
+
+import java.util.List;
+
+public interface ClusterTaskService {
+
+    /**
+     * Jalankan task kalau node ini mendapat lease-nya; false kalau task sedang / baru saja dijalankan node lain.
+     * Dipanggil dari method @Scheduled yang cukup dijalankan sekali per cluster.
+     */
+    boolean runExclusive(String taskName, Runnable task);
+
+    List<ScheduledTaskLock> getLocks();
+
+    List<ScheduledTaskRun> getRecentRuns(String taskName);
+}
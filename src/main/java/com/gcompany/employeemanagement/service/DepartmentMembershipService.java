@@ -0,0 +1,35 @@
+package com.gcompany.employeemanagement.service;
+
+import java.util.Set;
+
+public interface DepartmentMembershipService {
+
+    /**
+     * Department user, atau null kalau user tidak terdaftar di department mana pun.
+     */
+    Long getDepartmentId(Long userId);
+
+    /**
+     * Department yang dikelola user sebagai manager.
+     */
+    Set<Long> getManagedDepartmentIds(Long userId);
+
+    /**
+     * True kalau user anggota atau manager department tersebut.
+     */
+    boolean canAccessDepartment(Long userId, Long departmentId);
+
+    boolean canAccessDepartment(Long userId, String departmentCode);
+
+    /**
+     * True kalau targetUserId terdaftar di department yang dikelola managerId.
+     */
+    boolean managesDepartmentOf(Long managerId, Long targetUserId);
+
+    /**
+     * Muat ulang data department (kode, manager); setelah commit kalau dalam transaksi.
+     */
+    void refreshDepartments();
+
+    void reloadMemberships();
+}
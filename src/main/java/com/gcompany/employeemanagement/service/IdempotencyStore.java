@@ -0,0 +1,177 @@
+package com.gcompany.employeemanagement.service;
+
+import com.gcompany.employeemanagement.model.IdempotencyKey;
+import com.gcompany.employeemanagement.repository.IdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Penyimpanan response untuk request ber-header Idempotency-Key.
+ * Klaim key dan response disimpan di tabel idempotency_keys (INSERT ... ON CONFLICT, seperti attendance_sync_events),
+ * jadi retry yang diarahkan load balancer ke node lain tetap tidak mengeksekusi ulang.
+ * Map in-memory (TTL, jumlah entry dibatasi) hanya cache lokal: request lain di node yang sama dengan key yang sama
+ * menunggu future owner tanpa query DB. Request di node lain melihat klaim di DB, lalu polling sampai response
+ * owner tersimpan. Tiap klaim menyimpan fingerprint request (method, path, body); key yang dipakai ulang
+ * dengan isi berbeda ditolak.
+ */
+@Service
+@Slf4j
+public class IdempotencyStore {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ClusterTaskService clusterTaskService;
+    private final long ttlMs;
+    private final int maxEntries;
+    private final long lockTimeoutMs;
+    private final long pollMs;
+
+    public IdempotencyStore(IdempotencyKeyRepository idempotencyKeyRepository,
+                            ClusterTaskService clusterTaskService,
+                            @Value("${app.idempotency.ttl-ms:86400000}") long ttlMs,
+                            @Value("${app.idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${app.idempotency.lock-timeout-ms:300000}") long lockTimeoutMs,
+                            @Value("${app.idempotency.poll-ms:250}") long pollMs) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.clusterTaskService = clusterTaskService;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+        this.lockTimeoutMs = lockTimeoutMs;
+        this.pollMs = pollMs;
+    }
+
+    /**
+     * Daftarkan key. Return null kalau caller menjadi owner (harus memanggil complete/abandon),
+     * selain itu future yang selesai dengan response owner, atau dengan null kalau caller harus mencoba lagi.
+     *
+     * @throws IllegalStateException kalau key sudah dipakai untuk request dengan fingerprint berbeda
+     */
+    public CompletableFuture<StoredResponse> begin(String key, String fingerprint) {
+        long now = System.currentTimeMillis();
+        if (entries.size() >= maxEntries) {
+            evict(now);
+        }
+
+        Entry created = new Entry(new CompletableFuture<>(), fingerprint, now + ttlMs);
+        Entry existing = entries.compute(key, (k, current) ->
+                current == null || current.expiresAt < now ? created : current);
+        if (existing != created) {
+            if (!existing.fingerprint.equals(fingerprint)) {
+                throw new IllegalStateException("Idempotency-Key was already used for a different request");
+            }
+            return existing.future;
+        }
+
+        OffsetDateTime claimedAt = OffsetDateTime.now();
+        boolean claimed;
+        try {
+            claimed = idempotencyKeyRepository.claim(key, fingerprint,
+                    claimedAt.plusNanos(TimeUnit.MILLISECONDS.toNanos(lockTimeoutMs)),
+                    claimedAt.plusNanos(TimeUnit.MILLISECONDS.toNanos(ttlMs)),
+                    claimedAt) > 0;
+        } catch (RuntimeException e) {
+            release(key, created);
+            throw e;
+        }
+        if (claimed) {
+            return null;
+        }
+
+        // key dipegang node lain; request lokal yang ikut menunggu entry ini mencoba lagi
+        release(key, created);
+        IdempotencyKey record = idempotencyKeyRepository.findById(key).orElse(null);
+        if (record == null) {
+            // baru dilepas owner-nya
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!record.getFingerprint().equals(fingerprint)) {
+            throw new IllegalStateException("Idempotency-Key was already used for a different request");
+        }
+        if (record.getResponseStatus() != null) {
+            StoredResponse stored = new StoredResponse(record.getResponseStatus(), record.getContentType(),
+                    record.getResponseBody() != null ? record.getResponseBody() : new byte[0]);
+            entries.putIfAbsent(key, new Entry(CompletableFuture.completedFuture(stored), fingerprint,
+                    record.getExpiresAt().toInstant().toEpochMilli()));
+            return CompletableFuture.completedFuture(stored);
+        }
+        // masih diproses di node lain
+        return CompletableFuture.supplyAsync(() -> null, CompletableFuture.delayedExecutor(pollMs, TimeUnit.MILLISECONDS));
+    }
+
+    public void complete(String key, StoredResponse response) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return;
+        }
+        try {
+            idempotencyKeyRepository.complete(key, entry.fingerprint, response.status(), response.contentType(), response.body());
+        } catch (DataAccessException e) {
+            // retry di node ini tetap diputar ulang dari cache; node lain menunggu sampai klaim habis
+            log.warn("Failed to store response for Idempotency-Key {}: {}", key, e.getMessage());
+        }
+        entry.future.complete(response);
+    }
+
+    /**
+     * Owner gagal (mis. error 5xx): key dilepas supaya retry berikutnya dieksekusi ulang.
+     * Request yang sedang menunggu menerima null lalu mencoba lagi.
+     */
+    public void abandon(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return;
+        }
+        try {
+            idempotencyKeyRepository.release(key, entry.fingerprint);
+        } catch (DataAccessException e) {
+            // klaim dilepas sendiri setelah lock-timeout-ms
+            log.warn("Failed to release Idempotency-Key {}: {}", key, e.getMessage());
+        }
+        release(key, entry);
+    }
+
+    @Scheduled(cron = "${app.idempotency.purge-cron:0 15 * * * *}")
+    public void purgeExpired() {
+        clusterTaskService.runExclusive("idempotency.purge", () -> {
+            int deleted = idempotencyKeyRepository.deleteExpired(OffsetDateTime.now());
+            log.info("Purged {} expired idempotency keys", deleted);
+        });
+    }
+
+    private void release(String key, Entry entry) {
+        entries.remove(key, entry);
+        entry.future.complete(null);
+    }
+
+    private synchronized void evict(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt < now);
+        int overflow = entries.size() - maxEntries + 1;
+        if (overflow > 0) {
+            // buang entry selesai yang paling lama; yang masih in-flight dipertahankan
+            entries.entrySet().stream()
+                    .filter(e -> e.getValue().future.isDone())
+                    .sorted(Comparator.comparingLong(e -> e.getValue().expiresAt))
+                    .limit(overflow)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(entries::remove);
+            log.debug("Idempotency store full, evicted up to {} entries", overflow);
+        }
+    }
+
+    public record StoredResponse(int status, String contentType, byte[] body) {
+    }
+
+    private record Entry(CompletableFuture<StoredResponse> future, String fingerprint, long expiresAt) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.gcompany.employeemanagement.service;
+
+import com.gcompany.employeemanagement.model.Job;
+
+/**
+ * Pekerjaan untuk satu type job. Bean yang mengimplementasi interface ini otomatis dipakai worker.
+ * Job bisa dijalankan lebih dari sekali (retry, lease habis), jadi handler harus idempotent.
+ */
+public interface JobHandler {
+
+    String type();
+
+    void handle(Job job) throws Exception;
+}
@@ -0,0 +1,23 @@
+package com.gcompany.employeemanagement.service;
+
+import com.gcompany.employeemanagement.dto.resp.JobTypeMetrics;
+import com.gcompany.employeemanagement.enums.JobStatus;
+import com.gcompany.employeemanagement.model.Job;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface JobQueueService {
+
+    /**
+     * Masukkan job ke antrian; ikut transaksi pemanggil, jadi baru terlihat worker setelah commit.
+     */
+    Job enqueue(String type, Object payload);
+
+    Page<Job> getJobs(JobStatus status, Pageable pageable);
+
+    Job retry(Long id);
+
+    List<JobTypeMetrics> getMetrics();
+}
@@ -0,0 +1,26 @@
+package com.gcompany.employeemanagement.service;
+
+import com.gcompany.employeemanagement.dto.req.KioskDeviceRequest;
+import com.gcompany.employeemanagement.dto.resp.KioskBadgeResponse;
+import com.gcompany.employeemanagement.dto.resp.KioskCheckinResponse;
+import com.gcompany.employeemanagement.dto.resp.KioskDeviceResponse;
+import com.gcompany.employeemanagement.model.KioskDevice;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface KioskService {
+    // Device
+    KioskDeviceResponse registerDevice(KioskDeviceRequest request);
+    List<KioskDeviceResponse> getAllDevices();
+    KioskDeviceResponse rotateDeviceToken(Long id);
+    void deactivateDevice(Long id);
+    KioskDevice authenticateDevice(String token);
+    void reloadDevices();
+
+    // Badge
+    KioskBadgeResponse issueBadge(Long userId);
+
+    // Check-in (selesai setelah batch-nya di-commit)
+    CompletableFuture<KioskCheckinResponse> checkIn(KioskDevice device, String badge);
+}
@@ -0,0 +1,19 @@
+package com.gcompany.employeemanagement.service;
+
+import com.gcompany.employeemanagement.dto.req.OfficeLocationRequest;
+import com.gcompany.employeemanagement.dto.resp.OfficeLocationResponse;
+
+import java.util.List;
+
+public interface OfficeLocationService {
+    // CRUD Operations
+    OfficeLocationResponse createOfficeLocation(OfficeLocationRequest request);
+    OfficeLocationResponse getOfficeLocationById(Long id);
+    List<OfficeLocationResponse> getAllOfficeLocations();
+    OfficeLocationResponse updateOfficeLocation(Long id, OfficeLocationRequest request);
+    void deleteOfficeLocation(Long id);
+
+    // Geofence
+    boolean isOutsideGeofence(Double latitude, Double longitude);
+    void reloadGeofenceIndex();
+}
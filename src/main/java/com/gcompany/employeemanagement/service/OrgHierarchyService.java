@@ -0,0 +1,32 @@
+package com.gcompany.employeemanagement.service;
+
+import com.gcompany.employeemanagement.dto.resp.UserSummaryResponse;
+
+import java.util.List;
+
+public interface OrgHierarchyService {
+
+    /**
+     * True kalau userId bawahan langsung / tidak langsung dari managerId.
+     */
+    boolean isInTeam(Long managerId, Long userId);
+
+    /**
+     * Seluruh tim manager, urut hierarki (pre-order).
+     */
+    List<UserSummaryResponse> getTeam(Long managerId);
+
+    /**
+     * Id seluruh tim manager (tanpa cek otorisasi; untuk filter scope).
+     */
+    List<Long> getTeamIds(Long managerId);
+
+    void assignManager(Long userId, Long managerId);
+
+    /**
+     * Keluarkan user yang dihapus dari index; setelah commit kalau dalam transaksi.
+     */
+    void removeUser(Long userId);
+
+    void reloadHierarchy();
+}
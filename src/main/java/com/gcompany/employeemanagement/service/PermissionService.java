@@ -1,12 +1,14 @@
 package com.gcompany.employeemanagement.service;
 
 import com.gcompany.employeemanagement.dto.resp.PaginatedResponse;
+import com.gcompany.employeemanagement.dto.resp.SliceResponse;
 import com.gcompany.employeemanagement.dto.resp.PermissionResponse;
 import com.gcompany.employeemanagement.enums.ActionType;
 import com.gcompany.employeemanagement.enums.ResourceType;
 import com.gcompany.employeemanagement.exception.BusinessRuleException;
 import com.gcompany.employeemanagement.exception.ResourceNotFoundException;
 import com.gcompany.employeemanagement.mapper.PermissionMapper;
+import com.gcompany.employeemanagement.mapper.RoleSnapshotCache;
 import com.gcompany.employeemanagement.model.Permission;
 import com.gcompany.employeemanagement.repository.PermissionRepository;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +16,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -32,6 +35,9 @@ public class PermissionService {
     private final PermissionRepository permissionRepository;
     private final PermissionMapper permissionMapper;
     private final SecurityService securityService;
+    private final TotalCountEstimator totalCountEstimator;
+    private final RoleSnapshotCache roleSnapshotCache;
+    private final AuditService auditService;
 
     // ========== Read Operations ==========
 
@@ -80,6 +86,25 @@ public class PermissionService {
                 .build();
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    public SliceResponse<PermissionResponse> getAllPermissionsSlice(int page, int size, String sortBy, String sortDir, boolean estimateTotal) {
+        log.info("Fetching permissions slice - page: {}, size: {}", page, size);
+
+        Sort sort = sortDir.equalsIgnoreCase("desc")
+                ? Sort.by(sortBy).descending()
+                : Sort.by(sortBy).ascending();
+
+        Pageable pageable = PageRequest.of(page, size, sort);
+        Slice<PermissionResponse> slice = permissionRepository.findAllBy(pageable).map(permissionMapper::toPermissionResponse);
+
+        SliceResponse<PermissionResponse> response = SliceResponse.of(slice);
+        if (estimateTotal) {
+            response.setEstimatedTotalElements(
+                    totalCountEstimator.estimate("permissions", null, permissionRepository::count));
+        }
+        return response;
+    }
+
     @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
     public List<PermissionResponse> getPermissionsByResource(ResourceType resource) {
         log.info("Fetching permissions for resource: {}", resource);
@@ -159,6 +184,8 @@ public class PermissionService {
         permission.setCreatedBy(securityService.getCurrentUserId());
 
         Permission savedPermission = permissionRepository.save(permission);
+        roleSnapshotCache.invalidate();
+        auditService.record(ResourceType.PERMISSION, ActionType.CREATE, savedPermission.getId(), "name=" + savedPermission.getName());
         log.info("Permission created successfully: {}", savedPermission.getName());
 
         return permissionMapper.toPermissionResponse(savedPermission);
@@ -185,6 +212,8 @@ public class PermissionService {
         permission.setUpdatedBy(securityService.getCurrentUserId());
 
         Permission updatedPermission = permissionRepository.save(permission);
+        roleSnapshotCache.invalidate();
+        auditService.record(ResourceType.PERMISSION, ActionType.UPDATE, permissionId, active != null ? "active=" + active : null);
         log.info("Permission updated successfully: {}", updatedPermission.getName());
 
         return permissionMapper.toPermissionResponse(updatedPermission);
@@ -202,6 +231,8 @@ public class PermissionService {
         permission.setUpdatedBy(securityService.getCurrentUserId());
 
         Permission updatedPermission = permissionRepository.save(permission);
+        roleSnapshotCache.invalidate();
+        auditService.record(ResourceType.PERMISSION, ActionType.ACTIVATE, permissionId, null);
         log.info("Permission activated: {}", updatedPermission.getName());
 
         return permissionMapper.toPermissionResponse(updatedPermission);
@@ -219,6 +250,8 @@ public class PermissionService {
         permission.setUpdatedBy(securityService.getCurrentUserId());
 
         Permission updatedPermission = permissionRepository.save(permission);
+        roleSnapshotCache.invalidate();
+        auditService.record(ResourceType.PERMISSION, ActionType.DEACTIVATE, permissionId, null);
         log.info("Permission deactivated: {}", updatedPermission.getName());
 
         return permissionMapper.toPermissionResponse(updatedPermission);
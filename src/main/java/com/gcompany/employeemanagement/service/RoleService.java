@@ -4,11 +4,15 @@ import com.gcompany.employeemanagement.dto.req.PermissionAssignRequest;
 import com.gcompany.employeemanagement.dto.req.RoleCreateRequest;
 import com.gcompany.employeemanagement.dto.req.RoleUpdateRequest;
 import com.gcompany.employeemanagement.dto.resp.PaginatedResponse;
+import com.gcompany.employeemanagement.dto.resp.SliceResponse;
 import com.gcompany.employeemanagement.dto.resp.RoleResponse;
+import com.gcompany.employeemanagement.enums.ActionType;
+import com.gcompany.employeemanagement.enums.ResourceType;
 import com.gcompany.employeemanagement.enums.RoleType;
 import com.gcompany.employeemanagement.exception.BusinessRuleException;
 import com.gcompany.employeemanagement.exception.ResourceNotFoundException;
 import com.gcompany.employeemanagement.mapper.RoleMapper;
+import com.gcompany.employeemanagement.mapper.RoleSnapshotCache;
 import com.gcompany.employeemanagement.model.Permission;
 import com.gcompany.employeemanagement.model.Role;
 import com.gcompany.employeemanagement.repository.PermissionRepository;
@@ -18,6 +22,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -38,6 +43,9 @@ public class RoleService {
     private final PermissionRepository permissionRepository;
     private final RoleMapper roleMapper;
     private final SecurityService securityService;
+    private final TotalCountEstimator totalCountEstimator;
+    private final RoleSnapshotCache roleSnapshotCache;
+    private final AuditService auditService;
 
     // ========== CRUD Operations ==========
 
@@ -87,6 +95,8 @@ public class RoleService {
         role.setCreatedBy(securityService.getCurrentUserId());
 
         Role savedRole = roleRepository.save(role);
+        roleSnapshotCache.invalidate();
+        auditService.record(ResourceType.ROLE, ActionType.CREATE, savedRole.getId(), "code=" + savedRole.getCode());
         log.info("Role created successfully: {}", savedRole.getCode());
 
         return roleMapper.toRoleResponse(savedRole);
@@ -137,6 +147,25 @@ public class RoleService {
                 .build();
     }
 
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
+    public SliceResponse<RoleResponse> getAllRolesSlice(int page, int size, String sortBy, String sortDir, boolean estimateTotal) {
+        log.info("Fetching roles slice - page: {}, size: {}", page, size);
+
+        Sort sort = sortDir.equalsIgnoreCase("desc")
+                ? Sort.by(sortBy).descending()
+                : Sort.by(sortBy).ascending();
+
+        Pageable pageable = PageRequest.of(page, size, sort);
+        Slice<RoleResponse> slice = roleRepository.findAllBy(pageable).map(roleMapper::toRoleResponse);
+
+        SliceResponse<RoleResponse> response = SliceResponse.of(slice);
+        if (estimateTotal) {
+            response.setEstimatedTotalElements(
+                    totalCountEstimator.estimate("roles", null, roleRepository::count));
+        }
+        return response;
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     public RoleResponse updateRole(Long roleId, RoleUpdateRequest request) {
         log.info("Updating role: {}", roleId);
@@ -182,6 +211,8 @@ public class RoleService {
         role.setUpdatedBy(securityService.getCurrentUserId());
 
         Role updatedRole = roleRepository.save(role);
+        roleSnapshotCache.invalidate();
+        auditService.record(ResourceType.ROLE, ActionType.UPDATE, roleId, null);
         log.info("Role updated successfully: {}", updatedRole.getCode());
 
         return roleMapper.toRoleResponse(updatedRole);
@@ -207,6 +238,8 @@ public class RoleService {
         }
 
         roleRepository.delete(role);
+        roleSnapshotCache.invalidate();
+        auditService.record(ResourceType.ROLE, ActionType.DELETE, roleId, "code=" + role.getCode());
         log.info("Role deleted successfully: {}", roleId);
     }
 
@@ -228,6 +261,8 @@ public class RoleService {
         role.setUpdatedBy(securityService.getCurrentUserId());
 
         Role updatedRole = roleRepository.save(role);
+        roleSnapshotCache.invalidate();
+        auditService.record(ResourceType.ROLE, ActionType.ASSIGN, roleId, "permissions=" + request.getPermissionNames());
         log.info("Permissions assigned to role: {}", updatedRole.getCode());
 
         return roleMapper.toRoleResponse(updatedRole);
@@ -247,6 +282,8 @@ public class RoleService {
         role.setUpdatedBy(securityService.getCurrentUserId());
 
         Role updatedRole = roleRepository.save(role);
+        roleSnapshotCache.invalidate();
+        auditService.record(ResourceType.ROLE, ActionType.ASSIGN, roleId, "permission=" + permissionName);
         log.info("Permission added to role: {}", updatedRole.getCode());
 
         return roleMapper.toRoleResponse(updatedRole);
@@ -266,6 +303,8 @@ public class RoleService {
         role.setUpdatedBy(securityService.getCurrentUserId());
 
         Role updatedRole = roleRepository.save(role);
+        roleSnapshotCache.invalidate();
+        auditService.record(ResourceType.ROLE, ActionType.REVOKE, roleId, "permission=" + permissionName);
         log.info("Permission removed from role: {}", updatedRole.getCode());
 
         return roleMapper.toRoleResponse(updatedRole);
@@ -284,6 +323,8 @@ public class RoleService {
         role.setUpdatedBy(securityService.getCurrentUserId());
 
         Role updatedRole = roleRepository.save(role);
+        roleSnapshotCache.invalidate();
+        auditService.record(ResourceType.ROLE, ActionType.ACTIVATE, roleId, null);
         log.info("Role activated: {}", updatedRole.getCode());
 
         return roleMapper.toRoleResponse(updatedRole);
@@ -305,6 +346,8 @@ public class RoleService {
         role.setUpdatedBy(securityService.getCurrentUserId());
 
         Role updatedRole = roleRepository.save(role);
+        roleSnapshotCache.invalidate();
+        auditService.record(ResourceType.ROLE, ActionType.DEACTIVATE, roleId, null);
         log.info("Role deactivated: {}", updatedRole.getCode());
 
         return roleMapper.toRoleResponse(updatedRole);
@@ -14,6 +14,8 @@ import java.util.UUID;
 public class SecurityService {
 
     private final UserRepository userRepository;
+    private final OrgHierarchyService orgHierarchyService;
+    private final DepartmentMembershipService departmentMembershipService;
 
     public User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -29,7 +31,7 @@ public class SecurityService {
 
         // Jika principal bukan User (misalnya String "anonymousUser"), coba load dari repository
         if (principal instanceof String email) {
-            return userRepository.findByEmail(email).orElse(null);
+            return userRepository.findWithAuthoritiesByEmail(email).orElse(null);
         }
 
         return null;
@@ -86,11 +88,11 @@ public class SecurityService {
             return true;
         }
 
-        // Manager can access their team's data
+        // Manager can access their team's data (bawahan langsung / tidak langsung)
         if (isManager()) {
-            // TODO: Implement logic to check if target user is under current user's team
-            // This would require organizational hierarchy data
-            return false;
+            Long currentUserId = getCurrentUserId();
+            return orgHierarchyService.isInTeam(currentUserId, targetUserId)
+                    || departmentMembershipService.managesDepartmentOf(currentUserId, targetUserId);
         }
 
         return false;
@@ -101,9 +103,7 @@ public class SecurityService {
             return true;
         }
 
-        // TODO: Implement logic to check if current user belongs to the department
-        // or manages the department
-
-        return false;
+        // Anggota atau manager department (lookup di memory)
+        return departmentMembershipService.canAccessDepartment(getCurrentUserId(), departmentCode);
     }
 }
\ No newline at end of file
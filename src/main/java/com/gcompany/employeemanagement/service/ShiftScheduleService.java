@@ -0,0 +1,44 @@
+package com.gcompany.employeemanagement.service;
+
+import com.gcompany.employeemanagement.dto.req.HolidayRequest;
+import com.gcompany.employeemanagement.dto.req.ShiftAssignmentRequest;
+import com.gcompany.employeemanagement.dto.req.ShiftRequest;
+import com.gcompany.employeemanagement.dto.resp.HolidayResponse;
+import com.gcompany.employeemanagement.dto.resp.ShiftAssignmentResponse;
+import com.gcompany.employeemanagement.dto.resp.ShiftResponse;
+import com.gcompany.employeemanagement.enums.AttendanceStatus;
+import com.gcompany.employeemanagement.utils.ShiftScheduleTable;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface ShiftScheduleService {
+    // Shift
+    ShiftResponse createShift(ShiftRequest request);
+    List<ShiftResponse> getAllShifts();
+    ShiftResponse updateShift(Long id, ShiftRequest request);
+    void deleteShift(Long id);
+
+    // Assignment
+    ShiftAssignmentResponse createAssignment(ShiftAssignmentRequest request);
+    List<ShiftAssignmentResponse> getAllAssignments();
+    void deleteAssignment(Long id);
+
+    // Holiday calendar
+    HolidayResponse createHoliday(HolidayRequest request);
+    List<HolidayResponse> getHolidays(LocalDate from, LocalDate to);
+    void deleteHoliday(Long id);
+
+    // Status classification (lookup in-memory)
+    AttendanceStatus classifyCheckIn(Long userId, Long departmentId, OffsetDateTime checkinTime);
+    boolean isEarlyLeave(Long userId, Long departmentId, LocalDate attendanceDate, OffsetDateTime checkoutTime);
+    int overtimeMinutes(Long userId, Long departmentId, LocalDate attendanceDate,
+                        OffsetDateTime checkinTime, OffsetDateTime checkoutTime);
+    // attendance tanggal tsb masih boleh di-checkout pada waktu itu (jam pulang shift + grace belum lewat)
+    boolean isShiftOpen(Long userId, Long departmentId, LocalDate attendanceDate, OffsetDateTime at);
+    void reloadSchedule();
+
+    // Tabel jadwal untuk rentang bebas (mis. hitung ulang data historis)
+    ShiftScheduleTable compileSchedule(LocalDate from, LocalDate to);
+}
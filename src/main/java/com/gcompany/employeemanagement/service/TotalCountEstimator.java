@@ -0,0 +1,77 @@
+package com.gcompany.employeemanagement.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Total baris "kira-kira" untuk mode pagination slice.
+ * - Tanpa filter: ambil dari statistik PostgreSQL (pg_class.reltuples), tanpa scan tabel.
+ * - Dengan filter (atau statistik belum ada): COUNT exact, di-cache per filter selama TTL.
+ */
+@Service
+@Slf4j
+public class TotalCountEstimator {
+
+    private static final int MAX_CACHED_COUNTS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlMs;
+    private final Map<String, CachedCount> cache = new ConcurrentHashMap<>();
+
+    public TotalCountEstimator(JdbcTemplate jdbcTemplate,
+                               @Value("${app.pagination.count-cache-ttl-ms:60000}") long ttlMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlMs = ttlMs;
+    }
+
+    public long estimate(String table, String filterKey, LongSupplier exactCount) {
+        String key = table + "|" + (filterKey != null ? filterKey : "");
+        long now = System.currentTimeMillis();
+
+        CachedCount cached = cache.get(key);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.value();
+        }
+
+        long value = -1;
+        if (filterKey == null) {
+            value = tableStatistics(table);
+        }
+        if (value < 0) {
+            value = exactCount.getAsLong();
+        }
+
+        if (cache.size() >= MAX_CACHED_COUNTS) {
+            cache.clear();
+        }
+        cache.put(key, new CachedCount(value, now + ttlMs));
+        return value;
+    }
+
+    public void evict(String table) {
+        cache.keySet().removeIf(key -> key.startsWith(table + "|"));
+    }
+
+    private long tableStatistics(String table) {
+        try {
+            List<Long> result = jdbcTemplate.queryForList(
+                    "SELECT reltuples::bigint FROM pg_class WHERE relname = ?", Long.class, table);
+            // reltuples = -1 kalau tabel belum pernah di-ANALYZE
+            return result.isEmpty() || result.get(0) == null ? -1 : result.get(0);
+        } catch (DataAccessException e) {
+            log.debug("pg_class statistics not available for {}: {}", table, e.getMessage());
+            return -1;
+        }
+    }
+
+    private record CachedCount(long value, long expiresAt) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.gcompany.employeemanagement.service;
+
+import com.gcompany.employeemanagement.dto.resp.UserImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface UserImportService {
+
+    /**
+     * Simpan baris file CSV (baris pertama header) atau NDJSON (satu object JSON per baris)
+     * dan antrekan job import. Hasil berisi id job; outcome per baris dibaca lewat getImportResult.
+     */
+    UserImportResult submitImport(InputStream file) throws IOException;
+
+    UserImportResult getImportResult(Long jobId);
+}
@@ -0,0 +1,21 @@
+package com.gcompany.employeemanagement.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface UserSearchIndexService {
+
+    /**
+     * Id user yang nama / email-nya memuat keyword, terurut relevansi.
+     * Empty kalau index belum siap atau match terlalu banyak; caller pakai filter LIKE di DB.
+     */
+    Optional<List<Long>> findUserIds(String keyword);
+
+    /**
+     * Sinkronkan entry user dari DB (upsert, atau hapus kalau user sudah tidak ada); setelah commit kalau dalam transaksi.
+     */
+    void refreshUsers(Collection<Long> userIds);
+
+    void reloadIndex();
+}
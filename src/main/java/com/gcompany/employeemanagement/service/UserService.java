@@ -27,6 +27,10 @@ public class UserService {
     private UserRepository userRepository;
     @Autowired
     private PasswordEncoder passwordEncoder;
+    @Autowired
+    private UserSearchIndexService userSearchIndexService;
+    @Autowired
+    private OrgHierarchyService orgHierarchyService;
 
     public ResponseEntity<?> createUser(UserRequest userReq) {
         Response<Object> response = new Response<>();
@@ -48,6 +52,7 @@ public class UserService {
             user.setEmail(userReq.getEmail());
 //            user.setRole(Role.EMPLOYEE);
             userRepository.save(user);
+            userSearchIndexService.refreshUsers(List.of(user.getId()));
             response.setMessage("User " + userReq.getEmail() + "  successfully created");
             log.info("User " + userReq.getEmail() + "  successfully created");
             return ResponseEntity
@@ -90,6 +95,7 @@ public class UserService {
             userUpdate.setEmail(userReq.getEmail());
             userUpdate.setPassword(passwordEncoder.encode(userReq.getPassword()));
             userRepository.save(userUpdate);
+            userSearchIndexService.refreshUsers(List.of(id));
             response.setMessage("Email " + userReq.getEmail() + "  successfully updated");
             log.info("Email " + userReq.getEmail() + "  successfully updated");
             return ResponseEntity
@@ -120,6 +126,8 @@ public class UserService {
                         .body(response);
             }
             userRepository.deleteById(id);
+            userSearchIndexService.refreshUsers(List.of(id));
+            orgHierarchyService.removeUser(id);
             response.setMessage("User with id " + id + " successfully deleted");
             log.info("User with id " + id + " successfully deleted");
             return ResponseEntity
@@ -2,11 +2,20 @@ package com.gcompany.employeemanagement.service;
 
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
+import com.gcompany.employeemanagement.dto.projection.UserSummaryView;
+import com.gcompany.employeemanagement.dto.req.UserBulkRequest;
 import com.gcompany.employeemanagement.dto.req.UserCreateRequest;
 import com.gcompany.employeemanagement.dto.req.UserRoleAssignRequest;
 import com.gcompany.employeemanagement.dto.req.UserUpdateRequest;
+import com.gcompany.employeemanagement.dto.resp.CursorResponse;
 import com.gcompany.employeemanagement.dto.resp.PaginatedResponse;
+import com.gcompany.employeemanagement.dto.resp.SliceResponse;
+import com.gcompany.employeemanagement.dto.resp.UserBulkResult;
 import com.gcompany.employeemanagement.dto.resp.UserDetailResponse;
+import com.gcompany.employeemanagement.dto.resp.UserSummaryResponse;
+import com.gcompany.employeemanagement.enums.ActionType;
+import com.gcompany.employeemanagement.enums.BulkRoleMode;
+import com.gcompany.employeemanagement.enums.ResourceType;
 import com.gcompany.employeemanagement.enums.UserStatus;
 import com.gcompany.employeemanagement.exception.BusinessRuleException;
 import com.gcompany.employeemanagement.exception.ResourceNotFoundException;
@@ -15,14 +24,20 @@ import com.gcompany.employeemanagement.model.Role;
 import com.gcompany.employeemanagement.model.User;
 import com.gcompany.employeemanagement.repository.RoleRepository;
 import com.gcompany.employeemanagement.repository.UserRepository;
+import com.gcompany.employeemanagement.security.ScopedPermissionEvaluator;
+import com.gcompany.employeemanagement.utils.KeysetCursor;
 import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Subquery;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -32,6 +47,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -41,11 +57,19 @@ import java.util.stream.Collectors;
 @Transactional
 public class UserService2 {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 200;
+    private static final int MAX_BULK_USERS = 10_000;
+
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
     private final SecurityService securityService;
+    private final TotalCountEstimator totalCountEstimator;
+    private final UserSearchIndexService userSearchIndexService;
+    private final OrgHierarchyService orgHierarchyService;
+    private final ScopedPermissionEvaluator scopedPermissionEvaluator;
+    private final AuditService auditService;
 
     @Autowired
     private final Cloudinary cloudinary;
@@ -102,22 +126,24 @@ public class UserService2 {
         }
 
         User savedUser = userRepository.save(user);
+        userSearchIndexService.refreshUsers(List.of(savedUser.getId()));
+        auditService.record(ResourceType.USER, ActionType.CREATE, savedUser.getId(), "email=" + savedUser.getEmail());
         log.info("User created successfully: {}", savedUser.getUsername());
 
         return userMapper.toUserDetailResponse(savedUser);
     }
 
-    @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.id")
+    @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.id or hasPermission(#userId, 'EMPLOYEE', 'READ')")
     public UserDetailResponse getUserById(Long userId) {
         log.info("Fetching user by ID: {}", userId);
 
-        User user = userRepository.findById(userId)
+        User user = userRepository.findWithAuthoritiesById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
         return userMapper.toUserDetailResponse(user);
     }
 
-    @PreAuthorize("hasRole('ADMIN')")
+    @PreAuthorize("hasRole('ADMIN') or hasPermission(null, 'EMPLOYEE', 'READ')")
     public PaginatedResponse<UserDetailResponse> getAllUsers(
             int page, int size, String sortBy, String sortDir, String name, String role, String status) {
         log.info("Fetching all users - page: {}, size: {}", page, size);
@@ -128,34 +154,7 @@ public class UserService2 {
 
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Specification<User> spec = Specification.where(null);
-
-        if (name != null && !name.isBlank()) {
-            spec = spec.and((root, query, cb) ->
-                    cb.like(cb.lower(root.get("fullName")), "%" + name.toLowerCase() + "%")
-            );
-        }
-
-        if (status != null && !status.isBlank()) {
-            spec = spec.and((root, query, cb) ->
-                    cb.equal(cb.lower(root.get("status")), status.toLowerCase())
-            );
-        }
-
-        if (role != null && !role.isBlank()) {
-            spec = spec.and((root, query, cb) -> {
-                // 1. Lakukan Join dari entitas User ke entitas Role
-                // Ganti "roles" dengan nama field di User entity Anda
-                Join<Object, Object> rolesJoin = root.join("roles");
-
-                // 2. Pastikan hasil query unik (distinct) agar user tidak muncul dobel
-                // jika dia punya banyak role yang mirip
-                query.distinct(true);
-
-                // 3. Bandingkan parameter dengan field "name" di entitas Role
-                return cb.equal(cb.lower(rolesJoin.get("code")), role.toLowerCase());
-            });
-        }
+        Specification<User> spec = buildUserSpecification(name, role, status).and(readScope());
 
         Page<User> usersPage = userRepository.findAll(spec, pageable);
 
@@ -174,6 +173,47 @@ public class UserService2 {
                 .build();
     }
 
+    @PreAuthorize("hasRole('ADMIN') or hasPermission(null, 'EMPLOYEE', 'READ')")
+    public SliceResponse<UserDetailResponse> getAllUsersSlice(
+            int page, int size, String sortBy, String sortDir, String name, String role, String status,
+            boolean estimateTotal) {
+        log.info("Fetching users slice - page: {}, size: {}", page, size);
+
+        Sort sort = sortDir.equalsIgnoreCase("desc")
+                ? Sort.by(sortBy).descending()
+                : Sort.by(sortBy).ascending();
+
+        Specification<User> spec = buildUserSpecification(name, role, status).and(readScope());
+
+        // Scroll offset: fetch size+1 baris untuk hasNext, tanpa COUNT(*)
+        long offset = (long) page * size;
+        ScrollPosition position = offset == 0 ? ScrollPosition.offset() : ScrollPosition.offset(offset - 1);
+        Window<User> usersWindow = userRepository.findBy(spec, query -> query
+                .sortBy(sort)
+                .limit(size)
+                .scroll(position));
+
+        SliceResponse<UserDetailResponse> response = SliceResponse.of(
+                usersWindow.map(userMapper::toUserDetailResponse), page, size);
+
+        if (estimateTotal) {
+            boolean filtered = (name != null && !name.isBlank())
+                    || (role != null && !role.isBlank())
+                    || (status != null && !status.isBlank());
+            String filterKey = filtered
+                    ? String.join("|", String.valueOf(name), String.valueOf(role), String.valueOf(status)).toLowerCase()
+                    : null;
+            if (!securityService.isAdmin()) {
+                // hasil tergantung scope pemanggil: count tidak boleh dibagi antar user
+                filterKey = (filterKey != null ? filterKey : "") + "|scope:" + securityService.getCurrentUserId();
+            }
+            response.setEstimatedTotalElements(
+                    totalCountEstimator.estimate("users", filterKey, () -> userRepository.count(spec)));
+        }
+
+        return response;
+    }
+
     @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.id")
     public UserDetailResponse updateUser(Long userId, UserUpdateRequest request) {
         log.info("Updating user: {}", userId);
@@ -204,6 +244,8 @@ public class UserService2 {
         }
 
         User updatedUser = userRepository.save(user);
+        userSearchIndexService.refreshUsers(List.of(userId));
+        auditService.record(ResourceType.USER, ActionType.UPDATE, userId, null);
         log.info("User updated successfully: {}", updatedUser.getUsername());
 
         return userMapper.toUserDetailResponse(updatedUser);
@@ -228,6 +270,9 @@ public class UserService2 {
         }
 
         userRepository.delete(user);
+        userSearchIndexService.refreshUsers(List.of(userId));
+        orgHierarchyService.removeUser(userId);
+        auditService.record(ResourceType.USER, ActionType.DELETE, userId, "email=" + user.getEmail());
         log.info("User deleted successfully: {}", userId);
     }
 
@@ -250,6 +295,7 @@ public class UserService2 {
         }
 
         User updatedUser = userRepository.save(user);
+        auditService.record(ResourceType.USER, ActionType.ASSIGN, userId, "roles=" + request.getRoleCodes());
         log.info("Roles updated for user: {}", updatedUser.getUsername());
 
         return userMapper.toUserDetailResponse(updatedUser);
@@ -265,6 +311,7 @@ public class UserService2 {
         user.activate();
 
         User updatedUser = userRepository.save(user);
+        auditService.record(ResourceType.USER, ActionType.ACTIVATE, userId, null);
         log.info("User activated: {}", updatedUser.getUsername());
 
         return userMapper.toUserDetailResponse(updatedUser);
@@ -286,6 +333,7 @@ public class UserService2 {
         user.deactivate();
 
         User updatedUser = userRepository.save(user);
+        auditService.record(ResourceType.USER, ActionType.DEACTIVATE, userId, null);
         log.info("User deactivated: {}", updatedUser.getUsername());
 
         return userMapper.toUserDetailResponse(updatedUser);
@@ -307,6 +355,7 @@ public class UserService2 {
         user.lock();
 
         User updatedUser = userRepository.save(user);
+        auditService.record(ResourceType.USER, ActionType.UPDATE, userId, "locked");
         log.info("User locked: {}", updatedUser.getUsername());
 
         return userMapper.toUserDetailResponse(updatedUser);
@@ -322,6 +371,7 @@ public class UserService2 {
         user.unlock();
 
         User updatedUser = userRepository.save(user);
+        auditService.record(ResourceType.USER, ActionType.UPDATE, userId, "unlocked");
         log.info("User unlocked: {}", updatedUser.getUsername());
 
         return userMapper.toUserDetailResponse(updatedUser);
@@ -342,44 +392,158 @@ public class UserService2 {
         user.setPassword(passwordEncoder.encode(newPassword));
 
         User updatedUser = userRepository.save(user);
+        auditService.record(ResourceType.USER, ActionType.RESET_PASSWORD, userId, null);
         log.info("Password changed for user: {}", updatedUser.getUsername());
 
         return userMapper.toUserDetailResponse(updatedUser);
     }
 
+    // ========== Bulk Operations ==========
+    // Satu SELECT id target + satu UPDATE / INSERT set-based, guard sama dengan operasi per user.
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public UserBulkResult bulkActivateUsers(UserBulkRequest request) {
+        List<Long> ids = resolveBulkTargets(request);
+        int affected = ids.isEmpty() ? 0
+                : userRepository.activateAll(ids, securityService.getCurrentUserId(), LocalDateTime.now());
+        return bulkResult("ACTIVATE", ActionType.ACTIVATE, ids, affected);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public UserBulkResult bulkDeactivateUsers(UserBulkRequest request) {
+        List<Long> ids = resolveBulkTargets(request);
+        int affected = 0;
+        if (!ids.isEmpty()) {
+            Long currentUserId = guardNotSelf(ids, "Cannot deactivate your own account");
+            guardLastAdmin(ids, "Cannot deactivate the last admin user");
+            affected = userRepository.deactivateAll(ids, currentUserId, LocalDateTime.now());
+        }
+        return bulkResult("DEACTIVATE", ActionType.DEACTIVATE, ids, affected);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public UserBulkResult bulkLockUsers(UserBulkRequest request) {
+        List<Long> ids = resolveBulkTargets(request);
+        int affected = 0;
+        if (!ids.isEmpty()) {
+            Long currentUserId = guardNotSelf(ids, "Cannot lock your own account");
+            guardLastAdmin(ids, "Cannot lock the last admin user");
+            affected = userRepository.lockAll(ids, currentUserId, LocalDateTime.now());
+        }
+        return bulkResult("LOCK", ActionType.UPDATE, ids, affected);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public UserBulkResult bulkUnlockUsers(UserBulkRequest request) {
+        List<Long> ids = resolveBulkTargets(request);
+        int affected = ids.isEmpty() ? 0
+                : userRepository.unlockAll(ids, securityService.getCurrentUserId(), LocalDateTime.now());
+        return bulkResult("UNLOCK", ActionType.UPDATE, ids, affected);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public UserBulkResult bulkUpdateUserRoles(UserBulkRequest request) {
+        if (request.getRoleCodes() == null || request.getRoleCodes().isEmpty()) {
+            throw new BusinessRuleException("At least one role is required");
+        }
+        BulkRoleMode mode = request.getRoleMode() != null ? request.getRoleMode() : BulkRoleMode.REPLACE;
+        List<String> roleCodes = request.getRoleCodes().stream().distinct().toList();
+        List<Role> roles = roleRepository.findByCodes(roleCodes);
+        if (roles.size() < roleCodes.size()) {
+            Set<String> found = roles.stream().map(Role::getCode).collect(Collectors.toSet());
+            List<String> unknown = roleCodes.stream().filter(code -> !found.contains(code)).toList();
+            throw new BusinessRuleException("Unknown role codes: " + unknown);
+        }
+
+        List<Long> ids = resolveBulkTargets(request);
+        int affected = 0;
+        if (!ids.isEmpty()) {
+            boolean keepsAdmin = roleCodes.stream().anyMatch("ADMIN"::equalsIgnoreCase);
+            if ((mode == BulkRoleMode.REMOVE && keepsAdmin) || (mode == BulkRoleMode.REPLACE && !keepsAdmin)) {
+                guardLastAdmin(ids, "Cannot remove the ADMIN role from the last admin user");
+            }
+
+            List<Long> roleIds = roles.stream().map(Role::getId).toList();
+            affected = switch (mode) {
+                case ADD -> userRepository.addRoles(ids, roleIds);
+                case REMOVE -> userRepository.removeRoles(ids, roleIds);
+                case REPLACE -> userRepository.removeRolesExcept(ids, roleIds) + userRepository.addRoles(ids, roleIds);
+            };
+        }
+        return bulkResult("ROLES_" + mode, ActionType.ASSIGN, ids, affected);
+    }
+
     // ========== Search Operations ==========
 
+    // Endpoint lama tanpa cursor: hanya halaman pertama (maksimal MAX_CURSOR_PAGE_SIZE), sisanya lewat /cursor/*.
+    // hasNext menandai hasil yang terpotong; nextCursor (urutan id) bisa dipakai langsung di endpoint cursor
+
     @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
-    public List<UserDetailResponse> searchUsers(String keyword) {
+    @Transactional(readOnly = true)
+    public CursorResponse<UserDetailResponse> searchUsers(String keyword) {
         log.info("Searching users with keyword: {}", keyword);
 
-        List<User> users = userRepository.findByFullNameContainingIgnoreCase(keyword);
-
-        return users.stream()
-                .map(userMapper::toUserDetailResponse)
-                .collect(Collectors.toList());
+        // index di memory: id terurut relevansi; fallback LIKE nama/email, terbatas
+        List<Long> ids = userSearchIndexService.findUserIds(keyword)
+                .orElseGet(() -> userRepository.findBy(buildUserSpecification(keyword, null, null),
+                                query -> query.sortBy(Sort.by("id")).limit(MAX_CURSOR_PAGE_SIZE + 1).all())
+                        .stream()
+                        .map(User::getId)
+                        .toList());
+        // urutan relevansi berbeda dengan /cursor/search (nama), jadi tanpa nextCursor
+        return firstPageDetails(ids, "search", false);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
-    public List<UserDetailResponse> getUsersByRole(String roleCode) {
+    @Transactional(readOnly = true)
+    public CursorResponse<UserDetailResponse> getUsersByRole(String roleCode) {
         log.info("Fetching users with role: {}", roleCode);
 
-        List<User> users = userRepository.findByRoleCode(roleCode);
+        List<UserSummaryView> rows = userRepository.findSummariesByRoleCode(
+                roleCode, KeysetCursor.START.id(), Limit.of(MAX_CURSOR_PAGE_SIZE + 1));
+        return firstPageDetails(rows.stream().map(UserSummaryView::getId).toList(), "role " + roleCode, true);
+    }
 
-        return users.stream()
-                .map(userMapper::toUserDetailResponse)
-                .collect(Collectors.toList());
+    // ========== Cursor (keyset) Operations ==========
+
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
+    @Transactional(readOnly = true)
+    public CursorResponse<UserSummaryResponse> searchUsersCursor(String keyword, String cursor, int size) {
+        KeysetCursor after = decodeCursor(cursor);
+        int limit = cursorPageSize(size);
+        List<UserSummaryView> rows = userRepository.searchSummariesByName(
+                keyword == null ? "" : keyword.trim(), after.key(), after.id(), Limit.of(limit + 1));
+        return toCursorResponse(rows, limit, true);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @Transactional(readOnly = true)
+    public CursorResponse<UserSummaryResponse> getUsersByRoleCursor(String roleCode, String cursor, int size) {
+        KeysetCursor after = decodeCursor(cursor);
+        int limit = cursorPageSize(size);
+        List<UserSummaryView> rows = userRepository.findSummariesByRoleCode(
+                roleCode, after.id(), Limit.of(limit + 1));
+        return toCursorResponse(rows, limit, false);
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
-    public List<UserDetailResponse> getActiveUsers() {
-        log.info("Fetching all active users");
+    @Transactional(readOnly = true)
+    public CursorResponse<UserSummaryResponse> getActiveUsersCursor(String cursor, int size) {
+        KeysetCursor after = decodeCursor(cursor);
+        int limit = cursorPageSize(size);
+        List<UserSummaryView> rows = userRepository.findSummariesByStatus(
+                UserStatus.ACTIVE, after.id(), Limit.of(limit + 1));
+        return toCursorResponse(rows, limit, false);
+    }
 
-        List<User> users = userRepository.findByStatus(UserStatus.ACTIVE);
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
+    @Transactional(readOnly = true)
+    public CursorResponse<UserDetailResponse> getActiveUsers() {
+        log.info("Fetching active users (first page)");
 
-        return users.stream()
-                .map(userMapper::toUserDetailResponse)
-                .collect(Collectors.toList());
+        List<UserSummaryView> rows = userRepository.findSummariesByStatus(
+                UserStatus.ACTIVE, KeysetCursor.START.id(), Limit.of(MAX_CURSOR_PAGE_SIZE + 1));
+        return firstPageDetails(rows.stream().map(UserSummaryView::getId).toList(), "active", true);
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
@@ -391,6 +555,160 @@ public class UserService2 {
 
     // ========== Helper Methods ==========
 
+    private List<User> findAllInOrder(List<Long> ids) {
+        Map<Long, User> byId = userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    private List<Long> resolveBulkTargets(UserBulkRequest request) {
+        boolean hasIds = request.getUserIds() != null && !request.getUserIds().isEmpty();
+        String roleCode = request.getRoleCode() != null && !request.getRoleCode().isBlank() ? request.getRoleCode() : null;
+        boolean hasFilter = request.getDepartmentId() != null || request.getStatus() != null || roleCode != null;
+        if (!hasIds && !hasFilter) {
+            throw new BusinessRuleException("Bulk operation requires userIds or at least one filter");
+        }
+        if (hasIds && request.getUserIds().size() > MAX_BULK_USERS) {
+            throw new BusinessRuleException("Bulk operation is limited to " + MAX_BULK_USERS + " users");
+        }
+
+        List<Long> ids = hasIds
+                ? userRepository.findIdsByIdInAndFilter(new HashSet<>(request.getUserIds()),
+                        request.getDepartmentId(), request.getStatus(), roleCode)
+                : userRepository.findIdsByFilter(request.getDepartmentId(), request.getStatus(), roleCode);
+        if (ids.size() > MAX_BULK_USERS) {
+            throw new BusinessRuleException("Bulk operation matches " + ids.size() + " users, the limit is " + MAX_BULK_USERS);
+        }
+        return ids;
+    }
+
+    private Long guardNotSelf(List<Long> ids, String message) {
+        Long currentUserId = securityService.getCurrentUserId();
+        if (currentUserId != null && ids.contains(currentUserId)) {
+            throw new BusinessRuleException(message);
+        }
+        return currentUserId;
+    }
+
+    // tolak kalau target memuat admin aktif dan tidak ada admin aktif lain yang tersisa
+    private void guardLastAdmin(List<Long> ids, String message) {
+        if (userRepository.countActiveByRoleCodeAndIdIn("ADMIN", ids) > 0
+                && userRepository.countActiveByRoleCodeAndIdNotIn("ADMIN", ids) == 0) {
+            throw new BusinessRuleException(message);
+        }
+    }
+
+    private UserBulkResult bulkResult(String action, ActionType auditAction, List<Long> ids, int affected) {
+        if (affected > 0) {
+            // count per filter status / role sudah basi
+            totalCountEstimator.evict("users");
+            auditService.record(ResourceType.USER, auditAction, ids, "bulk " + action);
+        }
+        log.info("Bulk {}: matched={}, affected={}", action, ids.size(), affected);
+        return UserBulkResult.builder()
+                .action(action)
+                .matchedUsers(ids.size())
+                .affectedRows(affected)
+                .build();
+    }
+
+    // ids berisi maksimal MAX_CURSOR_PAGE_SIZE + 1; kelebihan dipotong, ditandai hasNext dan dicatat
+    private CursorResponse<UserDetailResponse> firstPageDetails(List<Long> ids, String listName, boolean idOrdered) {
+        boolean truncated = ids.size() > MAX_CURSOR_PAGE_SIZE;
+        String nextCursor = null;
+        if (truncated) {
+            log.warn("Legacy user list '{}' truncated to {} users, use the cursor endpoint", listName, MAX_CURSOR_PAGE_SIZE);
+            ids = ids.subList(0, MAX_CURSOR_PAGE_SIZE);
+            if (idOrdered) {
+                nextCursor = new KeysetCursor(ids.get(ids.size() - 1), null).encode();
+            }
+        }
+        return CursorResponse.<UserDetailResponse>builder()
+                .content(findAllInOrder(ids).stream().map(userMapper::toUserDetailResponse).toList())
+                .size(MAX_CURSOR_PAGE_SIZE)
+                .hasNext(truncated)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private KeysetCursor decodeCursor(String cursor) {
+        try {
+            return KeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessRuleException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private int cursorPageSize(int size) {
+        if (size < 1) {
+            throw new BusinessRuleException("Page size must be at least 1");
+        }
+        return Math.min(size, MAX_CURSOR_PAGE_SIZE);
+    }
+
+    // rows berisi maksimal limit + 1 baris; baris ekstra hanya penanda hasNext
+    private CursorResponse<UserSummaryResponse> toCursorResponse(List<UserSummaryView> rows, int limit, boolean byName) {
+        boolean hasNext = rows.size() > limit;
+        List<UserSummaryView> page = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            UserSummaryView last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getId(), byName ? last.getFullName() : null).encode();
+        }
+        return CursorResponse.<UserSummaryResponse>builder()
+                .content(page.stream().map(userMapper::toUserSummaryResponse).toList())
+                .size(limit)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // ADMIN tanpa batasan; selain itu sesuai scope permission employee:read (SELF / TEAM / DEPARTMENT / ALL)
+    private Specification<User> readScope() {
+        if (securityService.isAdmin()) {
+            return Specification.where(null);
+        }
+        return scopedPermissionEvaluator.userScope(securityService.getCurrentUser(), ResourceType.EMPLOYEE, ActionType.READ);
+    }
+
+    private Specification<User> buildUserSpecification(String name, String role, String status) {
+        Specification<User> spec = Specification.where(null);
+
+        if (name != null && !name.isBlank()) {
+            // nama / email: id dari index di memory kalau bisa, selain itu LIKE (tidak bisa pakai index B-tree)
+            Optional<List<Long>> userIds = userSearchIndexService.findUserIds(name);
+            if (userIds.isPresent()) {
+                List<Long> ids = userIds.get();
+                spec = spec.and((root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids));
+            } else {
+                String pattern = "%" + name.toLowerCase() + "%";
+                spec = spec.and((root, query, cb) -> cb.or(
+                        cb.like(cb.lower(root.get("fullName")), pattern),
+                        cb.like(cb.lower(root.get("email")), pattern)));
+            }
+        }
+
+        if (status != null && !status.isBlank()) {
+            spec = spec.and((root, query, cb) ->
+                    cb.equal(cb.lower(root.get("status")), status.toLowerCase())
+            );
+        }
+
+        if (role != null && !role.isBlank()) {
+            spec = spec.and((root, query, cb) -> {
+                // EXISTS (bukan JOIN + DISTINCT): user tidak dobel dan page query tetap satu baris per user
+                Subquery<Long> roleMatch = query.subquery(Long.class);
+                Join<User, Role> rolesJoin = roleMatch.correlate(root).join("roles");
+                roleMatch.select(rolesJoin.get("id"))
+                        .where(cb.equal(cb.lower(rolesJoin.get("code")), role.toLowerCase()));
+                return cb.exists(roleMatch);
+            });
+        }
+
+        return spec;
+    }
+
+
     public User getCurrentUserEntity() {
         return securityService.getCurrentUser();
     }
@@ -0,0 +1,223 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.gcompany.employeemanagement.enums.JobRunStatus;
+import com.gcompany.employeemanagement.exception.BusinessRuleException;
+import com.gcompany.employeemanagement.model.EndOfDayRun;
+import com.gcompany.employeemanagement.repository.EndOfDayRunRepository;
+import com.gcompany.employeemanagement.service.AttendanceEndOfDayService;
+import com.gcompany.employeemanagement.service.ClusterTaskService;
+import com.gcompany.employeemanagement.service.ShiftScheduleService;
+import com.gcompany.employeemanagement.utils.ShiftScheduleTable;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Job akhir hari untuk attendance:
+ * 1. Tutup attendance yang tidak pernah checkout (checkout = checkin, auto_closed = true), hanya kalau
+ *    jam pulang shift + grace sudah lewat di akhir hari target. Shift malam yang belum selesai ditutup
+ *    oleh run hari berikutnya (run juga memeriksa attendance sehari sebelum target).
+ * 2. Buat baris ABSENT untuk user aktif yang tidak check-in di hari kerjanya.
+ * Jadwal shift dikompilasi khusus untuk tanggal target, jadi re-run tanggal lama tetap memakai assignment & libur.
+ * Diproses per department, tiap department satu transaksi dengan beberapa statement set-based.
+ * Run terjadwal maupun manual memakai lease lock cluster yang sama. Aman dijalankan ulang: semua statement
+ * hanya menyentuh baris yang belum diproses, dan baris ABSENT dijaga unique index parsial (user_id, date).
+ */
+@Service
+@Log4j2
+public class AttendanceEndOfDayServiceImpl implements AttendanceEndOfDayService {
+
+    private static final String TASK_NAME = "attendance.end-of-day";
+
+    private static final String OPEN_ROWS_SQL =
+            "SELECT a.id, a.user_id, a.date FROM attendances a JOIN users u ON u.id = a.user_id " +
+                    "WHERE %s AND a.date BETWEEN ? AND ? AND a.checkout_time IS NULL AND a.checkin_time IS NOT NULL";
+
+    private static final String CLOSE_OPEN_SQL =
+            "UPDATE attendances SET checkout_time = checkin_time, auto_closed = TRUE, worked_minutes = 0, overtime_minutes = 0, " +
+                    "note = COALESCE(note || ' | ', '') || 'Auto-closed: no checkout', updated_at = now() " +
+                    "WHERE id IN (SELECT v.id FROM unnest(?::int8[]) AS v(id)) AND checkout_time IS NULL";
+
+    private static final String MISSING_USERS_SQL =
+            "SELECT u.id FROM users u WHERE %s AND u.status = 'ACTIVE' AND u.created_at < ? " +
+                    "AND NOT EXISTS (SELECT 1 FROM attendances a WHERE a.user_id = u.id AND a.date = ?)";
+
+    private static final String INSERT_ABSENT_SQL =
+            "INSERT INTO attendances (user_id, date, status, note, created_at, updated_at) " +
+                    "SELECT v.id, ?, 'ABSENT', 'Auto-marked absent: no check-in', now(), now() " +
+                    "FROM unnest(?::int8[]) AS v(id) " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM attendances a WHERE a.user_id = v.id AND a.date = ?) " +
+                    "ON CONFLICT DO NOTHING";
+
+    // duplikat ABSENT dari versi tanpa index dihapus dulu, baru index parsialnya dibuat
+    private static final String DEDUPLICATE_ABSENT_SQL =
+            "DELETE FROM attendances a USING attendances b " +
+                    "WHERE a.status = 'ABSENT' AND b.status = 'ABSENT' AND a.user_id = b.user_id AND a.date = b.date AND a.id > b.id";
+
+    private static final String ABSENT_INDEX_SQL =
+            "CREATE UNIQUE INDEX IF NOT EXISTS uq_attendances_absent_user_date ON attendances (user_id, date) " +
+                    "WHERE status = 'ABSENT'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EndOfDayRunRepository endOfDayRunRepository;
+    private final ShiftScheduleService shiftScheduleService;
+    private final ClusterTaskService clusterTaskService;
+    private final long closeGraceSeconds;
+
+    public AttendanceEndOfDayServiceImpl(JdbcTemplate jdbcTemplate,
+                                         PlatformTransactionManager transactionManager,
+                                         EndOfDayRunRepository endOfDayRunRepository,
+                                         ShiftScheduleService shiftScheduleService,
+                                         ClusterTaskService clusterTaskService,
+                                         @Value("${app.attendance.end-of-day.close-grace-minutes:120}") long closeGraceMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.endOfDayRunRepository = endOfDayRunRepository;
+        this.shiftScheduleService = shiftScheduleService;
+        this.clusterTaskService = clusterTaskService;
+        this.closeGraceSeconds = closeGraceMinutes * 60;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureAbsentIndex() {
+        try {
+            int removed = jdbcTemplate.update(DEDUPLICATE_ABSENT_SQL);
+            if (removed > 0) {
+                log.warn("Removed " + removed + " duplicate ABSENT attendance rows");
+            }
+            jdbcTemplate.execute(ABSENT_INDEX_SQL);
+        } catch (DataAccessException e) {
+            // index parsial hanya didukung PostgreSQL
+            log.warn("Could not create unique index for ABSENT attendances: " + e.getMessage());
+        }
+    }
+
+    // default 00:30, memproses hari kemarin; hanya satu node yang menjalankan
+    @Scheduled(cron = "${app.attendance.end-of-day.cron:0 30 0 * * *}")
+    public void scheduledEndOfDay() {
+        try {
+            runEndOfDay(LocalDate.now().minusDays(1), "SCHEDULED");
+        } catch (BusinessRuleException e) {
+            log.info("Scheduled end-of-day skipped: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public EndOfDayRun runEndOfDay(LocalDate targetDate, String triggeredBy) {
+        if (!targetDate.isBefore(LocalDate.now())) {
+            throw new BusinessRuleException("End-of-day can only run for past dates: " + targetDate);
+        }
+
+        AtomicReference<EndOfDayRun> result = new AtomicReference<>();
+        if (!clusterTaskService.runExclusive(TASK_NAME, () -> result.set(execute(targetDate, triggeredBy)))) {
+            throw new BusinessRuleException("End-of-day job is already running or has just finished, try again shortly");
+        }
+        return result.get();
+    }
+
+    @Override
+    public List<EndOfDayRun> getRecentRuns() {
+        return endOfDayRunRepository.findTop20ByOrderByStartedAtDesc();
+    }
+
+    private EndOfDayRun execute(LocalDate targetDate, String triggeredBy) {
+        EndOfDayRun run = endOfDayRunRepository.save(EndOfDayRun.builder()
+                .targetDate(targetDate)
+                .status(JobRunStatus.RUNNING)
+                .triggeredBy(triggeredBy)
+                .startedAt(OffsetDateTime.now())
+                .build());
+        log.info("End-of-day run " + run.getId() + " started for " + targetDate);
+
+        try {
+            List<Long> departmentIds = new ArrayList<>(
+                    jdbcTemplate.queryForList("SELECT id FROM departments ORDER BY id", Long.class));
+            departmentIds.add(null);    // user tanpa department
+            ShiftScheduleTable schedule = shiftScheduleService.compileSchedule(targetDate.minusDays(1), targetDate);
+
+            for (Long departmentId : departmentIds) {
+                transactionTemplate.executeWithoutResult(tx -> processDepartment(run, schedule, departmentId, targetDate));
+                run.setDepartmentsProcessed(run.getDepartmentsProcessed() + 1);
+            }
+            run.setStatus(JobRunStatus.COMPLETED);
+        } catch (RuntimeException e) {
+            run.setStatus(JobRunStatus.FAILED);
+            run.setError(e.getMessage());
+            log.error("End-of-day run " + run.getId() + " failed: " + e.getMessage());
+        } finally {
+            run.setFinishedAt(OffsetDateTime.now());
+            run.setDurationMs(Duration.between(run.getStartedAt(), run.getFinishedAt()).toMillis());
+            endOfDayRunRepository.save(run);
+        }
+
+        log.info("End-of-day run " + run.getId() + " " + run.getStatus()
+                + ": departments=" + run.getDepartmentsProcessed()
+                + ", closed=" + run.getAttendancesClosed()
+                + ", absent=" + run.getAbsenteesMarked()
+                + ", nonWorking=" + run.getSkippedNonWorking()
+                + ", durationMs=" + run.getDurationMs());
+        return run;
+    }
+
+    private void processDepartment(EndOfDayRun run, ShiftScheduleTable schedule, Long departmentId, LocalDate targetDate) {
+        String departmentFilter = departmentId != null ? "u.departmens_id = " + departmentId : "u.departmens_id IS NULL";
+
+        // tutup hanya yang shift-nya (+ grace) sudah selesai sebelum akhir hari target
+        long cutoffEpochDay = targetDate.plusDays(1).toEpochDay();
+        List<Long> expired = new ArrayList<>();
+        jdbcTemplate.query(String.format(OPEN_ROWS_SQL, departmentFilter), rs -> {
+            long epochDay = rs.getObject(3, LocalDate.class).toEpochDay();
+            long endSecond = schedule.shiftEndSecond(rs.getLong(2), departmentId, epochDay) + closeGraceSeconds;
+            if (endSecond <= (cutoffEpochDay - epochDay) * 86_400) {
+                expired.add(rs.getLong(1));
+            }
+        }, targetDate.minusDays(1), targetDate);
+
+        int closed = 0;
+        if (!expired.isEmpty()) {
+            closed = jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(CLOSE_OPEN_SQL);
+                ps.setArray(1, con.createArrayOf("int8", expired.toArray()));
+                return ps;
+            });
+        }
+
+        // kandidat absen (biasanya sedikit), lalu buang yang hari itu off/libur menurut jadwal shift
+        List<Long> missing = jdbcTemplate.queryForList(String.format(MISSING_USERS_SQL, departmentFilter), Long.class,
+                targetDate.plusDays(1).atStartOfDay(), targetDate);
+        List<Long> absent = missing.stream()
+                .filter(userId -> schedule.shiftFor(userId, departmentId, targetDate.toEpochDay()) >= 0)
+                .toList();
+
+        int inserted = 0;
+        if (!absent.isEmpty()) {
+            inserted = jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(INSERT_ABSENT_SQL);
+                ps.setObject(1, targetDate);
+                ps.setArray(2, con.createArrayOf("int8", absent.toArray()));
+                ps.setObject(3, targetDate);
+                return ps;
+            });
+        }
+
+        run.setAttendancesClosed(run.getAttendancesClosed() + closed);
+        run.setAbsenteesMarked(run.getAbsenteesMarked() + inserted);
+        run.setSkippedNonWorking(run.getSkippedNonWorking() + missing.size() - absent.size());
+    }
+}
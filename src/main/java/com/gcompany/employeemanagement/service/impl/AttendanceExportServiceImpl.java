@@ -0,0 +1,235 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.gcompany.employeemanagement.enums.AttendanceStatus;
+import com.gcompany.employeemanagement.enums.ExportFormat;
+import com.gcompany.employeemanagement.service.AttendanceExportService;
+import com.gcompany.employeemanagement.service.UserSearchIndexService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Export attendance langsung dari JDBC cursor (forward-only, fetch size tetap) ke output stream.
+ * Baris tidak pernah dikumpulkan di memory, jadi heap konstan berapapun jumlah datanya.
+ */
+@Service
+@Log4j2
+public class AttendanceExportServiceImpl implements AttendanceExportService {
+
+    private static final String[] COLUMNS = {
+            "id", "userId", "userFullName", "userEmail", "date",
+            "checkinTime", "checkinLat", "checkinLng",
+            "checkoutTime", "checkoutLat", "checkoutLng",
+            "status", "note", "workedMinutes", "overtimeMinutes"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserSearchIndexService userSearchIndexService;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public AttendanceExportServiceImpl(DataSource dataSource,
+                                       PlatformTransactionManager transactionManager,
+                                       UserSearchIndexService userSearchIndexService,
+                                       @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        // PostgreSQL hanya memakai server-side cursor kalau autocommit = false
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.userSearchIndexService = userSearchIndexService;
+        // pemisah antar object ditulis manual ('\n'), bukan spasi default Jackson
+        this.jsonFactory.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void exportAttendance(
+            OutputStream out,
+            ExportFormat format,
+            boolean gzip,
+            LocalDate startDate,
+            LocalDate endDate,
+            String name,
+            AttendanceStatus status) throws IOException {
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT a.id, u.id AS user_id, u.full_name, u.email, a.date, " +
+                "a.checkin_time, a.checkin_lat, a.checkin_lng, " +
+                "a.checkout_time, a.checkout_lat, a.checkout_lng, a.status, a.note, " +
+                "a.worked_minutes, a.overtime_minutes " +
+                "FROM attendances a JOIN users u ON u.id = a.user_id WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+
+        if (startDate != null) {
+            sql.append(" AND a.date >= ?");
+            params.add(startDate);
+        }
+        if (endDate != null) {
+            sql.append(" AND a.date <= ?");
+            params.add(endDate);
+        }
+        if (name != null && !name.isBlank()) {
+            // sama dengan list attendance: id dari index nama/email di memory, fallback LIKE nama atau email
+            List<Long> userIds = userSearchIndexService.findUserIds(name).orElse(null);
+            if (userIds == null) {
+                sql.append(" AND (LOWER(u.full_name) LIKE ? OR LOWER(u.email) LIKE ?)");
+                String pattern = "%" + name.toLowerCase() + "%";
+                params.add(pattern);
+                params.add(pattern);
+            } else if (userIds.isEmpty()) {
+                sql.append(" AND 1 = 0");
+            } else {
+                sql.append(" AND u.id IN (").append(String.join(",", Collections.nCopies(userIds.size(), "?"))).append(")");
+                params.addAll(userIds);
+            }
+        }
+        if (status != null) {
+            sql.append(" AND a.status = ?");
+            params.add(status.name());
+        }
+        sql.append(" ORDER BY a.date, a.id");
+
+        OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+
+        RowWriter rowWriter = format == ExportFormat.NDJSON
+                ? new NdjsonRowWriter(jsonFactory.createGenerator(writer))
+                : new CsvRowWriter(writer);
+
+        try {
+            rowWriter.header();
+            long[] count = {0};
+            transactionTemplate.executeWithoutResult(tx ->
+                    jdbcTemplate.query(sql.toString(), rs -> {
+                        try {
+                            rowWriter.row(rs);
+                            count[0]++;
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }, params.toArray()));
+            rowWriter.finish();
+            writer.flush();
+            if (target instanceof GZIPOutputStream gzipOut) {
+                gzipOut.finish();
+            }
+            log.info("Exported " + count[0] + " attendance rows as " + format);
+        } catch (UncheckedIOException e) {
+            // biasanya client menutup koneksi di tengah download
+            throw e.getCause();
+        }
+    }
+
+    private interface RowWriter {
+        void header() throws IOException;
+
+        void row(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        private CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void header() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write('\n');
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            for (int i = 1; i <= COLUMNS.length; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                Object value = rs.getObject(i);
+                if (value != null) {
+                    writeEscaped(value instanceof Timestamp ts ? ts.toInstant().toString() : value.toString());
+                }
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        public void finish() {
+            // CSV ditulis langsung ke writer
+        }
+
+        private void writeEscaped(String value) throws IOException {
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public void header() {
+            // NDJSON tidak punya header
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int i = 1; i <= COLUMNS.length; i++) {
+                Object value = rs.getObject(i);
+                generator.writeFieldName(COLUMNS[i - 1]);
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof Number number) {
+                    generator.writeNumber(number.toString());
+                } else if (value instanceof Timestamp ts) {
+                    generator.writeString(ts.toInstant().toString());
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.gcompany.employeemanagement.dto.projection.AttendanceStatusCountView;
+import com.gcompany.employeemanagement.dto.resp.AttendanceFeedEvent;
+import com.gcompany.employeemanagement.dto.resp.AttendanceLiveCounters;
+import com.gcompany.employeemanagement.enums.AttendanceEventType;
+import com.gcompany.employeemanagement.enums.AttendanceStatus;
+import com.gcompany.employeemanagement.exception.BusinessRuleException;
+import com.gcompany.employeemanagement.repository.AttendanceRepository;
+import com.gcompany.employeemanagement.service.AttendanceFeedService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Event bus in-process untuk dashboard HR: check-in/out di-fan-out ke subscriber SSE
+ * beserta counter hari ini (dihitung di memory, seed dari satu query grouped).
+ * Event hanya di-publish di node yang memprosesnya, jadi counter di-seed ulang berkala
+ * (app.attendance.feed.reseed-ms) supaya check-in di node lain ikut terhitung.
+ * Tiap subscriber punya antrian terbatas yang dikuras thread dispatcher; subscriber yang
+ * antriannya penuh (client lambat) diputus, browser akan reconnect dan dapat snapshot baru.
+ */
+@Service
+@Log4j2
+public class AttendanceFeedServiceImpl implements AttendanceFeedService {
+
+    // index array counter
+    private static final int CHECKED_IN_COUNT = 0;
+    private static final int CHECKED_OUT_COUNT = 1;
+    private static final int PRESENT_COUNT = 2;
+    private static final int LATE_COUNT = 3;
+    private static final int EARLY_LEAVE_COUNT = 4;
+    private static final int OUTSIDE_GEO_COUNT = 5;
+
+    private static final long NO_DEPARTMENT = 0L;   // key counter untuk user tanpa department
+
+    private static final FeedMessage HEARTBEAT = new FeedMessage(null, null);
+
+    private final AttendanceRepository attendanceRepo;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMs;
+    private final ExecutorService dispatcher;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // counter per department untuk countersDate, dijaga oleh lock "this"
+    private final Map<Long, long[]> counters = new HashMap<>();
+    private LocalDate countersDate;
+
+    public AttendanceFeedServiceImpl(AttendanceRepository attendanceRepo,
+                                     @Value("${app.attendance.feed.buffer-size:256}") int bufferSize,
+                                     @Value("${app.attendance.feed.max-subscribers:500}") int maxSubscribers,
+                                     @Value("${app.attendance.feed.timeout-ms:1800000}") long timeoutMs,
+                                     @Value("${app.attendance.feed.dispatch-threads:4}") int dispatchThreads) {
+        this.attendanceRepo = attendanceRepo;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMs = timeoutMs;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, r -> {
+            Thread thread = new Thread(r, "attendance-feed-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public SseEmitter subscribe(Long departmentId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new BusinessRuleException("Too many live feed subscribers, try again later");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(departmentId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        enqueue(subscriber, new FeedMessage("counters", snapshot(departmentId)));
+        log.info("Live feed subscribed (department " + departmentId + "), subscribers=" + subscribers.size());
+        return emitter;
+    }
+
+    @Override
+    public void publish(AttendanceFeedEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(event);
+                }
+            });
+        } else {
+            dispatch(event);
+        }
+    }
+
+    @Override
+    public synchronized void refreshCounters() {
+        countersDate = null;
+    }
+
+    // counter node ini hanya melihat event lokal; seed ulang dari DB lalu kirim ke subscriber
+    @Scheduled(fixedDelayString = "${app.attendance.feed.reseed-ms:60000}")
+    public void reseedCounters() {
+        if (subscribers.isEmpty()) {
+            refreshCounters();
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        Map<Long, long[]> seeded = loadCounters(today);
+        Map<Long, AttendanceLiveCounters> snapshots = new HashMap<>();
+        synchronized (this) {
+            counters.clear();
+            counters.putAll(seeded);
+            countersDate = today;
+            for (Subscriber subscriber : subscribers) {
+                snapshots.computeIfAbsent(subscriber.departmentId, this::snapshot);
+            }
+        }
+        for (Subscriber subscriber : subscribers) {
+            AttendanceLiveCounters snapshot = snapshots.get(subscriber.departmentId);
+            if (snapshot != null) {
+                enqueue(subscriber, new FeedMessage("counters", snapshot));
+            }
+        }
+    }
+
+    // comment SSE berkala supaya koneksi mati cepat terdeteksi & proxy tidak menutup stream idle
+    @Scheduled(fixedDelayString = "${app.attendance.feed.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, HEARTBEAT);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(s -> s.emitter.complete());
+        subscribers.clear();
+    }
+
+    private void dispatch(AttendanceFeedEvent event) {
+        AttendanceLiveCounters total = null;
+        AttendanceLiveCounters department = null;
+        synchronized (this) {
+            if (applyToCounters(event)) {
+                total = snapshot(null);
+                department = event.getDepartmentId() != null ? snapshot(event.getDepartmentId()) : null;
+            }
+        }
+
+        FeedMessage eventMessage = new FeedMessage("attendance", event);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.departmentId != null && !subscriber.departmentId.equals(event.getDepartmentId())) {
+                continue;
+            }
+            enqueue(subscriber, eventMessage);
+            AttendanceLiveCounters counters = subscriber.departmentId == null ? total : department;
+            if (counters != null) {
+                enqueue(subscriber, new FeedMessage("counters", counters));
+            }
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, FeedMessage message) {
+        if (!subscribers.contains(subscriber)) {
+            return;
+        }
+        if (!subscriber.queue.offer(message)) {
+            log.warn("Live feed subscriber (department " + subscriber.departmentId
+                    + ") is too slow, dropping connection");
+            subscribers.remove(subscriber);
+            subscriber.queue.clear();
+            subscriber.emitter.complete();
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (true) {
+                FeedMessage message;
+                while ((message = subscriber.queue.poll()) != null) {
+                    if (message == HEARTBEAT) {
+                        subscriber.emitter.send(SseEmitter.event().comment("ping"));
+                    } else {
+                        subscriber.emitter.send(SseEmitter.event()
+                                .name(message.name())
+                                .data(message.data(), MediaType.APPLICATION_JSON));
+                    }
+                }
+                subscriber.draining.set(false);
+                // message baru masuk setelah poll terakhir tapi sebelum flag dilepas
+                if (subscriber.queue.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // client sudah disconnect / emitter sudah selesai
+            subscribers.remove(subscriber);
+            subscriber.queue.clear();
+        }
+    }
+
+    /**
+     * Update counter dari event; false kalau event bukan untuk hari ini.
+     */
+    private boolean applyToCounters(AttendanceFeedEvent event) {
+        ensureCounters();
+        if (!countersDate.equals(event.getDate())) {
+            return false;
+        }
+        long[] values = counters.computeIfAbsent(key(event.getDepartmentId()), k -> new long[6]);
+        values[event.getType() == AttendanceEventType.CHECKIN ? CHECKED_IN_COUNT : CHECKED_OUT_COUNT]++;
+        int previous = statusIndex(event.getPreviousStatus());
+        if (previous >= 0) {
+            values[previous]--;
+        }
+        int current = statusIndex(event.getStatus());
+        if (current >= 0) {
+            values[current]++;
+        }
+        return true;
+    }
+
+    private synchronized AttendanceLiveCounters snapshot(Long departmentId) {
+        ensureCounters();
+        long[] values = new long[6];
+        for (Map.Entry<Long, long[]> entry : counters.entrySet()) {
+            if (departmentId == null || entry.getKey() == departmentId.longValue()) {
+                for (int i = 0; i < values.length; i++) {
+                    values[i] += entry.getValue()[i];
+                }
+            }
+        }
+        return AttendanceLiveCounters.builder()
+                .date(countersDate)
+                .departmentId(departmentId)
+                .checkedIn(values[CHECKED_IN_COUNT])
+                .checkedOut(values[CHECKED_OUT_COUNT])
+                .present(values[PRESENT_COUNT])
+                .late(values[LATE_COUNT])
+                .earlyLeave(values[EARLY_LEAVE_COUNT])
+                .outsideGeo(values[OUTSIDE_GEO_COUNT])
+                .build();
+    }
+
+    // dipanggil dengan lock "this"; reload saat ganti hari atau setelah refreshCounters / reseed tanpa subscriber
+    private void ensureCounters() {
+        LocalDate today = LocalDate.now();
+        if (today.equals(countersDate)) {
+            return;
+        }
+        counters.clear();
+        counters.putAll(loadCounters(today));
+        countersDate = today;
+    }
+
+    private Map<Long, long[]> loadCounters(LocalDate date) {
+        Map<Long, long[]> loaded = new HashMap<>();
+        for (AttendanceStatusCountView row : attendanceRepo.countCheckinsByDepartmentAndStatus(date)) {
+            long[] values = loaded.computeIfAbsent(key(row.getDepartmentId()), k -> new long[6]);
+            values[CHECKED_IN_COUNT] += row.getTotal();
+            values[CHECKED_OUT_COUNT] += row.getCheckedOut();
+            int status = statusIndex(AttendanceStatus.valueOf(row.getStatus()));
+            if (status >= 0) {
+                values[status] += row.getTotal();
+            }
+        }
+        return loaded;
+    }
+
+    private static long key(Long departmentId) {
+        return departmentId != null ? departmentId : NO_DEPARTMENT;
+    }
+
+    private static int statusIndex(AttendanceStatus status) {
+        if (status == null) {
+            return -1;
+        }
+        return switch (status) {
+            case PRESENT -> PRESENT_COUNT;
+            case LATE -> LATE_COUNT;
+            case EARLY_LEAVE -> EARLY_LEAVE_COUNT;
+            case OUTSIDE_GEO -> OUTSIDE_GEO_COUNT;
+            default -> -1;
+        };
+    }
+
+    private record FeedMessage(String name, Object data) {
+    }
+
+    private static final class Subscriber {
+        private final Long departmentId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<FeedMessage> queue;
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+
+        private Subscriber(Long departmentId, SseEmitter emitter, BlockingQueue<FeedMessage> queue) {
+            this.departmentId = departmentId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.gcompany.employeemanagement.dto.resp.AttendanceImportResult;
+import com.gcompany.employeemanagement.dto.resp.ImportRowError;
+import com.gcompany.employeemanagement.enums.AttendanceStatus;
+import com.gcompany.employeemanagement.exception.BusinessRuleException;
+import com.gcompany.employeemanagement.service.AttendanceFeedService;
+import com.gcompany.employeemanagement.service.AttendanceImportService;
+import com.gcompany.employeemanagement.service.JobQueueService;
+import com.gcompany.employeemanagement.utils.CsvLineParser;
+import lombok.extern.log4j.Log4j2;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk import attendance dari file CSV mesin absensi.
+ * 1. Baca & validasi baris secara streaming (tidak ditampung di memory).
+ * 2. Baris valid langsung dikirim ke staging table lewat protokol COPY PostgreSQL.
+ * 3. Email -> user_id di-resolve dengan satu UPDATE ... FROM users.
+ * 4. Merge staging -> attendances dengan satu INSERT ... SELECT, lalu susun error report.
+ */
+@Service
+@Log4j2
+public class AttendanceImportServiceImpl implements AttendanceImportService {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final String STAGING_TABLE = "attendance_import_staging";
+    // sama dengan kolom staging; lebih panjang = error per baris, bukan COPY gagal untuk seluruh file
+    private static final int MAX_EMAIL_LENGTH = 100;
+    private static final int MAX_NOTE_LENGTH = 255;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AttendanceFeedService attendanceFeedService;
+    private final JobQueueService jobQueueService;
+    private final int maxReportedErrors;
+
+    public AttendanceImportServiceImpl(DataSource dataSource,
+                                       PlatformTransactionManager transactionManager,
+                                       AttendanceFeedService attendanceFeedService,
+                                       JobQueueService jobQueueService,
+                                       @Value("${app.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.attendanceFeedService = attendanceFeedService;
+        this.jobQueueService = jobQueueService;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public AttendanceImportResult importAttendance(InputStream csv) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new BusinessRuleException("Import file is empty");
+        }
+        Map<String, Integer> header = parseHeader(headerLine);
+
+        List<ImportRowError> errors = new ArrayList<>();
+        long[] counters = new long[2]; // 0 = total, 1 = invalid
+
+        try {
+            AttendanceImportResult result = transactionTemplate.execute(tx -> {
+                try {
+                    createStagingTable();
+                    long staged = copyRows(reader, header, counters, errors);
+
+                    // Satu lookup batch untuk semua email
+                    jdbcTemplate.update("UPDATE " + STAGING_TABLE + " s SET user_id = u.id " +
+                            "FROM users u WHERE LOWER(u.email) = LOWER(s.email)");
+
+                    List<ImportRowError> mergeErrors = new ArrayList<>();
+                    collectMergeErrors(mergeErrors);
+                    errors.addAll(mergeErrors);
+
+                    int imported = jdbcTemplate.update(
+                            "INSERT INTO attendances (user_id, date, checkin_time, checkin_lat, checkin_lng, " +
+                                    "checkout_time, status, note, created_at, updated_at) " +
+                                    "SELECT DISTINCT ON (s.user_id, s.date) s.user_id, s.date, s.checkin_time, " +
+                                    "s.checkin_lat, s.checkin_lng, s.checkout_time, s.status, s.note, now(), now() " +
+                                    "FROM " + STAGING_TABLE + " s " +
+                                    "WHERE s.user_id IS NOT NULL " +
+                                    "AND NOT EXISTS (SELECT 1 FROM attendances a WHERE a.user_id = s.user_id AND a.date = s.date) " +
+                                    "ORDER BY s.user_id, s.date, s.line_no");
+
+                    // worked/overtime minutes baris baru dihitung di background, job ikut transaksi import
+                    if (imported > 0) {
+                        jdbcTemplate.query("SELECT MIN(date) AS min_date, MAX(date) AS max_date FROM " + STAGING_TABLE +
+                                " WHERE user_id IS NOT NULL", rs -> {
+                            jobQueueService.enqueue(WorkTimeRecomputeJobHandler.TYPE, new WorkTimeRecomputeJobHandler.Payload(
+                                    rs.getObject("min_date", LocalDate.class), rs.getObject("max_date", LocalDate.class)));
+                        });
+                    }
+
+                    return AttendanceImportResult.builder()
+                            .totalRows(counters[0])
+                            .invalidRows(counters[1])
+                            .stagedRows(staged)
+                            .importedRows(imported)
+                            .rejectedRows(staged - imported)
+                            .build();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            // counter live feed dihitung ulang dari database
+            if (result.getImportedRows() > 0) {
+                attendanceFeedService.refreshCounters();
+            }
+
+            // validasi dan merge masing-masing menyimpan maksimal maxReportedErrors + 1 error pertama (urut baris),
+            // jadi hasil gabungan yang dipotong tetap error paling awal di file
+            errors.sort((a, b) -> Long.compare(a.getLine(), b.getLine()));
+            result.setErrorCount(result.getInvalidRows() + result.getRejectedRows());
+            boolean truncated = result.getErrorCount() > maxReportedErrors;
+            result.setErrors(errors.size() > maxReportedErrors ? new ArrayList<>(errors.subList(0, maxReportedErrors)) : errors);
+            result.setErrorsTruncated(truncated);
+
+            log.info("Attendance import finished: total=" + result.getTotalRows()
+                    + ", imported=" + result.getImportedRows()
+                    + ", invalid=" + result.getInvalidRows()
+                    + ", rejected=" + result.getRejectedRows());
+            return result;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    Map<String, Integer> parseHeader(String headerLine) {
+        if (headerLine.startsWith("﻿")) {
+            headerLine = headerLine.substring(1);
+        }
+        Map<String, Integer> header = new HashMap<>();
+        List<String> columns = CsvLineParser.parse(headerLine);
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i).toLowerCase(Locale.ROOT), i);
+        }
+        if (!header.containsKey("email") || !header.containsKey("date")) {
+            throw new BusinessRuleException("Import file must have at least 'email' and 'date' columns");
+        }
+        return header;
+    }
+
+    private void createStagingTable() {
+        jdbcTemplate.execute("CREATE TEMP TABLE " + STAGING_TABLE + " (" +
+                "line_no BIGINT NOT NULL, " +
+                "email VARCHAR(100) NOT NULL, " +
+                "date DATE NOT NULL, " +
+                "checkin_time TIMESTAMPTZ, " +
+                "checkin_lat DOUBLE PRECISION, " +
+                "checkin_lng DOUBLE PRECISION, " +
+                "checkout_time TIMESTAMPTZ, " +
+                "status VARCHAR(255) NOT NULL, " +
+                "note VARCHAR(255), " +
+                "user_id BIGINT" +
+                ") ON COMMIT DROP");
+    }
+
+    private long copyRows(BufferedReader reader,
+                          Map<String, Integer> header,
+                          long[] counters,
+                          List<ImportRowError> errors) throws IOException {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        CopyIn copyIn = null;
+        try {
+            copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                    "COPY " + STAGING_TABLE + " (line_no, email, date, checkin_time, checkin_lat, checkin_lng, " +
+                            "checkout_time, status, note) FROM STDIN WITH (FORMAT csv)");
+
+            StringBuilder buffer = new StringBuilder(COPY_BUFFER_SIZE);
+            String line;
+            long lineNo = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                counters[0]++;
+
+                String copyLine = validateRow(lineNo, CsvLineParser.parse(line), header, errors);
+                if (copyLine == null) {
+                    counters[1]++;
+                    continue;
+                }
+                buffer.append(copyLine).append('\n');
+                if (buffer.length() >= COPY_BUFFER_SIZE) {
+                    byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+                    copyIn.writeToCopy(bytes, 0, bytes.length);
+                    buffer.setLength(0);
+                }
+            }
+            if (!buffer.isEmpty()) {
+                byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+            }
+            return copyIn.endCopy();
+        } catch (SQLException e) {
+            cancelQuietly(copyIn);
+            throw new BusinessRuleException("Failed to load import file into staging table: " + e.getMessage(), e);
+        } catch (IOException | RuntimeException e) {
+            cancelQuietly(copyIn);
+            throw e;
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Validasi satu baris; return baris CSV untuk COPY, atau null kalau tidak valid.
+     * Error hanya dicatat selama errors belum melewati maxReportedErrors + 1 (cukup untuk menandai terpotong);
+     * jumlah baris invalid tetap dihitung pemanggil.
+     */
+    String validateRow(long lineNo, List<String> fields, Map<String, Integer> header, List<ImportRowError> errors) {
+        String email = field(fields, header, "email");
+        try {
+            if (email == null || !email.contains("@")) {
+                throw new IllegalArgumentException("Invalid email");
+            }
+            if (email.length() > MAX_EMAIL_LENGTH) {
+                throw new IllegalArgumentException("Email must not exceed " + MAX_EMAIL_LENGTH + " characters");
+            }
+
+            LocalDate date = LocalDate.parse(required(field(fields, header, "date"), "date"));
+            OffsetDateTime checkin = parseTime(field(fields, header, "checkintime"), date);
+            OffsetDateTime checkout = parseTime(field(fields, header, "checkouttime"), date);
+            if (checkin != null && checkout != null && checkout.isBefore(checkin)) {
+                throw new IllegalArgumentException("checkoutTime is before checkinTime");
+            }
+
+            Double lat = parseCoordinate(field(fields, header, "checkinlat"), 90);
+            Double lng = parseCoordinate(field(fields, header, "checkinlng"), 180);
+
+            String statusValue = field(fields, header, "status");
+            AttendanceStatus status = statusValue != null
+                    ? AttendanceStatus.valueOf(statusValue.toUpperCase(Locale.ROOT))
+                    : (checkin != null ? AttendanceStatus.PRESENT : AttendanceStatus.ABSENT);
+
+            String note = field(fields, header, "note");
+            if (note != null && note.length() > MAX_NOTE_LENGTH) {
+                throw new IllegalArgumentException("Note must not exceed " + MAX_NOTE_LENGTH + " characters");
+            }
+
+            return lineNo + "," + CsvLineParser.escape(email) + "," + date + ","
+                    + (checkin != null ? checkin : "") + ","
+                    + (lat != null ? lat : "") + ","
+                    + (lng != null ? lng : "") + ","
+                    + (checkout != null ? checkout : "") + ","
+                    + status.name() + ","
+                    + (note != null ? CsvLineParser.escape(note) : "");
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            if (errors.size() <= maxReportedErrors) {
+                errors.add(ImportRowError.builder()
+                        .line(lineNo)
+                        .key(email)
+                        .reason(e.getMessage())
+                        .build());
+            }
+            return null;
+        }
+    }
+
+    private void collectMergeErrors(List<ImportRowError> errors) {
+        jdbcTemplate.query("SELECT line_no, email, reason FROM (" +
+                        "SELECT s.line_no, s.email, CASE " +
+                        "WHEN s.user_id IS NULL THEN 'Unknown email' " +
+                        "WHEN EXISTS (SELECT 1 FROM attendances a WHERE a.user_id = s.user_id AND a.date = s.date) " +
+                        "THEN 'Attendance already exists for this date' " +
+                        "WHEN ROW_NUMBER() OVER (PARTITION BY s.user_id, s.date ORDER BY s.line_no) > 1 " +
+                        "THEN 'Duplicate row in file' " +
+                        "END AS reason FROM " + STAGING_TABLE + " s) r " +
+                        "WHERE reason IS NOT NULL ORDER BY line_no LIMIT ?",
+                rs -> {
+                    errors.add(ImportRowError.builder()
+                            .line(rs.getLong("line_no"))
+                            .key(rs.getString("email"))
+                            .reason(rs.getString("reason"))
+                            .build());
+                }, maxReportedErrors + 1);
+    }
+
+    private String field(List<String> fields, Map<String, Integer> header, String column) {
+        Integer index = header.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private String required(String value, String column) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + column);
+        }
+        return value;
+    }
+
+    // Terima ISO offset (2024-01-01T08:00+07:00), ISO lokal (2024-01-01T08:00) atau jam saja (08:00)
+    private OffsetDateTime parseTime(String value, LocalDate date) {
+        if (value == null) {
+            return null;
+        }
+        if (value.contains("T")) {
+            try {
+                return OffsetDateTime.parse(value);
+            } catch (DateTimeParseException e) {
+                return LocalDateTime.parse(value).atZone(ZoneId.systemDefault()).toOffsetDateTime();
+            }
+        }
+        return date.atTime(LocalTime.parse(value)).atZone(ZoneId.systemDefault()).toOffsetDateTime();
+    }
+
+    private Double parseCoordinate(String value, double limit) {
+        if (value == null) {
+            return null;
+        }
+        double coordinate = Double.parseDouble(value);
+        // NaN / Infinity lolos dari perbandingan range
+        if (!Double.isFinite(coordinate) || Math.abs(coordinate) > limit) {
+            throw new IllegalArgumentException("Coordinate out of range: " + value);
+        }
+        return coordinate;
+    }
+
+    private void cancelQuietly(CopyIn copyIn) {
+        if (copyIn != null && copyIn.isActive()) {
+            try {
+                copyIn.cancelCopy();
+            } catch (SQLException e) {
+                log.warn("Failed to cancel COPY: " + e.getMessage());
+            }
+        }
+    }
+}
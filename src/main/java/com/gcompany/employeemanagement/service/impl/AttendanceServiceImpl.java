@@ -3,24 +3,35 @@ package com.gcompany.employeemanagement.service.impl;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
 import com.gcompany.employeemanagement.dto.Response;
+import com.gcompany.employeemanagement.dto.projection.AttendanceListView;
+import com.gcompany.employeemanagement.dto.projection.CheckinGridCellView;
 import com.gcompany.employeemanagement.dto.req.AttendanceRequest;
+import com.gcompany.employeemanagement.dto.resp.AttendanceFeedEvent;
 import com.gcompany.employeemanagement.dto.resp.AttendanceHistoryResp;
 import com.gcompany.employeemanagement.dto.resp.AttendanceResponse;
+import com.gcompany.employeemanagement.dto.resp.CheckinHeatmapCell;
+import com.gcompany.employeemanagement.dto.resp.CheckinHeatmapResponse;
 import com.gcompany.employeemanagement.dto.resp.StatusResponse;
+import com.gcompany.employeemanagement.enums.AttendanceEventType;
 import com.gcompany.employeemanagement.enums.AttendanceStatus;
 //import com.gcompany.employeemanagement.enums.Role;
 import com.gcompany.employeemanagement.model.Attendance;
 import com.gcompany.employeemanagement.model.User;
 import com.gcompany.employeemanagement.repository.AttendanceRepository;
 import com.gcompany.employeemanagement.repository.UserRepository;
+import com.gcompany.employeemanagement.service.AttendanceFeedService;
 import com.gcompany.employeemanagement.service.AttendanceService;
+import com.gcompany.employeemanagement.service.OfficeLocationService;
+import com.gcompany.employeemanagement.service.ShiftScheduleService;
+import com.gcompany.employeemanagement.service.TotalCountEstimator;
+import com.gcompany.employeemanagement.service.UserSearchIndexService;
 import com.gcompany.employeemanagement.utils.AttendanceMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -34,6 +45,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
@@ -48,12 +60,18 @@ public class AttendanceServiceImpl implements AttendanceService {
     private final AttendanceRepository attendanceRepo;
     private final UserRepository userRepo;
     private final AttendanceMapper attendanceMapper;
+    private final TotalCountEstimator totalCountEstimator;
+    private final OfficeLocationService officeLocationService;
+    private final ShiftScheduleService shiftScheduleService;
+    private final AttendanceFeedService attendanceFeedService;
+    private final UserSearchIndexService userSearchIndexService;
     private final String uploadDir = "uploads/";
     @Autowired
     private Cloudinary cloudinary;
 
-    // contoh jam kerja normal (08:00)
-    private final LocalTime officeStartTime = LocalTime.of(8, 0);
+    // batas ukuran sel heatmap (derajat): ~55m s/d ~550km
+    private static final double MIN_HEATMAP_CELL_SIZE = 0.0005;
+    private static final double MAX_HEATMAP_CELL_SIZE = 5.0;
 
 
     /**
@@ -80,7 +98,7 @@ public class AttendanceServiceImpl implements AttendanceService {
 
             // Cek unfinished attendance
             boolean hasUnfinished = attendanceRepo
-                    .existsByUser_IdAndDateAndCheckoutTimeIsNull(userId, today);
+                    .existsByUser_IdAndDateAndCheckoutTimeIsNullAndCheckinTimeIsNotNull(userId, today);
 
             if (hasUnfinished) {
                 response.setMessage("Anda sudah check-in dan belum checkout.");
@@ -111,14 +129,18 @@ public class AttendanceServiceImpl implements AttendanceService {
             }
 
             // status
-            if (LocalTime.now().isAfter(officeStartTime)) {
-                attendance.setStatus(AttendanceStatus.LATE);
+            Long departmentId = user.get().getDepartment() != null ? user.get().getDepartment().getId() : null;
+            if (officeLocationService.isOutsideGeofence(request.getLatitude(), request.getLongitude())) {
+                attendance.setStatus(AttendanceStatus.OUTSIDE_GEO);
             } else {
-                attendance.setStatus(AttendanceStatus.PRESENT);
+                // PRESENT / LATE dari jadwal shift user (lookup in-memory)
+                attendance.setStatus(shiftScheduleService.classifyCheckIn(
+                        userId, departmentId, attendance.getCheckinTime()));
             }
 
             attendance.setCreatedAt(OffsetDateTime.now());
             attendanceRepo.save(attendance);
+            publishFeedEvent(AttendanceEventType.CHECKIN, user.get(), departmentId, attendance, null);
             AttendanceResponse attendanceResponse = attendanceMapper.toDTO(attendance);
 
             response.setData(attendanceResponse);
@@ -148,10 +170,20 @@ public class AttendanceServiceImpl implements AttendanceService {
     public ResponseEntity<?> checkOut(AttendanceRequest request) {
         Response<AttendanceResponse> response = new Response<>();
         try {
-            Long userId = getCurrentUserId();
+            User currentUser = getCurrentUser();
+            Long userId = currentUser.getId();
+            Long departmentId = currentUser.getDepartment() != null ? currentUser.getDepartment().getId() : null;
+            OffsetDateTime now = OffsetDateTime.now();
             LocalDate today = LocalDate.now();
 
-            Optional<Attendance> attendance = attendanceRepo.findFirstByUser_IdAndDateAndCheckoutTimeIsNull(userId, today);
+            // shift malam: attendance kemarin masih bisa ditutup selama jam pulang shift + grace belum lewat
+            Optional<Attendance> attendance = attendanceRepo
+                    .findByUser_IdAndDateBetweenAndCheckoutTimeIsNullAndCheckinTimeIsNotNullOrderByDateDesc(
+                            userId, today.minusDays(1), today)
+                    .stream()
+                    .filter(a -> a.getDate().equals(today)
+                            || shiftScheduleService.isShiftOpen(userId, departmentId, a.getDate(), now))
+                    .findFirst();
 
             if (attendance.isEmpty()) {
                 response.setMessage("Anda belum check-in hari ini.");
@@ -163,10 +195,22 @@ public class AttendanceServiceImpl implements AttendanceService {
             }
 
             Attendance attendance1 = attendance.get();
-            attendance1.setCheckoutTime(OffsetDateTime.now());
+            AttendanceStatus previousStatus = attendance1.getStatus();
+            attendance1.setCheckoutTime(now);
             attendance1.setCheckoutLat(request.getLatitude());
             attendance1.setCheckoutLng(request.getLongitude());
 
+            // pulang sebelum jam selesai shift
+            if ((attendance1.getStatus() == AttendanceStatus.PRESENT || attendance1.getStatus() == AttendanceStatus.LATE)
+                    && shiftScheduleService.isEarlyLeave(userId, departmentId, attendance1.getDate(), attendance1.getCheckoutTime())) {
+                attendance1.setStatus(AttendanceStatus.EARLY_LEAVE);
+            }
+
+            // jam kerja & lembur disimpan sekali saat attendance ditutup
+            attendance1.setWorkedMinutes((int) Duration.between(attendance1.getCheckinTime(), attendance1.getCheckoutTime()).toMinutes());
+            attendance1.setOvertimeMinutes(shiftScheduleService.overtimeMinutes(userId, departmentId, attendance1.getDate(),
+                    attendance1.getCheckinTime(), attendance1.getCheckoutTime()));
+
 //        /** ---- SIMPAN FOTO CHECKOUT ---- */
 //        if (request.getPhoto() != null && !request.getPhoto().isEmpty()) {
 //            String fileName = saveFile(request.getPhoto());
@@ -181,6 +225,7 @@ public class AttendanceServiceImpl implements AttendanceService {
 
             attendance1.setUpdatedAt(OffsetDateTime.now());
             attendanceRepo.save(attendance1);
+            publishFeedEvent(AttendanceEventType.CHECKOUT, currentUser, departmentId, attendance1, previousStatus);
             AttendanceResponse attendanceResponse = attendanceMapper.toDTO(attendance1);
             response.setData(attendanceResponse);
             response.setMessage("User ID " + userId + "  has been checked out successfully");
@@ -305,26 +350,7 @@ public class AttendanceServiceImpl implements AttendanceService {
             LocalDate endDate) {
         Response<Object> response = new Response<>();
         try {
-            Specification<Attendance> spec = Specification.where(null);
-
-            // 1. Filter Rentang Tanggal
-            if (startDate != null) {
-                spec = spec.and((root, query, cb) ->
-                        cb.greaterThanOrEqualTo(root.get("date"), startDate)
-                );
-            }
-
-            if (endDate != null) {
-                spec = spec.and((root, query, cb) ->
-                        cb.lessThanOrEqualTo(root.get("date"), endDate)
-                );
-            }
-
-            if (name != null && !name.isBlank()) {
-                spec = spec.and((root, query, cb) ->
-                        cb.like(cb.lower(root.get("user").get("fullName")), "%" + name.toLowerCase() + "%")
-                );
-            }
+            String nameFilter = (name != null && !name.isBlank()) ? name : null;
 
 //            Role role1;
 //            if (role != null && !role.isBlank()) {
@@ -338,12 +364,9 @@ public class AttendanceServiceImpl implements AttendanceService {
 //                            .contentType(MediaType.APPLICATION_JSON)
 //                            .body(response);
 //                }
-//                spec = spec.and((root, query, cb) ->
-//                        cb.equal(root.get("user").get("role"),  role1)
-//                );
 //            }
 
-            AttendanceStatus attendanceStatus;
+            AttendanceStatus attendanceStatus = null;
             if (status != null && !status.isBlank()) {
                 try {
                     attendanceStatus = AttendanceStatus.valueOf(status.toUpperCase());
@@ -355,15 +378,16 @@ public class AttendanceServiceImpl implements AttendanceService {
                             .contentType(MediaType.APPLICATION_JSON)
                             .body(response);
                 }
-                spec = spec.and((root, query, cb) ->
-                        cb.equal(root.get("status"),  attendanceStatus)
-                );
             }
 
-            Page<Attendance> attendancesPage = attendanceRepo.findAll(spec, pageable);
-            List<Attendance> attendanceList = attendancesPage.getContent();
+            // Projection query: kolom DTO saja, tanpa load User per baris (N+1).
+            // Filter nama di-resolve ke id user lewat index di memory; fallback LIKE kalau index tidak bisa dipakai
+            List<Long> userIds = nameFilter != null ? userSearchIndexService.findUserIds(nameFilter).orElse(null) : null;
+            Page<AttendanceListView> attendancesPage = userIds != null
+                    ? attendanceRepo.findAttendanceListForUsers(startDate, endDate, userIds, attendanceStatus, pageable)
+                    : attendanceRepo.findAttendanceList(startDate, endDate, nameFilter, attendanceStatus, pageable);
 
-            List<AttendanceResponse> attendanceResponses = attendanceList.stream()
+            List<AttendanceResponse> attendanceResponses = attendancesPage.getContent().stream()
                     .map(attendanceMapper::toDTO).toList();
 
             Map<String, Object> result = new HashMap<>();
@@ -388,26 +412,180 @@ public class AttendanceServiceImpl implements AttendanceService {
         }
     }
 
+    /**
+     * --------------------------
+     * GET ALL ATTENDANCE (SLICE MODE)
+     * -------------------------
+     * Tanpa COUNT(*): hasNext dari fetch size+1 baris.
+     * Total hanya dikirim kalau diminta, dari statistik tabel / count yang di-cache.
+     */
+    @Override
+    public ResponseEntity<?> getAllAttendanceSlice(
+            Pageable pageable,
+            LocalDate date,
+            String name,
+            String status,
+            String role,
+            LocalDate startDate,
+            LocalDate endDate,
+            boolean estimateTotal) {
+        Response<Object> response = new Response<>();
+        try {
+            String nameFilter = (name != null && !name.isBlank()) ? name : null;
+
+            AttendanceStatus attendanceStatus = null;
+            if (status != null && !status.isBlank()) {
+                try {
+                    attendanceStatus = AttendanceStatus.valueOf(status.toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    response.setMessage("Attendance With Status " + status + " not found");
+                    log.error("Attendance With Status" + status + " not found");
+                    return ResponseEntity
+                            .status(HttpStatus.NOT_FOUND)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body(response);
+                }
+            }
+
+            List<Long> userIds = nameFilter != null ? userSearchIndexService.findUserIds(nameFilter).orElse(null) : null;
+            Slice<AttendanceListView> attendancesSlice = userIds != null
+                    ? attendanceRepo.findAttendanceSliceForUsers(startDate, endDate, userIds, attendanceStatus, pageable)
+                    : attendanceRepo.findAttendanceSlice(startDate, endDate, nameFilter, attendanceStatus, pageable);
+
+            List<AttendanceResponse> attendanceResponses = attendancesSlice.getContent().stream()
+                    .map(attendanceMapper::toDTO).toList();
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("attendances", attendanceResponses);
+            result.put("currentPage", attendancesSlice.getNumber());
+            result.put("currentItem", attendancesSlice.getNumberOfElements());
+            result.put("hasNext", attendancesSlice.hasNext());
+
+            if (estimateTotal) {
+                boolean filtered = startDate != null || endDate != null || nameFilter != null || attendanceStatus != null;
+                String filterKey = filtered
+                        ? startDate + "|" + endDate + "|" + (nameFilter != null ? nameFilter.toLowerCase() : null) + "|" + attendanceStatus
+                        : null;
+                AttendanceStatus statusFilter = attendanceStatus;
+                result.put("estimatedTotalItems", totalCountEstimator.estimate("attendances", filterKey,
+                        () -> userIds != null
+                                ? attendanceRepo.countAttendanceListForUsers(startDate, endDate, userIds, statusFilter)
+                                : attendanceRepo.countAttendanceList(startDate, endDate, nameFilter, statusFilter)));
+            }
+
+            response.setMessage("Attendances retrieved successfully");
+            response.setData(result);
+
+            return ResponseEntity
+                    .status(HttpStatus.OK)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(response);
+        } catch (Exception e) {
+            response.setMessage(e.getMessage());
+            log.error(e.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(response);
+        }
+    }
+
+    /**
+     * --------------------------
+     * CHECK-IN HEATMAP
+     * -------------------------
+     * Agregasi grid dilakukan di DB (GROUP BY sel & status), response hanya berisi sel yang terisi.
+     */
+    @Override
+    public ResponseEntity<?> getCheckinHeatmap(LocalDate startDate, LocalDate endDate, double cellSize) {
+        Response<Object> response = new Response<>();
+        try {
+            if (cellSize < MIN_HEATMAP_CELL_SIZE || cellSize > MAX_HEATMAP_CELL_SIZE) {
+                response.setMessage("cellSize must be between " + MIN_HEATMAP_CELL_SIZE + " and " + MAX_HEATMAP_CELL_SIZE);
+                log.error("Invalid heatmap cellSize " + cellSize);
+                return ResponseEntity
+                        .status(HttpStatus.BAD_REQUEST)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(response);
+            }
+
+            LocalDate end = endDate != null ? endDate : LocalDate.now();
+            LocalDate start = startDate != null ? startDate : end.minusDays(30);
+
+            Map<String, CheckinHeatmapCell> cells = new LinkedHashMap<>();
+            long total = 0;
+            for (CheckinGridCellView row : attendanceRepo.aggregateCheckinGrid(start, end, cellSize)) {
+                CheckinHeatmapCell cell = cells.computeIfAbsent(row.getCellY() + ":" + row.getCellX(),
+                        key -> CheckinHeatmapCell.builder()
+                                .lat((row.getCellY() + 0.5) * cellSize)
+                                .lng((row.getCellX() + 0.5) * cellSize)
+                                .statusCounts(new EnumMap<>(AttendanceStatus.class))
+                                .build());
+                cell.setCount(cell.getCount() + row.getTotal());
+                cell.getStatusCounts().put(AttendanceStatus.valueOf(row.getStatus()), row.getTotal());
+                total += row.getTotal();
+            }
+
+            CheckinHeatmapResponse heatmap = CheckinHeatmapResponse.builder()
+                    .startDate(start)
+                    .endDate(end)
+                    .cellSize(cellSize)
+                    .totalCheckins(total)
+                    .cells(new ArrayList<>(cells.values()))
+                    .build();
+
+            response.setMessage("Check-in heatmap retrieved successfully");
+            response.setData(heatmap);
+            return ResponseEntity
+                    .status(HttpStatus.OK)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(response);
+        } catch (Exception e) {
+            response.setMessage(e.getMessage());
+            log.error(e.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(response);
+        }
+    }
+
     public Long getCountAttendanceToday() {
         LocalDate today = LocalDate.now();
         return attendanceRepo.countAttendancesByDate(today);
     }
 
+    private void publishFeedEvent(AttendanceEventType type, User user, Long departmentId,
+                                  Attendance attendance, AttendanceStatus previousStatus) {
+        attendanceFeedService.publish(AttendanceFeedEvent.builder()
+                .type(type)
+                .userId(user.getId())
+                .userEmail(user.getEmail())
+                .departmentId(departmentId)
+                .date(attendance.getDate())
+                .time(type == AttendanceEventType.CHECKIN ? attendance.getCheckinTime() : attendance.getCheckoutTime())
+                .status(attendance.getStatus())
+                .previousStatus(previousStatus)
+                .build());
+    }
+
     /**
      * --------------------------
      * GET CURRENT USER FROM JWT
      * -------------------------
      */
     private Long getCurrentUserId() {
+        return getCurrentUser().getId();
+    }
+
+    private User getCurrentUser() {
         String email = SecurityContextHolder
                 .getContext()
                 .getAuthentication()
                 .getName();
 
-        User user = userRepo.findByEmail(email)
+        return userRepo.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-
-        return user.getId();
     }
 
     public String saveFile(MultipartFile file) {
@@ -0,0 +1,463 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.gcompany.employeemanagement.dto.req.AttendanceSyncRequest;
+import com.gcompany.employeemanagement.dto.req.OfflineAttendanceEvent;
+import com.gcompany.employeemanagement.dto.resp.AttendanceFeedEvent;
+import com.gcompany.employeemanagement.dto.resp.AttendanceSyncEventResult;
+import com.gcompany.employeemanagement.dto.resp.AttendanceSyncResult;
+import com.gcompany.employeemanagement.enums.AttendanceEventType;
+import com.gcompany.employeemanagement.enums.AttendanceStatus;
+import com.gcompany.employeemanagement.enums.SyncEventOutcome;
+import com.gcompany.employeemanagement.enums.SyncEventType;
+import com.gcompany.employeemanagement.exception.ResourceNotFoundException;
+import com.gcompany.employeemanagement.service.AttendanceFeedService;
+import com.gcompany.employeemanagement.service.AttendanceSyncService;
+import com.gcompany.employeemanagement.service.OfficeLocationService;
+import com.gcompany.employeemanagement.service.ShiftScheduleService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Sinkronisasi antrian check-in/out offline dari aplikasi mobile.
+ * Semua event diproses dalam satu transaksi dengan query set-based (unnest array),
+ * jadi jumlah query tetap walaupun event yang dikirim puluhan.
+ */
+@Service
+@Log4j2
+public class AttendanceSyncServiceImpl implements AttendanceSyncService {
+
+    private static final Duration MAX_CLOCK_SKEW = Duration.ofMinutes(5);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OfficeLocationService officeLocationService;
+    private final ShiftScheduleService shiftScheduleService;
+    private final AttendanceFeedService attendanceFeedService;
+    private final int maxAgeDays;
+
+    public AttendanceSyncServiceImpl(JdbcTemplate jdbcTemplate,
+                                     OfficeLocationService officeLocationService,
+                                     ShiftScheduleService shiftScheduleService,
+                                     AttendanceFeedService attendanceFeedService,
+                                     @Value("${app.attendance.sync.max-age-days:7}") int maxAgeDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.officeLocationService = officeLocationService;
+        this.shiftScheduleService = shiftScheduleService;
+        this.attendanceFeedService = attendanceFeedService;
+        this.maxAgeDays = maxAgeDays;
+    }
+
+    @Override
+    @Transactional
+    public AttendanceSyncResult syncOfflineEvents(AttendanceSyncRequest request) {
+        // Lock baris user: sync paralel dari device yang sama diproses bergantian
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        Long[] user = jdbcTemplate.query("SELECT id, departmens_id FROM users WHERE email = ? FOR UPDATE",
+                        (rs, rowNum) -> new Long[]{rs.getLong("id"), rs.getObject("departmens_id", Long.class)}, email)
+                .stream().findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        Long userId = user[0];
+        Long departmentId = user[1];
+
+        List<OfflineAttendanceEvent> events = request.getEvents();
+        AttendanceSyncEventResult[] results = new AttendanceSyncEventResult[events.size()];
+
+        // 1. Validasi & dedup di dalam batch
+        ZoneId zone = ZoneId.systemDefault();
+        OffsetDateTime now = OffsetDateTime.now();
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < events.size(); i++) {
+            OfflineAttendanceEvent event = events.get(i);
+            String reason = validate(event, now);
+            if (reason != null) {
+                results[i] = result(event, SyncEventOutcome.REJECTED, reason, null, null);
+            } else if (candidates.containsKey(event.getIdempotencyKey())) {
+                results[i] = result(event, SyncEventOutcome.DUPLICATE, "Duplicate idempotency key in batch", null, null);
+            } else {
+                candidates.put(event.getIdempotencyKey(), i);
+            }
+        }
+
+        // 2. Klaim key sekaligus; key yang sudah pernah diproses tidak ikut ter-insert
+        Set<String> claimed = claimKeys(userId, events, candidates);
+        List<String> alreadyProcessed = candidates.keySet().stream().filter(k -> !claimed.contains(k)).toList();
+        if (!alreadyProcessed.isEmpty()) {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(
+                        "SELECT idempotency_key, outcome, message FROM attendance_sync_events " +
+                                "WHERE user_id = ? AND idempotency_key = ANY (?)");
+                ps.setLong(1, userId);
+                ps.setArray(2, con.createArrayOf("text", alreadyProcessed.toArray()));
+                return ps;
+            }, rs -> {
+                int index = candidates.get(rs.getString("idempotency_key"));
+                results[index] = result(events.get(index), SyncEventOutcome.DUPLICATE,
+                        "Already processed: " + rs.getString("outcome")
+                                + (rs.getString("message") != null ? " (" + rs.getString("message") + ")" : ""),
+                        null, null);
+            });
+        }
+
+        List<Integer> toApply = claimed.stream()
+                .map(candidates::get)
+                .sorted(Comparator.comparing((Integer i) -> events.get(i).getClientTimestamp()).thenComparing(i -> i))
+                .toList();
+
+        if (!toApply.isEmpty()) {
+            applyEvents(userId, email, departmentId, events, toApply, results, zone);
+            recordOutcomes(userId, toApply, events, results);
+        }
+
+        int applied = 0, rejected = 0, duplicates = 0;
+        for (AttendanceSyncEventResult r : results) {
+            switch (r.getOutcome()) {
+                case APPLIED -> applied++;
+                case REJECTED -> rejected++;
+                case DUPLICATE -> duplicates++;
+                default -> { }
+            }
+        }
+
+        log.info("Offline sync for User ID " + userId + ": applied=" + applied
+                + ", rejected=" + rejected + ", duplicates=" + duplicates);
+        return AttendanceSyncResult.builder()
+                .applied(applied)
+                .rejected(rejected)
+                .duplicates(duplicates)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    private String validate(OfflineAttendanceEvent event, OffsetDateTime now) {
+        if (event.getClientTimestamp().isAfter(now.plus(MAX_CLOCK_SKEW))) {
+            return "Client timestamp is in the future";
+        }
+        if (event.getClientTimestamp().isBefore(now.minusDays(maxAgeDays))) {
+            return "Event is older than " + maxAgeDays + " days";
+        }
+        if (event.getLatitude() != null && Math.abs(event.getLatitude()) > 90
+                || event.getLongitude() != null && Math.abs(event.getLongitude()) > 180) {
+            return "Coordinate out of range";
+        }
+        return null;
+    }
+
+    private Set<String> claimKeys(Long userId,
+                                  List<OfflineAttendanceEvent> events,
+                                  Map<String, Integer> candidates) {
+        Set<String> claimed = new HashSet<>();
+        if (candidates.isEmpty()) {
+            return claimed;
+        }
+        String[] keyArray = candidates.keySet().toArray(String[]::new);
+        String[] types = new String[keyArray.length];
+        String[] timestamps = new String[keyArray.length];
+        for (int i = 0; i < keyArray.length; i++) {
+            OfflineAttendanceEvent event = events.get(candidates.get(keyArray[i]));
+            types[i] = event.getType().name();
+            timestamps[i] = event.getClientTimestamp().toString();
+        }
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "INSERT INTO attendance_sync_events (user_id, idempotency_key, event_type, client_timestamp, outcome, created_at) " +
+                            "SELECT ?, k, t, ts::timestamptz, 'PENDING', now() " +
+                            "FROM unnest(?::text[], ?::text[], ?::text[]) AS v(k, t, ts) " +
+                            "ON CONFLICT (user_id, idempotency_key) DO NOTHING " +
+                            "RETURNING idempotency_key");
+            ps.setLong(1, userId);
+            ps.setArray(2, con.createArrayOf("text", keyArray));
+            ps.setArray(3, con.createArrayOf("text", types));
+            ps.setArray(4, con.createArrayOf("text", timestamps));
+            return ps;
+        }, rs -> {
+            claimed.add(rs.getString(1));
+        });
+        return claimed;
+    }
+
+    /**
+     * Terapkan event (urut waktu device) ke attendance user dengan aturan yang sama seperti
+     * check-in/out online, lalu tulis hasilnya dengan satu INSERT dan satu UPDATE.
+     */
+    private void applyEvents(Long userId,
+                             String email,
+                             Long departmentId,
+                             List<OfflineAttendanceEvent> events,
+                             List<Integer> toApply,
+                             AttendanceSyncEventResult[] results,
+                             ZoneId zone) {
+        LocalDate minDate = null, maxDate = null;
+        for (int i : toApply) {
+            LocalDate date = events.get(i).getClientTimestamp().atZoneSameInstant(zone).toLocalDate();
+            minDate = minDate == null || date.isBefore(minDate) ? date : minDate;
+            maxDate = maxDate == null || date.isAfter(maxDate) ? date : maxDate;
+        }
+
+        // attendance yang masih terbuka (sudah check-in, belum checkout) di rentang tanggal event, mulai sehari sebelumnya
+        // untuk shift malam yang checkout-nya lewat tengah malam; baris ABSENT tidak dihitung
+        Map<LocalDate, SyncedAttendance> open = new HashMap<>();
+        jdbcTemplate.query("SELECT id, date, checkin_time, status FROM attendances " +
+                        "WHERE user_id = ? AND date BETWEEN ? AND ? AND checkout_time IS NULL AND checkin_time IS NOT NULL",
+                rs -> {
+                    SyncedAttendance attendance = new SyncedAttendance();
+                    attendance.id = rs.getLong("id");
+                    attendance.date = rs.getObject("date", LocalDate.class);
+                    attendance.checkinTime = rs.getObject("checkin_time", OffsetDateTime.class);
+                    attendance.status = AttendanceStatus.valueOf(rs.getString("status"));
+                    open.put(attendance.date, attendance);
+                }, userId, minDate.minusDays(1), maxDate);
+
+        List<SyncedAttendance> inserts = new ArrayList<>();
+        List<SyncedAttendance> checkouts = new ArrayList<>();
+
+        for (int i : toApply) {
+            OfflineAttendanceEvent event = events.get(i);
+            OffsetDateTime timestamp = event.getClientTimestamp();
+            LocalDate date = timestamp.atZoneSameInstant(zone).toLocalDate();
+            SyncedAttendance current = open.get(date);
+
+            if (event.getType() == SyncEventType.CHECKIN) {
+                if (current != null) {
+                    results[i] = result(event, SyncEventOutcome.REJECTED,
+                            "Anda sudah check-in dan belum checkout.", date, current.status);
+                    continue;
+                }
+                SyncedAttendance attendance = new SyncedAttendance();
+                attendance.date = date;
+                attendance.checkinTime = timestamp;
+                attendance.checkinLat = event.getLatitude();
+                attendance.checkinLng = event.getLongitude();
+                if (officeLocationService.isOutsideGeofence(event.getLatitude(), event.getLongitude())) {
+                    attendance.status = AttendanceStatus.OUTSIDE_GEO;
+                } else {
+                    attendance.status = shiftScheduleService.classifyCheckIn(userId, departmentId, timestamp);
+                }
+                inserts.add(attendance);
+                open.put(date, attendance);
+                results[i] = result(event, SyncEventOutcome.APPLIED, null, date, attendance.status);
+                publishFeedEvent(AttendanceEventType.CHECKIN, userId, email, departmentId, date, timestamp,
+                        attendance.status, null);
+            } else {
+                // sama seperti checkout online: attendance kemarin masih bisa ditutup selama shift-nya (+ grace) belum lewat
+                if (current == null) {
+                    SyncedAttendance previous = open.get(date.minusDays(1));
+                    if (previous != null
+                            && shiftScheduleService.isShiftOpen(userId, departmentId, previous.date, timestamp)) {
+                        current = previous;
+                    }
+                }
+                if (current == null) {
+                    results[i] = result(event, SyncEventOutcome.REJECTED, "Anda belum check-in hari ini.", date, null);
+                    continue;
+                }
+                if (current.checkinTime != null && timestamp.isBefore(current.checkinTime)) {
+                    results[i] = result(event, SyncEventOutcome.REJECTED,
+                            "Checkout time is before check-in time", current.date, current.status);
+                    continue;
+                }
+                current.checkoutTime = timestamp;
+                current.checkoutLat = event.getLatitude();
+                current.checkoutLng = event.getLongitude();
+                AttendanceStatus previousStatus = current.status;
+                if ((current.status == AttendanceStatus.PRESENT || current.status == AttendanceStatus.LATE)
+                        && shiftScheduleService.isEarlyLeave(userId, departmentId, current.date, timestamp)) {
+                    current.status = AttendanceStatus.EARLY_LEAVE;
+                }
+                if (current.checkinTime != null) {
+                    current.workedMinutes = (int) Duration.between(current.checkinTime, timestamp).toMinutes();
+                    current.overtimeMinutes = shiftScheduleService.overtimeMinutes(userId, departmentId, current.date,
+                            current.checkinTime, timestamp);
+                }
+                if (current.id != null) {
+                    checkouts.add(current);
+                }
+                open.remove(current.date);
+                results[i] = result(event, SyncEventOutcome.APPLIED, null, current.date, current.status);
+                publishFeedEvent(AttendanceEventType.CHECKOUT, userId, email, departmentId, current.date, timestamp,
+                        current.status, previousStatus);
+            }
+        }
+
+        if (!inserts.isEmpty()) {
+            insertAttendances(userId, inserts);
+        }
+        if (!checkouts.isEmpty()) {
+            updateCheckouts(checkouts);
+        }
+    }
+
+    // dikirim ke live feed setelah commit
+    private void publishFeedEvent(AttendanceEventType type, Long userId, String email, Long departmentId,
+                                  LocalDate date, OffsetDateTime time,
+                                  AttendanceStatus status, AttendanceStatus previousStatus) {
+        attendanceFeedService.publish(AttendanceFeedEvent.builder()
+                .type(type)
+                .userId(userId)
+                .userEmail(email)
+                .departmentId(departmentId)
+                .date(date)
+                .time(time)
+                .status(status)
+                .previousStatus(previousStatus)
+                .build());
+    }
+
+    private void insertAttendances(Long userId, List<SyncedAttendance> inserts) {
+        int size = inserts.size();
+        String[] dates = new String[size];
+        String[] checkinTimes = new String[size];
+        Double[] checkinLats = new Double[size];
+        Double[] checkinLngs = new Double[size];
+        String[] checkoutTimes = new String[size];
+        Double[] checkoutLats = new Double[size];
+        Double[] checkoutLngs = new Double[size];
+        String[] statuses = new String[size];
+        Integer[] workedMinutes = new Integer[size];
+        Integer[] overtimeMinutes = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            SyncedAttendance a = inserts.get(i);
+            dates[i] = a.date.toString();
+            checkinTimes[i] = a.checkinTime.toString();
+            checkinLats[i] = a.checkinLat;
+            checkinLngs[i] = a.checkinLng;
+            checkoutTimes[i] = a.checkoutTime != null ? a.checkoutTime.toString() : null;
+            checkoutLats[i] = a.checkoutLat;
+            checkoutLngs[i] = a.checkoutLng;
+            statuses[i] = a.status.name();
+            workedMinutes[i] = a.workedMinutes;
+            overtimeMinutes[i] = a.overtimeMinutes;
+        }
+
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "INSERT INTO attendances (user_id, date, checkin_time, checkin_lat, checkin_lng, " +
+                            "checkout_time, checkout_lat, checkout_lng, status, worked_minutes, overtime_minutes, " +
+                            "created_at, updated_at) " +
+                            "SELECT ?, d::date, cin::timestamptz, cin_lat, cin_lng, cout::timestamptz, cout_lat, cout_lng, " +
+                            "st, wm, om, now(), now() " +
+                            "FROM unnest(?::text[], ?::text[], ?::float8[], ?::float8[], ?::text[], ?::float8[], ?::float8[], ?::text[], " +
+                            "?::int4[], ?::int4[]) " +
+                            "AS v(d, cin, cin_lat, cin_lng, cout, cout_lat, cout_lng, st, wm, om)");
+            ps.setLong(1, userId);
+            ps.setArray(2, con.createArrayOf("text", dates));
+            ps.setArray(3, con.createArrayOf("text", checkinTimes));
+            ps.setArray(4, con.createArrayOf("float8", checkinLats));
+            ps.setArray(5, con.createArrayOf("float8", checkinLngs));
+            ps.setArray(6, con.createArrayOf("text", checkoutTimes));
+            ps.setArray(7, con.createArrayOf("float8", checkoutLats));
+            ps.setArray(8, con.createArrayOf("float8", checkoutLngs));
+            ps.setArray(9, con.createArrayOf("text", statuses));
+            ps.setArray(10, con.createArrayOf("int4", workedMinutes));
+            ps.setArray(11, con.createArrayOf("int4", overtimeMinutes));
+            return ps;
+        });
+    }
+
+    private void updateCheckouts(List<SyncedAttendance> checkouts) {
+        int size = checkouts.size();
+        Long[] ids = new Long[size];
+        String[] checkoutTimes = new String[size];
+        Double[] checkoutLats = new Double[size];
+        Double[] checkoutLngs = new Double[size];
+        String[] statuses = new String[size];
+        Integer[] workedMinutes = new Integer[size];
+        Integer[] overtimeMinutes = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            SyncedAttendance a = checkouts.get(i);
+            ids[i] = a.id;
+            checkoutTimes[i] = a.checkoutTime.toString();
+            checkoutLats[i] = a.checkoutLat;
+            checkoutLngs[i] = a.checkoutLng;
+            statuses[i] = a.status.name();
+            workedMinutes[i] = a.workedMinutes;
+            overtimeMinutes[i] = a.overtimeMinutes;
+        }
+
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "UPDATE attendances a SET checkout_time = v.cout::timestamptz, checkout_lat = v.lat, " +
+                            "checkout_lng = v.lng, status = v.st, worked_minutes = v.wm, overtime_minutes = v.om, " +
+                            "updated_at = now() " +
+                            "FROM unnest(?::int8[], ?::text[], ?::float8[], ?::float8[], ?::text[], ?::int4[], ?::int4[]) " +
+                            "AS v(id, cout, lat, lng, st, wm, om) " +
+                            "WHERE a.id = v.id");
+            ps.setArray(1, con.createArrayOf("int8", ids));
+            ps.setArray(2, con.createArrayOf("text", checkoutTimes));
+            ps.setArray(3, con.createArrayOf("float8", checkoutLats));
+            ps.setArray(4, con.createArrayOf("float8", checkoutLngs));
+            ps.setArray(5, con.createArrayOf("text", statuses));
+            ps.setArray(6, con.createArrayOf("int4", workedMinutes));
+            ps.setArray(7, con.createArrayOf("int4", overtimeMinutes));
+            return ps;
+        });
+    }
+
+    private void recordOutcomes(Long userId,
+                                List<Integer> applied,
+                                List<OfflineAttendanceEvent> events,
+                                AttendanceSyncEventResult[] results) {
+        int size = applied.size();
+        String[] keys = new String[size];
+        String[] outcomes = new String[size];
+        String[] messages = new String[size];
+        for (int i = 0; i < size; i++) {
+            int index = applied.get(i);
+            keys[i] = events.get(index).getIdempotencyKey();
+            outcomes[i] = results[index].getOutcome().name();
+            messages[i] = results[index].getMessage();
+        }
+
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "UPDATE attendance_sync_events e SET outcome = v.o, message = v.m " +
+                            "FROM unnest(?::text[], ?::text[], ?::text[]) AS v(k, o, m) " +
+                            "WHERE e.user_id = ? AND e.idempotency_key = v.k");
+            ps.setArray(1, con.createArrayOf("text", keys));
+            ps.setArray(2, con.createArrayOf("text", outcomes));
+            ps.setArray(3, con.createArrayOf("text", messages));
+            ps.setLong(4, userId);
+            return ps;
+        });
+    }
+
+    private AttendanceSyncEventResult result(OfflineAttendanceEvent event,
+                                             SyncEventOutcome outcome,
+                                             String message,
+                                             LocalDate date,
+                                             AttendanceStatus status) {
+        return AttendanceSyncEventResult.builder()
+                .idempotencyKey(event.getIdempotencyKey())
+                .type(event.getType())
+                .outcome(outcome)
+                .message(message)
+                .date(date)
+                .status(status)
+                .build();
+    }
+
+    // state attendance selama batch diproses (id null = baris baru)
+    private static class SyncedAttendance {
+        private Long id;
+        private LocalDate date;
+        private OffsetDateTime checkinTime;
+        private Double checkinLat;
+        private Double checkinLng;
+        private OffsetDateTime checkoutTime;
+        private Double checkoutLat;
+        private Double checkoutLng;
+        private AttendanceStatus status;
+        private Integer workedMinutes;
+        private Integer overtimeMinutes;
+    }
+}
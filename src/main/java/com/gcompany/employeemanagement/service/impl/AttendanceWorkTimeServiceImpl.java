@@ -0,0 +1,135 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.gcompany.employeemanagement.dto.resp.WorkTimeRecomputeResult;
+import com.gcompany.employeemanagement.exception.BusinessRuleException;
+import com.gcompany.employeemanagement.service.AttendanceWorkTimeService;
+import com.gcompany.employeemanagement.service.ShiftScheduleService;
+import com.gcompany.employeemanagement.utils.ShiftScheduleTable;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+
+/**
+ * Hitung ulang worked/overtime minutes untuk data historis.
+ * Rentang tanggal dipotong per blok; tiap blok: kompilasi jadwal shift untuk blok itu,
+ * baca attendance lewat cursor (fetch size tetap) lalu tulis balik per batch dengan satu UPDATE unnest.
+ * Hanya baris yang nilainya berubah yang ditulis.
+ */
+@Service
+@Log4j2
+public class AttendanceWorkTimeServiceImpl implements AttendanceWorkTimeService {
+
+    private static final int CHUNK_DAYS = 31;
+
+    private static final String SELECT_CLOSED_SQL =
+            "SELECT a.id, a.user_id, u.departmens_id, a.date, a.checkin_time, a.checkout_time " +
+                    "FROM attendances a JOIN users u ON u.id = a.user_id " +
+                    "WHERE a.date BETWEEN ? AND ? AND a.checkin_time IS NOT NULL AND a.checkout_time IS NOT NULL";
+
+    private static final String UPDATE_SQL =
+            "UPDATE attendances a SET worked_minutes = v.w, overtime_minutes = v.o " +
+                    "FROM unnest(?::int8[], ?::int4[], ?::int4[]) AS v(id, w, o) " +
+                    "WHERE a.id = v.id " +
+                    "AND (a.worked_minutes IS DISTINCT FROM v.w OR a.overtime_minutes IS DISTINCT FROM v.o)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShiftScheduleService shiftScheduleService;
+    private final int batchSize;
+
+    public AttendanceWorkTimeServiceImpl(DataSource dataSource,
+                                         PlatformTransactionManager transactionManager,
+                                         ShiftScheduleService shiftScheduleService,
+                                         @Value("${app.attendance.work-time.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // PostgreSQL hanya memakai server-side cursor kalau autocommit = false
+        this.jdbcTemplate.setFetchSize(batchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shiftScheduleService = shiftScheduleService;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public WorkTimeRecomputeResult recompute(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new BusinessRuleException("Invalid date range: " + startDate + " - " + endDate);
+        }
+
+        long started = System.nanoTime();
+        long[] totals = new long[2]; // 0 = scanned, 1 = updated
+        for (LocalDate from = startDate; !from.isAfter(endDate); from = from.plusDays(CHUNK_DAYS)) {
+            LocalDate to = from.plusDays(CHUNK_DAYS - 1).isAfter(endDate) ? endDate : from.plusDays(CHUNK_DAYS - 1);
+            ShiftScheduleTable table = shiftScheduleService.compileSchedule(from, to);
+            LocalDate chunkFrom = from;
+            transactionTemplate.executeWithoutResult(tx -> recomputeChunk(table, chunkFrom, to, totals));
+        }
+
+        WorkTimeRecomputeResult result = WorkTimeRecomputeResult.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .scannedRows(totals[0])
+                .updatedRows(totals[1])
+                .durationMs(Duration.ofNanos(System.nanoTime() - started).toMillis())
+                .build();
+        log.info("Work time recomputed for " + startDate + " - " + endDate + ": scanned=" + result.getScannedRows()
+                + ", updated=" + result.getUpdatedRows() + ", durationMs=" + result.getDurationMs());
+        return result;
+    }
+
+    private void recomputeChunk(ShiftScheduleTable table, LocalDate from, LocalDate to, long[] totals) {
+        ZoneId zone = ZoneId.systemDefault();
+        Long[] ids = new Long[batchSize];
+        Integer[] worked = new Integer[batchSize];
+        Integer[] overtime = new Integer[batchSize];
+        int[] size = {0};
+
+        jdbcTemplate.query(SELECT_CLOSED_SQL, rs -> {
+            long userId = rs.getLong("user_id");
+            Long departmentId = rs.getObject("departmens_id", Long.class);
+            LocalDate date = rs.getObject("date", LocalDate.class);
+            OffsetDateTime checkin = rs.getObject("checkin_time", OffsetDateTime.class);
+            OffsetDateTime checkout = rs.getObject("checkout_time", OffsetDateTime.class);
+
+            int i = size[0]++;
+            ids[i] = rs.getLong("id");
+            worked[i] = (int) Math.max(0, Duration.between(checkin, checkout).toMinutes());
+            overtime[i] = (int) (table.overtimeSeconds(userId, departmentId, date,
+                    checkin.atZoneSameInstant(zone).toLocalDateTime(),
+                    checkout.atZoneSameInstant(zone).toLocalDateTime()) / 60);
+            totals[0]++;
+
+            if (size[0] == batchSize) {
+                totals[1] += flush(ids, worked, overtime, size[0]);
+                size[0] = 0;
+            }
+        }, from, to);
+
+        if (size[0] > 0) {
+            totals[1] += flush(ids, worked, overtime, size[0]);
+        }
+    }
+
+    private int flush(Long[] ids, Integer[] worked, Integer[] overtime, int size) {
+        Long[] batchIds = size == ids.length ? ids : Arrays.copyOf(ids, size);
+        Integer[] batchWorked = size == worked.length ? worked : Arrays.copyOf(worked, size);
+        Integer[] batchOvertime = size == overtime.length ? overtime : Arrays.copyOf(overtime, size);
+        return jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(UPDATE_SQL);
+            ps.setArray(1, con.createArrayOf("int8", batchIds));
+            ps.setArray(2, con.createArrayOf("int4", batchWorked));
+            ps.setArray(3, con.createArrayOf("int4", batchOvertime));
+            return ps;
+        });
+    }
+}
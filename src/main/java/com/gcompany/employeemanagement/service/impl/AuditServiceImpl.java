@@ -0,0 +1,354 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gcompany.employeemanagement.dto.resp.CursorResponse;
+import com.gcompany.employeemanagement.enums.ActionType;
+import com.gcompany.employeemanagement.enums.ResourceType;
+import com.gcompany.employeemanagement.exception.BusinessRuleException;
+import com.gcompany.employeemanagement.model.AuditLog;
+import com.gcompany.employeemanagement.model.User;
+import com.gcompany.employeemanagement.repository.AuditLogRepository;
+import com.gcompany.employeemanagement.service.AuditService;
+import com.gcompany.employeemanagement.utils.KeysetCursor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Audit trail asinkron: mutasi memasukkan event ke ring buffer berukuran tetap setelah commit,
+ * satu thread writer menulisnya ke DB dalam batch JDBC (isi buffer yang terkumpul selama batch sebelumnya ditulis).
+ * Buffer penuh: publisher menunggu maksimal publish-timeout-ms (backpressure), sisanya ditulis ke file spill NDJSON.
+ * Batch yang gagal insert juga di-spill; file spill dimasukkan ulang saat buffer longgar, satu transaksi per file.
+ */
+@Service
+@Slf4j
+public class AuditServiceImpl implements AuditService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final long FLUSH_TIMEOUT_MS = 30_000;
+    private static final String SPILL_FILE = "audit-spill.ndjson";
+    private static final String REPLAY_SUFFIX = ".replay";
+    private static final String INSERT_SQL = "INSERT INTO audit_logs (occurred_at, actor_id, resource, action, entity_id, detail) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditLogRepository auditLogRepository;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final BlockingQueue<AuditEvent> queue;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long publishTimeoutMs;
+    private final long replayIntervalNanos;
+    private final Path spillDir;
+    private final Object spillLock = new Object();
+    private final ReentrantLock replayLock = new ReentrantLock();
+    // event yang sudah masuk buffer tapi belum selesai ditulis / di-spill
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public AuditServiceImpl(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            AuditLogRepository auditLogRepository,
+                            @Value("${app.audit.queue-capacity:10000}") int queueCapacity,
+                            @Value("${app.audit.batch-size:500}") int batchSize,
+                            @Value("${app.audit.publish-timeout-ms:50}") long publishTimeoutMs,
+                            @Value("${app.audit.replay-interval-ms:30000}") long replayIntervalMs,
+                            @Value("${app.audit.spill-dir:audit-spill}") String spillDir) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.auditLogRepository = auditLogRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.publishTimeoutMs = publishTimeoutMs;
+        this.replayIntervalNanos = TimeUnit.MILLISECONDS.toNanos(replayIntervalMs);
+        this.spillDir = Paths.get(spillDir);
+        this.worker = new Thread(this::run, "audit-log-writer");
+        this.worker.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(FLUSH_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void record(ResourceType resource, ActionType action, Long entityId, String detail) {
+        publish(List.of(new AuditEvent(OffsetDateTime.now(), currentUserId(), resource.name(), action.name(), entityId, detail)));
+    }
+
+    @Override
+    public void record(ResourceType resource, ActionType action, Collection<Long> entityIds, String detail) {
+        if (entityIds == null || entityIds.isEmpty()) {
+            return;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        Long actorId = currentUserId();
+        List<AuditEvent> events = new ArrayList<>(entityIds.size());
+        for (Long entityId : entityIds) {
+            events.add(new AuditEvent(now, actorId, resource.name(), action.name(), entityId, detail));
+        }
+        publish(events);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('ADMIN')")
+    public CursorResponse<AuditLog> getAuditTrail(ResourceType resource, Long entityId, Long actorId, String cursor, int size) {
+        KeysetCursor before;
+        try {
+            before = KeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessRuleException("Invalid cursor: " + cursor);
+        }
+        if (size < 1) {
+            throw new BusinessRuleException("Page size must be at least 1");
+        }
+        int limit = Math.min(size, MAX_PAGE_SIZE);
+
+        // terbaru dulu: halaman berikutnya = id lebih kecil dari baris terakhir (cursor awal id 0 = tanpa batas)
+        Specification<AuditLog> spec = Specification.where(null);
+        if (before.id() > 0) {
+            spec = spec.and((root, query, cb) -> cb.lessThan(root.get("id"), before.id()));
+        }
+        if (resource != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("resource"), resource));
+        }
+        if (entityId != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("entityId"), entityId));
+        }
+        if (actorId != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("actorId"), actorId));
+        }
+
+        List<AuditLog> rows = auditLogRepository.findBy(spec,
+                q -> q.sortBy(Sort.by(Sort.Direction.DESC, "id")).limit(limit + 1).all());
+        boolean hasNext = rows.size() > limit;
+        List<AuditLog> page = hasNext ? rows.subList(0, limit) : rows;
+        return CursorResponse.<AuditLog>builder()
+                .content(page)
+                .size(limit)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new KeysetCursor(page.get(page.size() - 1).getId(), null).encode() : null)
+                .build();
+    }
+
+    @Override
+    public void flush() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_TIMEOUT_MS);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        replaySpill();
+    }
+
+    private void publish(List<AuditEvent> events) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(events);
+                }
+            });
+        } else {
+            enqueue(events);
+        }
+    }
+
+    private void enqueue(List<AuditEvent> events) {
+        for (int i = 0; i < events.size(); i++) {
+            inFlight.incrementAndGet();
+            if (running && offer(events.get(i))) {
+                continue;
+            }
+            inFlight.decrementAndGet();
+            // sekali timeout, sisa event langsung ke disk (tidak menunggu per event)
+            spill(events.subList(i, events.size()));
+            return;
+        }
+    }
+
+    private boolean offer(AuditEvent event) {
+        try {
+            return queue.offer(event, publishTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void run() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long nextReplay = System.nanoTime();
+        while (running) {
+            try {
+                AuditEvent first = queue.poll(replayIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    persist(batch);
+                    batch.clear();
+                }
+                if (System.nanoTime() - nextReplay >= 0 && queue.size() < queueCapacity / 2) {
+                    replaySpill();
+                    nextReplay = System.nanoTime() + replayIntervalNanos;
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+
+        // shutdown: sisa buffer ditulis sekali lagi, gagal = spill (dimasukkan saat start berikutnya)
+        Thread.interrupted();
+        queue.drainTo(batch);
+        if (!batch.isEmpty()) {
+            persist(batch);
+        }
+    }
+
+    private void persist(List<AuditEvent> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> insert(batch));
+        } catch (RuntimeException e) {
+            log.error("Audit batch of {} failed, spilling to disk: {}", batch.size(), e.getMessage());
+            spill(batch);
+        } finally {
+            inFlight.addAndGet(-batch.size());
+        }
+    }
+
+    private void insert(List<AuditEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, batchSize, (ps, event) -> {
+            ps.setObject(1, event.occurredAt());
+            ps.setObject(2, event.actorId(), Types.BIGINT);
+            ps.setString(3, event.resource());
+            ps.setString(4, event.action());
+            ps.setObject(5, event.entityId(), Types.BIGINT);
+            ps.setString(6, event.detail());
+        });
+    }
+
+    private void spill(List<AuditEvent> events) {
+        synchronized (spillLock) {
+            try {
+                Files.createDirectories(spillDir);
+                try (BufferedWriter writer = Files.newBufferedWriter(spillDir.resolve(SPILL_FILE), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (AuditEvent event : events) {
+                        writer.write(objectMapper.writeValueAsString(event));
+                        writer.newLine();
+                    }
+                }
+                log.warn("Audit buffer overflow: {} events spilled to {}", events.size(), spillDir);
+            } catch (IOException e) {
+                log.error("Audit events lost: {} events could not be spilled: {}", events.size(), e.getMessage());
+            }
+        }
+    }
+
+    // file spill aktif di-rename dulu supaya publisher bisa terus append ke file baru selama replay
+    private void replaySpill() {
+        replayLock.lock();
+        try {
+            if (!Files.isDirectory(spillDir)) {
+                return;
+            }
+            synchronized (spillLock) {
+                Path active = spillDir.resolve(SPILL_FILE);
+                if (Files.exists(active)) {
+                    Files.move(active, spillDir.resolve("audit-spill-" + System.currentTimeMillis() + REPLAY_SUFFIX));
+                }
+            }
+
+            List<Path> files = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(spillDir, "*" + REPLAY_SUFFIX)) {
+                stream.forEach(files::add);
+            }
+            files.sort(null);
+            for (Path file : files) {
+                List<AuditEvent> events = new ArrayList<>();
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        events.add(objectMapper.readValue(line, AuditEvent.class));
+                    } catch (JsonProcessingException e) {
+                        // baris terpotong (proses mati saat menulis): dilewati supaya file tidak macet selamanya
+                        log.error("Skipping corrupt audit spill line in {}: {}", file.getFileName(), e.getOriginalMessage());
+                    }
+                }
+                transactionTemplate.executeWithoutResult(tx -> insert(events));
+                Files.delete(file);
+                log.info("Audit spill replayed: {} events from {}", events.size(), file.getFileName());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Audit spill replay failed, retrying later: {}", e.getMessage());
+        } finally {
+            replayLock.unlock();
+        }
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof User user ? user.getId() : null;
+    }
+
+    private record AuditEvent(OffsetDateTime occurredAt, Long actorId, String resource, String action,
+                              Long entityId, String detail) {
+    }
+}
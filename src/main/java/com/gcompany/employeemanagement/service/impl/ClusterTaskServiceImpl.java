@@ -0,0 +1,180 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.gcompany.employeemanagement.enums.JobRunStatus;
+import com.gcompany.employeemanagement.model.ScheduledTaskLock;
+import com.gcompany.employeemanagement.model.ScheduledTaskRun;
+import com.gcompany.employeemanagement.repository.ScheduledTaskLockRepository;
+import com.gcompany.employeemanagement.repository.ScheduledTaskRunRepository;
+import com.gcompany.employeemanagement.service.ClusterTaskService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lease lock per scheduled task di tabel scheduled_task_locks.
+ * Node yang mendapat lease menjalankan task; selama task berjalan lease diperpanjang tiap lease/3
+ * dari thread terpisah, jadi task yang lebih lama dari lease tidak diambil alih node lain.
+ * Saat selesai lease dilepas, tapi ditahan minimal min-hold sejak start supaya node dengan jam
+ * sedikit terlambat tidak menjalankan jadwal yang sama lagi.
+ */
+@Service
+@Log4j2
+public class ClusterTaskServiceImpl implements ClusterTaskService {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final ScheduledTaskLockRepository lockRepository;
+    private final ScheduledTaskRunRepository runRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration lease;
+    private final Duration minHold;
+    private final String nodeName = ManagementFactory.getRuntimeMXBean().getName();
+    private final ScheduledExecutorService renewer;
+
+    public ClusterTaskServiceImpl(ScheduledTaskLockRepository lockRepository,
+                                  ScheduledTaskRunRepository runRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.scheduling.lease-ms:60000}") long leaseMs,
+                                  @Value("${app.scheduling.min-hold-ms:30000}") long minHoldMs) {
+        this.lockRepository = lockRepository;
+        this.runRepository = runRepository;
+        // lock harus commit sendiri, terlepas dari transaksi pemanggil
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.lease = Duration.ofMillis(leaseMs);
+        this.minHold = Duration.ofMillis(minHoldMs);
+        this.renewer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "task-lease-renewer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renewer.shutdownNow();
+    }
+
+    @Override
+    public boolean runExclusive(String taskName, Runnable task) {
+        OffsetDateTime startedAt = OffsetDateTime.now();
+        String token = UUID.randomUUID().toString();
+        if (!acquire(taskName, startedAt, token)) {
+            log.info("Scheduled task " + taskName + " skipped: lease held by another node");
+            return false;
+        }
+
+        ScheduledTaskRun run = runRepository.save(ScheduledTaskRun.builder()
+                .taskName(taskName)
+                .node(nodeName)
+                .status(JobRunStatus.RUNNING)
+                .startedAt(startedAt)
+                .build());
+
+        AtomicInteger renewals = new AtomicInteger();
+        AtomicBoolean leaseLost = new AtomicBoolean(false);
+        long renewEveryMs = Math.max(lease.toMillis() / 3, 1);
+        ScheduledFuture<?> renewal = renewer.scheduleAtFixedRate(
+                () -> renew(taskName, token, renewals, leaseLost), renewEveryMs, renewEveryMs, TimeUnit.MILLISECONDS);
+
+        run.setStatus(JobRunStatus.FAILED);
+        try {
+            task.run();
+            run.setStatus(JobRunStatus.COMPLETED);
+        } catch (RuntimeException e) {
+            String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            run.setError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            log.error("Scheduled task " + taskName + " failed: " + e.getMessage(), e);
+        } finally {
+            renewal.cancel(false);
+            release(taskName, token, startedAt);
+
+            OffsetDateTime finishedAt = OffsetDateTime.now();
+            run.setFinishedAt(finishedAt);
+            run.setDurationMs(Duration.between(startedAt, finishedAt).toMillis());
+            run.setLeaseRenewals(renewals.get());
+            run.setLeaseLost(leaseLost.get());
+            runRepository.save(run);
+        }
+        return true;
+    }
+
+    @Override
+    public List<ScheduledTaskLock> getLocks() {
+        return lockRepository.findAll(Sort.by("name"));
+    }
+
+    @Override
+    public List<ScheduledTaskRun> getRecentRuns(String taskName) {
+        return taskName != null
+                ? runRepository.findTop50ByTaskNameOrderByStartedAtDesc(taskName)
+                : runRepository.findTop50ByOrderByStartedAtDesc();
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private boolean acquire(String taskName, OffsetDateTime now, String token) {
+        OffsetDateTime lockedUntil = now.plus(lease);
+        Integer acquired = transactionTemplate.execute(tx ->
+                lockRepository.tryAcquire(taskName, now, lockedUntil, nodeName, token));
+        if (acquired != null && acquired > 0) {
+            return true;
+        }
+        if (lockRepository.existsById(taskName)) {
+            return false;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(tx ->
+                    lockRepository.insertLock(taskName, now, lockedUntil, nodeName, token));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // node lain membuat baris lock lebih dulu dan memegang lease-nya
+            return false;
+        }
+    }
+
+    private void renew(String taskName, String token, AtomicInteger renewals, AtomicBoolean leaseLost) {
+        try {
+            Integer updated = transactionTemplate.execute(tx ->
+                    lockRepository.updateLease(taskName, token, OffsetDateTime.now().plus(lease)));
+            if (updated != null && updated > 0) {
+                renewals.incrementAndGet();
+            } else if (leaseLost.compareAndSet(false, true)) {
+                log.error("Scheduled task " + taskName + " lost its lease; another node may run it concurrently");
+            }
+        } catch (RuntimeException e) {
+            // coba lagi di putaran berikutnya, lease masih berlaku sampai 2/3 periode lagi
+            log.warn("Failed to renew lease of scheduled task " + taskName + ": " + e.getMessage());
+        }
+    }
+
+    private void release(String taskName, String token, OffsetDateTime startedAt) {
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime holdUntil = startedAt.plus(minHold);
+        try {
+            transactionTemplate.executeWithoutResult(tx ->
+                    lockRepository.updateLease(taskName, token, holdUntil.isAfter(now) ? holdUntil : now));
+        } catch (RuntimeException e) {
+            // lease habis sendiri
+            log.warn("Failed to release lease of scheduled task " + taskName + ": " + e.getMessage());
+        }
+    }
+}
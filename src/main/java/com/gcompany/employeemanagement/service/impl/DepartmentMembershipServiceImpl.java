@@ -0,0 +1,116 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.gcompany.employeemanagement.dto.projection.DepartmentManagerView;
+import com.gcompany.employeemanagement.dto.projection.UserDepartmentView;
+import com.gcompany.employeemanagement.repository.DepartmentRepository;
+import com.gcompany.employeemanagement.repository.UserRepository;
+import com.gcompany.employeemanagement.service.DepartmentMembershipService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Snapshot user -> department dan manager -> department di memory, supaya cek akses
+ * scoped department tidak query per panggilan.
+ * Data department (kecil) dimuat ulang setelah setiap mutasi department;
+ * keanggotaan user dimuat saat startup dan berkala.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DepartmentMembershipServiceImpl implements DepartmentMembershipService {
+
+    private final UserRepository userRepository;
+    private final DepartmentRepository departmentRepository;
+
+    private volatile Map<Long, Long> departmentByUser = Map.of();
+    private volatile Departments departments = new Departments(Map.of(), Map.of());
+
+    @Override
+    public Long getDepartmentId(Long userId) {
+        return userId == null ? null : departmentByUser.get(userId);
+    }
+
+    @Override
+    public Set<Long> getManagedDepartmentIds(Long userId) {
+        return userId == null ? Set.of() : departments.managedByUser().getOrDefault(userId, Set.of());
+    }
+
+    @Override
+    public boolean canAccessDepartment(Long userId, Long departmentId) {
+        if (userId == null || departmentId == null) {
+            return false;
+        }
+        return departmentId.equals(departmentByUser.get(userId)) || getManagedDepartmentIds(userId).contains(departmentId);
+    }
+
+    @Override
+    public boolean canAccessDepartment(Long userId, String departmentCode) {
+        if (departmentCode == null) {
+            return false;
+        }
+        return canAccessDepartment(userId, departments.idByCode().get(departmentCode.trim().toUpperCase()));
+    }
+
+    @Override
+    public boolean managesDepartmentOf(Long managerId, Long targetUserId) {
+        Long departmentId = getDepartmentId(targetUserId);
+        return departmentId != null && getManagedDepartmentIds(managerId).contains(departmentId);
+    }
+
+    @Override
+    public void refreshDepartments() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    loadDepartments();
+                }
+            });
+        } else {
+            loadDepartments();
+        }
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.departments.membership.reload-cron:0 */15 * * * *}")
+    public void reloadMemberships() {
+        List<UserDepartmentView> memberships = userRepository.findAllDepartmentMemberships();
+        Map<Long, Long> byUser = new HashMap<>(memberships.size() * 4 / 3 + 1);
+        for (UserDepartmentView membership : memberships) {
+            byUser.put(membership.getId(), membership.getDepartmentId());
+        }
+        departmentByUser = Map.copyOf(byUser);
+        loadDepartments();
+        log.info("Department memberships loaded: {} users", byUser.size());
+    }
+
+    private void loadDepartments() {
+        Map<String, Long> idByCode = new HashMap<>();
+        Map<Long, Set<Long>> managedByUser = new HashMap<>();
+        for (DepartmentManagerView department : departmentRepository.findAllManagerViews()) {
+            idByCode.put(department.getCode().toUpperCase(), department.getId());
+            if (department.getManagerId() != null) {
+                managedByUser.computeIfAbsent(department.getManagerId(), id -> new HashSet<>()).add(department.getId());
+            }
+        }
+        Map<Long, Set<Long>> managed = new HashMap<>();
+        managedByUser.forEach((userId, ids) -> managed.put(userId, Set.copyOf(ids)));
+        departments = new Departments(Map.copyOf(idByCode), Map.copyOf(managed));
+    }
+
+    private record Departments(Map<String, Long> idByCode, Map<Long, Set<Long>> managedByUser) {
+    }
+}
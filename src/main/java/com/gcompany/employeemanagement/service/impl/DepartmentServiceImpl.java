@@ -7,6 +7,8 @@ import com.gcompany.employeemanagement.dto.resp.DepartmentDTO;
 import com.gcompany.employeemanagement.dto.resp.DepartmentResponse;
 import com.gcompany.employeemanagement.dto.resp.PaginatedResponse;
 import com.gcompany.employeemanagement.dto.resp.UserDetailResponse;
+import com.gcompany.employeemanagement.enums.ActionType;
+import com.gcompany.employeemanagement.enums.ResourceType;
 import com.gcompany.employeemanagement.exception.BusinessRuleException;
 import com.gcompany.employeemanagement.exception.ResourceNotFoundException;
 import com.gcompany.employeemanagement.mapper.DepartmentMapper;
@@ -14,6 +16,8 @@ import com.gcompany.employeemanagement.model.Department;
 import com.gcompany.employeemanagement.model.User;
 import com.gcompany.employeemanagement.repository.DepartmentRepository;
 import com.gcompany.employeemanagement.repository.UserRepository;
+import com.gcompany.employeemanagement.service.AuditService;
+import com.gcompany.employeemanagement.service.DepartmentMembershipService;
 import com.gcompany.employeemanagement.service.DepartmentService;
 import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
@@ -37,6 +41,8 @@ public class DepartmentServiceImpl implements DepartmentService {
     private final DepartmentRepository departmentRepository;
     private final UserRepository userRepository;
     private final DepartmentMapper departmentMapper;
+    private final DepartmentMembershipService departmentMembershipService;
+    private final AuditService auditService;
 
     private static final List<String> PROTECTED_DEPARTMENTS = List.of("HR", "IT", "ADMIN", "FINANCE");
 
@@ -73,6 +79,8 @@ public class DepartmentServiceImpl implements DepartmentService {
 
         // Save department
         Department savedDepartment = departmentRepository.save(department);
+        departmentMembershipService.refreshDepartments();
+        auditService.record(ResourceType.DEPARTMENT, ActionType.CREATE, savedDepartment.getId(), "code=" + savedDepartment.getCode());
         log.info("Department created successfully: {}", savedDepartment.getCode());
 
         return departmentMapper.toResponse(savedDepartment);
@@ -146,6 +154,8 @@ public class DepartmentServiceImpl implements DepartmentService {
         }
 
         Department updatedDepartment = departmentRepository.save(department);
+        departmentMembershipService.refreshDepartments();
+        auditService.record(ResourceType.DEPARTMENT, ActionType.UPDATE, id, null);
         log.info("Department updated successfully: {}", updatedDepartment.getCode());
 
         return departmentMapper.toResponse(updatedDepartment);
@@ -171,6 +181,8 @@ public class DepartmentServiceImpl implements DepartmentService {
         }
 
         departmentRepository.delete(department);
+        departmentMembershipService.refreshDepartments();
+        auditService.record(ResourceType.DEPARTMENT, ActionType.DELETE, id, "code=" + department.getCode());
         log.info("Department deleted successfully: {}", department.getCode());
     }
 
@@ -186,6 +198,8 @@ public class DepartmentServiceImpl implements DepartmentService {
         department.setActive(request.getIsActive());
 
         Department updatedDepartment = departmentRepository.save(department);
+        departmentMembershipService.refreshDepartments();
+        auditService.record(ResourceType.DEPARTMENT, request.getIsActive() ? ActionType.ACTIVATE : ActionType.DEACTIVATE, id, null);
         log.info("Department status updated to {} for: {}",
                 request.getIsActive() ? "active" : "inactive",
                 updatedDepartment.getCode());
@@ -303,6 +317,8 @@ public class DepartmentServiceImpl implements DepartmentService {
 
         department.setManager(manager);
         departmentRepository.save(department);
+        departmentMembershipService.refreshDepartments();
+        auditService.record(ResourceType.DEPARTMENT, ActionType.ASSIGN, departmentId, "manager=" + managerId);
 
         log.info("Manager updated successfully for department: {}", department.getCode());
     }
@@ -315,6 +331,8 @@ public class DepartmentServiceImpl implements DepartmentService {
         Department department = getDepartmentEntity(departmentId);
         department.setManager(null);
         departmentRepository.save(department);
+        departmentMembershipService.refreshDepartments();
+        auditService.record(ResourceType.DEPARTMENT, ActionType.REVOKE, departmentId, "manager");
 
         log.info("Manager removed successfully from department: {}", department.getCode());
     }
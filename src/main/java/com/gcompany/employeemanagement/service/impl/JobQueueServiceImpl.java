@@ -0,0 +1,141 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gcompany.employeemanagement.dto.projection.JobCountView;
+import com.gcompany.employeemanagement.dto.resp.JobTypeMetrics;
+import com.gcompany.employeemanagement.enums.JobStatus;
+import com.gcompany.employeemanagement.exception.BusinessRuleException;
+import com.gcompany.employeemanagement.exception.ResourceNotFoundException;
+import com.gcompany.employeemanagement.model.Job;
+import com.gcompany.employeemanagement.repository.JobRepository;
+import com.gcompany.employeemanagement.service.ClusterTaskService;
+import com.gcompany.employeemanagement.service.JobQueueService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.*;
+
+@Service
+@Log4j2
+public class JobQueueServiceImpl implements JobQueueService {
+    private final JobRepository jobRepository;
+    private final JobWorker jobWorker;
+    private final ObjectMapper objectMapper;
+    private final ClusterTaskService clusterTaskService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final int retentionDays;
+
+    public JobQueueServiceImpl(JobRepository jobRepository,
+                               JobWorker jobWorker,
+                               ObjectMapper objectMapper,
+                               ClusterTaskService clusterTaskService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.jobs.max-attempts:5}") int maxAttempts,
+                               @Value("${app.jobs.retention-days:7}") int retentionDays) {
+        this.jobRepository = jobRepository;
+        this.jobWorker = jobWorker;
+        this.objectMapper = objectMapper;
+        this.clusterTaskService = clusterTaskService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.retentionDays = retentionDays;
+    }
+
+    @Override
+    @Transactional
+    public Job enqueue(String type, Object payload) {
+        if (!jobWorker.handles(type)) {
+            throw new BusinessRuleException("Unknown job type: " + type);
+        }
+
+        String json;
+        try {
+            json = payload != null ? objectMapper.writeValueAsString(payload) : null;
+        } catch (JsonProcessingException e) {
+            throw new BusinessRuleException("Invalid payload for job type " + type + ": " + e.getOriginalMessage());
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        Job job = jobRepository.save(Job.builder()
+                .type(type)
+                .payload(json)
+                .status(JobStatus.QUEUED)
+                .maxAttempts(maxAttempts)
+                .runAt(now)
+                .createdAt(now)
+                .build());
+        log.info("Job " + job.getId() + " (" + type + ") enqueued");
+        return job;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Job> getJobs(JobStatus status, Pageable pageable) {
+        return status != null ? jobRepository.findByStatus(status, pageable) : jobRepository.findAll(pageable);
+    }
+
+    @Override
+    @Transactional
+    public Job retry(Long id) {
+        Job job = jobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Job not found with ID: " + id));
+        if (job.getStatus() != JobStatus.DEAD) {
+            throw new BusinessRuleException("Only dead jobs can be retried, job " + id + " is " + job.getStatus());
+        }
+
+        job.setStatus(JobStatus.QUEUED);
+        job.setAttempts(0);
+        job.setRunAt(OffsetDateTime.now());
+        job.setFinishedAt(null);
+        log.info("Job " + id + " (" + job.getType() + ") re-queued manually");
+        return jobRepository.save(job);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<JobTypeMetrics> getMetrics() {
+        Map<String, Map<JobStatus, JobCountView>> counts = new TreeMap<>();
+        for (JobCountView row : jobRepository.countByTypeAndStatus()) {
+            counts.computeIfAbsent(row.getType(), t -> new EnumMap<>(JobStatus.class))
+                    .put(JobStatus.valueOf(row.getStatus()), row);
+        }
+        jobWorker.types().forEach(type -> counts.computeIfAbsent(type, t -> new EnumMap<>(JobStatus.class)));
+
+        List<JobTypeMetrics> metrics = new ArrayList<>();
+        counts.forEach((type, byStatus) -> {
+            JobCountView queued = byStatus.get(JobStatus.QUEUED);
+            metrics.add(jobWorker.metrics(type)
+                    .queued(total(queued))
+                    .running(total(byStatus.get(JobStatus.RUNNING)))
+                    .succeeded(total(byStatus.get(JobStatus.SUCCEEDED)))
+                    .dead(total(byStatus.get(JobStatus.DEAD)))
+                    .oldestQueuedRunAt(queued != null ? queued.getOldestRunAt() : null)
+                    .build());
+        });
+        return metrics;
+    }
+
+    // job sukses hanya disimpan beberapa hari; DEAD disimpan sampai di-retry / dibersihkan manual
+    @Scheduled(cron = "${app.jobs.purge-cron:0 0 3 * * *}")
+    public void purgeSucceededJobs() {
+        clusterTaskService.runExclusive("jobs.purge", () -> {
+            Integer deleted = transactionTemplate.execute(tx -> jobRepository.deleteFinishedBefore(
+                    JobStatus.SUCCEEDED, OffsetDateTime.now().minusDays(retentionDays)));
+            log.info("Purged " + deleted + " succeeded jobs older than " + retentionDays + " days");
+        });
+    }
+
+    private static long total(JobCountView row) {
+        return row != null ? row.getTotal() : 0;
+    }
+}
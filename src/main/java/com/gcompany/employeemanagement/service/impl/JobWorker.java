@@ -0,0 +1,250 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.gcompany.employeemanagement.dto.resp.JobTypeMetrics;
+import com.gcompany.employeemanagement.enums.JobStatus;
+import com.gcompany.employeemanagement.model.Job;
+import com.gcompany.employeemanagement.repository.JobRepository;
+import com.gcompany.employeemanagement.service.JobHandler;
+import com.gcompany.employeemanagement.utils.RetryBackoff;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Worker antrian job. Satu thread poller per node: tiap putaran memperpanjang lease job yang sedang jalan,
+ * lalu per type mengklaim paling banyak slot kosong (concurrency - in-flight) dengan FOR UPDATE SKIP LOCKED,
+ * sehingga beberapa node bisa berbagi antrian tanpa saling menunggu. Tiap type punya thread pool sendiri.
+ * Gagal: dijadwalkan ulang dengan exponential backoff sampai maxAttempts, setelah itu DEAD.
+ */
+@Component
+@Log4j2
+public class JobWorker {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final JobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RetryBackoff backoff;
+    private final Duration visibilityTimeout;
+    private final long pollMs;
+    private final String nodeName = ManagementFactory.getRuntimeMXBean().getName();
+    private final Map<String, TypeRunner> runners = new LinkedHashMap<>();
+    private final ScheduledExecutorService poller;
+    private volatile boolean running = false;
+
+    public JobWorker(List<JobHandler> handlers,
+                     JobRepository jobRepository,
+                     PlatformTransactionManager transactionManager,
+                     Environment environment,
+                     @Value("${app.jobs.default-concurrency:2}") int defaultConcurrency,
+                     @Value("${app.jobs.visibility-timeout-ms:300000}") long visibilityTimeoutMs,
+                     @Value("${app.jobs.backoff-base-ms:5000}") long backoffBaseMs,
+                     @Value("${app.jobs.backoff-max-ms:3600000}") long backoffMaxMs,
+                     @Value("${app.jobs.poll-ms:1000}") long pollMs) {
+        this.jobRepository = jobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backoff = new RetryBackoff(Duration.ofMillis(backoffBaseMs), Duration.ofMillis(backoffMaxMs));
+        this.visibilityTimeout = Duration.ofMillis(visibilityTimeoutMs);
+        this.pollMs = pollMs;
+
+        for (JobHandler handler : handlers) {
+            // concurrency 0 = type ini tidak dikerjakan di node ini
+            int concurrency = environment.getProperty("app.jobs.concurrency." + handler.type(), Integer.class, defaultConcurrency);
+            if (runners.put(handler.type(), new TypeRunner(handler, concurrency)) != null) {
+                throw new IllegalStateException("Duplicate job handler for type " + handler.type());
+            }
+        }
+
+        this.poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "job-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        poller.scheduleWithFixedDelay(this::poll, pollMs, pollMs, TimeUnit.MILLISECONDS);
+        log.info("Job worker " + nodeName + " started for types " + runners.keySet());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        poller.shutdownNow();
+        // job yang terputus tetap RUNNING dan diklaim ulang setelah lease-nya habis
+        runners.values().forEach(r -> r.executor.shutdownNow());
+    }
+
+    public boolean handles(String type) {
+        return runners.containsKey(type);
+    }
+
+    public Set<String> types() {
+        return runners.keySet();
+    }
+
+    /**
+     * Builder metrics untuk type ini, sudah terisi counter node ini.
+     */
+    public JobTypeMetrics.JobTypeMetricsBuilder metrics(String type) {
+        TypeRunner runner = runners.get(type);
+        JobTypeMetrics.JobTypeMetricsBuilder builder = JobTypeMetrics.builder().type(type);
+        if (runner == null) {
+            return builder;
+        }
+        long finished = runner.completed.get() + runner.retried.get() + runner.deadLettered.get();
+        return builder
+                .concurrency(runner.concurrency)
+                .inFlight(runner.inFlight.size())
+                .claimed(runner.claimed.get())
+                .completed(runner.completed.get())
+                .retried(runner.retried.get())
+                .deadLettered(runner.deadLettered.get())
+                .avgDurationMs(finished > 0 ? runner.totalDurationMs.get() / finished : 0);
+    }
+
+    private void poll() {
+        try {
+            OffsetDateTime now = OffsetDateTime.now();
+            extendLeases(now);
+            for (TypeRunner runner : runners.values()) {
+                if (!running) {
+                    return;
+                }
+                int free = runner.concurrency - runner.inFlight.size();
+                if (free > 0) {
+                    for (Job job : claim(runner.handler.type(), free, now)) {
+                        runner.claimed.incrementAndGet();
+                        runner.inFlight.put(job.getLockToken(), job);
+                        runner.executor.execute(() -> execute(runner, job));
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            // poller harus tetap hidup; putaran berikutnya mencoba lagi
+            log.error("Job poll failed: " + e.getMessage());
+        }
+    }
+
+    private List<Job> claim(String type, int limit, OffsetDateTime now) {
+        return transactionTemplate.execute(tx -> {
+            List<Job> claimed = new ArrayList<>();
+            for (Job job : jobRepository.lockDueJobs(type, now, limit)) {
+                // lease habis tanpa hasil (node mati) pada percobaan terakhir
+                if (job.getStatus() == JobStatus.RUNNING && job.getAttempts() >= job.getMaxAttempts()) {
+                    job.setStatus(JobStatus.DEAD);
+                    job.setLastError("Lease expired on " + job.getLockedBy());
+                    job.setLockToken(null);
+                    job.setLockedUntil(null);
+                    job.setFinishedAt(now);
+                    log.warn("Job " + job.getId() + " (" + type + ") is dead: lease expired on last attempt");
+                    continue;
+                }
+                job.setStatus(JobStatus.RUNNING);
+                job.setAttempts(job.getAttempts() + 1);
+                job.setLockToken(UUID.randomUUID().toString());
+                job.setLockedBy(nodeName);
+                job.setLockedUntil(now.plus(visibilityTimeout));
+                job.setStartedAt(now);
+                claimed.add(job);
+            }
+            return claimed;
+        });
+    }
+
+    private void extendLeases(OffsetDateTime now) {
+        List<String> tokens = new ArrayList<>();
+        runners.values().forEach(r -> tokens.addAll(r.inFlight.keySet()));
+        if (!tokens.isEmpty()) {
+            transactionTemplate.executeWithoutResult(tx ->
+                    jobRepository.extendLease(tokens, now.plus(visibilityTimeout)));
+        }
+    }
+
+    private void execute(TypeRunner runner, Job job) {
+        long started = System.nanoTime();
+        String token = job.getLockToken();
+        try {
+            runner.handler.handle(job);
+            int updated = transactionTemplate.execute(tx ->
+                    jobRepository.finish(job.getId(), token, JobStatus.SUCCEEDED, OffsetDateTime.now()));
+            if (updated == 0) {
+                log.warn("Job " + job.getId() + " (" + job.getType() + ") finished after its lease was taken over");
+            }
+            runner.completed.incrementAndGet();
+        } catch (Exception e) {
+            onFailure(runner, job, token, e);
+        } finally {
+            runner.inFlight.remove(token);
+            runner.totalDurationMs.addAndGet(Duration.ofNanos(System.nanoTime() - started).toMillis());
+        }
+    }
+
+    private void onFailure(TypeRunner runner, Job job, String token, Exception e) {
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        String lastError = error;
+        OffsetDateTime now = OffsetDateTime.now();
+
+        try {
+            if (job.getAttempts() >= job.getMaxAttempts()) {
+                transactionTemplate.executeWithoutResult(tx ->
+                        jobRepository.fail(job.getId(), token, JobStatus.DEAD, job.getRunAt(), lastError, now));
+                runner.deadLettered.incrementAndGet();
+                log.error("Job " + job.getId() + " (" + job.getType() + ") is dead after "
+                        + job.getAttempts() + " attempts: " + lastError);
+            } else {
+                Duration delay = backoff.delay(job.getAttempts(), ThreadLocalRandom.current().nextDouble());
+                transactionTemplate.executeWithoutResult(tx ->
+                        jobRepository.fail(job.getId(), token, JobStatus.QUEUED, now.plus(delay), lastError, null));
+                runner.retried.incrementAndGet();
+                log.warn("Job " + job.getId() + " (" + job.getType() + ") attempt " + job.getAttempts()
+                        + " failed, retry in " + delay.toSeconds() + "s: " + lastError);
+            }
+        } catch (RuntimeException updateError) {
+            // status tidak tersimpan; job diklaim ulang setelah lease habis
+            log.error("Failed to record failure of job " + job.getId() + ": " + updateError.getMessage());
+        }
+    }
+
+    private static final class TypeRunner {
+        private final JobHandler handler;
+        private final int concurrency;
+        private final ExecutorService executor;
+        private final Map<String, Job> inFlight = new ConcurrentHashMap<>();   // lock token -> job
+        private final AtomicLong claimed = new AtomicLong();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong retried = new AtomicLong();
+        private final AtomicLong deadLettered = new AtomicLong();
+        private final AtomicLong totalDurationMs = new AtomicLong();
+
+        private TypeRunner(JobHandler handler, int concurrency) {
+            this.handler = handler;
+            this.concurrency = Math.max(concurrency, 0);
+            AtomicInteger threadNumber = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(Math.max(concurrency, 1), r -> {
+                Thread thread = new Thread(r, "job-" + handler.type() + "-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
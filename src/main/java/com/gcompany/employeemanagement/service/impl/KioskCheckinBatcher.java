@@ -0,0 +1,255 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.gcompany.employeemanagement.dto.resp.AttendanceFeedEvent;
+import com.gcompany.employeemanagement.dto.resp.KioskCheckinResponse;
+import com.gcompany.employeemanagement.enums.AttendanceEventType;
+import com.gcompany.employeemanagement.enums.AttendanceStatus;
+import com.gcompany.employeemanagement.exception.BusinessRuleException;
+import com.gcompany.employeemanagement.model.KioskDevice;
+import com.gcompany.employeemanagement.service.AttendanceFeedService;
+import com.gcompany.employeemanagement.service.ShiftScheduleService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit untuk check-in kiosk: scan yang masuk dalam jendela linger-ms (atau sampai batch-size)
+ * diproses bersama dalam satu transaksi: satu SELECT user, satu SELECT attendance terbuka, satu INSERT.
+ * Request HTTP menunggu CompletableFuture sampai batch-nya di-commit.
+ */
+@Component
+@Log4j2
+public class KioskCheckinBatcher {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShiftScheduleService shiftScheduleService;
+    private final AttendanceFeedService attendanceFeedService;
+    private final BlockingQueue<PendingCheckin> queue;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public KioskCheckinBatcher(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               ShiftScheduleService shiftScheduleService,
+                               AttendanceFeedService attendanceFeedService,
+                               @Value("${app.kiosk.batch-size:100}") int batchSize,
+                               @Value("${app.kiosk.linger-ms:50}") long lingerMs,
+                               @Value("${app.kiosk.queue-capacity:5000}") int queueCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shiftScheduleService = shiftScheduleService;
+        this.attendanceFeedService = attendanceFeedService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        this.worker = new Thread(this::run, "kiosk-checkin-batcher");
+        this.worker.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    public CompletableFuture<KioskCheckinResponse> submit(KioskDevice device, long userId) {
+        PendingCheckin pending = new PendingCheckin(device, userId, OffsetDateTime.now());
+        if (!running || !queue.offer(pending)) {
+            throw new BusinessRuleException("Kiosk check-in is busy, please scan again");
+        }
+        return pending.result;
+    }
+
+    private void run() {
+        List<PendingCheckin> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    PendingCheckin next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+                batch.forEach(p -> p.result.complete(p.response));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Kiosk check-in batch of " + batch.size() + " failed: " + e.getMessage());
+                batch.forEach(p -> p.result.completeExceptionally(e));
+            }
+            batch.clear();
+        }
+
+        // batch yang terpotong interrupt + scan yang belum sempat diproses saat shutdown
+        queue.drainTo(batch);
+        batch.forEach(p -> p.result.completeExceptionally(
+                new BusinessRuleException("Kiosk check-in is shutting down, please scan again")));
+    }
+
+    private void flush(List<PendingCheckin> batch) {
+        Long[] userIds = batch.stream().map(p -> p.userId).distinct().toArray(Long[]::new);
+        LocalDate from = batch.stream().map(p -> p.time.toLocalDate()).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate to = batch.stream().map(p -> p.time.toLocalDate()).max(Comparator.naturalOrder()).orElseThrow();
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            Map<Long, KioskUser> users = new HashMap<>();
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(
+                        "SELECT id, departmens_id, email, full_name FROM users WHERE id = ANY (?) AND status = 'ACTIVE'");
+                ps.setArray(1, con.createArrayOf("int8", userIds));
+                return ps;
+            }, rs -> {
+                users.put(rs.getLong("id"), new KioskUser(rs.getObject("departmens_id", Long.class),
+                        rs.getString("email"), rs.getString("full_name")));
+            });
+
+            Set<String> open = new HashSet<>();
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(
+                        "SELECT user_id, date FROM attendances " +
+                                "WHERE user_id = ANY (?) AND date BETWEEN ? AND ? AND checkout_time IS NULL AND checkin_time IS NOT NULL");
+                ps.setArray(1, con.createArrayOf("int8", userIds));
+                ps.setObject(2, from);
+                ps.setObject(3, to);
+                return ps;
+            }, rs -> {
+                open.add(rs.getLong("user_id") + "|" + rs.getObject("date", LocalDate.class));
+            });
+
+            List<PendingCheckin> accepted = new ArrayList<>();
+            for (PendingCheckin p : batch) {
+                KioskUser user = users.get(p.userId);
+                if (user == null) {
+                    p.response = rejected(p, null, "Badge not recognised or employee inactive");
+                    continue;
+                }
+                LocalDate date = p.time.toLocalDate();
+                if (!open.add(p.userId + "|" + date)) {
+                    p.response = rejected(p, user, "Anda sudah check-in dan belum checkout.");
+                    continue;
+                }
+                AttendanceStatus status = shiftScheduleService.classifyCheckIn(p.userId, user.departmentId, p.time);
+                p.response = KioskCheckinResponse.builder()
+                        .accepted(true)
+                        .message("Welcome, " + user.fullName)
+                        .userId(p.userId)
+                        .fullName(user.fullName)
+                        .status(status)
+                        .checkinTime(p.time)
+                        .build();
+                accepted.add(p);
+                attendanceFeedService.publish(AttendanceFeedEvent.builder()
+                        .type(AttendanceEventType.CHECKIN)
+                        .userId(p.userId)
+                        .userEmail(user.email)
+                        .departmentId(user.departmentId)
+                        .date(date)
+                        .time(p.time)
+                        .status(status)
+                        .build());
+            }
+
+            if (!accepted.isEmpty()) {
+                insertAttendances(accepted);
+            }
+        });
+
+        log.info("Kiosk batch committed: scans=" + batch.size()
+                + ", accepted=" + batch.stream().filter(p -> p.response.isAccepted()).count());
+    }
+
+    private void insertAttendances(List<PendingCheckin> accepted) {
+        int size = accepted.size();
+        Long[] userIds = new Long[size];
+        String[] dates = new String[size];
+        String[] checkinTimes = new String[size];
+        Double[] lats = new Double[size];
+        Double[] lngs = new Double[size];
+        String[] statuses = new String[size];
+        String[] notes = new String[size];
+        for (int i = 0; i < size; i++) {
+            PendingCheckin p = accepted.get(i);
+            userIds[i] = p.userId;
+            dates[i] = p.time.toLocalDate().toString();
+            checkinTimes[i] = p.time.toString();
+            lats[i] = p.device.getLatitude();
+            lngs[i] = p.device.getLongitude();
+            statuses[i] = p.response.getStatus().name();
+            notes[i] = "Kiosk " + p.device.getCode();
+        }
+
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "INSERT INTO attendances (user_id, date, checkin_time, checkin_lat, checkin_lng, " +
+                            "status, note, created_at, updated_at) " +
+                            "SELECT uid, d::date, cin::timestamptz, lat, lng, st, nt, now(), now() " +
+                            "FROM unnest(?::int8[], ?::text[], ?::text[], ?::float8[], ?::float8[], ?::text[], ?::text[]) " +
+                            "AS v(uid, d, cin, lat, lng, st, nt)");
+            ps.setArray(1, con.createArrayOf("int8", userIds));
+            ps.setArray(2, con.createArrayOf("text", dates));
+            ps.setArray(3, con.createArrayOf("text", checkinTimes));
+            ps.setArray(4, con.createArrayOf("float8", lats));
+            ps.setArray(5, con.createArrayOf("float8", lngs));
+            ps.setArray(6, con.createArrayOf("text", statuses));
+            ps.setArray(7, con.createArrayOf("text", notes));
+            return ps;
+        });
+    }
+
+    private static KioskCheckinResponse rejected(PendingCheckin p, KioskUser user, String message) {
+        return KioskCheckinResponse.builder()
+                .accepted(false)
+                .message(message)
+                .userId(user != null ? p.userId : null)
+                .fullName(user != null ? user.fullName : null)
+                .build();
+    }
+
+    private record KioskUser(Long departmentId, String email, String fullName) {
+    }
+
+    private static final class PendingCheckin {
+        private final KioskDevice device;
+        private final long userId;
+        private final OffsetDateTime time;
+        private final CompletableFuture<KioskCheckinResponse> result = new CompletableFuture<>();
+        private KioskCheckinResponse response;
+
+        private PendingCheckin(KioskDevice device, long userId, OffsetDateTime time) {
+            this.device = device;
+            this.userId = userId;
+            this.time = time;
+        }
+    }
+}
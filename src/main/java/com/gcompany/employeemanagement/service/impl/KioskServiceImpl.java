@@ -0,0 +1,216 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.gcompany.employeemanagement.dto.req.KioskDeviceRequest;
+import com.gcompany.employeemanagement.dto.resp.KioskBadgeResponse;
+import com.gcompany.employeemanagement.dto.resp.KioskCheckinResponse;
+import com.gcompany.employeemanagement.dto.resp.KioskDeviceResponse;
+import com.gcompany.employeemanagement.enums.ActionType;
+import com.gcompany.employeemanagement.enums.ResourceType;
+import com.gcompany.employeemanagement.exception.BusinessRuleException;
+import com.gcompany.employeemanagement.exception.ResourceNotFoundException;
+import com.gcompany.employeemanagement.mapper.KioskDeviceMapper;
+import com.gcompany.employeemanagement.model.KioskDevice;
+import com.gcompany.employeemanagement.model.User;
+import com.gcompany.employeemanagement.repository.KioskDeviceRepository;
+import com.gcompany.employeemanagement.repository.UserRepository;
+import com.gcompany.employeemanagement.service.AuditService;
+import com.gcompany.employeemanagement.service.KioskService;
+import com.gcompany.employeemanagement.utils.BadgeSigner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Kiosk check-in: device diverifikasi dari map hash token di memory, badge karyawan dari HMAC,
+ * jadi per scan tidak ada login / BCrypt / query sebelum masuk batch.
+ */
+@Service
+@Slf4j
+public class KioskServiceImpl implements KioskService {
+    private final KioskDeviceRepository kioskDeviceRepository;
+    private final UserRepository userRepository;
+    private final KioskDeviceMapper kioskDeviceMapper;
+    private final KioskCheckinBatcher kioskCheckinBatcher;
+    private final AuditService auditService;
+    private final BadgeSigner badgeSigner;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    // Snapshot device aktif per hash token; diganti utuh setiap reload
+    private volatile Map<String, KioskDevice> devicesByTokenHash = Map.of();
+
+    public KioskServiceImpl(KioskDeviceRepository kioskDeviceRepository,
+                            UserRepository userRepository,
+                            KioskDeviceMapper kioskDeviceMapper,
+                            KioskCheckinBatcher kioskCheckinBatcher,
+                            AuditService auditService,
+                            @Value("${app.kiosk.badge-secret}") String badgeSecret) {
+        this.kioskDeviceRepository = kioskDeviceRepository;
+        this.userRepository = userRepository;
+        this.kioskDeviceMapper = kioskDeviceMapper;
+        this.kioskCheckinBatcher = kioskCheckinBatcher;
+        this.auditService = auditService;
+        this.badgeSigner = new BadgeSigner(badgeSecret);
+    }
+
+    @Override
+    @Transactional
+    public KioskDeviceResponse registerDevice(KioskDeviceRequest request) {
+        log.info("Registering kiosk device with code: {}", request.getCode());
+
+        if (kioskDeviceRepository.existsByCode(request.getCode().toUpperCase().trim())) {
+            throw new BusinessRuleException("Kiosk device code already exists: " + request.getCode());
+        }
+
+        String token = newToken();
+        KioskDevice device = KioskDevice.builder()
+                .code(request.getCode())
+                .name(request.getName())
+                .latitude(request.getLatitude())
+                .longitude(request.getLongitude())
+                .tokenHash(hashToken(token))
+                .build();
+        KioskDevice saved = kioskDeviceRepository.save(device);
+
+        reloadAfterCommit();
+        auditService.record(ResourceType.KIOSK_DEVICE, ActionType.CREATE, saved.getId(), "code=" + saved.getCode());
+        log.info("Kiosk device registered successfully with ID: {}", saved.getId());
+        KioskDeviceResponse response = kioskDeviceMapper.toResponse(saved);
+        response.setToken(token);
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<KioskDeviceResponse> getAllDevices() {
+        return kioskDeviceRepository.findAll(Sort.by("code")).stream()
+                .map(kioskDeviceMapper::toResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public KioskDeviceResponse rotateDeviceToken(Long id) {
+        log.info("Rotating token for kiosk device ID: {}", id);
+
+        KioskDevice device = getDeviceEntity(id);
+        String token = newToken();
+        device.setTokenHash(hashToken(token));
+        device.setActive(true);
+        KioskDevice saved = kioskDeviceRepository.save(device);
+
+        reloadAfterCommit();
+        auditService.record(ResourceType.KIOSK_DEVICE, ActionType.RESET, id, "token rotated");
+        KioskDeviceResponse response = kioskDeviceMapper.toResponse(saved);
+        response.setToken(token);
+        return response;
+    }
+
+    @Override
+    @Transactional
+    public void deactivateDevice(Long id) {
+        log.info("Deactivating kiosk device ID: {}", id);
+
+        KioskDevice device = getDeviceEntity(id);
+        device.setActive(false);
+        kioskDeviceRepository.save(device);
+        reloadAfterCommit();
+        auditService.record(ResourceType.KIOSK_DEVICE, ActionType.DEACTIVATE, id, null);
+    }
+
+    /**
+     * Device aktif untuk token tersebut, atau null.
+     */
+    @Override
+    public KioskDevice authenticateDevice(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        return devicesByTokenHash.get(hashToken(token));
+    }
+
+    // berkala juga: token yang dicabut / dirotasi di node lain berhenti berlaku paling lambat satu interval
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.kiosk.device-reload-cron:*/30 * * * * *}")
+    public void reloadDevices() {
+        devicesByTokenHash = kioskDeviceRepository.findByActiveTrue().stream()
+                .collect(Collectors.toUnmodifiableMap(KioskDevice::getTokenHash, Function.identity()));
+        log.debug("Kiosk devices loaded: {} active", devicesByTokenHash.size());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KioskBadgeResponse issueBadge(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
+
+        return KioskBadgeResponse.builder()
+                .userId(user.getId())
+                .fullName(user.getFullName())
+                .badge(badgeSigner.sign(user.getId()))
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<KioskCheckinResponse> checkIn(KioskDevice device, String badge) {
+        long userId = badgeSigner.verify(badge.trim());
+        if (userId < 0) {
+            log.warn("Invalid badge scanned on kiosk {}", device.getCode());
+            return CompletableFuture.completedFuture(KioskCheckinResponse.builder()
+                    .accepted(false)
+                    .message("Invalid badge")
+                    .build());
+        }
+        return kioskCheckinBatcher.submit(device, userId);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private KioskDevice getDeviceEntity(Long id) {
+        return kioskDeviceRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Kiosk device not found with ID: " + id));
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void reloadAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reloadDevices();
+            }
+        });
+    }
+}
@@ -0,0 +1,173 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.gcompany.employeemanagement.dto.req.OfficeLocationRequest;
+import com.gcompany.employeemanagement.dto.resp.OfficeLocationResponse;
+import com.gcompany.employeemanagement.enums.ActionType;
+import com.gcompany.employeemanagement.enums.GeofenceType;
+import com.gcompany.employeemanagement.enums.ResourceType;
+import com.gcompany.employeemanagement.exception.BusinessRuleException;
+import com.gcompany.employeemanagement.exception.ResourceNotFoundException;
+import com.gcompany.employeemanagement.mapper.OfficeLocationMapper;
+import com.gcompany.employeemanagement.model.OfficeLocation;
+import com.gcompany.employeemanagement.repository.OfficeLocationRepository;
+import com.gcompany.employeemanagement.service.AuditService;
+import com.gcompany.employeemanagement.service.OfficeLocationService;
+import com.gcompany.employeemanagement.utils.GeofenceIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OfficeLocationServiceImpl implements OfficeLocationService {
+    private final OfficeLocationRepository officeLocationRepository;
+    private final OfficeLocationMapper officeLocationMapper;
+    private final AuditService auditService;
+
+    // Snapshot index geofence; diganti utuh setiap reload, dibaca tanpa lock saat check-in
+    private volatile GeofenceIndex geofenceIndex = GeofenceIndex.empty();
+
+    @Override
+    @Transactional
+    public OfficeLocationResponse createOfficeLocation(OfficeLocationRequest request) {
+        log.info("Creating new office location with code: {}", request.getCode());
+
+        if (officeLocationRepository.existsByCode(request.getCode().toUpperCase().trim())) {
+            throw new BusinessRuleException("Office location code already exists: " + request.getCode());
+        }
+
+        OfficeLocation location = new OfficeLocation();
+        applyRequest(location, request);
+        OfficeLocation saved = officeLocationRepository.save(location);
+
+        reloadAfterCommit();
+        auditService.record(ResourceType.OFFICE_LOCATION, ActionType.CREATE, saved.getId(), "code=" + saved.getCode());
+        log.info("Office location created successfully with ID: {}", saved.getId());
+        return officeLocationMapper.toResponse(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OfficeLocationResponse getOfficeLocationById(Long id) {
+        return officeLocationMapper.toResponse(getOfficeLocationEntity(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OfficeLocationResponse> getAllOfficeLocations() {
+        return officeLocationRepository.findAll(Sort.by("code")).stream()
+                .map(officeLocationMapper::toResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public OfficeLocationResponse updateOfficeLocation(Long id, OfficeLocationRequest request) {
+        log.info("Updating office location with ID: {}", id);
+
+        OfficeLocation location = getOfficeLocationEntity(id);
+        if (officeLocationRepository.existsByCodeAndIdNot(request.getCode().toUpperCase().trim(), id)) {
+            throw new BusinessRuleException("Office location code already exists: " + request.getCode());
+        }
+
+        applyRequest(location, request);
+        OfficeLocation saved = officeLocationRepository.save(location);
+
+        reloadAfterCommit();
+        auditService.record(ResourceType.OFFICE_LOCATION, ActionType.UPDATE, id, null);
+        return officeLocationMapper.toResponse(saved);
+    }
+
+    @Override
+    @Transactional
+    public void deleteOfficeLocation(Long id) {
+        log.info("Deleting office location with ID: {}", id);
+
+        OfficeLocation location = getOfficeLocationEntity(id);
+        officeLocationRepository.delete(location);
+        reloadAfterCommit();
+        auditService.record(ResourceType.OFFICE_LOCATION, ActionType.DELETE, id, "code=" + location.getCode());
+    }
+
+    /**
+     * true hanya kalau geofence sudah dikonfigurasi dan koordinat berada di luar semuanya.
+     * Tanpa geofence (atau tanpa koordinat) check-in tidak diklasifikasikan.
+     */
+    @Override
+    public boolean isOutsideGeofence(Double latitude, Double longitude) {
+        GeofenceIndex index = geofenceIndex;
+        if (index.size() == 0 || latitude == null || longitude == null) {
+            return false;
+        }
+        return index.find(latitude, longitude) == null;
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.attendance.geofence.reload-cron:0 * * * * *}")
+    public void reloadGeofenceIndex() {
+        List<GeofenceIndex.Geofence> fences = officeLocationRepository.findByActiveTrue().stream()
+                .map(officeLocationMapper::toGeofence)
+                .toList();
+        geofenceIndex = GeofenceIndex.build(fences);
+        log.debug("Geofence index loaded with {} active office locations", fences.size());
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private OfficeLocation getOfficeLocationEntity(Long id) {
+        return officeLocationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Office location not found with ID: " + id));
+    }
+
+    private void applyRequest(OfficeLocation location, OfficeLocationRequest request) {
+        location.setCode(request.getCode());
+        location.setName(request.getName());
+        location.setType(request.getType());
+        location.setActive(request.getActive() == null || request.getActive());
+
+        if (request.getType() == GeofenceType.RADIUS) {
+            if (request.getCenterLat() == null || request.getCenterLng() == null || request.getRadiusMeters() == null) {
+                throw new BusinessRuleException("RADIUS geofence requires centerLat, centerLng and radiusMeters");
+            }
+            location.setCenterLat(request.getCenterLat());
+            location.setCenterLng(request.getCenterLng());
+            location.setRadiusMeters(request.getRadiusMeters());
+            location.setPolygon(null);
+        } else {
+            List<List<Double>> polygon = request.getPolygon();
+            if (polygon == null || polygon.size() < 3) {
+                throw new BusinessRuleException("POLYGON geofence requires at least 3 points");
+            }
+            for (List<Double> point : polygon) {
+                if (point == null || point.size() != 2 || point.get(0) == null || point.get(1) == null
+                        || Math.abs(point.get(0)) > 90 || Math.abs(point.get(1)) > 180) {
+                    throw new BusinessRuleException("Polygon points must be [latitude, longitude] pairs");
+                }
+            }
+            location.setPolygon(officeLocationMapper.formatPolygon(polygon));
+            location.setCenterLat(null);
+            location.setCenterLng(null);
+            location.setRadiusMeters(null);
+        }
+    }
+
+    private void reloadAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reloadGeofenceIndex();
+            }
+        });
+    }
+}
@@ -0,0 +1,203 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.gcompany.employeemanagement.dto.projection.ReportingLineView;
+import com.gcompany.employeemanagement.dto.projection.UserSummaryView;
+import com.gcompany.employeemanagement.dto.resp.UserSummaryResponse;
+import com.gcompany.employeemanagement.enums.ActionType;
+import com.gcompany.employeemanagement.enums.ResourceType;
+import com.gcompany.employeemanagement.exception.BusinessRuleException;
+import com.gcompany.employeemanagement.exception.ResourceNotFoundException;
+import com.gcompany.employeemanagement.mapper.UserMapper;
+import com.gcompany.employeemanagement.model.OrgHierarchyVersion;
+import com.gcompany.employeemanagement.model.User;
+import com.gcompany.employeemanagement.repository.OrgHierarchyVersionRepository;
+import com.gcompany.employeemanagement.repository.UserRepository;
+import com.gcompany.employeemanagement.service.AuditService;
+import com.gcompany.employeemanagement.service.OrgHierarchyService;
+import com.gcompany.employeemanagement.utils.OrgTreeIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Hierarki manager -> bawahan di memory (label interval pre-order), dipakai untuk
+ * cek akses data tim manager tanpa query. Dimuat saat startup; perpindahan manager di node ini diterapkan
+ * langsung ke index setelah commit. Perubahan dari node lain terdeteksi lewat org_hierarchy_version yang dinaikkan
+ * di transaksi yang sama: pengecekan berkala hanya membaca satu baris, index dibangun ulang kalau version berubah.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrgHierarchyServiceImpl implements OrgHierarchyService {
+
+    private final UserRepository userRepository;
+    private final OrgHierarchyVersionRepository orgHierarchyVersionRepository;
+    private final UserMapper userMapper;
+    private final AuditService auditService;
+
+    private volatile OrgTreeIndex index = OrgTreeIndex.build(Map.of());
+    // version org_hierarchy_version saat index terakhir dibangun
+    private volatile long loadedVersion = -1;
+
+    @Override
+    public boolean isInTeam(Long managerId, Long userId) {
+        return managerId != null && userId != null && index.isInTeam(managerId, userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HR') or #managerId == authentication.principal.id")
+    public List<UserSummaryResponse> getTeam(Long managerId) {
+        List<Long> teamIds = index.team(managerId);
+        if (teamIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, UserSummaryView> byId = userRepository.findSummariesByIdIn(teamIds).stream()
+                .collect(Collectors.toMap(UserSummaryView::getId, Function.identity()));
+        return teamIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(userMapper::toUserSummaryResponse)
+                .toList();
+    }
+
+    @Override
+    public List<Long> getTeamIds(Long managerId) {
+        return managerId == null ? List.of() : index.team(managerId);
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("hasRole('ADMIN')")
+    public void assignManager(Long userId, Long managerId) {
+        log.info("Assigning manager {} to user {}", managerId, userId);
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+
+        User manager = null;
+        if (managerId != null) {
+            if (managerId.equals(userId)) {
+                throw new BusinessRuleException("User cannot be their own manager");
+            }
+            manager = userRepository.findById(managerId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User", "id", managerId));
+            if (index.isInTeam(userId, managerId)) {
+                throw new BusinessRuleException("User " + managerId + " already reports to user " + userId);
+            }
+        }
+
+        user.setManager(manager);
+        userRepository.save(user);
+        long version = bumpVersion();
+        afterCommit(() -> applyLocalChange(version, () -> applyTransfer(userId, managerId)));
+        auditService.record(ResourceType.USER, ActionType.TRANSFER, userId, "manager=" + managerId);
+    }
+
+    @Override
+    public void removeUser(Long userId) {
+        long version = bumpVersion();
+        afterCommit(() -> applyLocalChange(version, () -> index.remove(userId)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!orgHierarchyVersionRepository.existsById(OrgHierarchyVersion.ROW_ID)) {
+            try {
+                orgHierarchyVersionRepository.save(new OrgHierarchyVersion(OrgHierarchyVersion.ROW_ID, 0));
+            } catch (DataIntegrityViolationException e) {
+                // node lain membuatnya lebih dulu
+            }
+        }
+        reloadHierarchy();
+    }
+
+    // satu baris dibaca per jadwal; rebuild penuh hanya kalau garis pelaporan berubah sejak load terakhir
+    @Scheduled(cron = "${app.users.org-tree.reload-cron:*/30 * * * * *}")
+    public void reloadHierarchyIfChanged() {
+        if (currentVersion() != loadedVersion) {
+            reloadHierarchy();
+        }
+    }
+
+    @Override
+    public void reloadHierarchy() {
+        // dibaca sebelum garis pelaporan, perubahan yang commit di tengah load terdeteksi di pengecekan berikutnya
+        long version = currentVersion();
+        Map<Long, Long> managerByUser = new HashMap<>();
+        for (ReportingLineView line : userRepository.findAllReportingLines()) {
+            managerByUser.put(line.getId(), line.getManagerId());
+        }
+        index = OrgTreeIndex.build(managerByUser);
+        loadedVersion = version;
+        log.debug("Org hierarchy loaded with {} users (version {})", index.size(), version);
+    }
+
+    private long currentVersion() {
+        return orgHierarchyVersionRepository.findVersion(OrgHierarchyVersion.ROW_ID).orElse(0L);
+    }
+
+    // version baru; dibaca di transaksi yang sama dengan UPDATE, jadi baris masih terkunci oleh transaksi ini
+    private long bumpVersion() {
+        if (orgHierarchyVersionRepository.bump(OrgHierarchyVersion.ROW_ID) == 0) {
+            // baris belum dibuat (mis. sebelum startup selesai)
+            orgHierarchyVersionRepository.save(new OrgHierarchyVersion(OrgHierarchyVersion.ROW_ID, 1));
+            return 1;
+        }
+        return currentVersion();
+    }
+
+    /**
+     * Patch index untuk perubahan dari node ini. Hanya aman kalau index sudah memuat semua version sebelumnya;
+     * kalau ada perubahan lain yang belum dimuat (node lain / request paralel), bangun ulang dari DB.
+     */
+    private void applyLocalChange(long version, Runnable change) {
+        if (loadedVersion != version - 1) {
+            reloadHierarchy();
+            return;
+        }
+        change.run();
+        // applyTransfer bisa sudah membangun ulang index dengan version yang lebih baru
+        if (loadedVersion == version - 1) {
+            loadedVersion = version;
+        }
+    }
+
+    private void applyTransfer(Long userId, Long managerId) {
+        try {
+            index.setManager(userId, managerId);
+        } catch (IllegalArgumentException e) {
+            // transfer lain (node / request paralel) membuat siklus; bangun ulang dari DB
+            log.warn("Org hierarchy out of sync: {}", e.getMessage());
+            reloadHierarchy();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,436 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.gcompany.employeemanagement.dto.req.HolidayRequest;
+import com.gcompany.employeemanagement.dto.req.ShiftAssignmentRequest;
+import com.gcompany.employeemanagement.dto.req.ShiftRequest;
+import com.gcompany.employeemanagement.dto.resp.HolidayResponse;
+import com.gcompany.employeemanagement.dto.resp.ShiftAssignmentResponse;
+import com.gcompany.employeemanagement.dto.resp.ShiftResponse;
+import com.gcompany.employeemanagement.enums.ActionType;
+import com.gcompany.employeemanagement.enums.AttendanceStatus;
+import com.gcompany.employeemanagement.enums.ResourceType;
+import com.gcompany.employeemanagement.exception.BusinessRuleException;
+import com.gcompany.employeemanagement.exception.ResourceNotFoundException;
+import com.gcompany.employeemanagement.mapper.ShiftMapper;
+import com.gcompany.employeemanagement.model.Holiday;
+import com.gcompany.employeemanagement.model.Shift;
+import com.gcompany.employeemanagement.model.ShiftAssignment;
+import com.gcompany.employeemanagement.repository.DepartmentRepository;
+import com.gcompany.employeemanagement.repository.HolidayRepository;
+import com.gcompany.employeemanagement.repository.ShiftAssignmentRepository;
+import com.gcompany.employeemanagement.repository.ShiftRepository;
+import com.gcompany.employeemanagement.repository.UserRepository;
+import com.gcompany.employeemanagement.service.AuditService;
+import com.gcompany.employeemanagement.service.ShiftScheduleService;
+import com.gcompany.employeemanagement.utils.ShiftScheduleTable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.TextStyle;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Shift, assignment per department/user dan kalender libur.
+ * Semua data dikompilasi ke {@link ShiftScheduleTable} (rentang beberapa hari ke belakang & ke depan);
+ * check-in/out cukup lookup ke tabel itu. Tabel dibangun ulang setiap data berubah dan setiap hari.
+ */
+@Service
+@Slf4j
+public class ShiftScheduleServiceImpl implements ShiftScheduleService {
+    private static final String OFF_TOKEN = "OFF";
+
+    private final ShiftRepository shiftRepository;
+    private final ShiftAssignmentRepository shiftAssignmentRepository;
+    private final HolidayRepository holidayRepository;
+    private final DepartmentRepository departmentRepository;
+    private final UserRepository userRepository;
+    private final ShiftMapper shiftMapper;
+    private final AuditService auditService;
+
+    private final LocalTime defaultStart;
+    private final LocalTime defaultEnd;
+    private final boolean[] defaultWorkDays;
+    private final int pastDays;
+    private final int futureDays;
+    private final long closeGraceSeconds;
+
+    private volatile ShiftScheduleTable scheduleTable;
+
+    public ShiftScheduleServiceImpl(ShiftRepository shiftRepository,
+                                    ShiftAssignmentRepository shiftAssignmentRepository,
+                                    HolidayRepository holidayRepository,
+                                    DepartmentRepository departmentRepository,
+                                    UserRepository userRepository,
+                                    ShiftMapper shiftMapper,
+                                    AuditService auditService,
+                                    @Value("${app.shift.default-start:08:00}") LocalTime defaultStart,
+                                    @Value("${app.shift.default-end:17:00}") LocalTime defaultEnd,
+                                    @Value("${app.shift.default-work-days:MON,TUE,WED,THU,FRI}") String defaultWorkDays,
+                                    @Value("${app.shift.window-past-days:8}") int pastDays,
+                                    @Value("${app.shift.window-future-days:62}") int futureDays,
+                                    @Value("${app.attendance.end-of-day.close-grace-minutes:120}") long closeGraceMinutes) {
+        this.shiftRepository = shiftRepository;
+        this.shiftAssignmentRepository = shiftAssignmentRepository;
+        this.holidayRepository = holidayRepository;
+        this.departmentRepository = departmentRepository;
+        this.userRepository = userRepository;
+        this.shiftMapper = shiftMapper;
+        this.auditService = auditService;
+        this.defaultStart = defaultStart;
+        this.defaultEnd = defaultEnd;
+        this.defaultWorkDays = parseWorkDays(defaultWorkDays.toUpperCase());
+        this.pastDays = pastDays;
+        this.futureDays = futureDays;
+        this.closeGraceSeconds = closeGraceMinutes * 60;
+        // sebelum reload pertama: hanya shift default
+        this.scheduleTable = ShiftScheduleTable.builder(LocalDate.now(), 1,
+                toMinute(defaultStart), toMinute(defaultEnd)).defaultWorkDays(this.defaultWorkDays).build();
+    }
+
+    // ========== SHIFT ==========
+
+    @Override
+    @Transactional
+    public ShiftResponse createShift(ShiftRequest request) {
+        log.info("Creating new shift with code: {}", request.getCode());
+
+        if (shiftRepository.existsByCode(request.getCode().toUpperCase().trim())) {
+            throw new BusinessRuleException("Shift code already exists: " + request.getCode());
+        }
+
+        Shift shift = new Shift();
+        applyRequest(shift, request);
+        Shift saved = shiftRepository.save(shift);
+
+        reloadAfterCommit();
+        auditService.record(ResourceType.SHIFT, ActionType.CREATE, saved.getId(), "code=" + saved.getCode());
+        return shiftMapper.toResponse(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ShiftResponse> getAllShifts() {
+        return shiftRepository.findAllByOrderByCodeAsc().stream()
+                .map(shiftMapper::toResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public ShiftResponse updateShift(Long id, ShiftRequest request) {
+        log.info("Updating shift with ID: {}", id);
+
+        Shift shift = shiftRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Shift not found with ID: " + id));
+        String code = request.getCode().toUpperCase().trim();
+        if (shiftRepository.existsByCodeAndIdNot(code, id)) {
+            throw new BusinessRuleException("Shift code already exists: " + request.getCode());
+        }
+        if (!code.equals(shift.getCode()) && isShiftReferenced(shift.getCode())) {
+            throw new BusinessRuleException("Cannot change code of shift used in assignments: " + shift.getCode());
+        }
+
+        applyRequest(shift, request);
+        Shift saved = shiftRepository.save(shift);
+
+        reloadAfterCommit();
+        auditService.record(ResourceType.SHIFT, ActionType.UPDATE, id, null);
+        return shiftMapper.toResponse(saved);
+    }
+
+    @Override
+    @Transactional
+    public void deleteShift(Long id) {
+        log.info("Deleting shift with ID: {}", id);
+
+        Shift shift = shiftRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Shift not found with ID: " + id));
+        if (isShiftReferenced(shift.getCode())) {
+            throw new BusinessRuleException("Cannot delete shift used in assignments: " + shift.getCode());
+        }
+
+        shiftRepository.delete(shift);
+        reloadAfterCommit();
+        auditService.record(ResourceType.SHIFT, ActionType.DELETE, id, "code=" + shift.getCode());
+    }
+
+    // ========== ASSIGNMENT ==========
+
+    @Override
+    @Transactional
+    public ShiftAssignmentResponse createAssignment(ShiftAssignmentRequest request) {
+        if ((request.getDepartmentId() == null) == (request.getUserId() == null)) {
+            throw new BusinessRuleException("Exactly one of departmentId or userId must be set");
+        }
+        if (request.getEffectiveTo() != null && request.getEffectiveTo().isBefore(request.getEffectiveFrom())) {
+            throw new BusinessRuleException("effectiveTo cannot be before effectiveFrom");
+        }
+
+        String pattern = normalizePattern(request.getRotationPattern());
+        ShiftAssignment assignment = ShiftAssignment.builder()
+                .rotationPattern(pattern)
+                .rotationStartDate(request.getRotationStartDate() != null
+                        ? request.getRotationStartDate()
+                        : request.getEffectiveFrom())
+                .effectiveFrom(request.getEffectiveFrom())
+                .effectiveTo(request.getEffectiveTo())
+                .build();
+
+        if (request.getDepartmentId() != null) {
+            assignment.setDepartment(departmentRepository.findById(request.getDepartmentId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Department not found with ID: " + request.getDepartmentId())));
+        } else {
+            assignment.setUser(userRepository.findById(request.getUserId())
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + request.getUserId())));
+        }
+
+        ShiftAssignment saved = shiftAssignmentRepository.save(assignment);
+        log.info("Shift assignment created with ID: {}", saved.getId());
+
+        reloadAfterCommit();
+        auditService.record(ResourceType.SHIFT_ASSIGNMENT, ActionType.CREATE, saved.getId(),
+                request.getDepartmentId() != null ? "department=" + request.getDepartmentId() : "user=" + request.getUserId());
+        return shiftMapper.toResponse(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ShiftAssignmentResponse> getAllAssignments() {
+        return shiftAssignmentRepository.findAll().stream()
+                .map(shiftMapper::toResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void deleteAssignment(Long id) {
+        ShiftAssignment assignment = shiftAssignmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Shift assignment not found with ID: " + id));
+        shiftAssignmentRepository.delete(assignment);
+        reloadAfterCommit();
+        auditService.record(ResourceType.SHIFT_ASSIGNMENT, ActionType.DELETE, id, null);
+    }
+
+    // ========== HOLIDAY ==========
+
+    @Override
+    @Transactional
+    public HolidayResponse createHoliday(HolidayRequest request) {
+        Holiday holiday = Holiday.builder()
+                .date(request.getDate())
+                .name(request.getName().trim())
+                .build();
+        if (request.getDepartmentId() != null) {
+            holiday.setDepartment(departmentRepository.findById(request.getDepartmentId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Department not found with ID: " + request.getDepartmentId())));
+        }
+
+        Holiday saved = holidayRepository.save(holiday);
+        reloadAfterCommit();
+        auditService.record(ResourceType.HOLIDAY, ActionType.CREATE, saved.getId(), "date=" + saved.getDate());
+        return shiftMapper.toResponse(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<HolidayResponse> getHolidays(LocalDate from, LocalDate to) {
+        return holidayRepository.findByDateBetweenOrderByDateAsc(from, to).stream()
+                .map(shiftMapper::toResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void deleteHoliday(Long id) {
+        Holiday holiday = holidayRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Holiday not found with ID: " + id));
+        holidayRepository.delete(holiday);
+        reloadAfterCommit();
+        auditService.record(ResourceType.HOLIDAY, ActionType.DELETE, id, "date=" + holiday.getDate());
+    }
+
+    // ========== CLASSIFICATION ==========
+
+    @Override
+    public AttendanceStatus classifyCheckIn(Long userId, Long departmentId, OffsetDateTime checkinTime) {
+        return scheduleTable.classifyCheckIn(userId, departmentId,
+                checkinTime.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime());
+    }
+
+    @Override
+    public boolean isEarlyLeave(Long userId, Long departmentId, LocalDate attendanceDate, OffsetDateTime checkoutTime) {
+        return scheduleTable.isEarlyLeave(userId, departmentId, attendanceDate,
+                checkoutTime.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime());
+    }
+
+    @Override
+    public int overtimeMinutes(Long userId, Long departmentId, LocalDate attendanceDate,
+                               OffsetDateTime checkinTime, OffsetDateTime checkoutTime) {
+        ZoneId zone = ZoneId.systemDefault();
+        return (int) (scheduleTable.overtimeSeconds(userId, departmentId, attendanceDate,
+                checkinTime.atZoneSameInstant(zone).toLocalDateTime(),
+                checkoutTime.atZoneSameInstant(zone).toLocalDateTime()) / 60);
+    }
+
+    /**
+     * Batas yang sama dengan job akhir hari: attendance yang jam pulang shift + grace-nya sudah lewat
+     * akan ditutup otomatis, jadi tidak dicocokkan lagi dengan checkout.
+     */
+    @Override
+    public boolean isShiftOpen(Long userId, Long departmentId, LocalDate attendanceDate, OffsetDateTime at) {
+        long endSecond = scheduleTable.shiftEndSecond(userId, departmentId, attendanceDate.toEpochDay()) + closeGraceSeconds;
+        return at.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime()
+                .isBefore(attendanceDate.atStartOfDay().plusSeconds(endSecond));
+    }
+
+    /**
+     * Kompilasi ulang tabel jadwal: dipanggil saat startup, setelah perubahan data di node ini,
+     * dan berkala (perubahan shift / holiday dari node lain, jendela tanggal bergeser setelah tengah malam).
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.shift.reload-cron:0 */5 * * * *}")
+    @Transactional(readOnly = true)
+    public void reloadSchedule() {
+        scheduleTable = compileSchedule(LocalDate.now().minusDays(pastDays), LocalDate.now().plusDays(futureDays));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ShiftScheduleTable compileSchedule(LocalDate from, LocalDate to) {
+        ShiftScheduleTable.Builder builder = ShiftScheduleTable.builder(from, (int) (to.toEpochDay() - from.toEpochDay()) + 1,
+                toMinute(defaultStart), toMinute(defaultEnd))
+                .defaultWorkDays(defaultWorkDays);
+
+        Map<String, Integer> shiftIndex = new HashMap<>();
+        Map<String, boolean[]> shiftWorkDays = new HashMap<>();
+        for (Shift shift : shiftRepository.findByActiveTrue()) {
+            shiftIndex.put(shift.getCode(), builder.addShift(toMinute(shift.getStartTime()), toMinute(shift.getEndTime()),
+                    shift.getLateToleranceMinutes(), shift.getEarlyLeaveToleranceMinutes()));
+            shiftWorkDays.put(shift.getCode(), parseWorkDays(shift.getWorkDays()));
+        }
+
+        // assignment yang mulai belakangan menimpa yang lebih lama
+        List<ShiftAssignment> assignments = shiftAssignmentRepository.findEffectiveBetween(from, to).stream()
+                .sorted(Comparator.comparing(ShiftAssignment::getEffectiveFrom).thenComparing(ShiftAssignment::getId))
+                .toList();
+        for (ShiftAssignment assignment : assignments) {
+            String[] tokens = assignment.getRotationPattern().split(",");
+            LocalDate start = assignment.getEffectiveFrom().isAfter(from) ? assignment.getEffectiveFrom() : from;
+            LocalDate end = assignment.getEffectiveTo() != null && assignment.getEffectiveTo().isBefore(to)
+                    ? assignment.getEffectiveTo() : to;
+
+            for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+                long offset = date.toEpochDay() - assignment.getRotationStartDate().toEpochDay();
+                String token = tokens[(int) Math.floorMod(offset, (long) tokens.length)];
+
+                int value;
+                if (OFF_TOKEN.equals(token)) {
+                    value = ShiftScheduleTable.OFF;
+                } else if (!shiftIndex.containsKey(token)) {
+                    value = ShiftScheduleTable.NO_SCHEDULE;     // shift nonaktif
+                } else if (!shiftWorkDays.get(token)[date.getDayOfWeek().getValue() - 1]) {
+                    value = ShiftScheduleTable.OFF;
+                } else {
+                    value = shiftIndex.get(token);
+                }
+
+                if (assignment.getUser() != null) {
+                    builder.userDay(assignment.getUser().getId(), date, value);
+                } else {
+                    builder.departmentDay(assignment.getDepartment().getId(), date, value);
+                }
+            }
+        }
+
+        List<Holiday> holidays = holidayRepository.findByDateBetweenOrderByDateAsc(from, to);
+        for (Holiday holiday : holidays) {
+            if (holiday.getDepartment() == null) {
+                builder.companyHoliday(holiday.getDate());
+            } else {
+                builder.departmentHoliday(holiday.getDepartment().getId(), holiday.getDate());
+            }
+        }
+
+        log.debug("Shift schedule compiled for {} - {}: {} shifts, {} assignments, {} holidays",
+                from, to, shiftIndex.size(), assignments.size(), holidays.size());
+        return builder.build();
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private void applyRequest(Shift shift, ShiftRequest request) {
+        shift.setCode(request.getCode());
+        shift.setName(request.getName());
+        shift.setStartTime(request.getStartTime());
+        shift.setEndTime(request.getEndTime());
+        shift.setLateToleranceMinutes(request.getLateToleranceMinutes() != null ? request.getLateToleranceMinutes() : 0);
+        shift.setEarlyLeaveToleranceMinutes(request.getEarlyLeaveToleranceMinutes() != null
+                ? request.getEarlyLeaveToleranceMinutes() : 0);
+        shift.setWorkDays(request.getWorkDays() != null && !request.getWorkDays().isBlank() ? request.getWorkDays() : null);
+        shift.setActive(request.getActive() == null || request.getActive());
+    }
+
+    private String normalizePattern(String pattern) {
+        String[] tokens = Arrays.stream(pattern.split(","))
+                .map(token -> token.trim().toUpperCase())
+                .toArray(String[]::new);
+        for (String token : tokens) {
+            if (token.isEmpty()) {
+                throw new BusinessRuleException("Rotation pattern contains an empty entry");
+            }
+            if (!OFF_TOKEN.equals(token) && !shiftRepository.existsByCode(token)) {
+                throw new BusinessRuleException("Unknown shift code in rotation pattern: " + token);
+            }
+        }
+        return String.join(",", tokens);
+    }
+
+    private boolean isShiftReferenced(String code) {
+        return shiftAssignmentRepository.findAll().stream()
+                .anyMatch(a -> Arrays.asList(a.getRotationPattern().split(",")).contains(code));
+    }
+
+    private boolean[] parseWorkDays(String workDays) {
+        boolean[] days = new boolean[7];
+        if (workDays == null) {
+            Arrays.fill(days, true);
+            return days;
+        }
+        for (DayOfWeek day : DayOfWeek.values()) {
+            String name = day.getDisplayName(TextStyle.SHORT, Locale.ENGLISH).toUpperCase();
+            days[day.getValue() - 1] = workDays.contains(name);
+        }
+        return days;
+    }
+
+    private static int toMinute(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private void reloadAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reloadSchedule();
+            }
+        });
+    }
+}
@@ -0,0 +1,375 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gcompany.employeemanagement.enums.ActionType;
+import com.gcompany.employeemanagement.enums.ImportRowOutcome;
+import com.gcompany.employeemanagement.enums.ResourceType;
+import com.gcompany.employeemanagement.model.Job;
+import com.gcompany.employeemanagement.model.Role;
+import com.gcompany.employeemanagement.repository.RoleRepository;
+import com.gcompany.employeemanagement.service.AuditService;
+import com.gcompany.employeemanagement.service.JobHandler;
+import com.gcompany.employeemanagement.service.UserSearchIndexService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Proses import user yang sudah di-stage di user_import_rows oleh UserImportServiceImpl.
+ * 1. Validasi semua baris yang belum diproses, cek email dobel di file.
+ * 2. Satu query cek email yang sudah ada, satu query resolve semua role.
+ * 3. BCrypt di thread pool terbatas (bagian paling mahal, ~250ms per password di strength 12).
+ * 4. Insert per chunk dengan INSERT ... SELECT FROM unnest, lalu user_roles dengan cara yang sama.
+ * Insert dan outcome per baris ditulis dalam satu transaksi: retry job hanya memproses baris yang outcome-nya
+ * masih kosong, jadi aman diulang.
+ */
+@Component
+@Log4j2
+public class UserImportJobHandler implements JobHandler {
+    public static final String TYPE = "users.import";
+
+    private static final int INSERT_CHUNK_SIZE = 500;
+
+    // sama dengan validasi UserCreateRequest
+    private static final Pattern PASSWORD_PATTERN =
+            Pattern.compile("^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=!])(?=\\S+$).{8,}$");
+    private static final Pattern PHONE_PATTERN = Pattern.compile("^[0-9+\\s()-]*$");
+
+    private static final String PENDING_ROWS_SQL =
+            "SELECT id, line, email, password, first_name, last_name, phone_number, role_codes " +
+                    "FROM user_import_rows WHERE job_id = ? AND outcome IS NULL ORDER BY line";
+
+    // password staging dikosongkan begitu baris selesai diproses
+    private static final String RECORD_OUTCOME_SQL =
+            "UPDATE user_import_rows SET outcome = ?, user_id = ?, reason = ?, password = NULL WHERE id = ?";
+
+    private static final String INSERT_USERS_SQL =
+            "INSERT INTO users (email, password, first_name, last_name, full_name, phone_number, status, " +
+                    "is_account_non_expired, is_account_non_locked, is_credentials_non_expired, " +
+                    "created_at, updated_at, created_by) " +
+                    "SELECT e, p, fn, ln, fu, ph, 'ACTIVE', true, true, true, now(), now(), ?::int8 " +
+                    "FROM unnest(?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[]) AS v(e, p, fn, ln, fu, ph) " +
+                    "ON CONFLICT (email) DO NOTHING " +
+                    "RETURNING id, email";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final UserSearchIndexService userSearchIndexService;
+    private final AuditService auditService;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService hashPool;
+
+    public UserImportJobHandler(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                RoleRepository roleRepository,
+                                PasswordEncoder passwordEncoder,
+                                UserSearchIndexService userSearchIndexService,
+                                AuditService auditService,
+                                ObjectMapper objectMapper,
+                                @Value("${app.users.import.hash-threads:4}") int hashThreads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.roleRepository = roleRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.userSearchIndexService = userSearchIndexService;
+        this.auditService = auditService;
+        this.objectMapper = objectMapper;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.hashPool = Executors.newFixedThreadPool(hashThreads, r -> {
+            Thread thread = new Thread(r, "user-import-hash-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashPool.shutdownNow();
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public void handle(Job job) throws Exception {
+        long started = System.nanoTime();
+        Payload payload = objectMapper.readValue(job.getPayload(), Payload.class);
+
+        List<ImportRow> rows = loadPendingRows(job.getId());
+        if (rows.isEmpty()) {
+            // percobaan sebelumnya sudah commit
+            return;
+        }
+        List<ImportRow> pending = validate(rows);
+        pending = resolveRoles(pending);
+        pending = skipExisting(pending);
+
+        // BCrypt paralel di pool terbatas, di luar transaksi
+        List<CompletableFuture<Void>> hashes = pending.stream()
+                .map(row -> CompletableFuture.runAsync(() -> row.passwordHash = passwordEncoder.encode(row.password), hashPool))
+                .toList();
+        CompletableFuture.allOf(hashes.toArray(CompletableFuture[]::new)).join();
+
+        List<ImportRow> toInsert = pending;
+        transactionTemplate.executeWithoutResult(tx -> {
+            List<Long> createdIds = new ArrayList<>();
+            for (int from = 0; from < toInsert.size(); from += INSERT_CHUNK_SIZE) {
+                List<ImportRow> chunk = toInsert.subList(from, Math.min(from + INSERT_CHUNK_SIZE, toInsert.size()));
+                createdIds.addAll(insertChunk(chunk, payload.createdBy()));
+            }
+            insertUserRoles(toInsert);
+            recordOutcomes(rows);
+            userSearchIndexService.refreshUsers(createdIds);
+            auditService.record(ResourceType.USER, ActionType.IMPORT, createdIds,
+                    "bulk import job " + job.getId() + " by user " + payload.createdBy());
+        });
+
+        log.info("User import job " + job.getId() + " finished: rows=" + rows.size()
+                + ", created=" + count(rows, ImportRowOutcome.CREATED)
+                + ", existing=" + count(rows, ImportRowOutcome.EXISTS)
+                + ", duplicate=" + count(rows, ImportRowOutcome.DUPLICATE)
+                + ", invalid=" + count(rows, ImportRowOutcome.INVALID)
+                + ", durationMs=" + Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    private List<ImportRow> loadPendingRows(Long jobId) {
+        return jdbcTemplate.query(PENDING_ROWS_SQL, (rs, rowNum) -> {
+            ImportRow row = new ImportRow(rs.getLong("id"), rs.getLong("line"));
+            row.email = rs.getString("email");
+            row.password = rs.getString("password");
+            row.firstName = rs.getString("first_name");
+            row.lastName = rs.getString("last_name");
+            row.phoneNumber = rs.getString("phone_number");
+            String roleCodes = rs.getString("role_codes");
+            row.roleCodes = roleCodes == null || roleCodes.isEmpty() ? List.of() : List.of(roleCodes.split("\\|"));
+            return row;
+        }, jobId);
+    }
+
+    // ========== VALIDATION ==========
+
+    private List<ImportRow> validate(List<ImportRow> rows) {
+        Set<String> seenEmails = new HashSet<>();
+        List<ImportRow> valid = new ArrayList<>();
+        for (ImportRow row : rows) {
+            String error = validationError(row);
+            if (error != null) {
+                row.reject(ImportRowOutcome.INVALID, error);
+            } else if (!seenEmails.add(row.email.toLowerCase(Locale.ROOT))) {
+                row.reject(ImportRowOutcome.DUPLICATE, "Duplicate email in file");
+            } else {
+                valid.add(row);
+            }
+        }
+        return valid;
+    }
+
+    private String validationError(ImportRow row) {
+        if (row.email == null || row.email.length() > 100 || !row.email.matches("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$")) {
+            return "Invalid email";
+        }
+        if (row.password == null || row.password.length() > 100 || !PASSWORD_PATTERN.matcher(row.password).matches()) {
+            return "Password must be 8-100 characters with a digit, lowercase, uppercase and special character";
+        }
+        if (row.firstName == null || row.firstName.length() < 2) {
+            return "First name must be at least 2 characters";
+        }
+        if (row.fullName().length() > 100) {
+            return "Full name must not exceed 100 characters";
+        }
+        if (row.phoneNumber != null && (row.phoneNumber.length() > 20 || !PHONE_PATTERN.matcher(row.phoneNumber).matches())) {
+            return "Phone number format is invalid";
+        }
+        return null;
+    }
+
+    // semua role code di file di-resolve dengan satu query; baris tanpa role dapat role default
+    private List<ImportRow> resolveRoles(List<ImportRow> rows) {
+        List<String> codes = rows.stream().flatMap(row -> row.roleCodes.stream()).distinct().toList();
+        Map<String, Long> roleIds = new HashMap<>();
+        if (!codes.isEmpty()) {
+            for (Role role : roleRepository.findByCodes(codes)) {
+                roleIds.put(role.getCode(), role.getId());
+            }
+        }
+        Long defaultRoleId = roleRepository.findByDefaultRole(true).stream()
+                .findFirst()
+                .map(Role::getId)
+                .orElse(null);
+
+        List<ImportRow> resolved = new ArrayList<>();
+        for (ImportRow row : rows) {
+            Optional<String> unknown = row.roleCodes.stream().filter(code -> !roleIds.containsKey(code)).findFirst();
+            if (unknown.isPresent()) {
+                row.reject(ImportRowOutcome.INVALID, "Unknown role: " + unknown.get());
+                continue;
+            }
+            row.roleIds = row.roleCodes.isEmpty()
+                    ? (defaultRoleId != null ? List.of(defaultRoleId) : List.of())
+                    : row.roleCodes.stream().distinct().map(roleIds::get).toList();
+            resolved.add(row);
+        }
+        return resolved;
+    }
+
+    // satu query untuk semua email di file
+    private List<ImportRow> skipExisting(List<ImportRow> rows) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        String[] emails = rows.stream().map(row -> row.email.toLowerCase(Locale.ROOT)).toArray(String[]::new);
+        Set<String> existing = new HashSet<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("SELECT LOWER(email) FROM users WHERE LOWER(email) = ANY (?)");
+            ps.setArray(1, con.createArrayOf("text", emails));
+            return ps;
+        }, rs -> {
+            existing.add(rs.getString(1));
+        });
+
+        List<ImportRow> remaining = new ArrayList<>();
+        for (ImportRow row : rows) {
+            if (existing.contains(row.email.toLowerCase(Locale.ROOT))) {
+                row.reject(ImportRowOutcome.EXISTS, "Email already exists");
+            } else {
+                remaining.add(row);
+            }
+        }
+        return remaining;
+    }
+
+    // ========== INSERT ==========
+
+    private List<Long> insertChunk(List<ImportRow> chunk, Long createdBy) {
+        int size = chunk.size();
+        String[] emails = new String[size];
+        String[] passwords = new String[size];
+        String[] firstNames = new String[size];
+        String[] lastNames = new String[size];
+        String[] fullNames = new String[size];
+        String[] phones = new String[size];
+        for (int i = 0; i < size; i++) {
+            ImportRow row = chunk.get(i);
+            emails[i] = row.email;
+            passwords[i] = row.passwordHash;
+            firstNames[i] = row.firstName;
+            lastNames[i] = row.lastName;
+            fullNames[i] = row.fullName();
+            phones[i] = row.phoneNumber;
+        }
+
+        Map<String, Long> insertedIds = new HashMap<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_USERS_SQL);
+            ps.setObject(1, createdBy);
+            ps.setArray(2, con.createArrayOf("text", emails));
+            ps.setArray(3, con.createArrayOf("text", passwords));
+            ps.setArray(4, con.createArrayOf("text", firstNames));
+            ps.setArray(5, con.createArrayOf("text", lastNames));
+            ps.setArray(6, con.createArrayOf("text", fullNames));
+            ps.setArray(7, con.createArrayOf("text", phones));
+            return ps;
+        }, rs -> {
+            insertedIds.put(rs.getString("email"), rs.getLong("id"));
+        });
+
+        for (ImportRow row : chunk) {
+            row.userId = insertedIds.get(row.email);
+            if (row.userId != null) {
+                row.outcome = ImportRowOutcome.CREATED;
+            } else {
+                // dibuat request lain setelah pengecekan awal
+                row.reject(ImportRowOutcome.EXISTS, "Email already exists");
+            }
+        }
+        return new ArrayList<>(insertedIds.values());
+    }
+
+    private void insertUserRoles(List<ImportRow> rows) {
+        List<Long> userIds = new ArrayList<>();
+        List<Long> roleIds = new ArrayList<>();
+        for (ImportRow row : rows) {
+            if (row.outcome == ImportRowOutcome.CREATED) {
+                for (Long roleId : row.roleIds) {
+                    userIds.add(row.userId);
+                    roleIds.add(roleId);
+                }
+            }
+        }
+        if (userIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "INSERT INTO user_roles (user_id, role_id) SELECT * FROM unnest(?::int8[], ?::int8[])");
+            ps.setArray(1, con.createArrayOf("int8", userIds.toArray()));
+            ps.setArray(2, con.createArrayOf("int8", roleIds.toArray()));
+            return ps;
+        });
+    }
+
+    private void recordOutcomes(List<ImportRow> rows) {
+        jdbcTemplate.batchUpdate(RECORD_OUTCOME_SQL, rows, INSERT_CHUNK_SIZE, (ps, row) -> {
+            ps.setString(1, row.outcome.name());
+            ps.setObject(2, row.userId);
+            ps.setString(3, row.reason);
+            ps.setLong(4, row.id);
+        });
+    }
+
+    private static long count(List<ImportRow> rows, ImportRowOutcome outcome) {
+        return rows.stream().filter(row -> row.outcome == outcome).count();
+    }
+
+    // createdBy diambil saat upload; worker tidak punya security context
+    public record Payload(Long createdBy) {
+    }
+
+    private static final class ImportRow {
+        private final long id;
+        private final long line;
+        private String email;
+        private String password;
+        private String firstName;
+        private String lastName;
+        private String phoneNumber;
+        private List<String> roleCodes = List.of();
+        private List<Long> roleIds = List.of();
+        private volatile String passwordHash;     // diisi thread pool hash
+        private Long userId;
+        private ImportRowOutcome outcome;
+        private String reason;
+
+        private ImportRow(long id, long line) {
+            this.id = id;
+            this.line = line;
+        }
+
+        private String fullName() {
+            return lastName != null ? firstName + " " + lastName : firstName;
+        }
+
+        private void reject(ImportRowOutcome outcome, String reason) {
+            this.outcome = outcome;
+            this.reason = reason;
+        }
+    }
+}
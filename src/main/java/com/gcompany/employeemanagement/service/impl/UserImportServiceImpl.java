@@ -0,0 +1,288 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gcompany.employeemanagement.dto.resp.UserImportResult;
+import com.gcompany.employeemanagement.dto.resp.UserImportRow;
+import com.gcompany.employeemanagement.enums.ImportRowOutcome;
+import com.gcompany.employeemanagement.exception.BusinessRuleException;
+import com.gcompany.employeemanagement.exception.ResourceNotFoundException;
+import com.gcompany.employeemanagement.model.Job;
+import com.gcompany.employeemanagement.repository.JobRepository;
+import com.gcompany.employeemanagement.service.ClusterTaskService;
+import com.gcompany.employeemanagement.service.JobQueueService;
+import com.gcompany.employeemanagement.service.SecurityService;
+import com.gcompany.employeemanagement.service.UserImportService;
+import com.gcompany.employeemanagement.utils.CsvLineParser;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Bulk import user (onboarding site baru) dari CSV / NDJSON, dijalankan sebagai job users.import.
+ * 1. Upload: parse file, simpan semua baris ke user_import_rows dan enqueue job dalam satu transaksi,
+ *    lalu kembalikan id job. Tidak ada batas jumlah baris karena BCrypt tidak lagi berjalan di dalam request.
+ * 2. UserImportJobHandler memvalidasi, hash, dan insert, lalu menulis outcome per baris ke user_import_rows.
+ * 3. Hasil dibaca lewat id job: CREATED / EXISTS / DUPLICATE / INVALID per baris.
+ */
+@Service
+@Log4j2
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final int STAGE_BATCH_SIZE = 500;
+
+    private static final String STAGE_ROW_SQL =
+            "INSERT INTO user_import_rows (job_id, line, email, password, first_name, last_name, phone_number, " +
+                    "role_codes, outcome, reason) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String RESULT_ROWS_SQL =
+            "SELECT line, email, outcome, user_id, reason FROM user_import_rows WHERE job_id = ? ORDER BY line";
+
+    // baris staging ikut hilang setelah job-nya di-purge
+    private static final String PURGE_ORPHAN_ROWS_SQL =
+            "DELETE FROM user_import_rows WHERE NOT EXISTS (SELECT 1 FROM jobs j WHERE j.id = user_import_rows.job_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobQueueService jobQueueService;
+    private final JobRepository jobRepository;
+    private final ClusterTaskService clusterTaskService;
+    private final SecurityService securityService;
+    private final ObjectMapper objectMapper;
+
+    public UserImportServiceImpl(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 JobQueueService jobQueueService,
+                                 JobRepository jobRepository,
+                                 ClusterTaskService clusterTaskService,
+                                 SecurityService securityService,
+                                 ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobQueueService = jobQueueService;
+        this.jobRepository = jobRepository;
+        this.clusterTaskService = clusterTaskService;
+        this.securityService = securityService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public UserImportResult submitImport(InputStream file) throws IOException {
+        Long createdBy = securityService.getCurrentUserId();
+        List<ImportRow> rows = readRows(file);
+
+        Job job = transactionTemplate.execute(tx -> {
+            Job queued = jobQueueService.enqueue(UserImportJobHandler.TYPE, new UserImportJobHandler.Payload(createdBy));
+            jdbcTemplate.batchUpdate(STAGE_ROW_SQL, rows, STAGE_BATCH_SIZE, (ps, row) -> {
+                ps.setLong(1, queued.getId());
+                ps.setLong(2, row.line);
+                ps.setString(3, row.email);
+                ps.setString(4, row.password);
+                ps.setString(5, row.firstName);
+                ps.setString(6, row.lastName);
+                ps.setString(7, row.phoneNumber);
+                ps.setString(8, String.join("|", row.roleCodes));
+                if (row.outcome != null) {
+                    ps.setString(9, row.outcome.name());
+                } else {
+                    ps.setNull(9, Types.VARCHAR);
+                }
+                ps.setString(10, row.reason);
+            });
+            return queued;
+        });
+
+        log.info("User import job " + job.getId() + " queued with " + rows.size() + " rows");
+        return UserImportResult.builder()
+                .jobId(job.getId())
+                .status(job.getStatus())
+                .totalRows(rows.size())
+                .build();
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public UserImportResult getImportResult(Long jobId) {
+        Job job = jobRepository.findById(jobId)
+                .filter(found -> UserImportJobHandler.TYPE.equals(found.getType()))
+                .orElseThrow(() -> new ResourceNotFoundException("Import job not found with ID: " + jobId));
+
+        List<UserImportRow> rows = jdbcTemplate.query(RESULT_ROWS_SQL, (rs, rowNum) -> {
+            String outcome = rs.getString("outcome");
+            long userId = rs.getLong("user_id");
+            return UserImportRow.builder()
+                    .line(rs.getLong("line"))
+                    .email(rs.getString("email"))
+                    .outcome(outcome != null ? ImportRowOutcome.valueOf(outcome) : null)
+                    .userId(rs.wasNull() ? null : userId)
+                    .reason(rs.getString("reason"))
+                    .build();
+        }, jobId);
+
+        return UserImportResult.builder()
+                .jobId(job.getId())
+                .status(job.getStatus())
+                .totalRows(rows.size())
+                .createdRows(count(rows, ImportRowOutcome.CREATED))
+                .existingRows(count(rows, ImportRowOutcome.EXISTS))
+                .duplicateRows(count(rows, ImportRowOutcome.DUPLICATE))
+                .invalidRows(count(rows, ImportRowOutcome.INVALID))
+                .durationMs(job.getStartedAt() != null && job.getFinishedAt() != null
+                        ? Duration.between(job.getStartedAt(), job.getFinishedAt()).toMillis()
+                        : 0)
+                .rows(rows)
+                .build();
+    }
+
+    @Scheduled(cron = "${app.jobs.purge-cron:0 0 3 * * *}")
+    public void purgeOrphanRows() {
+        clusterTaskService.runExclusive("users.import.purge", () -> {
+            Integer deleted = transactionTemplate.execute(tx -> jdbcTemplate.update(PURGE_ORPHAN_ROWS_SQL));
+            log.info("Purged " + deleted + " staged user import rows of purged jobs");
+        });
+    }
+
+    // ========== PARSING ==========
+
+    private List<ImportRow> readRows(InputStream file) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(file, StandardCharsets.UTF_8));
+        List<ImportRow> rows = new ArrayList<>();
+        Map<String, Integer> header = null;
+        String line;
+        long lineNo = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (lineNo == 1 && line.startsWith("﻿")) {
+                line = line.substring(1);
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+
+            // NDJSON kalau baris data pertama berupa object JSON, selain itu CSV dengan header
+            boolean json = line.stripLeading().startsWith("{");
+            if (!json && header == null) {
+                header = parseHeader(line);
+                continue;
+            }
+            rows.add(json ? jsonRow(lineNo, line) : csvRow(lineNo, CsvLineParser.parse(line), header));
+        }
+        if (rows.isEmpty()) {
+            throw new BusinessRuleException("Import file is empty");
+        }
+        return rows;
+    }
+
+    private Map<String, Integer> parseHeader(String headerLine) {
+        Map<String, Integer> header = new HashMap<>();
+        List<String> columns = CsvLineParser.parse(headerLine);
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!header.containsKey("email") || !header.containsKey("password") || !header.containsKey("firstname")) {
+            throw new BusinessRuleException("Import file must have at least 'email', 'password' and 'firstName' columns");
+        }
+        return header;
+    }
+
+    private ImportRow csvRow(long lineNo, List<String> fields, Map<String, Integer> header) {
+        ImportRow row = new ImportRow(lineNo);
+        row.email = csvField(fields, header, "email");
+        row.password = csvField(fields, header, "password");
+        row.firstName = csvField(fields, header, "firstname");
+        row.lastName = csvField(fields, header, "lastname");
+        row.phoneNumber = csvField(fields, header, "phonenumber");
+        String roles = csvField(fields, header, "roles");
+        row.roleCodes = roles == null ? List.of() : splitRoles(roles);
+        return row;
+    }
+
+    // JSON rusak langsung di-stage sebagai INVALID, job hanya memproses baris yang outcome-nya kosong
+    private ImportRow jsonRow(long lineNo, String line) {
+        ImportRow row = new ImportRow(lineNo);
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            row.outcome = ImportRowOutcome.INVALID;
+            row.reason = "Invalid JSON: " + e.getOriginalMessage();
+            return row;
+        }
+        row.email = jsonField(node, "email");
+        row.password = jsonField(node, "password");
+        row.firstName = jsonField(node, "firstName");
+        row.lastName = jsonField(node, "lastName");
+        row.phoneNumber = jsonField(node, "phoneNumber");
+        JsonNode roles = node.get("roles");
+        if (roles != null && roles.isArray()) {
+            List<String> codes = new ArrayList<>();
+            roles.forEach(code -> codes.add(code.asText().trim().toUpperCase(Locale.ROOT)));
+            row.roleCodes = codes.stream().filter(code -> !code.isEmpty()).toList();
+        } else {
+            String value = jsonField(node, "roles");
+            row.roleCodes = value == null ? List.of() : splitRoles(value);
+        }
+        return row;
+    }
+
+    private String csvField(List<String> fields, Map<String, Integer> header, String column) {
+        Integer index = header.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private String jsonField(JsonNode node, String name) {
+        JsonNode value = node.get(name);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        String text = value.asText().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    // role code dipisah "|" atau ";"
+    private List<String> splitRoles(String value) {
+        return Arrays.stream(value.split("[|;]"))
+                .map(code -> code.trim().toUpperCase(Locale.ROOT))
+                .filter(code -> !code.isEmpty())
+                .toList();
+    }
+
+    private static long count(List<UserImportRow> rows, ImportRowOutcome outcome) {
+        return rows.stream().filter(row -> row.getOutcome() == outcome).count();
+    }
+
+    private static final class ImportRow {
+        private final long line;
+        private String email;
+        private String password;
+        private String firstName;
+        private String lastName;
+        private String phoneNumber;
+        private List<String> roleCodes = List.of();
+        private ImportRowOutcome outcome;
+        private String reason;
+
+        private ImportRow(long line) {
+            this.line = line;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.gcompany.employeemanagement.dto.projection.UserSearchEntryView;
+import com.gcompany.employeemanagement.model.UserSearchIndexVersion;
+import com.gcompany.employeemanagement.repository.UserRepository;
+import com.gcompany.employeemanagement.repository.UserSearchIndexVersionRepository;
+import com.gcompany.employeemanagement.service.UserSearchIndexService;
+import com.gcompany.employeemanagement.utils.NameSearchIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Index trigram nama + email user di memory untuk filter nama di list user / attendance.
+ * Diisi saat startup dan disinkronkan per user setelah commit. Perubahan dari node lain (termasuk job import)
+ * terdeteksi lewat user_search_index_version yang dinaikkan di transaksi yang sama: dicek tiap beberapa detik,
+ * index dibangun ulang kalau version berubah. Rebuild berkala tetap ada untuk update langsung ke DB.
+ */
+@Service
+@Slf4j
+public class UserSearchIndexServiceImpl implements UserSearchIndexService {
+
+    private final UserRepository userRepository;
+    private final UserSearchIndexVersionRepository versionRepository;
+    private final int maxIds;
+
+    // null = belum dimuat
+    private volatile NameSearchIndex index;
+    // version user_search_index_version saat index terakhir dibangun / di-patch
+    private volatile long loadedVersion = -1;
+
+    public UserSearchIndexServiceImpl(UserRepository userRepository,
+                                      UserSearchIndexVersionRepository versionRepository,
+                                      @Value("${app.users.search-index.max-ids:1000}") int maxIds) {
+        this.userRepository = userRepository;
+        this.versionRepository = versionRepository;
+        this.maxIds = maxIds;
+    }
+
+    @Override
+    public Optional<List<Long>> findUserIds(String keyword) {
+        NameSearchIndex current = index;
+        if (current == null || keyword == null || keyword.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(current.search(keyword, maxIds));
+    }
+
+    @Override
+    public void refreshUsers(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = Set.copyOf(userIds);
+        long version = bumpVersion();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyRefresh(ids, version);
+                }
+            });
+        } else {
+            applyRefresh(ids, version);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!versionRepository.existsById(UserSearchIndexVersion.ROW_ID)) {
+            try {
+                versionRepository.save(new UserSearchIndexVersion(UserSearchIndexVersion.ROW_ID, 0));
+            } catch (DataIntegrityViolationException e) {
+                // node lain membuatnya lebih dulu
+            }
+        }
+        reloadIndex();
+    }
+
+    // satu baris dibaca per pengecekan; rebuild penuh hanya kalau ada user yang berubah sejak load terakhir
+    @Scheduled(fixedDelayString = "${app.users.search-index.version-check-ms:5000}")
+    public void reloadIndexIfChanged() {
+        if (index != null && currentVersion() != loadedVersion) {
+            reloadIndex();
+        }
+    }
+
+    @Override
+    @Scheduled(cron = "${app.users.search-index.reload-cron:0 */15 * * * *}")
+    public void reloadIndex() {
+        // dibaca sebelum data user, perubahan yang commit di tengah load terdeteksi di pengecekan berikutnya
+        long version = currentVersion();
+        List<NameSearchIndex.Entry> entries = userRepository.findAllSearchEntries().stream()
+                .map(UserSearchIndexServiceImpl::toEntry)
+                .toList();
+        index = NameSearchIndex.build(entries);
+        loadedVersion = version;
+        log.info("User search index loaded with {} users (version {})", entries.size(), version);
+    }
+
+    private long currentVersion() {
+        return versionRepository.findVersion(UserSearchIndexVersion.ROW_ID).orElse(0L);
+    }
+
+    // version baru; dibaca di transaksi yang sama dengan UPDATE, jadi baris masih terkunci oleh transaksi ini
+    private long bumpVersion() {
+        if (versionRepository.bump(UserSearchIndexVersion.ROW_ID) == 0) {
+            // baris belum dibuat (mis. sebelum startup selesai)
+            versionRepository.save(new UserSearchIndexVersion(UserSearchIndexVersion.ROW_ID, 1));
+            return 1;
+        }
+        return currentVersion();
+    }
+
+    /**
+     * Patch entry user dari node ini. Kalau ada perubahan lain yang belum dimuat (node lain / request paralel),
+     * bangun ulang dari DB supaya perubahan itu ikut masuk.
+     */
+    private void applyRefresh(Set<Long> ids, long version) {
+        NameSearchIndex current = index;
+        if (current == null) {
+            return;
+        }
+        if (loadedVersion != version - 1) {
+            reloadIndex();
+            return;
+        }
+        Set<Long> missing = new HashSet<>(ids);
+        for (UserSearchEntryView row : userRepository.findSearchEntriesByIdIn(ids)) {
+            current.put(row.getId(), row.getFullName(), row.getEmail());
+            missing.remove(row.getId());
+        }
+        missing.forEach(current::remove);
+        if (loadedVersion == version - 1) {
+            loadedVersion = version;
+        }
+    }
+
+    private static NameSearchIndex.Entry toEntry(UserSearchEntryView row) {
+        return NameSearchIndex.Entry.of(row.getId(), row.getFullName(), row.getEmail());
+    }
+}
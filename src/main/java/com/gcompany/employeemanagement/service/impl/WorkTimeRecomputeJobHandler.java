@@ -0,0 +1,37 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gcompany.employeemanagement.model.Job;
+import com.gcompany.employeemanagement.service.AttendanceWorkTimeService;
+import com.gcompany.employeemanagement.service.JobHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Hitung ulang worked/overtime minutes di background (mis. setelah import CSV).
+ * Aman diulang: recompute hanya menulis baris yang nilainya berubah.
+ */
+@Component
+@RequiredArgsConstructor
+public class WorkTimeRecomputeJobHandler implements JobHandler {
+    public static final String TYPE = "attendance.work-time-recompute";
+
+    private final AttendanceWorkTimeService attendanceWorkTimeService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public void handle(Job job) throws Exception {
+        Payload payload = objectMapper.readValue(job.getPayload(), Payload.class);
+        attendanceWorkTimeService.recompute(payload.startDate(), payload.endDate());
+    }
+
+    public record Payload(LocalDate startDate, LocalDate endDate) {
+    }
+}
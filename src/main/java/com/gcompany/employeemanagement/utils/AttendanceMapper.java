@@ -1,5 +1,6 @@
 package com.gcompany.employeemanagement.utils;
 
+import com.gcompany.employeemanagement.dto.projection.AttendanceListView;
 import com.gcompany.employeemanagement.dto.resp.AttendanceResponse;
 import com.gcompany.employeemanagement.model.Attendance;
 import org.mapstruct.Mapper;
@@ -14,4 +15,7 @@ public interface AttendanceMapper {
     @Mapping(source = "user.email", target = "userEmail")
 //    @Mapping(source = "user.role", target = "userRole")
     AttendanceResponse toDTO(Attendance attendance);
+
+    @Mapping(target = "userRole", ignore = true)
+    AttendanceResponse toDTO(AttendanceListView attendance);
 }
@@ -0,0 +1,85 @@
+package com.gcompany.employeemanagement.utils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Badge karyawan untuk kiosk: "&lt;userId base36&gt;.&lt;HMAC-SHA256 dipotong 96 bit, base64url&gt;".
+ * Cukup pendek untuk QR kecil dan diverifikasi di memory tanpa query (beberapa mikrodetik).
+ * Semua badge dicabut sekaligus dengan mengganti secret.
+ */
+public final class BadgeSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_BYTES = 12;
+    private static final int SIGNATURE_CHARS = 16;     // base64url tanpa padding dari 12 byte
+    private static final byte[] DOMAIN = "kiosk-badge:".getBytes(StandardCharsets.US_ASCII);
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> mac;
+
+    public BadgeSigner(String secret) {
+        if (secret == null || secret.length() < 32) {
+            throw new IllegalArgumentException("Badge secret must be at least 32 characters");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public String sign(long userId) {
+        String id = Long.toString(userId, 36);
+        return id + "." + ENCODER.encodeToString(signature(id));
+    }
+
+    /**
+     * userId dari badge yang valid, atau -1 kalau format / signature salah.
+     */
+    public long verify(String badge) {
+        if (badge == null) {
+            return -1;
+        }
+        int dot = badge.indexOf('.');
+        if (dot <= 0 || badge.length() - dot - 1 != SIGNATURE_CHARS) {
+            return -1;
+        }
+        String id = badge.substring(0, dot);
+        long userId;
+        byte[] provided;
+        try {
+            userId = Long.parseLong(id, 36);
+            provided = DECODER.decode(badge.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+        if (userId <= 0 || !id.equals(Long.toString(userId, 36))) {
+            return -1;
+        }
+        return MessageDigest.isEqual(provided, signature(id)) ? userId : -1;
+    }
+
+    private byte[] signature(String id) {
+        Mac hmac = mac.get();
+        hmac.update(DOMAIN);
+        byte[] full = hmac.doFinal(id.getBytes(StandardCharsets.US_ASCII));
+        byte[] truncated = new byte[SIGNATURE_BYTES];
+        System.arraycopy(full, 0, truncated, 0, SIGNATURE_BYTES);
+        return truncated;
+    }
+
+    private Mac newMac() {
+        try {
+            Mac hmac = Mac.getInstance(ALGORITHM);
+            hmac.init(key);
+            return hmac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC not available", e);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.gcompany.employeemanagement.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * R-tree statis (STR bulk-load) untuk geofence kantor.
+ * Dibangun ulang penuh setiap data lokasi berubah; query titik turun hanya ke node yang
+ * bounding box-nya memuat titik, jadi ~O(log n) walaupun lokasi ratusan.
+ * Koordinat dalam derajat (lat/lng), tidak menangani lokasi yang melintasi garis 180°.
+ */
+public final class GeofenceIndex {
+
+    private static final int NODE_CAPACITY = 16;
+    private static final double METERS_PER_DEGREE_LAT = 111_320d;
+    private static final double EARTH_RADIUS_METERS = 6_371_000d;
+
+    private static final GeofenceIndex EMPTY = new GeofenceIndex(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private GeofenceIndex(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static GeofenceIndex empty() {
+        return EMPTY;
+    }
+
+    public static GeofenceIndex build(List<Geofence> fences) {
+        if (fences.isEmpty()) {
+            return EMPTY;
+        }
+
+        List<Node> level = new ArrayList<>();
+        for (List<Geofence> group : strGroups(new ArrayList<>(fences), f -> f.minLat, f -> f.maxLat, f -> f.minLng, f -> f.maxLng)) {
+            level.add(Node.leaf(group.toArray(Geofence[]::new)));
+        }
+        while (level.size() > 1) {
+            List<Node> parents = new ArrayList<>();
+            for (List<Node> group : strGroups(level, n -> n.minLat, n -> n.maxLat, n -> n.minLng, n -> n.maxLng)) {
+                parents.add(Node.branch(group.toArray(Node[]::new)));
+            }
+            level = parents;
+        }
+        return new GeofenceIndex(level.get(0), fences.size());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Geofence pertama yang memuat titik, atau null kalau di luar semua geofence.
+     */
+    public Geofence find(double lat, double lng) {
+        if (root == null || !root.covers(lat, lng)) {
+            return null;
+        }
+        Node[] stack = new Node[64];
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            Node node = stack[--top];
+            if (node.entries != null) {
+                for (Geofence fence : node.entries) {
+                    if (fence.covers(lat, lng) && fence.contains(lat, lng)) {
+                        return fence;
+                    }
+                }
+                continue;
+            }
+            for (Node child : node.children) {
+                if (child.covers(lat, lng)) {
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
+                    }
+                    stack[top++] = child;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Sort-Tile-Recursive: irisan vertikal berdasarkan lng, lalu urutkan per lat di tiap irisan
+    private static <T> List<List<T>> strGroups(List<T> items,
+                                               Bound<T> minLat, Bound<T> maxLat,
+                                               Bound<T> minLng, Bound<T> maxLng) {
+        int leafCount = (int) Math.ceil(items.size() / (double) NODE_CAPACITY);
+        int sliceCount = (int) Math.ceil(Math.sqrt(leafCount));
+        int sliceSize = sliceCount * NODE_CAPACITY;
+
+        items.sort(Comparator.comparingDouble(t -> minLng.of(t) + maxLng.of(t)));
+        List<List<T>> groups = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += sliceSize) {
+            List<T> slice = new ArrayList<>(items.subList(i, Math.min(i + sliceSize, items.size())));
+            slice.sort(Comparator.comparingDouble(t -> minLat.of(t) + maxLat.of(t)));
+            for (int j = 0; j < slice.size(); j += NODE_CAPACITY) {
+                groups.add(slice.subList(j, Math.min(j + NODE_CAPACITY, slice.size())));
+            }
+        }
+        return groups;
+    }
+
+    @FunctionalInterface
+    private interface Bound<T> {
+        double of(T item);
+    }
+
+    private static final class Node {
+        private final double minLat, minLng, maxLat, maxLng;
+        private final Node[] children;
+        private final Geofence[] entries;
+
+        private Node(double minLat, double minLng, double maxLat, double maxLng, Node[] children, Geofence[] entries) {
+            this.minLat = minLat;
+            this.minLng = minLng;
+            this.maxLat = maxLat;
+            this.maxLng = maxLng;
+            this.children = children;
+            this.entries = entries;
+        }
+
+        static Node leaf(Geofence[] entries) {
+            double minLat = Double.MAX_VALUE, minLng = Double.MAX_VALUE;
+            double maxLat = -Double.MAX_VALUE, maxLng = -Double.MAX_VALUE;
+            for (Geofence f : entries) {
+                minLat = Math.min(minLat, f.minLat);
+                minLng = Math.min(minLng, f.minLng);
+                maxLat = Math.max(maxLat, f.maxLat);
+                maxLng = Math.max(maxLng, f.maxLng);
+            }
+            return new Node(minLat, minLng, maxLat, maxLng, null, entries);
+        }
+
+        static Node branch(Node[] children) {
+            double minLat = Double.MAX_VALUE, minLng = Double.MAX_VALUE;
+            double maxLat = -Double.MAX_VALUE, maxLng = -Double.MAX_VALUE;
+            for (Node n : children) {
+                minLat = Math.min(minLat, n.minLat);
+                minLng = Math.min(minLng, n.minLng);
+                maxLat = Math.max(maxLat, n.maxLat);
+                maxLng = Math.max(maxLng, n.maxLng);
+            }
+            return new Node(minLat, minLng, maxLat, maxLng, children, null);
+        }
+
+        boolean covers(double lat, double lng) {
+            return lat >= minLat && lat <= maxLat && lng >= minLng && lng <= maxLng;
+        }
+    }
+
+    /**
+     * Satu geofence: lingkaran (pusat + radius meter) atau poligon (titik lat/lng berurutan).
+     */
+    public static final class Geofence {
+        private final long id;
+        private final double minLat, minLng, maxLat, maxLng;
+
+        // radius
+        private final double centerLat, centerLng, radiusMeters;
+
+        // polygon
+        private final double[] lats, lngs;
+
+        private Geofence(long id, double minLat, double minLng, double maxLat, double maxLng,
+                         double centerLat, double centerLng, double radiusMeters,
+                         double[] lats, double[] lngs) {
+            this.id = id;
+            this.minLat = minLat;
+            this.minLng = minLng;
+            this.maxLat = maxLat;
+            this.maxLng = maxLng;
+            this.centerLat = centerLat;
+            this.centerLng = centerLng;
+            this.radiusMeters = radiusMeters;
+            this.lats = lats;
+            this.lngs = lngs;
+        }
+
+        public static Geofence radius(long id, double lat, double lng, double radiusMeters) {
+            double dLat = radiusMeters / METERS_PER_DEGREE_LAT;
+            double dLng = radiusMeters / (METERS_PER_DEGREE_LAT * Math.max(Math.cos(Math.toRadians(lat)), 1e-6));
+            return new Geofence(id, lat - dLat, lng - dLng, lat + dLat, lng + dLng,
+                    lat, lng, radiusMeters, null, null);
+        }
+
+        public static Geofence polygon(long id, double[] lats, double[] lngs) {
+            if (lats.length < 3 || lats.length != lngs.length) {
+                throw new IllegalArgumentException("Polygon needs at least 3 points");
+            }
+            double minLat = Double.MAX_VALUE, minLng = Double.MAX_VALUE;
+            double maxLat = -Double.MAX_VALUE, maxLng = -Double.MAX_VALUE;
+            for (int i = 0; i < lats.length; i++) {
+                minLat = Math.min(minLat, lats[i]);
+                minLng = Math.min(minLng, lngs[i]);
+                maxLat = Math.max(maxLat, lats[i]);
+                maxLng = Math.max(maxLng, lngs[i]);
+            }
+            return new Geofence(id, minLat, minLng, maxLat, maxLng, 0, 0, 0, lats.clone(), lngs.clone());
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        boolean covers(double lat, double lng) {
+            return lat >= minLat && lat <= maxLat && lng >= minLng && lng <= maxLng;
+        }
+
+        boolean contains(double lat, double lng) {
+            if (lats == null) {
+                return distanceMeters(centerLat, centerLng, lat, lng) <= radiusMeters;
+            }
+            // ray casting
+            boolean inside = false;
+            for (int i = 0, j = lats.length - 1; i < lats.length; j = i++) {
+                if ((lats[i] > lat) != (lats[j] > lat)
+                        && lng < (lngs[j] - lngs[i]) * (lat - lats[i]) / (lats[j] - lats[i]) + lngs[i]) {
+                    inside = !inside;
+                }
+            }
+            return inside;
+        }
+    }
+
+    // haversine
+    public static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
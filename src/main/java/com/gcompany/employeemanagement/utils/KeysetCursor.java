@@ -0,0 +1,39 @@
+package com.gcompany.employeemanagement.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaque untuk pagination keyset: posisi baris terakhir (id + sort key opsional),
+ * dikirim ke client sebagai base64url "&lt;id&gt;|&lt;key&gt;".
+ */
+public record KeysetCursor(long id, String key) {
+
+    public static final KeysetCursor START = new KeysetCursor(0L, "");
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public String encode() {
+        String raw = key == null ? Long.toString(id) : id + "|" + key;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Cursor dari client; null / kosong = halaman pertama.
+     *
+     * @throws IllegalArgumentException kalau cursor tidak valid
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        String raw = new String(DECODER.decode(cursor.trim()), StandardCharsets.UTF_8);
+        int separator = raw.indexOf('|');
+        long id = Long.parseLong(separator < 0 ? raw : raw.substring(0, separator));
+        if (id < 0) {
+            throw new IllegalArgumentException("Negative cursor id");
+        }
+        return new KeysetCursor(id, separator < 0 ? "" : raw.substring(separator + 1));
+    }
+}
@@ -0,0 +1,196 @@
+package com.gcompany.employeemanagement.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index trigram in-memory untuk pencarian substring nama / email user (setara LOWER(x) LIKE '%q%').
+ * Query >= 3 karakter: irisan posting list trigram lalu verifikasi contains, tanpa scan semua user.
+ * Query 1-2 karakter: scan entry di memory.
+ * Hasil diurutkan: nama sama persis, awalan nama, awalan kata di nama, substring nama, lalu match email.
+ */
+public final class NameSearchIndex {
+
+    private static final int GRAM = 3;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Long, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public static NameSearchIndex build(List<Entry> entries) {
+        NameSearchIndex index = new NameSearchIndex();
+        for (Entry entry : entries) {
+            index.addUnlocked(entry);
+        }
+        return index;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tambah atau ganti entry user (nama / email baru).
+     */
+    public void put(long id, String fullName, String email) {
+        Entry entry = Entry.of(id, fullName, email);
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+            addUnlocked(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Id user yang nama atau email-nya memuat query (case-insensitive), terurut relevansi,
+     * atau null kalau jumlah match lebih dari limit (caller sebaiknya pakai query DB biasa).
+     */
+    public List<Long> search(String query, int limit) {
+        String q = normalize(query);
+        List<Entry> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (q.length() < GRAM) {
+                for (Entry entry : entries.values()) {
+                    if (entry.matches(q) && !add(matches, entry, limit)) {
+                        return null;
+                    }
+                }
+            } else {
+                for (Long id : candidates(q)) {
+                    Entry entry = entries.get(id);
+                    if (entry.matches(q) && !add(matches, entry, limit)) {
+                        return null;
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(Comparator.<Entry>comparingInt(e -> e.rank(q))
+                .thenComparing(Entry::name)
+                .thenComparingLong(Entry::id));
+        return matches.stream().map(Entry::id).toList();
+    }
+
+    public static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean add(List<Entry> matches, Entry entry, int limit) {
+        if (matches.size() >= limit) {
+            return false;
+        }
+        matches.add(entry);
+        return true;
+    }
+
+    // posting list terkecil dulu, lalu saring dengan posting list trigram lainnya
+    private Set<Long> candidates(String q) {
+        List<Set<Long>> lists = new ArrayList<>();
+        for (long gram : grams(q)) {
+            Set<Long> posting = postings.get(gram);
+            if (posting == null) {
+                return Set.of();
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private void addUnlocked(Entry entry) {
+        entries.put(entry.id(), entry);
+        for (long gram : entryGrams(entry)) {
+            postings.computeIfAbsent(gram, g -> new HashSet<>()).add(entry.id());
+        }
+    }
+
+    private void removeUnlocked(long id) {
+        Entry old = entries.remove(id);
+        if (old == null) {
+            return;
+        }
+        for (long gram : entryGrams(old)) {
+            Set<Long> posting = postings.get(gram);
+            if (posting != null && posting.remove(id) && posting.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static Set<Long> entryGrams(Entry entry) {
+        Set<Long> grams = grams(entry.name());
+        grams.addAll(grams(entry.email()));
+        return grams;
+    }
+
+    // trigram dikemas ke long: 3 char x 16 bit
+    private static Set<Long> grams(String value) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    /**
+     * Nama / email sudah dinormalisasi (lowercase).
+     */
+    public record Entry(long id, String name, String email) {
+
+        public static Entry of(long id, String fullName, String email) {
+            return new Entry(id, normalize(fullName), normalize(email));
+        }
+
+        boolean matches(String q) {
+            return name.contains(q) || email.contains(q);
+        }
+
+        int rank(String q) {
+            if (name.equals(q)) {
+                return 0;
+            }
+            if (name.startsWith(q)) {
+                return 1;
+            }
+            if (name.contains(" " + q)) {
+                return 2;
+            }
+            if (name.contains(q)) {
+                return 3;
+            }
+            return email.startsWith(q) ? 4 : 5;
+        }
+    }
+}
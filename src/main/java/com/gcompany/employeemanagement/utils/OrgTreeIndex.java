@@ -0,0 +1,180 @@
+package com.gcompany.employeemanagement.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Pohon organisasi (user -> manager) di memory dengan label interval pre-order.
+ * Tiap user punya posisi pre-order dan akhir subtree-nya (eksklusif):
+ * - "Y ada di tim X" (bawahan langsung / tidak langsung) = pos(X) < pos(Y) < end(X), O(1).
+ * - Tim X = order[pos(X) + 1 .. end(X)), satu potongan array yang bersebelahan.
+ * Perpindahan manager mengubah struktur di tempat lalu label dihitung ulang sekali jalan, tanpa reload DB.
+ * Baca lewat snapshot label immutable; tulis disinkronkan.
+ */
+public final class OrgTreeIndex {
+
+    private final Map<Long, Long> managerOf = new HashMap<>();
+    private final Map<Long, TreeSet<Long>> reportsOf = new HashMap<>();
+
+    private volatile Labels labels = Labels.EMPTY;
+
+    /**
+     * @param managerByUser user id -> manager id (null = tidak punya manager)
+     */
+    public static OrgTreeIndex build(Map<Long, Long> managerByUser) {
+        OrgTreeIndex index = new OrgTreeIndex();
+        managerByUser.forEach((userId, managerId) -> {
+            index.managerOf.put(userId, managerId);
+            if (managerId != null) {
+                index.managerOf.putIfAbsent(managerId, null);
+                index.reportsOf.computeIfAbsent(managerId, id -> new TreeSet<>()).add(userId);
+            }
+        });
+        index.relabel();
+        return index;
+    }
+
+    public int size() {
+        return labels.order().length;
+    }
+
+    public boolean isInTeam(long managerId, long userId) {
+        Labels current = labels;
+        Integer manager = current.position().get(managerId);
+        Integer user = current.position().get(userId);
+        return manager != null && user != null && user > manager && user < current.end()[manager];
+    }
+
+    /**
+     * Semua bawahan langsung dan tidak langsung, urut pre-order (manager selalu sebelum timnya).
+     */
+    public List<Long> team(long managerId) {
+        Labels current = labels;
+        Integer manager = current.position().get(managerId);
+        if (manager == null) {
+            return List.of();
+        }
+        int end = current.end()[manager];
+        List<Long> team = new ArrayList<>(end - manager - 1);
+        for (int i = manager + 1; i < end; i++) {
+            team.add(current.order()[i]);
+        }
+        return team;
+    }
+
+    /**
+     * Pindahkan user (beserta timnya) ke manager baru, atau jadikan root kalau managerId null.
+     *
+     * @throws IllegalArgumentException kalau manager baru adalah user itu sendiri atau anggota timnya
+     */
+    public synchronized void setManager(long userId, Long managerId) {
+        if (managerId != null && (managerId == userId || isInTeam(userId, managerId))) {
+            throw new IllegalArgumentException("Reporting line " + userId + " -> " + managerId + " would create a cycle");
+        }
+        detach(userId);
+        managerOf.put(userId, managerId);
+        if (managerId != null) {
+            managerOf.putIfAbsent(managerId, null);
+            reportsOf.computeIfAbsent(managerId, id -> new TreeSet<>()).add(userId);
+        }
+        relabel();
+    }
+
+    /**
+     * Hapus user; bawahan langsungnya menjadi root (sama dengan ON DELETE SET NULL di DB).
+     */
+    public synchronized void remove(long userId) {
+        if (!managerOf.containsKey(userId)) {
+            return;
+        }
+        detach(userId);
+        managerOf.remove(userId);
+        TreeSet<Long> reports = reportsOf.remove(userId);
+        if (reports != null) {
+            for (Long report : reports) {
+                managerOf.put(report, null);
+            }
+        }
+        relabel();
+    }
+
+    private void detach(long userId) {
+        Long oldManager = managerOf.get(userId);
+        if (oldManager != null) {
+            TreeSet<Long> siblings = reportsOf.get(oldManager);
+            if (siblings != null && siblings.remove(userId) && siblings.isEmpty()) {
+                reportsOf.remove(oldManager);
+            }
+        }
+    }
+
+    // DFS iteratif dari semua root (id terurut), lalu ukuran subtree dihitung mundur dari urutan pre-order
+    private void relabel() {
+        int n = managerOf.size();
+        Map<Long, Integer> position = new HashMap<>(n * 4 / 3 + 1);
+        long[] order = new long[n];
+
+        List<Long> roots = new ArrayList<>();
+        managerOf.forEach((userId, managerId) -> {
+            if (managerId == null) {
+                roots.add(userId);
+            }
+        });
+        roots.sort(null);
+
+        int next = visit(roots, position, order, 0);
+        while (next < n) {
+            // data DB berisi siklus: putus di user dengan id terkecil yang belum terjangkau
+            long orphan = managerOf.keySet().stream()
+                    .filter(id -> !position.containsKey(id))
+                    .min(Long::compare)
+                    .orElseThrow();
+            detach(orphan);
+            managerOf.put(orphan, null);
+            next = visit(List.of(orphan), position, order, next);
+        }
+
+        int[] end = new int[n];
+        for (int i = n - 1; i >= 0; i--) {
+            end[i] += 1;
+            Long managerId = managerOf.get(order[i]);
+            if (managerId != null) {
+                end[position.get(managerId)] += end[i];
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            end[i] += i;
+        }
+        labels = new Labels(Map.copyOf(position), order, end);
+    }
+
+    private int visit(List<Long> roots, Map<Long, Integer> position, long[] order, int next) {
+        Deque<Long> stack = new ArrayDeque<>();
+        for (int i = roots.size() - 1; i >= 0; i--) {
+            stack.push(roots.get(i));
+        }
+        while (!stack.isEmpty()) {
+            long userId = stack.pop();
+            position.put(userId, next);
+            order[next++] = userId;
+            TreeSet<Long> reports = reportsOf.get(userId);
+            if (reports != null) {
+                Iterator<Long> it = reports.descendingIterator();
+                while (it.hasNext()) {
+                    stack.push(it.next());
+                }
+            }
+        }
+        return next;
+    }
+
+    private record Labels(Map<Long, Integer> position, long[] order, int[] end) {
+        private static final Labels EMPTY = new Labels(Map.of(), new long[0], new int[0]);
+    }
+}
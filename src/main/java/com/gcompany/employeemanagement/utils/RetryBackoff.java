@@ -0,0 +1,32 @@
+package com.gcompany.employeemanagement.utils;
+
+import java.time.Duration;
+
+/**
+ * Exponential backoff dengan batas atas dan jitter: base * 2^(attempt-1), dibatasi max,
+ * lalu diacak di rentang [delay/2, delay) supaya job yang gagal bersamaan tidak retry bersamaan.
+ */
+public final class RetryBackoff {
+
+    private final long baseMs;
+    private final long maxMs;
+
+    public RetryBackoff(Duration base, Duration max) {
+        if (base.isNegative() || base.isZero() || max.compareTo(base) < 0) {
+            throw new IllegalArgumentException("Backoff requires 0 < base <= max");
+        }
+        this.baseMs = base.toMillis();
+        this.maxMs = max.toMillis();
+    }
+
+    /**
+     * @param attempt percobaan yang baru gagal, mulai dari 1
+     * @param jitter  angka acak di [0, 1)
+     */
+    public Duration delay(int attempt, double jitter) {
+        int shift = Math.min(Math.max(attempt, 1) - 1, 62);
+        long delay = baseMs > (maxMs >> shift) ? maxMs : baseMs << shift;
+        long half = delay / 2;
+        return Duration.ofMillis(half + (long) ((delay - half) * jitter));
+    }
+}
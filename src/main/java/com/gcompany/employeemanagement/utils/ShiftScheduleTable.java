@@ -0,0 +1,364 @@
+package com.gcompany.employeemanagement.utils;
+
+import com.gcompany.employeemanagement.enums.AttendanceStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Jadwal shift yang sudah "dikompilasi" ke tabel per hari untuk rentang tanggal tertentu.
+ * Lookup status check-in/out hanya akses array primitif (tanpa query, tanpa alokasi).
+ * Urutan resolusi per hari: libur perusahaan -> libur department -> assignment user
+ * -> assignment department -> shift default (index 0) di hari kerja default, selain itu OFF.
+ */
+public final class ShiftScheduleTable {
+
+    public static final short NO_SCHEDULE = -1;   // ikut level berikutnya
+    public static final short OFF = -2;           // hari off dari pola rotasi / workDays
+    public static final short HOLIDAY = -3;       // libur (menimpa assignment user)
+
+    public static final int DEFAULT_SHIFT = 0;
+
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    private final long baseEpochDay;
+    private final int days;
+
+    // definisi shift dalam detik sejak 00:00; index 0 = shift default
+    private final int[] startSecond;
+    private final int[] endSecond;
+    private final int[] lateToleranceSeconds;
+    private final int[] earlyToleranceSeconds;
+    // hari kerja shift default, index 0 = Senin
+    private final boolean[] defaultWorkDays;
+
+    private final boolean[] companyHoliday;
+    private final LongIntMap departmentSlots;
+    private final short[][] departmentDays;
+    private final LongIntMap userSlots;
+    private final short[][] userDays;
+
+    private ShiftScheduleTable(Builder builder) {
+        this.baseEpochDay = builder.baseEpochDay;
+        this.days = builder.days;
+        int shifts = builder.shiftCount;
+        this.startSecond = Arrays.copyOf(builder.startSecond, shifts);
+        this.endSecond = Arrays.copyOf(builder.endSecond, shifts);
+        this.lateToleranceSeconds = Arrays.copyOf(builder.lateToleranceSeconds, shifts);
+        this.earlyToleranceSeconds = Arrays.copyOf(builder.earlyToleranceSeconds, shifts);
+        this.defaultWorkDays = builder.defaultWorkDays.clone();
+        this.companyHoliday = builder.companyHoliday;
+        this.departmentSlots = builder.departmentSlots;
+        this.departmentDays = Arrays.copyOf(builder.departmentDays, builder.departmentCount);
+        this.userSlots = builder.userSlots;
+        this.userDays = Arrays.copyOf(builder.userDays, builder.userCount);
+    }
+
+    public static Builder builder(LocalDate from, int days, int defaultStartMinute, int defaultEndMinute) {
+        return new Builder(from.toEpochDay(), days, defaultStartMinute, defaultEndMinute);
+    }
+
+    public LocalDate getFrom() {
+        return LocalDate.ofEpochDay(baseEpochDay);
+    }
+
+    public LocalDate getTo() {
+        return LocalDate.ofEpochDay(baseEpochDay + days - 1);
+    }
+
+    /**
+     * Index shift untuk user pada hari tersebut, atau OFF / HOLIDAY.
+     * departmentId boleh null (user tanpa department).
+     */
+    public int shiftFor(long userId, Long departmentId, long epochDay) {
+        int day = (int) (epochDay - baseEpochDay);
+        if (day < 0 || day >= days) {
+            return defaultShift(epochDay);
+        }
+        if (companyHoliday[day]) {
+            return HOLIDAY;
+        }
+
+        short departmentValue = NO_SCHEDULE;
+        if (departmentId != null) {
+            int slot = departmentSlots.get(departmentId);
+            if (slot >= 0) {
+                departmentValue = departmentDays[slot][day];
+                if (departmentValue == HOLIDAY) {
+                    return HOLIDAY;
+                }
+            }
+        }
+
+        int userSlot = userSlots.get(userId);
+        if (userSlot >= 0 && userDays[userSlot][day] != NO_SCHEDULE) {
+            return userDays[userSlot][day];
+        }
+        return departmentValue != NO_SCHEDULE ? departmentValue : defaultShift(epochDay);
+    }
+
+    /**
+     * Detik sejak 00:00 tanggal attendance saat shift hari itu selesai (bisa > 1 hari untuk shift malam).
+     * Hari off / libur tidak punya jam pulang: dianggap selesai di akhir hari.
+     */
+    public long shiftEndSecond(long userId, Long departmentId, long epochDay) {
+        int shift = shiftFor(userId, departmentId, epochDay);
+        return shift >= 0 ? shiftEnd(shift) : SECONDS_PER_DAY;
+    }
+
+    /**
+     * PRESENT / LATE untuk check-in pada waktu lokal tersebut (tanggal attendance = tanggal check-in).
+     * Check-in setelah tengah malam untuk shift malam kemarin yang belum selesai dihitung LATE.
+     */
+    public AttendanceStatus classifyCheckIn(long userId, Long departmentId, LocalDateTime checkin) {
+        long epochDay = checkin.toLocalDate().toEpochDay();
+        int second = checkin.toLocalTime().toSecondOfDay();
+
+        int previous = shiftFor(userId, departmentId, epochDay - 1);
+        if (previous >= 0 && crossesMidnight(previous) && second < endSecond[previous]) {
+            return AttendanceStatus.LATE;
+        }
+
+        int shift = shiftFor(userId, departmentId, epochDay);
+        if (shift < 0) {
+            // masuk di hari off / libur: tidak ada jam masuk yang bisa dilanggar
+            return AttendanceStatus.PRESENT;
+        }
+        return second > startSecond[shift] + lateToleranceSeconds[shift]
+                ? AttendanceStatus.LATE
+                : AttendanceStatus.PRESENT;
+    }
+
+    /**
+     * true kalau checkout sebelum jam pulang shift (dikurangi toleransi) untuk attendance di tanggal tersebut.
+     */
+    public boolean isEarlyLeave(long userId, Long departmentId, LocalDate attendanceDate, LocalDateTime checkout) {
+        long epochDay = attendanceDate.toEpochDay();
+        int shift = shiftFor(userId, departmentId, epochDay);
+        if (shift < 0) {
+            return false;
+        }
+        return secondsFrom(epochDay, checkout) < shiftEnd(shift) - earlyToleranceSeconds[shift];
+    }
+
+    /**
+     * Detik lembur untuk attendance di tanggal tersebut: di hari kerja = waktu kerja setelah jam pulang shift,
+     * di hari off / libur = seluruh durasi kerja.
+     */
+    public long overtimeSeconds(long userId, Long departmentId, LocalDate attendanceDate,
+                                LocalDateTime checkin, LocalDateTime checkout) {
+        long epochDay = attendanceDate.toEpochDay();
+        long in = secondsFrom(epochDay, checkin);
+        long out = secondsFrom(epochDay, checkout);
+        if (out <= in) {
+            return 0;
+        }
+        int shift = shiftFor(userId, departmentId, epochDay);
+        if (shift < 0) {
+            return out - in;
+        }
+        return Math.max(0, out - Math.max(in, shiftEnd(shift)));
+    }
+
+    // detik sejak 00:00 tanggal attendance (bisa > 1 hari untuk shift malam)
+    private static long secondsFrom(long epochDay, LocalDateTime time) {
+        return (time.toLocalDate().toEpochDay() - epochDay) * SECONDS_PER_DAY + time.toLocalTime().toSecondOfDay();
+    }
+
+    private long shiftEnd(int shift) {
+        return endSecond[shift] + (crossesMidnight(shift) ? SECONDS_PER_DAY : 0);
+    }
+
+    private boolean crossesMidnight(int shift) {
+        return endSecond[shift] <= startSecond[shift];
+    }
+
+    private int defaultShift(long epochDay) {
+        // 1970-01-01 hari Kamis
+        return defaultWorkDays[Math.floorMod(epochDay + 3, 7)] ? DEFAULT_SHIFT : OFF;
+    }
+
+    public static final class Builder {
+        private final long baseEpochDay;
+        private final int days;
+
+        private int shiftCount;
+        private int[] startSecond = new int[8];
+        private int[] endSecond = new int[8];
+        private int[] lateToleranceSeconds = new int[8];
+        private int[] earlyToleranceSeconds = new int[8];
+        private final boolean[] defaultWorkDays = {true, true, true, true, true, true, true};
+
+        private final boolean[] companyHoliday;
+        private final LongIntMap departmentSlots = new LongIntMap();
+        private short[][] departmentDays = new short[8][];
+        private int departmentCount;
+        private final LongIntMap userSlots = new LongIntMap();
+        private short[][] userDays = new short[8][];
+        private int userCount;
+
+        private Builder(long baseEpochDay, int days, int defaultStartMinute, int defaultEndMinute) {
+            this.baseEpochDay = baseEpochDay;
+            this.days = days;
+            this.companyHoliday = new boolean[days];
+            addShift(defaultStartMinute, defaultEndMinute, 0, 0);
+        }
+
+        /**
+         * Tambah definisi shift, return index-nya.
+         */
+        public int addShift(int startMinute, int endMinute, int lateToleranceMinutes, int earlyToleranceMinutes) {
+            if (shiftCount == startSecond.length) {
+                int size = shiftCount * 2;
+                startSecond = Arrays.copyOf(startSecond, size);
+                endSecond = Arrays.copyOf(endSecond, size);
+                lateToleranceSeconds = Arrays.copyOf(lateToleranceSeconds, size);
+                earlyToleranceSeconds = Arrays.copyOf(earlyToleranceSeconds, size);
+            }
+            startSecond[shiftCount] = startMinute * 60;
+            endSecond[shiftCount] = endMinute * 60;
+            lateToleranceSeconds[shiftCount] = lateToleranceMinutes * 60;
+            earlyToleranceSeconds[shiftCount] = earlyToleranceMinutes * 60;
+            return shiftCount++;
+        }
+
+        /**
+         * Hari kerja shift default (index 0 = Senin); default semua hari.
+         */
+        public Builder defaultWorkDays(boolean[] workDays) {
+            System.arraycopy(workDays, 0, defaultWorkDays, 0, defaultWorkDays.length);
+            return this;
+        }
+
+        public Builder companyHoliday(LocalDate date) {
+            int day = dayIndex(date);
+            if (day >= 0) {
+                companyHoliday[day] = true;
+            }
+            return this;
+        }
+
+        public Builder departmentHoliday(long departmentId, LocalDate date) {
+            return departmentDay(departmentId, date, HOLIDAY);
+        }
+
+        public Builder departmentDay(long departmentId, LocalDate date, int value) {
+            int day = dayIndex(date);
+            if (day >= 0) {
+                short[] row = departmentRow(departmentId);
+                // libur department tidak ditimpa jadwal
+                if (row[day] != HOLIDAY) {
+                    row[day] = (short) value;
+                }
+            }
+            return this;
+        }
+
+        public Builder userDay(long userId, LocalDate date, int value) {
+            int day = dayIndex(date);
+            if (day >= 0) {
+                userRow(userId)[day] = (short) value;
+            }
+            return this;
+        }
+
+        public ShiftScheduleTable build() {
+            return new ShiftScheduleTable(this);
+        }
+
+        private int dayIndex(LocalDate date) {
+            long day = date.toEpochDay() - baseEpochDay;
+            return day < 0 || day >= days ? -1 : (int) day;
+        }
+
+        private short[] departmentRow(long departmentId) {
+            int slot = departmentSlots.get(departmentId);
+            if (slot < 0) {
+                if (departmentCount == departmentDays.length) {
+                    departmentDays = Arrays.copyOf(departmentDays, departmentCount * 2);
+                }
+                slot = departmentCount++;
+                departmentSlots.put(departmentId, slot);
+                departmentDays[slot] = newRow();
+            }
+            return departmentDays[slot];
+        }
+
+        private short[] userRow(long userId) {
+            int slot = userSlots.get(userId);
+            if (slot < 0) {
+                if (userCount == userDays.length) {
+                    userDays = Arrays.copyOf(userDays, userCount * 2);
+                }
+                slot = userCount++;
+                userSlots.put(userId, slot);
+                userDays[slot] = newRow();
+            }
+            return userDays[slot];
+        }
+
+        private short[] newRow() {
+            short[] row = new short[days];
+            Arrays.fill(row, NO_SCHEDULE);
+            return row;
+        }
+    }
+
+    /**
+     * Hash map long -> int (open addressing) supaya lookup id tidak perlu boxing.
+     */
+    private static final class LongIntMap {
+        private long[] keys = new long[16];
+        private int[] values = new int[16];
+        private boolean[] used = new boolean[16];
+        private int size;
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = mix(key) & mask; used[i]; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return -1;
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int i = mix(key) & mask;
+            while (used[i] && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (!used[i]) {
+                used[i] = true;
+                size++;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            boolean[] oldUsed = used;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            used = new boolean[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
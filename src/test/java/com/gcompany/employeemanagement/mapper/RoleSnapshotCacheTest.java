@@ -0,0 +1,102 @@
+package com.gcompany.employeemanagement.mapper;
+
+import com.gcompany.employeemanagement.enums.ActionType;
+import com.gcompany.employeemanagement.enums.ResourceType;
+import com.gcompany.employeemanagement.model.Permission;
+import com.gcompany.employeemanagement.model.Role;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoleSnapshotCacheTest {
+
+    private final RoleSnapshotCache cache = new RoleSnapshotCache();
+
+    @Test
+    void sameRoleSetSharesOneSnapshotUntilInvalidated() {
+        Role admin = role(1L, "ADMIN", "user:read", "user:delete");
+        Role hr = role(2L, "HR", "user:read", "attendance:export");
+
+        RoleSnapshotCache.RoleSnapshot first = cache.get(Set.of(admin, hr));
+        RoleSnapshotCache.RoleSnapshot second = cache.get(List.of(hr, admin));
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.roleCodes()).containsExactly("ADMIN", "HR");
+        assertThat(first.permissionNames()).containsExactly("attendance:export", "user:delete", "user:read");
+
+        hr.getPermissions().add(permission("attendance:import"));
+        assertThat(cache.get(Set.of(admin, hr))).isSameAs(first);
+
+        long version = cache.version();
+        cache.invalidate();
+
+        RoleSnapshotCache.RoleSnapshot refreshed = cache.get(Set.of(admin, hr));
+        assertThat(cache.version()).isEqualTo(version + 1);
+        assertThat(refreshed.permissionNames()).contains("attendance:import");
+    }
+
+    @Test
+    void entitiesLoadedBeforeInvalidationAreNotCachedUnderTheNewVersion() {
+        // request A sudah memegang role + permissions di persistence context-nya
+        Role stale = stamped(role(1L, "ADMIN", "user:read", "user:delete"));
+
+        // request B mencabut user:delete dan commit
+        cache.invalidate();
+
+        // request A memetakan user setelah invalidate: hasilnya boleh dipakai, tapi tidak disimpan
+        assertThat(cache.get(Set.of(stale)).permissionNames()).contains("user:delete");
+
+        Role fresh = stamped(role(1L, "ADMIN", "user:read"));
+        RoleSnapshotCache.RoleSnapshot current = cache.get(Set.of(fresh));
+        assertThat(current.permissionNames()).containsExactly("user:read");
+        assertThat(cache.get(Set.of(fresh))).isSameAs(current);
+        assertThat(cache.get(Set.of(stale))).isSameAs(current);
+    }
+
+    @Test
+    void inactiveRolesAndPermissionsGrantNothing() {
+        Role admin = role(1L, "ADMIN", "user:read");
+        Permission revoked = Permission.of(ResourceType.USER, ActionType.DELETE, "ALL");
+        revoked.setActive(false);
+        admin.getPermissions().add(revoked);
+        Role disabled = role(2L, "HR", "attendance:export");
+        disabled.setActive(false);
+
+        RoleSnapshotCache.RoleSnapshot snapshot = cache.get(Set.of(admin, disabled));
+
+        assertThat(snapshot.roleCodes()).containsExactly("ADMIN");
+        assertThat(snapshot.permissionNames()).containsExactly("user:read");
+        assertThat(snapshot.scopes(ResourceType.USER, ActionType.DELETE)).isEmpty();
+    }
+
+    @Test
+    void unsavedRolesAreComputedWithoutCaching() {
+        Role draft = role(null, "DRAFT", "user:read");
+
+        assertThat(cache.get(Set.of(draft))).isNotSameAs(cache.get(Set.of(draft)));
+        assertThat(cache.get(Set.of()).roleCodes()).isEmpty();
+    }
+
+    private static Role role(Long id, String code, String... permissions) {
+        Role role = Role.businessRole("ROLE_" + code, code, code);
+        role.setId(id);
+        for (String name : permissions) {
+            role.getPermissions().add(permission(name));
+        }
+        return role;
+    }
+
+    // seperti RoleSnapshotLoadListener saat entity dibaca dari DB
+    private Role stamped(Role role) {
+        role.setSnapshotVersion(cache.version());
+        role.getPermissions().forEach(permission -> permission.setSnapshotVersion(cache.version()));
+        return role;
+    }
+
+    private static Permission permission(String name) {
+        return Permission.builder().name(name).build();
+    }
+}
@@ -0,0 +1,166 @@
+package com.gcompany.employeemanagement.repository;
+
+import com.gcompany.employeemanagement.dto.projection.AttendanceListView;
+import com.gcompany.employeemanagement.dto.projection.AttendanceStatusCountView;
+import com.gcompany.employeemanagement.dto.projection.CheckinGridCellView;
+import com.gcompany.employeemanagement.dto.resp.AttendanceResponse;
+import com.gcompany.employeemanagement.enums.AttendanceStatus;
+import com.gcompany.employeemanagement.model.Attendance;
+import com.gcompany.employeemanagement.model.User;
+import com.gcompany.employeemanagement.utils.AttendanceMapper;
+import com.gcompany.employeemanagement.utils.AttendanceMapperImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(AttendanceMapperImpl.class)
+class AttendanceRepositoryTest {
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private AttendanceMapper attendanceMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < 10; i++) {
+            User user = User.create("user" + i + "@gcompany.com", "secret", "Employee " + i);
+            user.setFirstName("Employee");
+            entityManager.persist(user);
+
+            for (int d = 0; d < 3; d++) {
+                entityManager.persist(Attendance.builder()
+                        .user(user)
+                        .date(start.plusDays(d))
+                        .checkinTime(OffsetDateTime.now())
+                        .checkinLat(i % 2 == 0 ? -6.2005 : -6.1505)
+                        .checkinLng(106.8005)
+                        .status(d == 0 ? AttendanceStatus.LATE : AttendanceStatus.PRESENT)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void attendanceListPageUsesOneSelectPlusCount() {
+        Page<AttendanceListView> page = attendanceRepository.findAttendanceList(
+                null, null, null, null, PageRequest.of(0, 6, Sort.by("date").ascending()));
+        List<AttendanceResponse> responses = page.getContent().stream()
+                .map(attendanceMapper::toDTO)
+                .toList();
+
+        assertThat(responses).hasSize(6);
+        assertThat(responses).allSatisfy(r -> {
+            assertThat(r.getUserFullName()).startsWith("Employee ");
+            assertThat(r.getUserEmail()).endsWith("@gcompany.com");
+        });
+        assertThat(page.getTotalElements()).isEqualTo(30);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void attendanceListAppliesFiltersInSameQuery() {
+        Page<AttendanceListView> page = attendanceRepository.findAttendanceList(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2), "employee 3", AttendanceStatus.LATE,
+                PageRequest.of(0, 6));
+
+        assertThat(page.getContent()).singleElement()
+                .satisfies(v -> assertThat(v.getUserFullName()).isEqualTo("Employee 3"));
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void attendanceSliceSkipsCountQuery() {
+        Slice<AttendanceListView> first = attendanceRepository.findAttendanceSlice(
+                null, null, null, null, PageRequest.of(0, 6, Sort.by("date").ascending()));
+        Slice<AttendanceListView> last = attendanceRepository.findAttendanceSlice(
+                null, null, null, null, PageRequest.of(4, 6, Sort.by("date").ascending()));
+
+        assertThat(first.getContent()).hasSize(6);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(last.getContent()).hasSize(6);
+        assertThat(last.hasNext()).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void checkinGridIsAggregatedInOneQuery() {
+        List<CheckinGridCellView> rows = attendanceRepository.aggregateCheckinGrid(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2), 0.01);
+
+        // 2 sel (user genap / ganjil) x 2 status (LATE hari pertama, PRESENT hari kedua)
+        assertThat(rows).hasSize(4);
+        assertThat(rows).allSatisfy(r -> {
+            assertThat(r.getCellX()).isEqualTo(10680L);
+            assertThat(r.getCellY()).isIn(-621L, -616L);
+            assertThat(r.getTotal()).isEqualTo(5L);
+        });
+        assertThat(rows).extracting(CheckinGridCellView::getStatus).containsOnly("LATE", "PRESENT");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void liveFeedCountersAreSeededInOneQuery() {
+        List<AttendanceStatusCountView> rows = attendanceRepository.countCheckinsByDepartmentAndStatus(
+                LocalDate.of(2024, 1, 1));
+
+        // semua user tanpa department, hari pertama semuanya LATE dan belum checkout
+        assertThat(rows).singleElement().satisfies(r -> {
+            assertThat(r.getDepartmentId()).isNull();
+            assertThat(r.getStatus()).isEqualTo("LATE");
+            assertThat(r.getTotal()).isEqualTo(10L);
+            assertThat(r.getCheckedOut()).isZero();
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void openRowWithoutCheckinIsNotCheckedOut() {
+        // baris ABSENT hasil import: checkout kosong tapi juga tanpa checkin
+        User user = User.create("absent@gcompany.com", "secret", "Absent Employee");
+        user.setFirstName("Absent");
+        entityManager.persist(user);
+        LocalDate date = LocalDate.of(2024, 2, 1);
+        entityManager.persist(Attendance.builder().user(user).date(date).status(AttendanceStatus.ABSENT).build());
+        entityManager.flush();
+
+        assertThat(attendanceRepository.findFirstByUser_IdAndDateAndCheckoutTimeIsNullAndCheckinTimeIsNotNull(user.getId(), date))
+                .isEmpty();
+        // dan tidak menghalangi check-in di hari yang sama
+        assertThat(attendanceRepository.existsByUser_IdAndDateAndCheckoutTimeIsNullAndCheckinTimeIsNotNull(user.getId(), date))
+                .isFalse();
+    }
+}
@@ -0,0 +1,140 @@
+package com.gcompany.employeemanagement.repository;
+
+import com.gcompany.employeemanagement.dto.projection.JobCountView;
+import com.gcompany.employeemanagement.enums.JobStatus;
+import com.gcompany.employeemanagement.model.Job;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Query klaim job. Default jalan di H2; untuk PostgreSQL lokal:
+ * mvn test -Dtest=JobRepositoryTest -Dspring.test.database.replace=none
+ * -Dspring.datasource.url=jdbc:postgresql://localhost:5432/employee_test -Dspring.datasource.username=... -Dspring.datasource.password=...
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JobRepositoryTest {
+
+    private static final String TYPE = "test.job";
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @AfterEach
+    void tearDown() {
+        jobRepository.deleteAll();
+    }
+
+    @Test
+    void onlyDueOrLeaseExpiredJobsAreClaimable() {
+        OffsetDateTime now = OffsetDateTime.now();
+        Job due = save(JobStatus.QUEUED, now.minusSeconds(5), null);
+        save(JobStatus.QUEUED, now.plusMinutes(5), null);                          // retry belum waktunya
+        Job abandoned = save(JobStatus.RUNNING, now.minusMinutes(10), now.minusSeconds(1));
+        save(JobStatus.RUNNING, now.minusMinutes(10), now.plusMinutes(5));         // lease masih berlaku
+        save(JobStatus.DEAD, now.minusMinutes(10), null);
+        save(JobStatus.SUCCEEDED, now.minusMinutes(10), null);
+
+        List<Job> claimable = new TransactionTemplate(transactionManager).execute(tx ->
+                jobRepository.lockDueJobs(TYPE, now, 10));
+
+        assertThat(claimable).extracting(Job::getId).containsExactly(abandoned.getId(), due.getId());
+    }
+
+    @Test
+    void concurrentClaimsSkipLockedRows() throws Exception {
+        // H2 mengunci semua baris yang lolos WHERE sebelum LIMIT, jadi perilaku SKIP LOCKED hanya valid di PostgreSQL
+        assumeTrue(isPostgres(), "SKIP LOCKED semantics need PostgreSQL");
+        OffsetDateTime now = OffsetDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            save(JobStatus.QUEUED, now.minusSeconds(10 - i), null);
+        }
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<Long>> first = CompletableFuture.supplyAsync(() ->
+                new TransactionTemplate(transactionManager).execute(tx -> {
+                    List<Long> ids = jobRepository.lockDueJobs(TYPE, now, 3).stream().map(Job::getId).toList();
+                    locked.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return ids;
+                }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // transaksi kedua tidak menunggu lock transaksi pertama, langsung dapat sisa job
+        List<Long> second = new TransactionTemplate(transactionManager).execute(tx ->
+                jobRepository.lockDueJobs(TYPE, now, 5).stream().map(Job::getId).toList());
+        release.countDown();
+
+        Set<Long> all = new HashSet<>(first.get(10, TimeUnit.SECONDS));
+        assertThat(all).hasSize(3);
+        assertThat(second).hasSize(2).doesNotContainAnyElementsOf(all);
+    }
+
+    @Test
+    void resultFromStaleLeaseIsIgnored() {
+        OffsetDateTime now = OffsetDateTime.now();
+        Job job = save(JobStatus.RUNNING, now, now.plusMinutes(5));
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        Integer stale = tx.execute(s -> jobRepository.finish(job.getId(), "stale-token", JobStatus.SUCCEEDED, now));
+        Integer current = tx.execute(s -> jobRepository.finish(job.getId(), job.getLockToken(), JobStatus.SUCCEEDED, now));
+        assertThat(stale).isZero();
+        assertThat(current).isEqualTo(1);
+
+        List<JobCountView> counts = jobRepository.countByTypeAndStatus();
+        assertThat(counts).hasSize(1);
+        assertThat(counts.get(0).getStatus()).isEqualTo("SUCCEEDED");
+        assertThat(counts.get(0).getTotal()).isEqualTo(1);
+    }
+
+    private boolean isPostgres() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getDatabaseProductName().equalsIgnoreCase("PostgreSQL");
+        }
+    }
+
+    private Job save(JobStatus status, OffsetDateTime runAt, OffsetDateTime lockedUntil) {
+        return jobRepository.save(Job.builder()
+                .type(TYPE)
+                .payload("{}")
+                .status(status)
+                .attempts(status == JobStatus.RUNNING ? 1 : 0)
+                .maxAttempts(3)
+                .runAt(runAt)
+                .lockedUntil(lockedUntil)
+                .lockToken(lockedUntil != null ? "token-" + runAt.toEpochSecond() + "-" + lockedUntil.toEpochSecond() : null)
+                .createdAt(OffsetDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,50 @@
+package com.gcompany.employeemanagement.repository;
+
+import com.gcompany.employeemanagement.enums.ActionType;
+import com.gcompany.employeemanagement.enums.ResourceType;
+import com.gcompany.employeemanagement.model.Permission;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Perbaikan permission yang tersimpan nonaktif oleh Permission.of() lama.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PermissionRepositoryTest {
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @AfterEach
+    void tearDown() {
+        permissionRepository.deleteAll();
+    }
+
+    @Test
+    void reactivatesOnlyPermissionsNeverEditedByAdmin() {
+        Permission seeded = save(Permission.of(ResourceType.USER, ActionType.READ, "ALL"), false, null);
+        Permission deactivated = save(Permission.of(ResourceType.USER, ActionType.DELETE, "ALL"), false, 1L);
+        Permission active = save(Permission.of(ResourceType.USER, ActionType.UPDATE, "ALL"), true, null);
+
+        assertThat(permissionRepository.reactivateNeverEdited()).isEqualTo(1);
+
+        assertThat(permissionRepository.findById(seeded.getId()).orElseThrow().isActive()).isTrue();
+        assertThat(permissionRepository.findById(deactivated.getId()).orElseThrow().isActive()).isFalse();
+        assertThat(permissionRepository.findById(active.getId()).orElseThrow().isActive()).isTrue();
+        // sudah diperbaiki: run berikutnya tidak mengubah apa pun
+        assertThat(permissionRepository.reactivateNeverEdited()).isZero();
+    }
+
+    private Permission save(Permission permission, boolean active, Long updatedBy) {
+        permission.setActive(active);
+        permission.setUpdatedBy(updatedBy);
+        return permissionRepository.save(permission);
+    }
+}
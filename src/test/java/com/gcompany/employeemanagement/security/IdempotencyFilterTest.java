@@ -0,0 +1,217 @@
+package com.gcompany.employeemanagement.security;
+
+import com.gcompany.employeemanagement.model.IdempotencyKey;
+import com.gcompany.employeemanagement.repository.IdempotencyKeyRepository;
+import com.gcompany.employeemanagement.service.ClusterTaskService;
+import com.gcompany.employeemanagement.service.IdempotencyStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockPart;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+class IdempotencyFilterTest {
+
+    private final CreateUserStub handler = new CreateUserStub();
+    private final IdempotencyKeyRepository repository = mock(IdempotencyKeyRepository.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        // node ini selalu mendapat klaim DB, kecuali test yang mensimulasikan node lain
+        when(repository.claim(anyString(), anyString(), any(), any(), any())).thenReturn(1);
+        mockMvc = mockMvc(5_000);
+    }
+
+    private MockMvc mockMvc(long waitTimeoutMs) {
+        IdempotencyStore store = new IdempotencyStore(repository, mock(ClusterTaskService.class), 60_000, 100, 60_000, 50);
+        IdempotencyFilter filter = new IdempotencyFilter(store, waitTimeoutMs);
+        return MockMvcBuilders.standaloneSetup(handler).addFilters(filter).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void retryWithSameKeyAndBodyIsReplayed() throws Exception {
+        MockHttpServletResponse first = perform(createUser("key-1", "{\"email\":\"a@x.com\"}"));
+        MockHttpServletResponse retry = perform(createUser("key-1", "{\"email\":\"a@x.com\"}"));
+
+        assertThat(handler.calls).hasValue(1);
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getStatus()).isEqualTo(first.getStatus());
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString()).contains("a@x.com");
+    }
+
+    @Test
+    void reusedKeyWithDifferentBodyIsRejected() throws Exception {
+        perform(createUser("key-2", "{\"email\":\"a@x.com\"}"));
+        MockHttpServletResponse other = perform(createUser("key-2", "{\"email\":\"someone-else@x.com\"}"));
+
+        assertThat(other.getStatus()).isEqualTo(422);
+        assertThat(other.getContentAsString()).doesNotContain("a@x.com");
+        assertThat(handler.calls).hasValue(1);
+
+        // multipart: isi part yang berbeda juga fingerprint yang berbeda
+        assertThat(perform(importFile("key-3", "a@x.com")).getStatus()).isNotEqualTo(422);
+        assertThat(perform(importFile("key-3", "a@x.com")).getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(perform(importFile("key-3", "b@x.com")).getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    void concurrentRetryWaitsForTheInFlightRequest() throws Exception {
+        handler.gate = new CountDownLatch(1);
+
+        CompletableFuture<MockHttpServletResponse> owner =
+                CompletableFuture.supplyAsync(() -> performQuietly(createUser("key-4", "{\"email\":\"c@x.com\"}")));
+        assertThat(handler.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<MockHttpServletResponse> retry =
+                CompletableFuture.supplyAsync(() -> performQuietly(createUser("key-4", "{\"email\":\"c@x.com\"}")));
+        Thread.sleep(200);
+        assertThat(retry).isNotDone();   // menunggu owner, tidak mengeksekusi ulang
+
+        handler.gate.countDown();
+        MockHttpServletResponse ownerResponse = owner.get(5, TimeUnit.SECONDS);
+        MockHttpServletResponse retryResponse = retry.get(5, TimeUnit.SECONDS);
+
+        assertThat(handler.calls).hasValue(1);
+        assertThat(retryResponse.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retryResponse.getContentAsString()).isEqualTo(ownerResponse.getContentAsString());
+    }
+
+    @Test
+    void retryOnAnotherNodeReplaysTheStoredResponse() throws Exception {
+        MockHttpServletResponse first = perform(createUser("key-5", "{\"email\":\"d@x.com\"}"));
+
+        // node lain: klaim gagal, response owner dibaca dari DB
+        String key = "admin@x.com|/api/users|key-5";
+        when(repository.claim(anyString(), anyString(), any(), any(), any())).thenReturn(0);
+        when(repository.findById(key)).thenReturn(Optional.of(IdempotencyKey.builder()
+                .key(key)
+                .fingerprint(fingerprintOf(key))
+                .responseStatus(first.getStatus())
+                .contentType(first.getContentType())
+                .responseBody(first.getContentAsByteArray())
+                .expiresAt(OffsetDateTime.now().plusHours(1))
+                .build()));
+        mockMvc = mockMvc(5_000);
+
+        MockHttpServletResponse retry = perform(createUser("key-5", "{\"email\":\"d@x.com\"}"));
+
+        assertThat(handler.calls).hasValue(1);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(perform(createUser("key-5", "{\"email\":\"other@x.com\"}")).getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    void retryWhileAnotherNodeIsStillProcessingGetsConflict() throws Exception {
+        String key = "admin@x.com|/api/users|key-6";
+        when(repository.claim(anyString(), anyString(), any(), any(), any())).thenReturn(0);
+        when(repository.findById(key)).thenAnswer(invocation -> Optional.of(IdempotencyKey.builder()
+                .key(key)
+                .fingerprint(fingerprintOf(key))
+                .expiresAt(OffsetDateTime.now().plusHours(1))
+                .build()));
+        mockMvc = mockMvc(300);
+
+        MockHttpServletResponse retry = perform(createUser("key-6", "{\"email\":\"e@x.com\"}"));
+
+        assertThat(retry.getStatus()).isEqualTo(409);
+        assertThat(handler.calls).hasValue(0);
+    }
+
+    // fingerprint yang dipakai klaim pertama untuk key ini
+    private String fingerprintOf(String key) {
+        return mockingDetails(repository).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("claim"))
+                .filter(invocation -> key.equals(invocation.getArgument(0)))
+                .map(invocation -> invocation.<String>getArgument(1))
+                .findFirst()
+                .orElse("");
+    }
+
+    private static MockHttpServletRequestBuilder createUser(String key, String body) {
+        return post("/api/users").servletPath("/api/users")
+                .header(IdempotencyFilter.IDEMPOTENCY_HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+    }
+
+    private static MockHttpServletRequestBuilder importFile(String key, String email) {
+        return multipart("/api/attendance/import")
+                .part(new MockPart("file", "import.csv", ("email\n" + email).getBytes(StandardCharsets.UTF_8)))
+                .header(IdempotencyFilter.IDEMPOTENCY_HEADER, key)
+                .servletPath("/api/attendance/import");
+    }
+
+    // SecurityContext per thread, seperti satu request HTTP
+    private MockHttpServletResponse perform(MockHttpServletRequestBuilder request) throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("admin@x.com", null, "ROLE_ADMIN"));
+        try {
+            return mockMvc.perform(request).andReturn().getResponse();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private MockHttpServletResponse performQuietly(MockHttpServletRequestBuilder request) {
+        try {
+            return perform(request);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @RestController
+    static class CreateUserStub {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private volatile CountDownLatch gate;
+
+        @PostMapping("/api/users")
+        String createUser(@RequestBody String body) throws InterruptedException {
+            int call = calls.incrementAndGet();
+            entered.countDown();
+            if (gate != null) {
+                gate.await(5, TimeUnit.SECONDS);
+            }
+            return "{\"id\":" + call + ",\"request\":" + body + "}";
+        }
+
+        @PostMapping("/api/attendance/import")
+        String importAttendance() {
+            return "{\"imported\":" + calls.incrementAndGet() + "}";
+        }
+    }
+}
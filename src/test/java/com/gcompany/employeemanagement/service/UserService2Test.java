@@ -0,0 +1,401 @@
+package com.gcompany.employeemanagement.service;
+
+import com.cloudinary.Cloudinary;
+import com.gcompany.employeemanagement.dto.req.UserBulkRequest;
+import com.gcompany.employeemanagement.dto.resp.CursorResponse;
+import com.gcompany.employeemanagement.dto.resp.PaginatedResponse;
+import com.gcompany.employeemanagement.dto.resp.UserBulkResult;
+import com.gcompany.employeemanagement.dto.resp.UserDetailResponse;
+import com.gcompany.employeemanagement.dto.resp.UserSummaryResponse;
+import com.gcompany.employeemanagement.enums.ActionType;
+import com.gcompany.employeemanagement.enums.BulkRoleMode;
+import com.gcompany.employeemanagement.enums.ResourceType;
+import com.gcompany.employeemanagement.enums.UserStatus;
+import com.gcompany.employeemanagement.exception.BusinessRuleException;
+import com.gcompany.employeemanagement.mapper.RoleSnapshotCache;
+import com.gcompany.employeemanagement.mapper.UserMapper;
+import com.gcompany.employeemanagement.model.Permission;
+import com.gcompany.employeemanagement.model.Role;
+import com.gcompany.employeemanagement.model.User;
+import com.gcompany.employeemanagement.security.ScopedPermissionEvaluator;
+import com.gcompany.employeemanagement.service.impl.AuditServiceImpl;
+import com.gcompany.employeemanagement.service.impl.DepartmentMembershipServiceImpl;
+import com.gcompany.employeemanagement.service.impl.OrgHierarchyServiceImpl;
+import com.gcompany.employeemanagement.service.impl.UserSearchIndexServiceImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.function.Function;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Jumlah statement SQL untuk jalur /api/users: tidak boleh bertambah seiring ukuran page.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({UserService2.class, UserMapper.class, RoleSnapshotCache.class, UserSearchIndexServiceImpl.class,
+        OrgHierarchyServiceImpl.class, DepartmentMembershipServiceImpl.class, ScopedPermissionEvaluator.class,
+        AuditServiceImpl.class})
+class UserService2Test {
+
+    @Autowired
+    private UserService2 userService;
+
+    @Autowired
+    private RoleSnapshotCache roleSnapshotCache;
+
+    @Autowired
+    private UserSearchIndexService userSearchIndexService;
+
+    @Autowired
+    private OrgHierarchyService orgHierarchyService;
+
+    @Autowired
+    private ScopedPermissionEvaluator scopedPermissionEvaluator;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private SecurityService securityService;
+
+    @MockitoBean
+    private TotalCountEstimator totalCountEstimator;
+
+    @MockitoBean
+    private Cloudinary cloudinary;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        roleSnapshotCache.invalidate();
+        Mockito.when(securityService.isAdmin()).thenReturn(true);
+        List<Role> roles = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            Role role = Role.businessRole("ROLE_R" + r, "R" + r, "Role " + r);
+            for (int p = 0; p < 5; p++) {
+                Permission permission = Permission.builder()
+                        .name("perm:" + r + ":" + p)
+                        .resource(ResourceType.values()[r])
+                        .action(ActionType.values()[p])
+                        .build();
+                entityManager.persist(permission);
+                role.getPermissions().add(permission);
+            }
+            entityManager.persist(role);
+            roles.add(role);
+        }
+
+        for (int i = 0; i < 150; i++) {
+            // nama kembar (i % 50) untuk menguji tie-break cursor (fullName, id)
+            User user = User.create("user" + i + "@gcompany.com", "secret", "Employee " + (i % 50));
+            if (i % 10 == 9) {
+                user.setStatus(UserStatus.INACTIVE);
+            }
+            user.setFirstName("Employee");
+            user.setRoles(Set.of(roles.get(i % 4), roles.get((i + 1) % 4)));
+            entityManager.persist(user);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100})
+    void userPageUsesConstantStatementCount(int size) {
+        PaginatedResponse<UserDetailResponse> page = userService.getAllUsers(0, size, "id", "asc", null, null, null);
+
+        assertThat(page.getContent()).hasSize(size);
+        assertThat(page.getContent()).allSatisfy(user -> {
+            assertThat(user.getRoles()).hasSize(2);
+            assertThat(user.getPermissions()).hasSize(10);
+        });
+        // page + count + roles (batch) + permissions (batch)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    @Test
+    void warmRoleSnapshotsSkipPermissionLoading() {
+        userService.getAllUsers(0, 20, "id", "asc", null, null, null);
+        entityManager.clear();
+        statistics.clear();
+
+        PaginatedResponse<UserDetailResponse> page = userService.getAllUsers(1, 20, "id", "asc", null, null, null);
+
+        assertThat(page.getContent()).allSatisfy(user -> assertThat(user.getPermissions()).hasSize(10));
+        // page + count + roles (batch); permissions dari cache
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100})
+    void roleFilterDoesNotFanOut(int size) {
+        PaginatedResponse<UserDetailResponse> page = userService.getAllUsers(0, size, "id", "asc", null, "r1", null);
+
+        // user dengan R1: i % 4 == 0 atau i % 4 == 1
+        assertThat(page.getContent()).hasSize(Math.min(size, 76));
+        assertThat(page.getTotalElements()).isEqualTo(76);
+        assertThat(page.getContent()).allSatisfy(user -> assertThat(user.getRoles()).contains("R1"));
+        // halaman terakhir tidak perlu query count
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(size < 76 ? 4 : 3);
+    }
+
+    @Test
+    void userDetailLoadsRolesAndPermissionsInOneQuery() {
+        Long id = entityManager.createQuery("SELECT MIN(u.id) FROM User u", Long.class).getSingleResult();
+        statistics.clear();
+
+        UserDetailResponse user = userService.getUserById(id);
+
+        assertThat(user.getPermissions()).hasSize(10);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void nameFilterUsesSearchIndexIds() {
+        List<Long> expectedIds = entityManager.createQuery(
+                        "SELECT u.id FROM User u WHERE LOWER(u.fullName) LIKE '%employee 1%' ORDER BY u.id", Long.class)
+                .setMaxResults(10)
+                .getResultList();
+
+        // index dimuat saat context start (sebelum data test ada), jadi muat ulang
+        userSearchIndexService.reloadIndex();
+        statistics.clear();
+        PaginatedResponse<UserDetailResponse> page = userService.getAllUsers(0, 10, "id", "asc", "employee 1", null, null);
+
+        assertThat(page.getTotalElements()).isEqualTo(33);
+        assertThat(page.getContent()).extracting(UserDetailResponse::getId).containsExactlyElementsOf(expectedIds);
+        // filter nama tanpa LIKE: page + count + roles (batch) + permissions (batch)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+
+        assertThat(userService.getAllUsers(0, 10, "id", "asc", "nobody", null, null).getTotalElements()).isZero();
+        assertThat(userService.searchUsers("user149@").getContent().get(0).getFullName()).isEqualTo("Employee 49");
+    }
+
+    @Test
+    void cursorSearchWalksAllMatchesInNameOrder() {
+        List<UserSummaryResponse> all = drain(cursor -> userService.searchUsersCursor("employee 1", cursor, 7));
+
+        // "Employee 1" dan "Employee 10".."Employee 19", masing-masing 3 user
+        assertThat(all).hasSize(33);
+        assertThat(all).extracting(UserSummaryResponse::getId).doesNotHaveDuplicates();
+        assertThat(all).isSortedAccordingTo(Comparator.comparing(UserSummaryResponse::getFullName)
+                .thenComparing(UserSummaryResponse::getId));
+    }
+
+    @Test
+    void cursorByRoleAndActiveUseOneStatementPerPage() {
+        List<UserSummaryResponse> byRole = drain(cursor -> userService.getUsersByRoleCursor("R1", cursor, 20));
+        assertThat(byRole).hasSize(76);
+        assertThat(byRole).isSortedAccordingTo(Comparator.comparing(UserSummaryResponse::getId));
+
+        statistics.clear();
+        List<UserSummaryResponse> active = drain(cursor -> userService.getActiveUsersCursor(cursor, 50));
+        assertThat(active).hasSize(135);
+        assertThat(active).allSatisfy(user -> assertThat(user.getStatus()).isEqualTo(UserStatus.ACTIVE));
+        // 3 halaman, tanpa COUNT dan tanpa load roles
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void cursorPageSizeIsBounded() {
+        assertThat(userService.getActiveUsersCursor(null, 10_000).getContent()).hasSize(135);
+        assertThat(userService.getActiveUsersCursor(null, 10_000).getSize()).isEqualTo(200);
+        assertThatThrownBy(() -> userService.getActiveUsersCursor("not a cursor!", 10))
+                .isInstanceOf(BusinessRuleException.class);
+    }
+
+    @Test
+    void legacyListsReturnOnlyTheFirstBoundedPage() {
+        for (int i = 150; i < 230; i++) {
+            User user = User.create("user" + i + "@gcompany.com", "secret", "Extra " + i);
+            user.setFirstName("Extra");
+            entityManager.persist(user);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // 215 user aktif, endpoint lama hanya mengembalikan halaman pertama dan menandainya terpotong
+        CursorResponse<UserDetailResponse> active = userService.getActiveUsers();
+        assertThat(active.getContent()).hasSize(200);
+        assertThat(active.getContent()).extracting(UserDetailResponse::getId).isSorted().doesNotHaveDuplicates();
+        assertThat(active.isHasNext()).isTrue();
+        // nextCursor melanjutkan tepat setelah halaman pertama
+        List<UserSummaryResponse> rest = userService.getActiveUsersCursor(active.getNextCursor(), 200).getContent();
+        assertThat(rest).hasSize(15);
+        assertThat(rest.get(0).getId()).isGreaterThan(active.getContent().get(199).getId());
+
+        CursorResponse<UserDetailResponse> byRole = userService.getUsersByRole("R1");
+        assertThat(byRole.getContent()).hasSize(76);
+        assertThat(byRole.isHasNext()).isFalse();
+        assertThat(byRole.getNextCursor()).isNull();
+        userSearchIndexService.reloadIndex();
+        assertThat(userService.searchUsers("extra").getContent()).hasSize(80);
+    }
+
+    @Test
+    void bulkDeactivateByRoleIsSetBased() {
+        UserBulkResult result = userService.bulkDeactivateUsers(UserBulkRequest.builder().roleCode("R1").build());
+
+        // 76 user punya R1, 8 di antaranya sudah INACTIVE
+        assertThat(result.getMatchedUsers()).isEqualTo(76);
+        assertThat(result.getAffectedRows()).isEqualTo(68);
+        // select id + cek admin + satu UPDATE
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(countUsers("SELECT COUNT(u) FROM User u WHERE u.status = 'INACTIVE'")).isEqualTo(15 + 68);
+    }
+
+    @Test
+    void bulkOperationsKeepSelfAndLastAdmin() {
+        Role admin = Role.systemRole("Administrator", "ADMIN");
+        entityManager.persist(admin);
+        User adminUser = entityManager.createQuery("SELECT u FROM User u WHERE u.email = 'user0@gcompany.com'", User.class)
+                .getSingleResult();
+        adminUser.getRoles().add(admin);
+        entityManager.flush();
+        List<Long> ids = List.of(adminUser.getId(), adminUser.getId() + 1);
+
+        Mockito.when(securityService.getCurrentUserId()).thenReturn(ids.get(1));
+        assertThatThrownBy(() -> userService.bulkLockUsers(UserBulkRequest.builder().userIds(ids).build()))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessageContaining("your own account");
+
+        Mockito.when(securityService.getCurrentUserId()).thenReturn(null);
+        assertThatThrownBy(() -> userService.bulkDeactivateUsers(UserBulkRequest.builder().userIds(ids).build()))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessageContaining("last admin");
+        assertThatThrownBy(() -> userService.bulkUpdateUserRoles(UserBulkRequest.builder()
+                .userIds(ids).roleCodes(List.of("R0")).build()))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessageContaining("last admin");
+        assertThatThrownBy(() -> userService.bulkActivateUsers(UserBulkRequest.builder().build()))
+                .isInstanceOf(BusinessRuleException.class);
+    }
+
+    @Test
+    void bulkRolesAddRemoveAndReplace() {
+        List<Long> ids = entityManager.createQuery("SELECT u.id FROM User u ORDER BY u.id", Long.class)
+                .setMaxResults(10)
+                .getResultList();
+        UserBulkRequest.UserBulkRequestBuilder request = UserBulkRequest.builder().userIds(ids).roleCodes(List.of("R2"));
+
+        // 10 user pertama: R2 dimiliki user dengan i % 4 in {1, 2} -> 5 user
+        assertThat(userService.bulkUpdateUserRoles(request.roleMode(BulkRoleMode.ADD).build()).getAffectedRows()).isEqualTo(5);
+        assertThat(userService.bulkUpdateUserRoles(request.roleMode(BulkRoleMode.ADD).build()).getAffectedRows()).isZero();
+        // REPLACE: role selain R2 dihapus (5 user x 1 + 5 user x 2), R2 sudah ada semua
+        assertThat(userService.bulkUpdateUserRoles(request.roleMode(BulkRoleMode.REPLACE).build()).getAffectedRows()).isEqualTo(15);
+        assertThat(countUsers("SELECT COUNT(u) FROM User u JOIN u.roles r WHERE u.id IN :ids", ids)).isEqualTo(10);
+        assertThat(userService.bulkUpdateUserRoles(request.roleMode(BulkRoleMode.REMOVE).build()).getAffectedRows()).isEqualTo(10);
+        assertThatThrownBy(() -> userService.bulkUpdateUserRoles(UserBulkRequest.builder()
+                .userIds(ids).roleCodes(List.of("NOPE")).build()))
+                .isInstanceOf(BusinessRuleException.class);
+    }
+
+    @Test
+    void managerTeamFollowsReportingLines() {
+        List<Long> ids = entityManager.createQuery("SELECT u.id FROM User u ORDER BY u.id", Long.class)
+                .setMaxResults(4)
+                .getResultList();
+        orgHierarchyService.assignManager(ids.get(1), ids.get(0));
+        orgHierarchyService.assignManager(ids.get(2), ids.get(1));
+        entityManager.flush();
+        entityManager.clear();
+        orgHierarchyService.reloadHierarchy();
+
+        assertThat(orgHierarchyService.isInTeam(ids.get(0), ids.get(2))).isTrue();
+        assertThat(orgHierarchyService.isInTeam(ids.get(2), ids.get(0))).isFalse();
+        assertThat(orgHierarchyService.getTeam(ids.get(0)))
+                .extracting(UserSummaryResponse::getId)
+                .containsExactly(ids.get(1), ids.get(2));
+        assertThatThrownBy(() -> orgHierarchyService.assignManager(ids.get(0), ids.get(2)))
+                .isInstanceOf(BusinessRuleException.class);
+    }
+
+    @Test
+    void scopedUserListIsFilteredInSql() {
+        List<Long> ids = entityManager.createQuery("SELECT u.id FROM User u ORDER BY u.id", Long.class)
+                .setMaxResults(4)
+                .getResultList();
+        orgHierarchyService.assignManager(ids.get(1), ids.get(0));
+        orgHierarchyService.assignManager(ids.get(2), ids.get(1));
+        Role lead = Role.businessRole("ROLE_LEAD", "LEAD", "Team lead");
+        for (String scope : List.of("SELF", "TEAM")) {
+            Permission permission = Permission.of(ResourceType.EMPLOYEE, ActionType.READ, scope);
+            entityManager.persist(permission);
+            lead.getPermissions().add(permission);
+        }
+        entityManager.persist(lead);
+        entityManager.flush();
+        entityManager.clear();
+        orgHierarchyService.reloadHierarchy();
+
+        User principal = User.create("lead@gcompany.com", "secret", "Lead");
+        principal.setId(ids.get(0));
+        principal.setRoles(Set.of(lead));
+        Mockito.when(securityService.isAdmin()).thenReturn(false);
+        Mockito.when(securityService.getCurrentUser()).thenReturn(principal);
+
+        PaginatedResponse<UserDetailResponse> page = userService.getAllUsers(0, 50, "id", "asc", null, null, null);
+        assertThat(page.getContent()).extracting(UserDetailResponse::getId)
+                .containsExactly(ids.get(0), ids.get(1), ids.get(2));
+        assertThat(page.getTotalElements()).isEqualTo(3);
+
+        Authentication authentication = new UsernamePasswordAuthenticationToken(principal, null, List.of());
+        assertThat(scopedPermissionEvaluator.hasPermission(authentication, ids.get(2), "EMPLOYEE", "READ")).isTrue();
+        assertThat(scopedPermissionEvaluator.hasPermission(authentication, ids.get(3), "EMPLOYEE", "READ")).isFalse();
+        assertThat(scopedPermissionEvaluator.hasPermission(authentication, ids.get(0), "employee:read")).isTrue();
+        assertThat(scopedPermissionEvaluator.hasPermission(authentication, ids.get(0), "salary:read")).isFalse();
+
+        // tanpa permission employee:read sama sekali: hasil kosong
+        principal.setRoles(Set.of());
+        assertThat(userService.getAllUsers(0, 50, "id", "asc", null, null, null).getContent()).isEmpty();
+    }
+
+    private long countUsers(String jpql) {
+        return entityManager.createQuery(jpql, Long.class).getSingleResult();
+    }
+
+    private long countUsers(String jpql, List<Long> ids) {
+        return entityManager.createQuery(jpql, Long.class).setParameter("ids", ids).getSingleResult();
+    }
+
+    private static List<UserSummaryResponse> drain(Function<String, CursorResponse<UserSummaryResponse>> fetch) {
+        List<UserSummaryResponse> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorResponse<UserSummaryResponse> page = fetch.apply(cursor);
+            all.addAll(page.getContent());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return all;
+    }
+}
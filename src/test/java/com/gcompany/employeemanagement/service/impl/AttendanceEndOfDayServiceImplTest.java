@@ -0,0 +1,192 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.gcompany.employeemanagement.enums.AttendanceStatus;
+import com.gcompany.employeemanagement.enums.JobRunStatus;
+import com.gcompany.employeemanagement.model.Attendance;
+import com.gcompany.employeemanagement.model.EndOfDayRun;
+import com.gcompany.employeemanagement.model.User;
+import com.gcompany.employeemanagement.repository.AttendanceRepository;
+import com.gcompany.employeemanagement.repository.EndOfDayRunRepository;
+import com.gcompany.employeemanagement.repository.UserRepository;
+import com.gcompany.employeemanagement.service.ClusterTaskService;
+import com.gcompany.employeemanagement.service.ShiftScheduleService;
+import com.gcompany.employeemanagement.utils.ShiftScheduleTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Job akhir hari harus aman dijalankan ulang. Statement-nya memakai unnest(?::int8[]), jadi hanya jalan di PostgreSQL:
+ * mvn test -Dtest=AttendanceEndOfDayServiceImplTest -Dspring.test.database.replace=none
+ * -Dspring.datasource.url=jdbc:postgresql://localhost:5432/employee_test -Dspring.datasource.username=... -Dspring.datasource.password=...
+ */
+@DataJpaTest
+@Import(AttendanceEndOfDayServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AttendanceEndOfDayServiceImplTest {
+
+    @Autowired
+    private AttendanceEndOfDayServiceImpl endOfDayService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private EndOfDayRunRepository endOfDayRunRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockitoBean
+    private ShiftScheduleService shiftScheduleService;
+
+    @MockitoBean
+    private ClusterTaskService clusterTaskService;
+
+    private final List<Long> userIds = new ArrayList<>();
+    // user dengan shift malam 22:00-06:00 setiap hari
+    private final List<Long> nightUserIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(clusterTaskService.runExclusive(anyString(), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return true;
+        });
+        when(shiftScheduleService.compileSchedule(any(), any())).thenAnswer(invocation -> {
+            LocalDate from = invocation.getArgument(0);
+            LocalDate to = invocation.getArgument(1);
+            ShiftScheduleTable.Builder builder = ShiftScheduleTable.builder(from,
+                    (int) (to.toEpochDay() - from.toEpochDay()) + 1, 8 * 60, 17 * 60);
+            int night = builder.addShift(22 * 60, 6 * 60, 0, 0);
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                for (Long userId : nightUserIds) {
+                    builder.userDay(userId, date, night);
+                }
+            }
+            return builder.build();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        userIds.forEach(id -> jdbcTemplate.update("DELETE FROM attendances WHERE user_id = ?", id));
+        userRepository.deleteAllById(userIds);
+        endOfDayRunRepository.deleteAll();
+    }
+
+    @Test
+    void secondRunClosesAndInsertsNothing() throws SQLException {
+        assumeTrue(isPostgres(), "End-of-day SQL needs PostgreSQL");
+        LocalDate target = LocalDate.now().minusDays(1);
+        OffsetDateTime checkin = target.atTime(8, 0).atOffset(ZoneOffset.UTC);
+
+        User open = user("eod-open@gcompany.com");
+        User done = user("eod-done@gcompany.com");
+        User absent = user("eod-absent@gcompany.com");
+        attendance(open, target, checkin, null);
+        attendance(done, target, checkin, checkin.plusHours(9));
+
+        EndOfDayRun first = endOfDayService.runEndOfDay(target, "TEST");
+        assertThat(first.getStatus()).isEqualTo(JobRunStatus.COMPLETED);
+        assertThat(first.getAttendancesClosed()).isGreaterThanOrEqualTo(1);
+        assertThat(first.getAbsenteesMarked()).isGreaterThanOrEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM attendances WHERE user_id = ? AND checkout_time IS NULL",
+                Integer.class, open.getId())).isZero();
+        assertThat(statusOf(absent, target)).isEqualTo("ABSENT");
+        Integer rowsAfterFirst = countRows(target);
+
+        EndOfDayRun second = endOfDayService.runEndOfDay(target, "TEST");
+        assertThat(second.getStatus()).isEqualTo(JobRunStatus.COMPLETED);
+        assertThat(second.getAttendancesClosed()).isZero();
+        assertThat(second.getAbsenteesMarked()).isZero();
+        assertThat(countRows(target)).isEqualTo(rowsAfterFirst);
+    }
+
+    @Test
+    void nightShiftStillRunningIsClosedOnlyByNextDayRun() throws SQLException {
+        assumeTrue(isPostgres(), "End-of-day SQL needs PostgreSQL");
+        LocalDate target = LocalDate.now().minusDays(2);
+
+        User night = user("eod-night@gcompany.com");
+        nightUserIds.add(night.getId());
+        attendance(night, target, target.atTime(22, 0).atOffset(ZoneOffset.UTC), null);
+
+        // run jam 00:30: shift masih berjalan sampai 06:00, jangan ditutup
+        EndOfDayRun first = endOfDayService.runEndOfDay(target, "TEST");
+        assertThat(first.getStatus()).isEqualTo(JobRunStatus.COMPLETED);
+        assertThat(openRows(night, target)).isEqualTo(1);
+
+        // run hari berikutnya menutupnya
+        EndOfDayRun second = endOfDayService.runEndOfDay(target.plusDays(1), "TEST");
+        assertThat(second.getStatus()).isEqualTo(JobRunStatus.COMPLETED);
+        assertThat(openRows(night, target)).isZero();
+    }
+
+    private boolean isPostgres() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getDatabaseProductName().equalsIgnoreCase("PostgreSQL");
+        }
+    }
+
+    // dibuat jauh sebelum target supaya termasuk kandidat absen
+    private User user(String email) {
+        User user = userRepository.save(User.create(email, "secret", email));
+        jdbcTemplate.update("UPDATE users SET created_at = ? WHERE id = ?", LocalDateTime.now().minusDays(30), user.getId());
+        userIds.add(user.getId());
+        return user;
+    }
+
+    private void attendance(User user, LocalDate date, OffsetDateTime checkin, OffsetDateTime checkout) {
+        attendanceRepository.save(Attendance.builder()
+                .user(user)
+                .date(date)
+                .checkinTime(checkin)
+                .checkoutTime(checkout)
+                .status(AttendanceStatus.PRESENT)
+                .build());
+    }
+
+    private String statusOf(User user, LocalDate date) {
+        return jdbcTemplate.queryForObject("SELECT status FROM attendances WHERE user_id = ? AND date = ?",
+                String.class, user.getId(), date);
+    }
+
+    private Integer openRows(User user, LocalDate date) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM attendances WHERE user_id = ? AND date = ? AND checkout_time IS NULL",
+                Integer.class, user.getId(), date);
+    }
+
+    private Integer countRows(LocalDate date) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM attendances WHERE date = ?", Integer.class, date);
+    }
+}
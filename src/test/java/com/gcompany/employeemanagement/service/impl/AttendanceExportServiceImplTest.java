@@ -0,0 +1,80 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.gcompany.employeemanagement.enums.AttendanceStatus;
+import com.gcompany.employeemanagement.enums.ExportFormat;
+import com.gcompany.employeemanagement.model.Attendance;
+import com.gcompany.employeemanagement.model.User;
+import com.gcompany.employeemanagement.service.UserSearchIndexService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@Import(AttendanceExportServiceImpl.class)
+class AttendanceExportServiceImplTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 3, 4);
+
+    @Autowired
+    private AttendanceExportServiceImpl exportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private UserSearchIndexService userSearchIndexService;
+
+    private User siti;
+
+    @BeforeEach
+    void setUp() {
+        user("budi.santoso@gcompany.com", "Budi Santoso");
+        siti = user("siti@gcompany.com", "Siti Aminah");
+        entityManager.flush();
+    }
+
+    @Test
+    void nameFilterFallbackMatchesEmailLikeTheAttendanceList() throws IOException {
+        when(userSearchIndexService.findUserIds("santoso@")).thenReturn(Optional.empty());
+
+        assertThat(exportLines("santoso@")).hasSize(2).last().asString().contains("budi.santoso@gcompany.com");
+    }
+
+    @Test
+    void nameFilterUsesSearchIndexIds() throws IOException {
+        when(userSearchIndexService.findUserIds("siti")).thenReturn(Optional.of(List.of(siti.getId())));
+        when(userSearchIndexService.findUserIds("nobody")).thenReturn(Optional.of(List.of()));
+
+        assertThat(exportLines("siti")).hasSize(2).last().asString().contains("siti@gcompany.com");
+        assertThat(exportLines("nobody")).hasSize(1);
+    }
+
+    // header + baris data
+    private List<String> exportLines(String name) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportAttendance(out, ExportFormat.CSV, false, DATE, DATE, name, null);
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    private User user(String email, String fullName) {
+        User user = User.create(email, "secret", fullName);
+        user.setFirstName(fullName.split(" ")[0]);
+        entityManager.persist(user);
+        entityManager.persist(Attendance.builder().user(user).date(DATE).status(AttendanceStatus.ABSENT).build());
+        return user;
+    }
+}
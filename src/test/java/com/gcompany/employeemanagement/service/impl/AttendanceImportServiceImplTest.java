@@ -0,0 +1,66 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.gcompany.employeemanagement.dto.resp.ImportRowError;
+import com.gcompany.employeemanagement.utils.CsvLineParser;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+// validasi per baris sebelum COPY; COPY & merge sendiri hanya jalan di PostgreSQL
+class AttendanceImportServiceImplTest {
+
+    private final AttendanceImportServiceImpl importService =
+            new AttendanceImportServiceImpl(mock(DataSource.class), null, null, null, 1000);
+
+    private final Map<String, Integer> header =
+            importService.parseHeader("email,date,checkInTime,checkInLat,checkInLng,checkOutTime,status,note");
+
+    @Test
+    void validRowBecomesCopyLine() {
+        List<ImportRowError> errors = new ArrayList<>();
+
+        String copyLine = validate(2, "a@x.com,2024-01-02,08:00,-6.2,106.8,17:00,,\"late, traffic\"", errors);
+
+        assertThat(errors).isEmpty();
+        assertThat(copyLine).startsWith("2,\"a@x.com\",2024-01-02,").contains("PRESENT").endsWith("\"late, traffic\"");
+    }
+
+    @Test
+    void oversizedCellsAndNonFiniteCoordinatesAreRowErrors() {
+        List<ImportRowError> errors = new ArrayList<>();
+
+        assertThat(validate(2, "a".repeat(95) + "@x.com,2024-01-02,08:00,,,,,", errors)).isNull();
+        assertThat(validate(3, "a@x.com,2024-01-02,08:00,,,,," + "n".repeat(256), errors)).isNull();
+        assertThat(validate(4, "a@x.com,2024-01-02,08:00,NaN,106.8,,,", errors)).isNull();
+        assertThat(validate(5, "a@x.com,2024-01-02,08:00,-6.2,Infinity,,,", errors)).isNull();
+
+        assertThat(errors).extracting(ImportRowError::getLine).containsExactly(2L, 3L, 4L, 5L);
+        assertThat(errors.get(0).getReason()).isEqualTo("Email must not exceed 100 characters");
+        assertThat(errors.get(1).getReason()).isEqualTo("Note must not exceed 255 characters");
+        assertThat(errors.get(2).getReason()).startsWith("Coordinate out of range");
+        assertThat(errors.get(3).getReason()).startsWith("Coordinate out of range");
+    }
+
+    @Test
+    void onlyFirstErrorsBeyondTheReportLimitAreKept() {
+        AttendanceImportServiceImpl limited = new AttendanceImportServiceImpl(mock(DataSource.class), null, null, null, 2);
+        List<ImportRowError> errors = new ArrayList<>();
+
+        for (int line = 2; line < 7; line++) {
+            assertThat(limited.validateRow(line, CsvLineParser.parse("not-an-email,2024-01-02,,,,,,"), header, errors)).isNull();
+        }
+
+        // limit + 1 supaya pemanggil tahu hasilnya terpotong
+        assertThat(errors).extracting(ImportRowError::getLine).containsExactly(2L, 3L, 4L);
+    }
+
+    private String validate(long lineNo, String line, List<ImportRowError> errors) {
+        return importService.validateRow(lineNo, CsvLineParser.parse(line), header, errors);
+    }
+}
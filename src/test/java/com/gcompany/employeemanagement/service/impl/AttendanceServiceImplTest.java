@@ -0,0 +1,145 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.cloudinary.Cloudinary;
+import com.gcompany.employeemanagement.dto.Response;
+import com.gcompany.employeemanagement.dto.req.AttendanceRequest;
+import com.gcompany.employeemanagement.enums.AttendanceStatus;
+import com.gcompany.employeemanagement.model.Attendance;
+import com.gcompany.employeemanagement.model.User;
+import com.gcompany.employeemanagement.repository.AttendanceRepository;
+import com.gcompany.employeemanagement.repository.UserRepository;
+import com.gcompany.employeemanagement.service.AttendanceFeedService;
+import com.gcompany.employeemanagement.service.OfficeLocationService;
+import com.gcompany.employeemanagement.service.ShiftScheduleService;
+import com.gcompany.employeemanagement.service.TotalCountEstimator;
+import com.gcompany.employeemanagement.service.UserSearchIndexService;
+import com.gcompany.employeemanagement.utils.AttendanceMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checkout harus menemukan attendance shift malam yang dibuka kemarin (checkout setelah tengah malam).
+ */
+@DataJpaTest
+@Import(AttendanceServiceImpl.class)
+class AttendanceServiceImplTest {
+
+    private static final String EMAIL = "checkout-test@gcompany.com";
+
+    @Autowired
+    private AttendanceServiceImpl attendanceService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @MockitoBean
+    private AttendanceMapper attendanceMapper;
+
+    @MockitoBean
+    private TotalCountEstimator totalCountEstimator;
+
+    @MockitoBean
+    private OfficeLocationService officeLocationService;
+
+    @MockitoBean
+    private ShiftScheduleService shiftScheduleService;
+
+    @MockitoBean
+    private AttendanceFeedService attendanceFeedService;
+
+    @MockitoBean
+    private UserSearchIndexService userSearchIndexService;
+
+    @MockitoBean
+    private Cloudinary cloudinary;
+
+    private User user;
+    private final LocalDate today = LocalDate.now();
+    private final LocalDate yesterday = today.minusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.create(EMAIL, "secret", EMAIL));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(EMAIL, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void nightShiftOpenedYesterdayIsClosedAfterMidnight() {
+        // shift 22:00-06:00: check-in kemarin malam, checkout dini hari
+        Attendance night = openAttendance(yesterday, 22);
+        when(shiftScheduleService.isShiftOpen(eq(user.getId()), any(), eq(yesterday), any())).thenReturn(true);
+
+        ResponseEntity<?> response = attendanceService.checkOut(new AttendanceRequest());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Attendance closed = attendanceRepository.findById(night.getId()).orElseThrow();
+        assertThat(closed.getCheckoutTime()).isNotNull();
+        assertThat(closed.getWorkedMinutes()).isPositive();
+    }
+
+    @Test
+    void yesterdayAttendancePastShiftEndIsNotCheckedOut() {
+        Attendance stale = openAttendance(yesterday, 8);
+        when(shiftScheduleService.isShiftOpen(eq(user.getId()), any(), eq(yesterday), any())).thenReturn(false);
+
+        ResponseEntity<?> response = attendanceService.checkOut(new AttendanceRequest());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(((Response<?>) response.getBody()).getMessage()).isEqualTo("Anda belum check-in hari ini.");
+        // dibiarkan untuk job akhir hari
+        assertThat(attendanceRepository.findById(stale.getId()).orElseThrow().getCheckoutTime()).isNull();
+    }
+
+    @Test
+    void todaysAttendanceIsPreferredOverYesterdays() {
+        Attendance night = openAttendance(yesterday, 22);
+        Attendance current = openAttendance(today, 0);
+        when(shiftScheduleService.isShiftOpen(eq(user.getId()), any(), eq(yesterday), any())).thenReturn(true);
+
+        ResponseEntity<?> response = attendanceService.checkOut(new AttendanceRequest());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(attendanceRepository.findById(current.getId()).orElseThrow().getCheckoutTime()).isNotNull();
+        assertThat(attendanceRepository.findById(night.getId()).orElseThrow().getCheckoutTime()).isNull();
+    }
+
+    private Attendance openAttendance(LocalDate date, int checkinHour) {
+        return attendanceRepository.save(Attendance.builder()
+                .user(user)
+                .date(date)
+                .checkinTime(at(date, checkinHour))
+                .status(AttendanceStatus.PRESENT)
+                .build());
+    }
+
+    private static OffsetDateTime at(LocalDate date, int hour) {
+        return date.atTime(hour, 0).atZone(ZoneId.systemDefault()).toOffsetDateTime();
+    }
+}
@@ -0,0 +1,231 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.gcompany.employeemanagement.dto.req.AttendanceSyncRequest;
+import com.gcompany.employeemanagement.dto.req.OfflineAttendanceEvent;
+import com.gcompany.employeemanagement.dto.resp.AttendanceSyncEventResult;
+import com.gcompany.employeemanagement.dto.resp.AttendanceSyncResult;
+import com.gcompany.employeemanagement.enums.AttendanceStatus;
+import com.gcompany.employeemanagement.enums.SyncEventOutcome;
+import com.gcompany.employeemanagement.enums.SyncEventType;
+import com.gcompany.employeemanagement.model.Attendance;
+import com.gcompany.employeemanagement.model.User;
+import com.gcompany.employeemanagement.repository.AttendanceRepository;
+import com.gcompany.employeemanagement.repository.UserRepository;
+import com.gcompany.employeemanagement.service.AttendanceFeedService;
+import com.gcompany.employeemanagement.service.OfficeLocationService;
+import com.gcompany.employeemanagement.service.ShiftScheduleService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sync offline mobile. Klaim key & tulis attendance memakai unnest / ON CONFLICT ... RETURNING, jadi hanya jalan di PostgreSQL:
+ * mvn test -Dtest=AttendanceSyncServiceImplTest -Dspring.test.database.replace=none
+ * -Dspring.datasource.url=jdbc:postgresql://localhost:5432/employee_test -Dspring.datasource.username=... -Dspring.datasource.password=...
+ * Validasi jendela waktu ditolak sebelum menyentuh SQL tersebut, jadi juga jalan di H2.
+ */
+@DataJpaTest
+@Import(AttendanceSyncServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AttendanceSyncServiceImplTest {
+
+    private static final String EMAIL = "sync-test@gcompany.com";
+
+    @Autowired
+    private AttendanceSyncServiceImpl syncService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockitoBean
+    private OfficeLocationService officeLocationService;
+
+    @MockitoBean
+    private ShiftScheduleService shiftScheduleService;
+
+    @MockitoBean
+    private AttendanceFeedService attendanceFeedService;
+
+    private User user;
+    private final LocalDate yesterday = LocalDate.now().minusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.create(EMAIL, "secret", EMAIL));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(EMAIL, null, List.of()));
+        when(shiftScheduleService.classifyCheckIn(any(), any(), any())).thenReturn(AttendanceStatus.PRESENT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        jdbcTemplate.update("DELETE FROM attendance_sync_events WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM attendances WHERE user_id = ?", user.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void replayedKeyReturnsDuplicateWithOriginalOutcome() throws SQLException {
+        assumeTrue(isPostgres(), "Sync SQL needs PostgreSQL");
+
+        AttendanceSyncResult first = sync(
+                event("k-in", SyncEventType.CHECKIN, at(yesterday, 8, 0)),
+                event("k-in-again", SyncEventType.CHECKIN, at(yesterday, 8, 5)));
+        assertThat(first.getResults()).extracting(AttendanceSyncEventResult::getOutcome)
+                .containsExactly(SyncEventOutcome.APPLIED, SyncEventOutcome.REJECTED);
+
+        // device mengirim ulang batch yang sama
+        AttendanceSyncResult replay = sync(
+                event("k-in", SyncEventType.CHECKIN, at(yesterday, 8, 0)),
+                event("k-in-again", SyncEventType.CHECKIN, at(yesterday, 8, 5)));
+
+        assertThat(replay.getDuplicates()).isEqualTo(2);
+        assertThat(replay.getResults().get(0).getMessage()).isEqualTo("Already processed: APPLIED");
+        assertThat(replay.getResults().get(1).getMessage())
+                .startsWith("Already processed: REJECTED (Anda sudah check-in");
+        assertThat(countAttendances()).isEqualTo(1);
+    }
+
+    @Test
+    void checkoutSentBeforeItsCheckinIsAppliedInClientTimeOrder() throws SQLException {
+        assumeTrue(isPostgres(), "Sync SQL needs PostgreSQL");
+
+        AttendanceSyncResult result = sync(
+                event("k-out", SyncEventType.CHECKOUT, at(yesterday, 17, 0)),
+                event("k-in", SyncEventType.CHECKIN, at(yesterday, 8, 0)));
+
+        assertThat(result.getApplied()).isEqualTo(2);
+        // hasil tetap mengikuti urutan request
+        assertThat(result.getResults()).extracting(AttendanceSyncEventResult::getIdempotencyKey)
+                .containsExactly("k-out", "k-in");
+        assertThat(countAttendances()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT worked_minutes FROM attendances WHERE user_id = ? AND date = ?",
+                Integer.class, user.getId(), yesterday)).isEqualTo(9 * 60);
+    }
+
+    @Test
+    void eventsOutsideAgeAndFutureWindowAreRejected() {
+        AttendanceSyncResult result = sync(
+                event("k-old", SyncEventType.CHECKIN, OffsetDateTime.now().minusDays(8)),
+                event("k-future", SyncEventType.CHECKIN, OffsetDateTime.now().plusHours(1)));
+
+        assertThat(result.getRejected()).isEqualTo(2);
+        assertThat(result.getResults()).extracting(AttendanceSyncEventResult::getMessage)
+                .containsExactly("Event is older than 7 days", "Client timestamp is in the future");
+        assertThat(countAttendances()).isZero();
+    }
+
+    @Test
+    void checkinWhileAttendanceIsOpenIsRejected() throws SQLException {
+        assumeTrue(isPostgres(), "Sync SQL needs PostgreSQL");
+        attendanceRepository.save(Attendance.builder()
+                .user(user)
+                .date(yesterday)
+                .checkinTime(at(yesterday, 7, 55))
+                .status(AttendanceStatus.PRESENT)
+                .build());
+
+        AttendanceSyncResult result = sync(event("k-in", SyncEventType.CHECKIN, at(yesterday, 8, 0)));
+
+        assertThat(result.getRejected()).isEqualTo(1);
+        assertThat(result.getResults().get(0).getMessage()).isEqualTo("Anda sudah check-in dan belum checkout.");
+        assertThat(countAttendances()).isEqualTo(1);
+    }
+
+    @Test
+    void nightShiftCheckoutAfterMidnightClosesPreviousDaysAttendance() throws SQLException {
+        assumeTrue(isPostgres(), "Sync SQL needs PostgreSQL");
+        // shift 22:00-06:00: check-in online dua hari lalu, checkout offline kemarin dini hari
+        LocalDate nightStart = yesterday.minusDays(1);
+        Attendance night = attendanceRepository.save(Attendance.builder()
+                .user(user)
+                .date(nightStart)
+                .checkinTime(at(nightStart, 22, 0))
+                .status(AttendanceStatus.PRESENT)
+                .build());
+        when(shiftScheduleService.isShiftOpen(any(), any(), eq(nightStart), any())).thenReturn(true);
+
+        AttendanceSyncResult result = sync(event("k-out", SyncEventType.CHECKOUT, at(yesterday, 6, 0)));
+
+        assertThat(result.getApplied()).isEqualTo(1);
+        assertThat(countAttendances()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT worked_minutes FROM attendances WHERE id = ?",
+                Integer.class, night.getId())).isEqualTo(8 * 60);
+    }
+
+    @Test
+    void checkoutAfterPreviousShiftEndIsRejected() throws SQLException {
+        assumeTrue(isPostgres(), "Sync SQL needs PostgreSQL");
+        LocalDate dayBefore = yesterday.minusDays(1);
+        attendanceRepository.save(Attendance.builder()
+                .user(user)
+                .date(dayBefore)
+                .checkinTime(at(dayBefore, 8, 0))
+                .status(AttendanceStatus.PRESENT)
+                .build());
+        when(shiftScheduleService.isShiftOpen(any(), any(), eq(dayBefore), any())).thenReturn(false);
+
+        AttendanceSyncResult result = sync(event("k-out", SyncEventType.CHECKOUT, at(yesterday, 9, 0)));
+
+        assertThat(result.getRejected()).isEqualTo(1);
+        assertThat(result.getResults().get(0).getMessage()).isEqualTo("Anda belum check-in hari ini.");
+    }
+
+    private AttendanceSyncResult sync(OfflineAttendanceEvent... events) {
+        return syncService.syncOfflineEvents(AttendanceSyncRequest.builder().events(List.of(events)).build());
+    }
+
+    private static OfflineAttendanceEvent event(String key, SyncEventType type, OffsetDateTime timestamp) {
+        return OfflineAttendanceEvent.builder()
+                .idempotencyKey(key)
+                .type(type)
+                .clientTimestamp(timestamp)
+                .build();
+    }
+
+    private static OffsetDateTime at(LocalDate date, int hour, int minute) {
+        return date.atTime(hour, minute).atZone(ZoneId.systemDefault()).toOffsetDateTime();
+    }
+
+    private Integer countAttendances() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM attendances WHERE user_id = ?", Integer.class, user.getId());
+    }
+
+    private boolean isPostgres() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getDatabaseProductName().equalsIgnoreCase("PostgreSQL");
+        }
+    }
+}
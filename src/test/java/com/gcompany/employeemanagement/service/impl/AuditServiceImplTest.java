@@ -0,0 +1,102 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.gcompany.employeemanagement.dto.resp.CursorResponse;
+import com.gcompany.employeemanagement.enums.ActionType;
+import com.gcompany.employeemanagement.enums.ResourceType;
+import com.gcompany.employeemanagement.model.AuditLog;
+import com.gcompany.employeemanagement.repository.AuditLogRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// buffer kecil tanpa waktu tunggu: sebagian besar event bulk dipaksa lewat file spill
+@DataJpaTest(properties = {"app.audit.queue-capacity=8", "app.audit.batch-size=4", "app.audit.publish-timeout-ms=0",
+        "app.audit.spill-dir=target/audit-spill-test"})
+@Import(AuditServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuditServiceImplTest {
+
+    @Autowired
+    private AuditServiceImpl auditService;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        auditLogRepository.deleteAll();
+    }
+
+    @Test
+    void overflowIsSpilledToDiskAndReplayedWithoutLosingEvents() throws IOException {
+        List<Long> ids = LongStream.rangeClosed(1, 1000).boxed().toList();
+
+        auditService.record(ResourceType.USER, ActionType.DEACTIVATE, ids, "bulk DEACTIVATE");
+        auditService.flush();
+
+        assertThat(auditLogRepository.count()).isEqualTo(1000);
+        assertThat(auditLogRepository.findAll())
+                .extracting(AuditLog::getEntityId)
+                .containsExactlyInAnyOrderElementsOf(ids);
+        try (Stream<Path> leftovers = Files.list(Path.of("target/audit-spill-test"))) {
+            assertThat(leftovers).isEmpty();
+        }
+    }
+
+    @Test
+    void eventsAreWrittenOnlyAfterCommit() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            auditService.record(ResourceType.DEPARTMENT, ActionType.DELETE, 1L, "rolled back");
+            status.setRollbackOnly();
+        });
+        tx.executeWithoutResult(status -> auditService.record(ResourceType.DEPARTMENT, ActionType.CREATE, 2L, "committed"));
+        auditService.flush();
+
+        assertThat(auditLogRepository.findAll())
+                .extracting(AuditLog::getDetail)
+                .containsExactly("committed");
+    }
+
+    @Test
+    void auditTrailIsKeysetPaginatedNewestFirst() {
+        for (int i = 0; i < 5; i++) {
+            auditService.record(ResourceType.USER, ActionType.UPDATE, 7L, "change " + i);
+            auditService.record(ResourceType.USER, ActionType.UPDATE, 8L, "other user");
+        }
+        auditService.flush();
+
+        List<AuditLog> trail = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorResponse<AuditLog> page = auditService.getAuditTrail(ResourceType.USER, 7L, null, cursor, 2);
+            trail.addAll(page.getContent());
+            pageSizes.add(page.getContent().size());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(pageSizes).containsExactly(2, 2, 1);
+        assertThat(trail).extracting(AuditLog::getEntityId).containsOnly(7L);
+        assertThat(trail).extracting(AuditLog::getId).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+    }
+}
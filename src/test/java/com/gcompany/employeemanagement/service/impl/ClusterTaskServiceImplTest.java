@@ -0,0 +1,80 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.gcompany.employeemanagement.enums.JobRunStatus;
+import com.gcompany.employeemanagement.model.ScheduledTaskRun;
+import com.gcompany.employeemanagement.repository.ScheduledTaskLockRepository;
+import com.gcompany.employeemanagement.repository.ScheduledTaskRunRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {"app.scheduling.lease-ms=300", "app.scheduling.min-hold-ms=0"})
+@Import(ClusterTaskServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ClusterTaskServiceImplTest {
+
+    @Autowired
+    private ClusterTaskServiceImpl clusterTaskService;
+
+    @Autowired
+    private ScheduledTaskLockRepository lockRepository;
+
+    @Autowired
+    private ScheduledTaskRunRepository runRepository;
+
+    @AfterEach
+    void tearDown() {
+        runRepository.deleteAll();
+        lockRepository.deleteAll();
+    }
+
+    @Test
+    void taskIsSkippedWhileAnotherRunHoldsTheLease() {
+        AtomicBoolean nestedRan = new AtomicBoolean(false);
+
+        boolean ran = clusterTaskService.runExclusive("test.task", () ->
+                // lease dipegang run luar, jadi "node lain" tidak boleh jalan
+                nestedRan.set(clusterTaskService.runExclusive("test.task", () -> { })));
+
+        assertThat(ran).isTrue();
+        assertThat(nestedRan).isFalse();
+        assertThat(clusterTaskService.runExclusive("test.task", () -> { })).isTrue();   // lease sudah dilepas
+        assertThat(runRepository.findTop50ByTaskNameOrderByStartedAtDesc("test.task"))
+                .extracting(ScheduledTaskRun::getStatus)
+                .containsOnly(JobRunStatus.COMPLETED)
+                .hasSize(2);
+    }
+
+    @Test
+    void leaseIsRenewedDuringLongRunsAndFailuresAreRecorded() {
+        clusterTaskService.runExclusive("test.long", () -> {
+            sleep(800);                 // > 2x lease
+            throw new IllegalStateException("boom");
+        });
+
+        List<ScheduledTaskRun> runs = clusterTaskService.getRecentRuns("test.long");
+        assertThat(runs).hasSize(1);
+        ScheduledTaskRun run = runs.get(0);
+        assertThat(run.getStatus()).isEqualTo(JobRunStatus.FAILED);
+        assertThat(run.getError()).contains("boom");
+        assertThat(run.getLeaseRenewals()).isGreaterThanOrEqualTo(3);
+        assertThat(run.isLeaseLost()).isFalse();
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.gcompany.employeemanagement.model.Department;
+import com.gcompany.employeemanagement.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(DepartmentMembershipServiceImpl.class)
+class DepartmentMembershipServiceImplTest {
+
+    @Autowired
+    private DepartmentMembershipServiceImpl membershipService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void membershipAndManagedDepartmentsAreServedFromMemory() {
+        User manager = persistUser("manager@gcompany.com", null);
+        Department sales = persistDepartment("SALES", manager);
+        Department ops = persistDepartment("OPS", null);
+        User seller = persistUser("seller@gcompany.com", sales);
+        User operator = persistUser("operator@gcompany.com", ops);
+        entityManager.flush();
+        membershipService.reloadMemberships();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertThat(membershipService.getDepartmentId(seller.getId())).isEqualTo(sales.getId());
+        assertThat(membershipService.canAccessDepartment(seller.getId(), "sales")).isTrue();
+        assertThat(membershipService.canAccessDepartment(seller.getId(), "OPS")).isFalse();
+        assertThat(membershipService.canAccessDepartment(manager.getId(), sales.getId())).isTrue();
+        assertThat(membershipService.managesDepartmentOf(manager.getId(), seller.getId())).isTrue();
+        assertThat(membershipService.managesDepartmentOf(manager.getId(), operator.getId())).isFalse();
+        assertThat(membershipService.canAccessDepartment(operator.getId(), "UNKNOWN")).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        // perubahan manager department: data department dimuat ulang setelah commit
+        ops.setManager(manager);
+        entityManager.flush();
+        membershipService.refreshDepartments();
+        assertThat(membershipService.getManagedDepartmentIds(manager.getId())).containsExactly(sales.getId());
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        assertThat(membershipService.getManagedDepartmentIds(manager.getId())).containsExactlyInAnyOrder(sales.getId(), ops.getId());
+        assertThat(membershipService.managesDepartmentOf(manager.getId(), operator.getId())).isTrue();
+    }
+
+    private Department persistDepartment(String code, User manager) {
+        Department department = Department.builder()
+                .code(code)
+                .name(code)
+                .isActive(true)
+                .manager(manager)
+                .build();
+        entityManager.persist(department);
+        return department;
+    }
+
+    private User persistUser(String email, Department department) {
+        User user = User.create(email, "secret", email);
+        user.setFirstName("Employee");
+        user.setDepartment(department);
+        entityManager.persist(user);
+        return user;
+    }
+}
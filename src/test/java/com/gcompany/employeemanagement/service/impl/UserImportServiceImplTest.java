@@ -0,0 +1,243 @@
+package com.gcompany.employeemanagement.service.impl;
+
+import com.gcompany.employeemanagement.dto.resp.UserImportResult;
+import com.gcompany.employeemanagement.dto.resp.UserImportRow;
+import com.gcompany.employeemanagement.enums.ImportRowOutcome;
+import com.gcompany.employeemanagement.enums.JobStatus;
+import com.gcompany.employeemanagement.exception.BusinessRuleException;
+import com.gcompany.employeemanagement.model.Job;
+import com.gcompany.employeemanagement.model.Role;
+import com.gcompany.employeemanagement.model.User;
+import com.gcompany.employeemanagement.repository.JobRepository;
+import com.gcompany.employeemanagement.repository.RoleRepository;
+import com.gcompany.employeemanagement.repository.UserRepository;
+import com.gcompany.employeemanagement.service.AuditService;
+import com.gcompany.employeemanagement.service.ClusterTaskService;
+import com.gcompany.employeemanagement.service.JobQueueService;
+import com.gcompany.employeemanagement.service.SecurityService;
+import com.gcompany.employeemanagement.service.UserSearchIndexService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Upload hanya stage baris dan enqueue job; test menjalankan UserImportJobHandler langsung lalu membaca hasil per job.
+ * Parsing, validasi dan klasifikasi baris jalan di H2. Insert (unnest, ON CONFLICT ... RETURNING) hanya di PostgreSQL:
+ * mvn test -Dtest=UserImportServiceImplTest -Dspring.test.database.replace=none
+ * -Dspring.datasource.url=jdbc:postgresql://localhost:5432/employee_test -Dspring.datasource.username=... -Dspring.datasource.password=...
+ */
+@DataJpaTest
+@Import({UserImportServiceImpl.class, UserImportJobHandler.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserImportServiceImplTest {
+
+    private static final String VALID_PASSWORD = "Secret#123";
+
+    @Autowired
+    private UserImportServiceImpl userImportService;
+
+    @Autowired
+    private UserImportJobHandler userImportJobHandler;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private SecurityService securityService;
+
+    @MockitoBean
+    private UserSearchIndexService userSearchIndexService;
+
+    @MockitoBean
+    private AuditService auditService;
+
+    @MockitoBean
+    private JobQueueService jobQueueService;
+
+    @MockitoBean
+    private ClusterTaskService clusterTaskService;
+
+    @BeforeEach
+    void setUp() {
+        when(passwordEncoder.encode(anyString())).thenReturn("hashed");
+        when(jobQueueService.enqueue(eq(UserImportJobHandler.TYPE), any())).thenAnswer(invocation -> {
+            OffsetDateTime now = OffsetDateTime.now();
+            return jobRepository.save(Job.builder()
+                    .type(UserImportJobHandler.TYPE)
+                    .payload("{\"createdBy\":null}")
+                    .status(JobStatus.QUEUED)
+                    .maxAttempts(5)
+                    .runAt(now)
+                    .createdAt(now)
+                    .build());
+        });
+        Role employee = Role.businessRole("ROLE_IMPORT_EMP", "IMPORT_EMP", "Import test role");
+        employee.setDefaultRole(true);
+        roleRepository.save(employee);
+        User existing = User.create("existing@import.test", "secret", "Existing User");
+        existing.setFirstName("Existing");
+        userRepository.save(existing);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM user_roles WHERE user_id IN (SELECT id FROM users WHERE email LIKE '%@import.test')");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE '%@import.test'");
+        jdbcTemplate.update("DELETE FROM roles WHERE code = 'IMPORT_EMP'");
+        jdbcTemplate.update("DELETE FROM user_import_rows");
+        jdbcTemplate.update("DELETE FROM jobs WHERE type = ?", UserImportJobHandler.TYPE);
+    }
+
+    @Test
+    void rowsAreClassifiedWithoutInsertingAnything() throws Exception {
+        UserImportResult result = importFile("""
+                email,password,firstName,lastName,roles
+                EXISTING@import.test,%1$s,Existing,Again,
+                existing@import.test,%1$s,Existing,Twice,
+                not-an-email,%1$s,Broken,,
+                weak@import.test,password,Weak,,
+                norole@import.test,%1$s,"No, Role",,GHOST
+                """.formatted(VALID_PASSWORD));
+
+        assertThat(result.getTotalRows()).isEqualTo(5);
+        assertThat(result.getCreatedRows()).isZero();
+        assertThat(result.getExistingRows()).isEqualTo(1);
+        assertThat(result.getDuplicateRows()).isEqualTo(1);
+        assertThat(result.getInvalidRows()).isEqualTo(3);
+        assertThat(result.getRows())
+                .extracting(UserImportRow::getLine, UserImportRow::getOutcome)
+                .containsExactly(
+                        tuple(2L, ImportRowOutcome.EXISTS),
+                        tuple(3L, ImportRowOutcome.DUPLICATE),
+                        tuple(4L, ImportRowOutcome.INVALID),
+                        tuple(5L, ImportRowOutcome.INVALID),
+                        tuple(6L, ImportRowOutcome.INVALID));
+        assertThat(result.getRows().get(2).getReason()).isEqualTo("Invalid email");
+        assertThat(result.getRows().get(3).getReason()).startsWith("Password must be");
+        // nama dengan koma di dalam quote tetap satu kolom, jadi yang gagal role-nya
+        assertThat(result.getRows().get(4).getReason()).isEqualTo("Unknown role: GHOST");
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void ndjsonRowsAreParsedPerLine() throws Exception {
+        UserImportResult result = importFile("""
+                {"email":"existing@import.test","password":"%1$s","firstName":"Existing","roles":["import_emp"]}
+                {"email":"broken@import.test",
+                {"email":"short@import.test","password":"%1$s","firstName":"S"}
+                """.formatted(VALID_PASSWORD));
+
+        assertThat(result.getRows())
+                .extracting(UserImportRow::getOutcome)
+                .containsExactly(ImportRowOutcome.EXISTS, ImportRowOutcome.INVALID, ImportRowOutcome.INVALID);
+        assertThat(result.getRows().get(1).getReason()).startsWith("Invalid JSON");
+        assertThat(result.getRows().get(2).getReason()).isEqualTo("First name must be at least 2 characters");
+    }
+
+    @Test
+    void malformedFilesAreRejectedBeforeStaging() {
+        assertThatThrownBy(() -> importFile("email,password\nfoo@import.test," + VALID_PASSWORD + "\n"))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessageContaining("firstName");
+        assertThatThrownBy(() -> importFile("email,password,firstName\n"))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessage("Import file is empty");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM jobs WHERE type = ?", Integer.class,
+                UserImportJobHandler.TYPE)).isZero();
+    }
+
+    @Test
+    void largeFileIsStagedWithoutRowCap() throws IOException {
+        StringBuilder file = new StringBuilder("email,password,firstName\n");
+        for (int i = 0; i < 1000; i++) {
+            file.append("user").append(i).append("@import.test,").append(VALID_PASSWORD).append(",User\n");
+        }
+
+        UserImportResult submitted = userImportService.submitImport(
+                new ByteArrayInputStream(file.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(submitted.getJobId()).isNotNull();
+        assertThat(submitted.getStatus()).isEqualTo(JobStatus.QUEUED);
+        assertThat(submitted.getTotalRows()).isEqualTo(1000);
+        UserImportResult pending = userImportService.getImportResult(submitted.getJobId());
+        assertThat(pending.getTotalRows()).isEqualTo(1000);
+        assertThat(pending.getRows()).allSatisfy(row -> assertThat(row.getOutcome()).isNull());
+    }
+
+    @Test
+    void validRowsAreCreatedWithTheDefaultRole() throws Exception {
+        assumeTrue(isPostgres(), "User import insert needs PostgreSQL");
+
+        UserImportResult result = importFile("""
+                email,password,firstName,lastName
+                new1@import.test,%1$s,New,One
+                new2@import.test,%1$s,New,Two
+                existing@import.test,%1$s,Existing,
+                """.formatted(VALID_PASSWORD));
+
+        assertThat(result.getRows())
+                .extracting(UserImportRow::getOutcome)
+                .containsExactly(ImportRowOutcome.CREATED, ImportRowOutcome.CREATED, ImportRowOutcome.EXISTS);
+        assertThat(result.getRows().get(0).getUserId()).isNotNull();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM user_roles ur JOIN roles r ON r.id = ur.role_id WHERE r.code = 'IMPORT_EMP'",
+                Integer.class)).isEqualTo(2);
+    }
+
+    // upload, jalankan job-nya, lalu baca hasil per baris
+    private UserImportResult importFile(String content) throws Exception {
+        UserImportResult submitted = userImportService.submitImport(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        userImportJobHandler.handle(jobRepository.findById(submitted.getJobId()).orElseThrow());
+        return userImportService.getImportResult(submitted.getJobId());
+    }
+
+    private boolean isPostgres() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getDatabaseProductName().equalsIgnoreCase("PostgreSQL");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.gcompany.employeemanagement.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BadgeSignerTest {
+
+    private static final String SECRET = "kiosk-badge-secret-for-tests-0123456789";
+
+    @Test
+    void signedBadgeVerifiesToUserId() {
+        BadgeSigner signer = new BadgeSigner(SECRET);
+
+        String badge = signer.sign(12345);
+        assertTrue(badge.length() <= 24, badge);
+        assertEquals(12345, signer.verify(badge));
+        assertEquals(1, signer.verify(signer.sign(1)));
+    }
+
+    @Test
+    void tamperedOrForeignBadgesAreRejected() {
+        BadgeSigner signer = new BadgeSigner(SECRET);
+        String badge = signer.sign(42);
+        String signature = badge.substring(badge.indexOf('.'));
+
+        assertEquals(-1, signer.verify(Long.toString(43, 36) + signature));          // id diganti
+        char last = badge.charAt(badge.length() - 1);
+        assertEquals(-1, signer.verify(badge.substring(0, badge.length() - 1) + (last == 'A' ? 'B' : 'A')));
+        assertEquals(-1, signer.verify("0" + badge));                                 // id tidak kanonik
+        assertEquals(-1, signer.verify(new BadgeSigner(SECRET + "-rotated").sign(42)));
+        assertEquals(-1, signer.verify("garbage"));
+        assertEquals(-1, signer.verify(null));
+    }
+}
@@ -0,0 +1,55 @@
+package com.gcompany.employeemanagement.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeofenceIndexTest {
+
+    @Test
+    void radiusAndPolygonContainment() {
+        GeofenceIndex index = GeofenceIndex.build(List.of(
+                // Monas, radius 200m
+                GeofenceIndex.Geofence.radius(1, -6.1754, 106.8272, 200),
+                // kotak kecil di sekitar Bundaran HI
+                GeofenceIndex.Geofence.polygon(2,
+                        new double[]{-6.1930, -6.1930, -6.1960, -6.1960},
+                        new double[]{106.8210, 106.8250, 106.8250, 106.8210})
+        ));
+
+        assertEquals(1, index.find(-6.1755, 106.8273).getId());
+        assertNull(index.find(-6.1800, 106.8272));            // ~500m dari Monas
+        assertEquals(2, index.find(-6.1945, 106.8230).getId());
+        assertNull(index.find(-6.1945, 106.8260));
+        assertNull(GeofenceIndex.empty().find(-6.1755, 106.8273));
+    }
+
+    @Test
+    void matchesBruteForceForManySites() {
+        Random random = new Random(42);
+        List<GeofenceIndex.Geofence> fences = new ArrayList<>();
+        List<double[]> sites = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            double lat = -8 + random.nextDouble() * 6;
+            double lng = 105 + random.nextDouble() * 10;
+            double radius = 100 + random.nextDouble() * 900;
+            fences.add(GeofenceIndex.Geofence.radius(i, lat, lng, radius));
+            sites.add(new double[]{lat, lng, radius});
+        }
+        GeofenceIndex index = GeofenceIndex.build(fences);
+
+        for (int i = 0; i < 5000; i++) {
+            double[] site = sites.get(random.nextInt(sites.size()));
+            double lat = site[0] + (random.nextDouble() - 0.5) * 0.03;
+            double lng = site[1] + (random.nextDouble() - 0.5) * 0.03;
+
+            boolean expected = sites.stream()
+                    .anyMatch(s -> GeofenceIndex.distanceMeters(s[0], s[1], lat, lng) <= s[2]);
+            assertEquals(expected, index.find(lat, lng) != null, "lat=" + lat + " lng=" + lng);
+        }
+    }
+}
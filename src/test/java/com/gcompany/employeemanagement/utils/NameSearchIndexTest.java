@@ -0,0 +1,70 @@
+package com.gcompany.employeemanagement.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameSearchIndexTest {
+
+    @Test
+    void ranksNameMatchesBeforeEmailMatches() {
+        NameSearchIndex index = NameSearchIndex.build(List.of(
+                NameSearchIndex.Entry.of(1, "Budi Santoso", "budi@gcompany.com"),
+                NameSearchIndex.Entry.of(2, "Santi Budiman", "santi@gcompany.com"),
+                NameSearchIndex.Entry.of(3, "Andi Wijaya", "andi.budi@gcompany.com"),
+                NameSearchIndex.Entry.of(4, "Rabudi", "rabudi@gcompany.com"),
+                NameSearchIndex.Entry.of(5, "Budi", "b@gcompany.com")
+        ));
+
+        // sama persis, awalan nama, awalan kata, substring nama, email
+        assertEquals(List.of(5L, 1L, 2L, 4L, 3L), index.search("BUDI", 10));
+        // semua hanya match email: urut nama lalu id
+        assertEquals(List.of(3L, 5L, 1L, 4L, 2L), index.search("gcompany", 10));
+        assertEquals(List.of(), index.search("xyz", 10));
+        assertNull(index.search("gcompany", 4));
+    }
+
+    @Test
+    void putAndRemoveKeepIndexCurrent() {
+        NameSearchIndex index = NameSearchIndex.build(List.of(
+                NameSearchIndex.Entry.of(1, "Budi Santoso", "budi@gcompany.com")));
+
+        index.put(1, "Budi Hartono", "budi.h@gcompany.com");
+        index.put(2, "Dewi Lestari", "dewi@gcompany.com");
+
+        assertEquals(List.of(), index.search("santoso", 10));
+        assertEquals(List.of(1L), index.search("hartono", 10));
+        assertEquals(List.of(2L), index.search("les", 10));
+
+        index.remove(2);
+        assertEquals(List.of(), index.search("les", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void matchesBruteForceContains() {
+        Random random = new Random(7);
+        String[] parts = {"adi", "budi", "citra", "dewi", "eka", "fajar", "gita", "hadi", "indah", "joko"};
+        List<NameSearchIndex.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            String name = parts[random.nextInt(parts.length)] + " " + parts[random.nextInt(parts.length)] + " " + i;
+            entries.add(NameSearchIndex.Entry.of(i, name, "user" + i + "@gcompany.com"));
+        }
+        NameSearchIndex index = NameSearchIndex.build(entries);
+
+        for (String query : List.of("a", "di", "wi e", "ra g", "joko 1", "er1", "adi budi 12")) {
+            List<Long> expected = entries.stream()
+                    .filter(e -> e.name().contains(query) || e.email().contains(query))
+                    .map(NameSearchIndex.Entry::id)
+                    .sorted()
+                    .toList();
+            List<Long> actual = new ArrayList<>(index.search(query, entries.size()));
+            actual.sort(null);
+            assertEquals(expected, actual, query);
+        }
+    }
+}
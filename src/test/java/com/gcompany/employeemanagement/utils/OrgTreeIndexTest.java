@@ -0,0 +1,84 @@
+package com.gcompany.employeemanagement.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrgTreeIndexTest {
+
+    //        1          6
+    //      /   \        |
+    //     2     3       7
+    //    / \
+    //   4   5
+    private static OrgTreeIndex sample() {
+        Map<Long, Long> managers = new HashMap<>();
+        managers.put(1L, null);
+        managers.put(2L, 1L);
+        managers.put(3L, 1L);
+        managers.put(4L, 2L);
+        managers.put(5L, 2L);
+        managers.put(7L, 6L);
+        return OrgTreeIndex.build(managers);
+    }
+
+    @Test
+    void teamIsContiguousPreOrderRange() {
+        OrgTreeIndex index = sample();
+
+        assertEquals(7, index.size());
+        assertEquals(List.of(2L, 4L, 5L, 3L), index.team(1));
+        assertEquals(List.of(4L, 5L), index.team(2));
+        assertEquals(List.of(), index.team(4));
+        assertEquals(List.of(), index.team(99));
+        assertTrue(index.isInTeam(1, 5));
+        assertTrue(index.isInTeam(2, 4));
+        assertFalse(index.isInTeam(2, 3));
+        assertFalse(index.isInTeam(4, 2));
+        assertFalse(index.isInTeam(1, 1));
+        assertFalse(index.isInTeam(1, 7));
+    }
+
+    @Test
+    void transferMovesWholeSubtree() {
+        OrgTreeIndex index = sample();
+
+        index.setManager(2, 7L);
+
+        assertEquals(List.of(3L), index.team(1));
+        assertEquals(List.of(7L, 2L, 4L, 5L), index.team(6));
+        assertTrue(index.isInTeam(6, 4));
+        assertFalse(index.isInTeam(1, 4));
+
+        // user baru (belum ada di index) langsung masuk tim
+        index.setManager(8, 3L);
+        assertTrue(index.isInTeam(1, 8));
+
+        assertThrows(IllegalArgumentException.class, () -> index.setManager(2, 5L));
+        assertThrows(IllegalArgumentException.class, () -> index.setManager(2, 2L));
+        assertEquals(List.of(4L, 5L), index.team(2));
+    }
+
+    @Test
+    void removeDetachesReportsAndCyclesAreBroken() {
+        OrgTreeIndex index = sample();
+
+        index.remove(2);
+        assertEquals(List.of(3L), index.team(1));
+        assertFalse(index.isInTeam(1, 4));
+        assertEquals(6, index.size());
+
+        // data rusak dengan siklus 10 -> 11 -> 10: tetap terlabel semua
+        Map<Long, Long> cyclic = new HashMap<>();
+        cyclic.put(10L, 11L);
+        cyclic.put(11L, 10L);
+        cyclic.put(12L, 11L);
+        OrgTreeIndex broken = OrgTreeIndex.build(cyclic);
+        assertEquals(3, broken.size());
+        assertEquals(List.of(11L, 12L), broken.team(10));
+    }
+}
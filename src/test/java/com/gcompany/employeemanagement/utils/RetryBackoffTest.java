@@ -0,0 +1,28 @@
+package com.gcompany.employeemanagement.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryBackoffTest {
+
+    private final RetryBackoff backoff = new RetryBackoff(Duration.ofSeconds(5), Duration.ofMinutes(10));
+
+    @Test
+    void delayDoublesPerAttemptWithinJitterRange() {
+        assertEquals(Duration.ofMillis(2500), backoff.delay(1, 0.0));
+        assertTrue(backoff.delay(1, 0.999).compareTo(Duration.ofSeconds(5)) < 0);
+        assertEquals(Duration.ofSeconds(5), backoff.delay(2, 0.0));
+        assertEquals(Duration.ofSeconds(20), backoff.delay(4, 0.0));
+    }
+
+    @Test
+    void delayIsCappedWithoutOverflow() {
+        assertEquals(Duration.ofMinutes(5), backoff.delay(10, 0.0));
+        assertTrue(backoff.delay(1000, 0.999).compareTo(Duration.ofMinutes(10)) < 0);
+        Duration huge = backoff.delay(Integer.MAX_VALUE, 0.5);
+        assertTrue(huge.compareTo(Duration.ofMinutes(5)) >= 0 && huge.compareTo(Duration.ofMinutes(10)) < 0, huge.toString());
+    }
+}
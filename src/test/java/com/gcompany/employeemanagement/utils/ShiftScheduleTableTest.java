@@ -0,0 +1,131 @@
+package com.gcompany.employeemanagement.utils;
+
+import com.gcompany.employeemanagement.enums.AttendanceStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShiftScheduleTableTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void defaultShiftMatchesFixedOfficeHours() {
+        ShiftScheduleTable table = ShiftScheduleTable.builder(MONDAY, 7, 8 * 60, 17 * 60).build();
+
+        assertEquals(AttendanceStatus.PRESENT, table.classifyCheckIn(1, null, MONDAY.atTime(8, 0)));
+        assertEquals(AttendanceStatus.LATE, table.classifyCheckIn(1, null, MONDAY.atTime(8, 0, 1)));
+        assertTrue(table.isEarlyLeave(1, null, MONDAY, MONDAY.atTime(16, 59)));
+        assertFalse(table.isEarlyLeave(1, null, MONDAY, MONDAY.atTime(17, 0)));
+    }
+
+    @Test
+    void userAssignmentOverridesDepartmentAndHolidaysOverrideBoth() {
+        ShiftScheduleTable.Builder builder = ShiftScheduleTable.builder(MONDAY, 7, 8 * 60, 17 * 60);
+        int morning = builder.addShift(6 * 60, 14 * 60, 10, 0);
+        int night = builder.addShift(22 * 60, 6 * 60, 0, 15);
+        for (int d = 0; d < 7; d++) {
+            builder.departmentDay(10, MONDAY.plusDays(d), morning);
+        }
+        builder.userDay(99, MONDAY, night);
+        builder.departmentHoliday(10, MONDAY.plusDays(2));
+        builder.companyHoliday(MONDAY.plusDays(3));
+        ShiftScheduleTable table = builder.build();
+
+        // department pagi dengan toleransi 10 menit
+        assertEquals(AttendanceStatus.PRESENT, table.classifyCheckIn(1, 10L, MONDAY.atTime(6, 10)));
+        assertEquals(AttendanceStatus.LATE, table.classifyCheckIn(1, 10L, MONDAY.atTime(6, 11)));
+
+        // user 99 shift malam: pulang besok pagi, toleransi pulang 15 menit
+        assertEquals(night, table.shiftFor(99, 10L, MONDAY.toEpochDay()));
+        assertFalse(table.isEarlyLeave(99, 10L, MONDAY, MONDAY.plusDays(1).atTime(5, 45)));
+        assertTrue(table.isEarlyLeave(99, 10L, MONDAY, MONDAY.plusDays(1).atTime(5, 44)));
+        assertTrue(table.isEarlyLeave(99, 10L, MONDAY, MONDAY.atTime(23, 0)));
+        // check-in lewat tengah malam untuk shift malam kemarin
+        assertEquals(AttendanceStatus.LATE, table.classifyCheckIn(99, 10L, MONDAY.plusDays(1).atTime(0, 30)));
+
+        assertEquals(ShiftScheduleTable.HOLIDAY, table.shiftFor(99, 10L, MONDAY.plusDays(2).toEpochDay()));
+        assertEquals(ShiftScheduleTable.HOLIDAY, table.shiftFor(1, null, MONDAY.plusDays(3).toEpochDay()));
+        assertEquals(AttendanceStatus.PRESENT, table.classifyCheckIn(1, 10L, MONDAY.plusDays(3).atTime(11, 0)));
+        assertFalse(table.isEarlyLeave(1, 10L, MONDAY.plusDays(3), MONDAY.plusDays(3).atTime(12, 0)));
+
+        // di luar jendela: shift default
+        assertEquals(ShiftScheduleTable.DEFAULT_SHIFT, table.shiftFor(1, 10L, MONDAY.plusDays(30).toEpochDay()));
+    }
+
+    @Test
+    void overtimeIsTimeAfterShiftEndOrWholeDayWhenOff() {
+        ShiftScheduleTable.Builder builder = ShiftScheduleTable.builder(MONDAY, 7, 8 * 60, 17 * 60);
+        int night = builder.addShift(22 * 60, 6 * 60, 0, 0);
+        builder.userDay(99, MONDAY, night);
+        builder.userDay(1, MONDAY.plusDays(1), ShiftScheduleTable.OFF);
+        ShiftScheduleTable table = builder.build();
+
+        // shift default 08-17
+        assertEquals(0, table.overtimeSeconds(1, null, MONDAY, MONDAY.atTime(8, 0), MONDAY.atTime(16, 0)));
+        assertEquals(90 * 60, table.overtimeSeconds(1, null, MONDAY, MONDAY.atTime(8, 0), MONDAY.atTime(18, 30)));
+        // datang setelah jam pulang: semua dihitung lembur
+        assertEquals(60 * 60, table.overtimeSeconds(1, null, MONDAY, MONDAY.atTime(18, 0), MONDAY.atTime(19, 0)));
+        // hari off
+        assertEquals(4 * 3600, table.overtimeSeconds(1, null, MONDAY.plusDays(1),
+                MONDAY.plusDays(1).atTime(9, 0), MONDAY.plusDays(1).atTime(13, 0)));
+        // shift malam: pulang 07:00 besok = lembur 1 jam
+        assertEquals(3600, table.overtimeSeconds(99, null, MONDAY,
+                MONDAY.atTime(22, 0), MONDAY.plusDays(1).atTime(7, 0)));
+        assertEquals(0, table.overtimeSeconds(1, null, MONDAY, MONDAY.atTime(9, 0), MONDAY.atTime(9, 0)));
+    }
+
+    @Test
+    void defaultShiftOnlyOnDefaultWorkDaysInsideAndOutsideWindow() {
+        boolean[] weekdays = {true, true, true, true, true, false, false};
+        ShiftScheduleTable.Builder builder = ShiftScheduleTable.builder(MONDAY, 7, 8 * 60, 17 * 60)
+                .defaultWorkDays(weekdays);
+        int morning = builder.addShift(6 * 60, 14 * 60, 0, 0);
+        builder.userDay(99, MONDAY.plusDays(5), morning);
+        ShiftScheduleTable table = builder.build();
+
+        assertEquals(ShiftScheduleTable.DEFAULT_SHIFT, table.shiftFor(1, null, MONDAY.plusDays(4).toEpochDay()));
+        assertEquals(ShiftScheduleTable.OFF, table.shiftFor(1, null, MONDAY.plusDays(5).toEpochDay()));
+        assertEquals(ShiftScheduleTable.OFF, table.shiftFor(1, 10L, MONDAY.plusDays(6).toEpochDay()));
+        // assignment user tetap berlaku di hari Sabtu
+        assertEquals(morning, table.shiftFor(99, null, MONDAY.plusDays(5).toEpochDay()));
+        // di luar jendela (sebelum & sesudah)
+        assertEquals(ShiftScheduleTable.OFF, table.shiftFor(1, null, MONDAY.minusDays(1).toEpochDay()));
+        assertEquals(ShiftScheduleTable.OFF, table.shiftFor(1, null, MONDAY.plusDays(13).toEpochDay()));
+        assertEquals(ShiftScheduleTable.DEFAULT_SHIFT, table.shiftFor(1, null, MONDAY.plusDays(14).toEpochDay()));
+    }
+
+    @Test
+    void shiftEndSecondCoversNightShiftAndOffDays() {
+        ShiftScheduleTable.Builder builder = ShiftScheduleTable.builder(MONDAY, 7, 8 * 60, 17 * 60);
+        int night = builder.addShift(22 * 60, 6 * 60, 0, 0);
+        builder.userDay(99, MONDAY, night);
+        builder.userDay(1, MONDAY, ShiftScheduleTable.OFF);
+        ShiftScheduleTable table = builder.build();
+
+        assertEquals(17 * 3600, table.shiftEndSecond(2, null, MONDAY.toEpochDay()));
+        assertEquals(30 * 3600, table.shiftEndSecond(99, null, MONDAY.toEpochDay()));
+        assertEquals(24 * 3600, table.shiftEndSecond(1, null, MONDAY.toEpochDay()));
+    }
+
+    @Test
+    void lookupHandlesManyUsers() {
+        ShiftScheduleTable.Builder builder = ShiftScheduleTable.builder(MONDAY, 1, 8 * 60, 17 * 60);
+        int late = builder.addShift(13 * 60, 21 * 60, 0, 0);
+        for (long userId = 1; userId <= 5000; userId++) {
+            if (userId % 2 == 0) {
+                builder.userDay(userId, MONDAY, late);
+            }
+        }
+        ShiftScheduleTable table = builder.build();
+
+        LocalDateTime tenAm = MONDAY.atTime(10, 0);
+        for (long userId = 1; userId <= 5000; userId++) {
+            assertEquals(userId % 2 == 0 ? AttendanceStatus.PRESENT : AttendanceStatus.LATE,
+                    table.classifyCheckIn(userId, null, tenAm));
+        }
+    }
+}